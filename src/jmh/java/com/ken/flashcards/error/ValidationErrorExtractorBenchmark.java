@@ -0,0 +1,59 @@
+package com.ken.flashcards.error;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.ken.flashcards.dto.FlashcardRequest;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationErrorExtractorBenchmark {
+
+  @Param({"1", "3"})
+  public int fieldErrors;
+
+  private final ValidationErrorExtractor extractor = new ValidationErrorExtractor();
+  private MethodArgumentNotValidException exception;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    MapBindingResult bindingResult = new MapBindingResult(new HashMap<>(), "request");
+    for (int i = 0; i < fieldErrors; i++) {
+      bindingResult.addError(new FieldError("request", "field" + i, "field" + i + " is required"));
+    }
+    MethodParameter parameter = new MethodParameter(ValidationErrorExtractorBenchmark.class
+        .getDeclaredMethod("create", FlashcardRequest.class), 0);
+    exception = new MethodArgumentNotValidException(parameter, bindingResult);
+  }
+
+  @Benchmark
+  public Map<String, List<String>> extractErrorsFrom() {
+    return extractor.extractErrorsFrom(exception);
+  }
+
+  @SuppressWarnings("unused")
+  private static void create(FlashcardRequest request) {}
+
+}
@@ -0,0 +1,67 @@
+package com.ken.flashcards.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
+import com.ken.flashcards.error.ErrorResponse;
+
+/**
+ * Cost of a 404 from the service's throw to the handler's response body: an exception with a
+ * stack trace and a {@code String.format} message, as before, against a stackless
+ * {@link NotFoundException} filled in by a {@link MessageTemplate}. Capturing a stack trace costs
+ * in proportion to the frames above the throw, so both run below a given stack depth; a request
+ * through the servlet filters and Spring proxies is typically over 100 frames deep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundExceptionBenchmark {
+
+  @Param({"10", "150"})
+  public int stackDepth;
+
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+  private final String id = "9b2f6a5e-3c1d-4e8a-a7f0-1d2c3b4a5e6f";
+
+  @Benchmark
+  public ErrorResponse formattedWithStackTrace() {
+    return below(stackDepth, () -> {
+      try {
+        throw new RuntimeException(String.format(CANNOT_FIND_FLASHCARD_BY_ID, id));
+      } catch (RuntimeException exception) {
+        return ErrorResponse.withMessage(exception.getMessage());
+      }
+    });
+  }
+
+  @Benchmark
+  public ErrorResponse templatedStackless() {
+    return below(stackDepth, () -> {
+      try {
+        throw new NotFoundException(CANNOT_FIND_FLASHCARD_BY_ID, id);
+      } catch (NotFoundException exception) {
+        return handler.handle(exception);
+      }
+    });
+  }
+
+  private static ErrorResponse below(int depth, Supplier<ErrorResponse> body) {
+    return depth == 0 ? body.get() : below(depth - 1, body);
+  }
+
+}
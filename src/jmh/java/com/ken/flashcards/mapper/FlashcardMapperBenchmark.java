@@ -0,0 +1,45 @@
+package com.ken.flashcards.mapper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.model.Flashcard;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlashcardMapperBenchmark {
+
+  @Param({"random", "time-ordered"})
+  public String generator;
+
+  private FlashcardMapper mapper;
+  private FlashcardRequest request;
+
+  @Setup
+  public void setUp() {
+    mapper = new FlashcardMapperImpl(IdGenerators.named(generator));
+    request = new FlashcardRequest("1", "What is the derivative of sin(x)?", "cos(x)");
+  }
+
+  @Benchmark
+  public Flashcard flashcardFrom() {
+    return mapper.flashcardFrom(request);
+  }
+
+}
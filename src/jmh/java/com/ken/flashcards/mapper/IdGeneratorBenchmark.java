@@ -0,0 +1,52 @@
+package com.ken.flashcards.mapper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Id generation alone and under contention. {@code UUID.randomUUID()} shares one
+ * {@code SecureRandom}, so the random generator should fall behind as threads are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+  @Param({"random", "time-ordered"})
+  public String generator;
+
+  private IdGenerator idGenerator;
+
+  @Setup
+  public void setUp() {
+    idGenerator = IdGenerators.named(generator);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String generateId() {
+    return idGenerator.generateId();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public String generateIdOnAllCores() {
+    return idGenerator.generateId();
+  }
+
+}
@@ -0,0 +1,18 @@
+package com.ken.flashcards.mapper;
+
+/**
+ * Creates the package-private generators by their {@code flashcards.id-generator} name.
+ */
+final class IdGenerators {
+
+  private IdGenerators() {}
+
+  static IdGenerator named(String name) {
+    return switch (name) {
+      case "random" -> new IdGeneratorImpl();
+      case "time-ordered" -> new TimeOrderedIdGenerator();
+      default -> throw new IllegalArgumentException("Unknown id generator: " + name);
+    };
+  }
+
+}
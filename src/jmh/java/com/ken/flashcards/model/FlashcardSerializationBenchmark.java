@@ -0,0 +1,58 @@
+package com.ken.flashcards.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializes {@code List<Flashcard>} the way a {@code findAll} response body is written, using an
+ * {@link ObjectMapper} configured like Spring MVC's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlashcardSerializationBenchmark {
+
+  @Param({"10", "1000", "10000", "100000"})
+  public int size;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private List<Flashcard> flashcards;
+
+  @Setup
+  public void setUp() {
+    String studySessionId = UUID.randomUUID().toString();
+    flashcards = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      flashcards.add(new Flashcard(UUID.randomUUID().toString(), studySessionId,
+          "What is the significance of event " + i + "?",
+          "It changed the course of history in a way that is still studied today."));
+    }
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(flashcards);
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.ken.flashcards.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ken.flashcards.FlashcardsApiApplication;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Reads one study session's flashcards the way the list endpoints used to, as managed entities in
+ * a read-write transaction, and the way they do now, through a constructor expression in a
+ * read-only transaction. Run with {@code -prof gc} to compare bytes allocated per read as well as
+ * latency. Uses in-memory H2 in MySQL mode, as {@code FlashcardServiceBenchmark} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+  private static final String SEEDED_CATEGORY_ID = "1";
+  private static final String STUDY_SESSION_ID = "read-path-benchmark";
+  private static final String SELECT_MANAGED_FLASHCARDS =
+      "SELECT f FROM Flashcard f WHERE f.studySessionId = :studySessionId";
+
+  @Param({"10", "100", "1000"})
+  private int flashcards;
+
+  private ConfigurableApplicationContext context;
+  private FlashcardRepository repository;
+  private EntityManager entityManager;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+
+  @Setup
+  public void startApplication() {
+    context = new SpringApplicationBuilder(FlashcardsApiApplication.class)
+        .web(WebApplicationType.NONE)
+        .logStartupInfo(false)
+        .run("--spring.datasource.url=jdbc:h2:mem:flashcards;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.sql.init.schema-locations=classpath:schema.sql",
+            "--logging.level.com.ken.flashcards=WARN");
+    repository = context.getBean(FlashcardRepository.class);
+    entityManager = context.getBean(EntityManager.class);
+    PlatformTransactionManager transactionManager =
+        context.getBean(PlatformTransactionManager.class);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    seed();
+  }
+
+  @TearDown
+  public void stopApplication() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<Flashcard> managedReadWrite() {
+    return readWrite.execute(status -> entityManager
+        .createQuery(SELECT_MANAGED_FLASHCARDS, Flashcard.class)
+        .setParameter("studySessionId", STUDY_SESSION_ID).getResultList());
+  }
+
+  @Benchmark
+  public Iterable<Flashcard> projectedReadOnly() {
+    return readOnly.execute(status -> repository.findAllByStudySessionId(STUDY_SESSION_ID));
+  }
+
+  private void seed() {
+    readWrite.executeWithoutResult(status -> {
+      context.getBean(StudySessionRepository.class)
+          .save(new StudySession(STUDY_SESSION_ID, SEEDED_CATEGORY_ID, "Read path benchmark"));
+      List<Flashcard> cards = new ArrayList<>(flashcards);
+      for (int card = 0; card < flashcards; card++) {
+        cards.add(new Flashcard(STUDY_SESSION_ID + "-" + card, STUDY_SESSION_ID,
+            "Question " + card, "Answer " + card));
+      }
+      repository.persistAll(cards);
+    });
+  }
+
+}
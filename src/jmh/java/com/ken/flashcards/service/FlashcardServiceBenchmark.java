@@ -0,0 +1,114 @@
+package com.ken.flashcards.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ken.flashcards.FlashcardsApiApplication;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.dto.StudySessionRequest;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+
+/**
+ * Runs the service layer with its real repositories, transactions and caches against an
+ * in-memory H2 database in MySQL mode. Absolute numbers are lower than on MySQL over a network;
+ * the point is to catch regressions in the code between the controller and the driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlashcardServiceBenchmark {
+
+  private static final int STUDY_SESSIONS = 100;
+  private static final int FLASHCARDS_PER_STUDY_SESSION = 100;
+  private static final String SEEDED_CATEGORY_ID = "1";
+
+  private ConfigurableApplicationContext context;
+  private FlashcardService flashcardService;
+  private CategoryService categoryService;
+  private String studySessionId;
+  private String flashcardId;
+
+  /**
+   * Command line arguments, so they override the MySQL settings in {@code application.yml}.
+   */
+  @Setup
+  public void startApplication() {
+    context = new SpringApplicationBuilder(FlashcardsApiApplication.class)
+        .web(WebApplicationType.NONE)
+        .logStartupInfo(false)
+        .run("--spring.datasource.url=jdbc:h2:mem:flashcards;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                + "DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.sql.init.schema-locations=classpath:schema.sql",
+            "--logging.level.com.ken.flashcards=WARN");
+    flashcardService = context.getBean(FlashcardService.class);
+    categoryService = context.getBean(CategoryService.class);
+    seed(context.getBean(StudySessionService.class));
+  }
+
+  @TearDown
+  public void stopApplication() {
+    context.close();
+  }
+
+  @Benchmark
+  public Flashcard findById() {
+    return flashcardService.findById(flashcardId);
+  }
+
+  @Benchmark
+  public CursorPage<Flashcard> findPage() {
+    return flashcardService.findPage(null, 100);
+  }
+
+  @Benchmark
+  public Iterable<Flashcard> findAllByStudySessionId() {
+    return flashcardService.findAllByStudySessionId(studySessionId);
+  }
+
+  @Benchmark
+  public Flashcard createFlashcard() {
+    return flashcardService.createFlashcard(
+        new FlashcardRequest(studySessionId, "What is entropy?", "A measure of disorder"));
+  }
+
+  @Benchmark
+  public Category findCachedCategoryById() {
+    return categoryService.findById(SEEDED_CATEGORY_ID);
+  }
+
+  private void seed(StudySessionService studySessionService) {
+    List<FlashcardRequest> requests = new ArrayList<>();
+    for (int session = 0; session < STUDY_SESSIONS; session++) {
+      studySessionId = studySessionService.createStudySession(
+          new StudySessionRequest(SEEDED_CATEGORY_ID, "Benchmark session " + session)).getId();
+      for (int card = 0; card < FLASHCARDS_PER_STUDY_SESSION; card++) {
+        requests.add(new FlashcardRequest(studySessionId, "Question " + card, "Answer " + card));
+      }
+    }
+    flashcardId = flashcardService.createFlashcards(requests).get(0).getFlashcard().getId();
+  }
+
+}
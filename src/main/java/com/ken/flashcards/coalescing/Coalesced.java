@@ -0,0 +1,18 @@
+package com.ken.flashcards.coalescing;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose concurrent calls with equal arguments may share one execution and its
+ * result or exception; see {@link RequestCoalescer}. Only for methods without side effects whose
+ * result callers do not modify.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,51 @@
+package com.ken.flashcards.coalescing;
+
+import java.lang.reflect.UndeclaredThrowableException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes {@link Coalesced} methods through the {@link RequestCoalescer}. It runs outside the
+ * transaction advice, so a waiting call holds no transaction or database connection.
+ * <p>
+ * A call made inside a transaction always runs itself, since it must see that transaction's own
+ * writes.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CoalescingAspect {
+
+  private final RequestCoalescer coalescer;
+
+  @Autowired
+  public CoalescingAspect(RequestCoalescer coalescer) {
+    this.coalescer = coalescer;
+  }
+
+  @Around("@annotation(com.ken.flashcards.coalescing.Coalesced)")
+  public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+    String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+        + joinPoint.getSignature().getName();
+    return coalescer.execute(method, joinPoint.getArgs(), () -> {
+      try {
+        return joinPoint.proceed();
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new UndeclaredThrowableException(e);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,105 @@
+package com.ken.flashcards.coalescing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static com.ken.flashcards.constants.MetricNames.COALESCED_CALLS;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+
+/**
+ * Single-flight execution: the first call for a method and arguments runs, and calls with the
+ * same method and arguments that arrive while it is running wait for it and share its outcome
+ * instead of running their own query.
+ * <p>
+ * A shared result can be up to one execution old. So that a client sees its own writes, calls in
+ * flight when flashcards change are detached once the change commits; later calls start afresh.
+ * <p>
+ * Counts calls in {@code flashcards.coalescing.calls}, tagged by method and by outcome:
+ * {@code executed} or {@code collapsed} into another call.
+ */
+@Component
+public class RequestCoalescer {
+
+  private static final String EXECUTED = "executed";
+  private static final String COLLAPSED = "collapsed";
+
+  @Data
+  private static final class Call {
+
+    private final String method;
+
+    private final List<Object> args;
+
+  }
+
+  private final ConcurrentMap<Call, CompletableFuture<Object>> inFlight =
+      new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  @Autowired
+  public RequestCoalescer(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(String method, Object[] args, Supplier<T> execution) {
+    Call call = new Call(method, Arrays.asList(args.clone()));
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> leader = inFlight.putIfAbsent(call, flight);
+    if (leader != null) {
+      count(method, COLLAPSED);
+      return (T) outcomeOf(leader);
+    }
+    count(method, EXECUTED);
+    try {
+      T result = execution.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(call, flight);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFlashcardsChanged(FlashcardsChangedEvent event) {
+    inFlight.clear();
+  }
+
+  int inFlight() {
+    return inFlight.size();
+  }
+
+  private static Object outcomeOf(CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void count(String method, String outcome) {
+    meterRegistry.counter(COALESCED_CALLS, "method", method, "outcome", outcome).increment();
+  }
+
+}
@@ -0,0 +1,37 @@
+package com.ken.flashcards.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ken.flashcards.constants.CacheNames;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+  /**
+   * Builds one bounded Caffeine cache per name in {@link CacheNames}, each recording hit, miss
+   * and eviction statistics for the actuator {@code caches} and {@code metrics} endpoints.
+   * <p>
+   * The manager is transaction aware: puts and evictions made inside a transaction are applied
+   * after it commits, so a rolled-back write never invalidates or poisons a cache.
+   */
+  @Bean
+  public CacheManager cacheManager(CacheProperties properties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setAllowNullValues(false);
+    for (String cacheName : CacheNames.ALL) {
+      cacheManager.registerCustomCache(cacheName,
+          Caffeine.from(properties.specFor(cacheName)).recordStats().build());
+    }
+    return new TransactionAwareCacheManagerProxy(cacheManager);
+  }
+
+}
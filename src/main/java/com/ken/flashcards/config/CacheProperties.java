@@ -0,0 +1,27 @@
+package com.ken.flashcards.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sizing for the read caches, as Caffeine specs (e.g.
+ * {@code maximumSize=1000,expireAfterWrite=10m}). Caches without an entry in {@code specs} use
+ * {@code defaultSpec}.
+ */
+@Data
+@ConfigurationProperties(prefix = "flashcards.cache")
+public class CacheProperties {
+
+  private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m";
+
+  private Map<String, String> specs = new HashMap<>();
+
+  public String specFor(String cacheName) {
+    return specs.getOrDefault(cacheName, defaultSpec);
+  }
+
+}
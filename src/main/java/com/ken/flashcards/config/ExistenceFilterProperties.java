@@ -0,0 +1,41 @@
+package com.ken.flashcards.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Sizing for the per-table filters of existing ids, which answer most lookups of unknown ids
+ * without a query.
+ */
+@Data
+@ConfigurationProperties(prefix = "flashcards.existence-filter")
+public class ExistenceFilterProperties {
+
+  /**
+   * Off by default. Turn on only when this instance is the database's sole writer: rows written
+   * by other instances or outside the application would be reported missing until the next
+   * rebuild.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Share of unknown ids let through to the database while a filter is within its capacity.
+   */
+  private double falsePositiveRate = 0.01;
+
+  /**
+   * Memory cap for each filter. Past it, filters keep working at a higher false positive rate.
+   */
+  private DataSize maxSize = DataSize.ofMegabytes(8);
+
+  /**
+   * How often each filter is rebuilt from its table, dropping the ids of deleted rows. A filter
+   * that has taken more ids than it was sized for is rebuilt sooner.
+   */
+  private Duration rebuildInterval = Duration.ofHours(1);
+
+}
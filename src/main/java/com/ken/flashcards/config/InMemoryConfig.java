@@ -0,0 +1,25 @@
+package com.ken.flashcards.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.repository.memory.InMemoryDatabase;
+import com.ken.flashcards.repository.memory.InMemoryTransactionManager;
+
+@Configuration
+@Profile(IN_MEMORY)
+public class InMemoryConfig {
+
+  /**
+   * Stands in for the JPA transaction manager, which the profile turns off along with the
+   * datasource, so {@code @Transactional} services run unchanged.
+   */
+  @Bean
+  public PlatformTransactionManager transactionManager(InMemoryDatabase database) {
+    return new InMemoryTransactionManager(database);
+  }
+
+}
@@ -0,0 +1,22 @@
+package com.ken.flashcards.config;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings for the {@code in-memory} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "flashcards.in-memory")
+public class InMemoryProperties {
+
+  /**
+   * Scripts whose {@code INSERT} statements seed the tables at startup, in order: {@code data.sql}
+   * or a {@code mysqldump} of the category, study_session and flashcard tables.
+   */
+  private List<String> dataLocations = List.of("classpath:data.sql");
+
+}
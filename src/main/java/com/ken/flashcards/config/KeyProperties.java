@@ -0,0 +1,27 @@
+package com.ken.flashcards.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "flashcards.keys")
+public class KeyProperties {
+
+  /**
+   * How ids and foreign keys are stored. The REST API uses UUID strings either way.
+   */
+  public enum Storage {
+    /** {@code VARCHAR(40)} holding the id string as sent. */
+    TEXT,
+    /** {@code BINARY(16)} holding the 16 bytes of a UUID; see the {@code binary-keys} profile. */
+    BINARY
+  }
+
+  private Storage storage = Storage.TEXT;
+
+  public boolean storesBinary() {
+    return storage == Storage.BINARY;
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.ken.flashcards.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/**
+ * Settings for the {@code log-store} profile.
+ */
+@Data
+@ConfigurationProperties(prefix = "flashcards.log-store")
+public class LogStoreProperties {
+
+  private Path directory = Path.of("data", "log-store");
+
+  /**
+   * Size at which the segment being appended to is closed and a new one started.
+   */
+  private DataSize maxSegmentSize = DataSize.ofMegabytes(64);
+
+  /**
+   * Force each commit to disk before it returns. Without it a crash of the machine, but not of
+   * the process, can lose the latest commits.
+   */
+  private boolean sync = true;
+
+  /**
+   * How often to check whether the closed segments are worth compacting.
+   */
+  private Duration compactionInterval = Duration.ofMinutes(1);
+
+  /**
+   * Share of the closed segments' bytes that must be overwritten or deleted values before they
+   * are compacted.
+   */
+  private double compactionThreshold = 0.5;
+
+}
@@ -0,0 +1,46 @@
+package com.ken.flashcards.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ken.flashcards.metrics.SqlStatementCounter;
+import com.ken.flashcards.metrics.SqlStatementMetricsFilter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * Times methods of classes annotated with {@code @Timed}; percentiles and histogram buckets
+   * come from {@code management.metrics.distribution} in {@code application.yml}.
+   */
+  @Bean
+  public TimedAspect timedAspect(MeterRegistry registry) {
+    return new TimedAspect(registry);
+  }
+
+  @Bean
+  public SqlStatementCounter sqlStatementCounter(MeterRegistry registry) {
+    return new SqlStatementCounter(registry);
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(
+      SqlStatementCounter sqlStatementCounter) {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+        sqlStatementCounter);
+  }
+
+  @Bean
+  public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(
+      SqlStatementCounter sqlStatementCounter, MeterRegistry registry) {
+    return new FilterRegistrationBean<>(
+        new SqlStatementMetricsFilter(sqlStatementCounter, registry));
+  }
+
+}
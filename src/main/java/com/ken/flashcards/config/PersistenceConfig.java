@@ -0,0 +1,12 @@
+package com.ken.flashcards.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({WriteProperties.class, KeyProperties.class,
+    ReviewLogProperties.class, InMemoryProperties.class, LogStoreProperties.class,
+    ExistenceFilterProperties.class, SyncProperties.class})
+public class PersistenceConfig {
+
+}
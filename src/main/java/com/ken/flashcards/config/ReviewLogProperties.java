@@ -0,0 +1,33 @@
+package com.ken.flashcards.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Group commit settings for the review log. The writer waits up to {@code maxDelay} after the
+ * first pending append for others to join its group, and writes at most {@code maxGroupRows} rows
+ * per transaction.
+ */
+@Data
+@ConfigurationProperties(prefix = "flashcards.review-log")
+public class ReviewLogProperties {
+
+  private Duration maxDelay = Duration.ofMillis(2);
+
+  private int maxGroupRows = 5000;
+
+  /**
+   * Appends allowed to wait for the writer; once full, new appends are refused with 503.
+   */
+  private int queueCapacity = 10_000;
+
+  /**
+   * How long a request waits for its group commit before failing with 503. The rows may still be
+   * written afterwards.
+   */
+  private Duration commitTimeout = Duration.ofSeconds(10);
+
+}
@@ -0,0 +1,22 @@
+package com.ken.flashcards.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Delta sync settings.
+ * <p>
+ * Change log entries get their seq only after their transaction commits, from a background task
+ * that runs every {@code sequenceInterval}; until then a sync does not return them. A shorter
+ * interval makes changes visible sooner at the cost of more idle queries.
+ */
+@Data
+@ConfigurationProperties(prefix = "flashcards.sync")
+public class SyncProperties {
+
+  private Duration sequenceInterval = Duration.ofMillis(200);
+
+}
@@ -0,0 +1,27 @@
+package com.ken.flashcards.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "flashcards.write")
+public class WriteProperties {
+
+  /**
+   * How creates and updates make sure the parent row they reference exists.
+   */
+  public enum ParentCheck {
+    /** Look the parent up before writing: two round trips, check-then-act. */
+    QUERY,
+    /** Write directly and translate foreign key violations: one round trip, atomic. */
+    CONSTRAINT
+  }
+
+  private ParentCheck parentCheck = ParentCheck.QUERY;
+
+  public boolean checksParentsByQuery() {
+    return parentCheck == ParentCheck.QUERY;
+  }
+
+}
@@ -0,0 +1,9 @@
+package com.ken.flashcards.constants;
+
+public final class Batching {
+  public static final int MAX_BATCH_SIZE = 10_000;
+  public static final int MAX_LOOKUP_SIZE = 5_000;
+  public static final int LOOKUP_CHUNK_SIZE = 1_000;
+
+  private Batching() {}
+}
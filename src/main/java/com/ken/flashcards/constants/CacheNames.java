@@ -0,0 +1,16 @@
+package com.ken.flashcards.constants;
+
+import java.util.List;
+
+public final class CacheNames {
+  public static final String CATEGORIES = "categories";
+  public static final String CATEGORY_BY_ID = "category-by-id";
+  public static final String CATEGORY_BY_NAME = "category-by-name";
+  public static final String STUDY_SESSION_BY_ID = "study-session-by-id";
+  public static final String STUDY_SESSIONS_BY_CATEGORY = "study-sessions-by-category";
+
+  public static final List<String> ALL = List.of(CATEGORIES, CATEGORY_BY_ID, CATEGORY_BY_NAME,
+      STUDY_SESSION_BY_ID, STUDY_SESSIONS_BY_CATEGORY);
+
+  private CacheNames() {}
+}
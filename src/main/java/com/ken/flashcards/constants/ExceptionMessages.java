@@ -3,12 +3,25 @@ package com.ken.flashcards.constants;
 public final class ExceptionMessages {
   public static final String REQUEST_BODY_NULL = "Request body must not be null";
   public static final String FIELD_MUST_NOT_BE_NULL_OR_EMPTY = "%s must not be null or empty";
+  public static final String VALUE_OUT_OF_RANGE = "%s must be between %d and %d";
+  public static final String INVALID_CURSOR = "Cursor '%s' is not valid";
+  public static final String UNKNOWN_FIELD = "Unknown field '%s'; expected any of %s";
+  public static final String NOT_A_UUID = "%s '%s' is not a UUID";
+  public static final String DATA_INTEGRITY_VIOLATION = "Request conflicts with existing data";
+  public static final String DATABASE_BUSY = "Database is busy, please retry";
+  public static final String REVIEW_LOG_BUSY = "Review log is busy, please retry";
+  public static final String REVIEW_LOG_TIMEOUT =
+      "Review log did not confirm the write in time; it may still be recorded";
 
   public static final String CATEGORY_NAME_ALREADY_EXISTS = "Category with name '%s' already exists";
   public static final String CANNOT_FIND_CATEGORY_BY_ID = "Category with ID '%s' not found";
   public static final String CANNOT_FIND_CATEGORY_BY_NAME = "Category with name '%s' not found";
 
   public static final String CANNOT_FIND_FLASHCARD_BY_ID = "Flashcard with ID '%s' not found";
+  public static final String EXPORT_FILTERS_EXCLUSIVE =
+      "Only one of studySessionId or categoryId may be given";
+  public static final String SEARCH_FILTERS_EXCLUSIVE =
+      "Search by studySessionId or by categoryId, not both";
 
   public static final String STUDY_SESSION_NAME_ALREADY_EXISTS = "Study session with name '%s' already exists";
   
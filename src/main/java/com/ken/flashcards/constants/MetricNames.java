@@ -0,0 +1,12 @@
+package com.ken.flashcards.constants;
+
+public final class MetricNames {
+  public static final String SERVICE = "flashcards.service";
+  public static final String DB_STATEMENTS = "flashcards.db.statements";
+  public static final String DB_STATEMENTS_PER_REQUEST = "flashcards.db.statements.per.request";
+  public static final String REVIEW_LOG_GROUP_ROWS = "flashcards.review.log.group.rows";
+  public static final String COALESCED_CALLS = "flashcards.coalescing.calls";
+  public static final String EXISTENCE_FILTER_MISSES = "flashcards.existence.filter.misses";
+
+  private MetricNames() {}
+}
@@ -0,0 +1,12 @@
+package com.ken.flashcards.constants;
+
+public final class Pagination {
+  public static final int MIN_LIMIT = 1;
+  public static final int MAX_LIMIT = 1000;
+  public static final String DEFAULT_LIMIT = "20";
+  public static final String DEFAULT_SYNC_LIMIT = "500";
+  public static final String FIELDS_DESCRIPTION =
+      "Comma-separated fields to return; `id` is always included. Defaults to all fields.";
+
+  private Pagination() {}
+}
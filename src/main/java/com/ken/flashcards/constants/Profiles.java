@@ -0,0 +1,22 @@
+package com.ken.flashcards.constants;
+
+public final class Profiles {
+
+  /**
+   * Keeps categories, study sessions and flashcards in memory instead of MySQL.
+   */
+  public static final String IN_MEMORY = "in-memory";
+
+  /**
+   * The in-memory tables, persisted to an append-only log on local disk; implies
+   * {@link #IN_MEMORY}.
+   */
+  public static final String LOG_STORE = "log-store";
+
+  /**
+   * For components that need the database, such as reviews.
+   */
+  public static final String NOT_IN_MEMORY = "!" + IN_MEMORY;
+
+  private Profiles() {}
+}
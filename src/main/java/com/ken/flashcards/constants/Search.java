@@ -0,0 +1,8 @@
+package com.ken.flashcards.constants;
+
+public final class Search {
+  public static final int MAX_LIMIT = 100;
+  public static final int MAX_PREFIX_EXPANSIONS = 64;
+
+  private Search() {}
+}
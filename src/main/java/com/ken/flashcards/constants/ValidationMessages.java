@@ -6,6 +6,12 @@ public final class ValidationMessages {
   public static final String STUDY_SESSION_ID_REQUIRED = "Study session ID is required.";
   public static final String QUESTION_REQUIRED = "Question is required.";
   public static final String ANSWER_REQUIRED = "Answer is required.";
+  public static final String LEARNER_ID_REQUIRED = "Learner ID is required.";
+  public static final String FLASHCARD_ID_REQUIRED = "Flashcard ID is required.";
+  public static final String GRADE_OUT_OF_RANGE = "Grade must be between 0 and 5.";
+  public static final String REVIEWED_AT_REQUIRED = "Reviewed at is required.";
+  public static final String REVIEWS_REQUIRED = "At least one review is required.";
+  public static final String ID_TOO_LONG = "IDs must be at most 40 characters.";
 
   private ValidationMessages() {}
 }
\ No newline at end of file
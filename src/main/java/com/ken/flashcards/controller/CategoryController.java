@@ -13,13 +13,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import static com.ken.flashcards.constants.Pagination.FIELDS_DESCRIPTION;
 import com.ken.flashcards.dto.CategoryRequest;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.Deck;
+import com.ken.flashcards.dto.LookupRequest;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.error.ErrorResponse;
 import com.ken.flashcards.error.ResponseHandler;
 import com.ken.flashcards.model.Category;
 import com.ken.flashcards.service.CategoryService;
+import com.ken.flashcards.service.DeckService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -33,10 +40,12 @@ import jakarta.validation.Valid;
 public class CategoryController implements ResponseHandler {
 
   private final CategoryService categoryService;
+  private final DeckService deckService;
 
   @Autowired
-  public CategoryController(CategoryService categoryService) {
+  public CategoryController(CategoryService categoryService, DeckService deckService) {
     this.categoryService = categoryService;
+    this.deckService = deckService;
   }
 
   @Operation(summary = "Get all categories")
@@ -44,8 +53,27 @@ public class CategoryController implements ResponseHandler {
       content = @Content(mediaType = "application/json",
           array = @ArraySchema(schema = @Schema(implementation = Category.class))))
   @GetMapping
-  public ResponseEntity<Iterable<Category>> findAll() {
-    return ok(categoryService.findAll());
+  public ResponseEntity<Iterable<Category>> findAll(
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+    return ok(fields == null ? categoryService.findAll() : categoryService.findAll(fields));
+  }
+
+  @Operation(summary = "Get a page of categories ordered by name",
+      description = "Pass the returned `next` cursor as `after` to fetch the following page.")
+  @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of categories",
+      content = @Content(mediaType = "application/json",
+          schema = @Schema(implementation = CursorPage.class)))
+  @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or fields",
+      content = @Content(mediaType = "application/json",
+          schema = @Schema(implementation = ErrorResponse.class)))
+  @GetMapping(params = "limit")
+  public ResponseEntity<CursorPage<Category>> findPage(
+      @RequestParam(required = false) String after,
+      @RequestParam int limit,
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+    return ok(fields == null
+        ? categoryService.findPage(after, limit)
+        : categoryService.findPage(after, limit, fields));
   }
 
   @Operation(summary = "Get a category by ID")
@@ -60,6 +88,33 @@ public class CategoryController implements ResponseHandler {
     return response(categoryService.findById(id), org.springframework.http.HttpStatus.OK);
   }
 
+  @Operation(summary = "Get many categories by ID",
+      description = "Returns the categories found, in request order, and the IDs not found. "
+          + "Takes up to 5000 IDs.")
+  @ApiResponse(responseCode = "200", description = "Lookup completed",
+      content = @Content(mediaType = "application/json",
+          schema = @Schema(implementation = LookupResult.class)))
+  @ApiResponse(responseCode = "400", description = "No IDs, too many IDs or a blank ID",
+      content = @Content(mediaType = "application/json",
+          schema = @Schema(implementation = ErrorResponse.class)))
+  @PostMapping("/lookup")
+  public ResponseEntity<LookupResult<Category>> lookup(@RequestBody LookupRequest request) {
+    return ok(categoryService.lookup(request.getIds()));
+  }
+
+  @Operation(summary = "Get a category with all of its study sessions and flashcards",
+      description = "Loads the whole deck in a single database round trip.")
+  @ApiResponse(responseCode = "200", description = "Found deck",
+      content = @Content(mediaType = "application/json",
+          schema = @Schema(implementation = Deck.class)))
+  @ApiResponse(responseCode = "404", description = "Category not found",
+      content = @Content(mediaType = "application/json",
+          schema = @Schema(implementation = ErrorResponse.class)))
+  @GetMapping("/{id}/deck")
+  public ResponseEntity<Deck> findDeck(@PathVariable String id) {
+    return ok(deckService.findDeck(id));
+  }
+
   @Operation(summary = "GET a category by its name")
   @ApiResponse(responseCode = "200", description = "Category found",
       content = @Content(mediaType = "application/json",
@@ -113,14 +168,6 @@ public class CategoryController implements ResponseHandler {
       content = @Content(mediaType = "application/json",
           schema = @Schema(implementation = ErrorResponse.class)))
   public ResponseEntity<Category> update(@Valid @RequestBody Category category) {
-    return existsById(category.getId()) ? ok(save(category)) : created(save(category));
-  }
-
-  private boolean existsById(String id) {
-    return categoryService.existsById(id);
-  }
-
-  private Category save(Category category) {
-    return categoryService.save(category);
+    return categoryService.upsert(category) ? created(category) : ok(category);
   }
 }
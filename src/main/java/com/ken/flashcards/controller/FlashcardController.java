@@ -1,6 +1,13 @@
 package com.ken.flashcards.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import org.springframework.http.ResponseEntity;
 import static org.springframework.http.ResponseEntity.ok;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,11 +19,24 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import static com.ken.flashcards.constants.Pagination.DEFAULT_LIMIT;
+import static com.ken.flashcards.constants.Pagination.FIELDS_DESCRIPTION;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.FlashcardBatchResult;
 import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.dto.FlashcardSearchHit;
+import com.ken.flashcards.dto.LookupRequest;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.error.ErrorResponse;
 import com.ken.flashcards.error.ResponseHandler;
 import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.service.FlashcardSearchService;
 import com.ken.flashcards.service.FlashcardService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,11 +55,18 @@ import jakarta.validation.Valid;
 @Tag(name = "Flashcard", description = "Operations related to flashcard resources")
 public class FlashcardController implements ResponseHandler {
 
+  private static final int LINE_SEPARATOR = '\n';
+
   private final FlashcardService flashcardService;
+  private final FlashcardSearchService flashcardSearchService;
+  private final ObjectMapper objectMapper;
 
   @Autowired
-  public FlashcardController(FlashcardService flashcardService) {
+  public FlashcardController(FlashcardService flashcardService,
+      FlashcardSearchService flashcardSearchService, ObjectMapper objectMapper) {
     this.flashcardService = flashcardService;
+    this.flashcardSearchService = flashcardSearchService;
+    this.objectMapper = objectMapper;
   }
 
   @Operation(summary = "Get all flashcards")
@@ -47,8 +74,73 @@ public class FlashcardController implements ResponseHandler {
       content = @Content(mediaType = "application/json",
           array = @ArraySchema(schema = @Schema(implementation = Flashcard.class))))
   @GetMapping
-  public ResponseEntity<Iterable<Flashcard>> findAll() {
-    return ok(flashcardService.findAll());
+  public ResponseEntity<Iterable<Flashcard>> findAll(
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+    return ok(fields == null ? flashcardService.findAll() : flashcardService.findAll(fields));
+  }
+
+  @Operation(summary = "Get a page of flashcards",
+      description = "Pass the returned `next` cursor as `after` to fetch the following page.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Retrieved a page of flashcards",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPage.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or fields",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @GetMapping(params = "limit")
+  public ResponseEntity<CursorPage<Flashcard>> findPage(
+      @RequestParam(required = false) String after,
+      @RequestParam int limit,
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+    return ok(fields == null
+        ? flashcardService.findPage(after, limit)
+        : flashcardService.findPage(after, limit, fields));
+  }
+
+  @Operation(summary = "Export flashcards as newline-delimited JSON",
+      description = "Streams one flashcard per line while reading from the database. "
+          + "Optionally filtered by `studySessionId` or `categoryId` (not both).")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Flashcards streamed",
+          content = @Content(mediaType = APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = Flashcard.class))),
+      @ApiResponse(responseCode = "400", description = "Both filters given",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Study session or category not found",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(required = false) String studySessionId,
+      @RequestParam(required = false) String categoryId) {
+    flashcardService.assertExportFiltersExist(studySessionId, categoryId);
+    StreamingResponseBody body = out -> flashcardService.exportFlashcards(studySessionId,
+        categoryId, flashcard -> writeLine(out, flashcard));
+    return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+  }
+
+  @Operation(summary = "Search flashcard questions and answers",
+      description = "Returns flashcards matching any word of `q`, most relevant first. A word "
+          + "ending in `*` matches as a prefix. Optionally filtered by `studySessionId` or "
+          + "`categoryId` (not both).")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Matching flashcards, best first",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = FlashcardSearchHit.class)))),
+      @ApiResponse(responseCode = "400", description = "Blank query, invalid limit or both filters",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Study session or category not found",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @GetMapping("/search")
+  public ResponseEntity<List<FlashcardSearchHit>> search(@RequestParam String q,
+      @RequestParam(required = false) String studySessionId,
+      @RequestParam(required = false) String categoryId,
+      @RequestParam(defaultValue = DEFAULT_LIMIT) int limit) {
+    return ok(flashcardSearchService.search(q, studySessionId, categoryId, limit));
   }
 
   @Operation(summary = "Find flashcard by ID")
@@ -64,6 +156,21 @@ public class FlashcardController implements ResponseHandler {
     return ok(flashcardService.findById(id));
   }
 
+  @Operation(summary = "Find many flashcards by ID",
+      description = "Returns the flashcards found, in request order, and the IDs not found. "
+          + "Takes up to 5000 IDs.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Lookup completed",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = LookupResult.class))),
+      @ApiResponse(responseCode = "400", description = "No IDs, too many IDs or a blank ID",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @PostMapping("/lookup")
+  public ResponseEntity<LookupResult<Flashcard>> lookup(@RequestBody LookupRequest request) {
+    return ok(flashcardService.lookup(request.getIds()));
+  }
+
   @Operation(summary = "Get all flashcards by study session ID",
       parameters = @Parameter(name = "studySessionId", description = "ID of the study session",
           required = true, in = ParameterIn.QUERY))
@@ -71,12 +178,19 @@ public class FlashcardController implements ResponseHandler {
       @ApiResponse(responseCode = "200", description = "Flashcards retrieved by session",
           content = @Content(mediaType = "application/json",
               array = @ArraySchema(schema = @Schema(implementation = Flashcard.class)))),
+      @ApiResponse(responseCode = "304",
+          description = "Flashcards unchanged since the ETag sent in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Study session not found",
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = ErrorResponse.class)))})
   @GetMapping("/details")
-  public ResponseEntity<Iterable<Flashcard>> findBySession(@RequestParam String studySessionId) {
-    return ok(flashcardService.findAllByStudySessionId(studySessionId));
+  public ResponseEntity<Iterable<Flashcard>> findBySession(@RequestParam String studySessionId,
+      WebRequest request) {
+    String etag = flashcardService.findVersionByStudySessionId(studySessionId);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return ok().eTag(etag).body(flashcardService.findAllByStudySessionId(studySessionId));
   }
 
   @Operation(summary = "Create a flashcard")
@@ -96,6 +210,22 @@ public class FlashcardController implements ResponseHandler {
     return created(flashcard);
   }
 
+  @Operation(summary = "Create many flashcards at once",
+      description = "Returns one result per request item, in request order. Items that fail "
+          + "validation or reference a missing study session are reported and skipped.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Batch processed",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = FlashcardBatchResult.class)))),
+      @ApiResponse(responseCode = "400", description = "Empty or oversized batch",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @PostMapping("/batch")
+  public ResponseEntity<List<FlashcardBatchResult>> createFlashcards(
+      @RequestBody List<FlashcardRequest> requests) {
+    return ok(flashcardService.createFlashcards(requests));
+  }
+
   @Operation(summary = "Update or create a flashcard")
   @ApiResponses({
       @ApiResponse(responseCode = "200", description = "Flashcard updated",
@@ -112,7 +242,7 @@ public class FlashcardController implements ResponseHandler {
               schema = @Schema(implementation = ErrorResponse.class))})})
   @PutMapping
   public ResponseEntity<Flashcard> update(@Valid @RequestBody Flashcard flashcard) {
-    return existsById(flashcard.getId()) ? ok(save(flashcard)) : created(save(flashcard));
+    return flashcardService.upsert(flashcard) ? created(flashcard) : ok(flashcard);
   }
 
   @Operation(summary = "Delete a flashcard by ID")
@@ -126,11 +256,16 @@ public class FlashcardController implements ResponseHandler {
     return ResponseEntity.noContent().build();
   }
 
-  private boolean existsById(String id) {
-    return flashcardService.existsById(id);
+  private void writeLine(OutputStream out, Flashcard flashcard) {
+    try {
+      out.write(serialize(flashcard));
+      out.write(LINE_SEPARATOR);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
-  private Flashcard save(Flashcard flashcard) {
-    return flashcardService.save(flashcard);
+  private byte[] serialize(Flashcard flashcard) throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(flashcard);
   }
 }
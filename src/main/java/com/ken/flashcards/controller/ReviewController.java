@@ -0,0 +1,99 @@
+package com.ken.flashcards.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import static org.springframework.http.ResponseEntity.ok;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.ken.flashcards.constants.Pagination.DEFAULT_LIMIT;
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.dto.DueFlashcard;
+import com.ken.flashcards.dto.ReviewLogRequest;
+import com.ken.flashcards.dto.ReviewRequest;
+import com.ken.flashcards.error.ErrorResponse;
+import com.ken.flashcards.error.ResponseHandler;
+import com.ken.flashcards.model.ReviewState;
+import com.ken.flashcards.service.ReviewLogService;
+import com.ken.flashcards.service.ReviewService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@Profile(NOT_IN_MEMORY)
+@RequestMapping("/api/v1/reviews")
+@Tag(name = "Review", description = "Spaced-repetition reviews and due queues")
+public class ReviewController implements ResponseHandler {
+
+  private final ReviewService reviewService;
+  private final ReviewLogService reviewLogService;
+
+  @Autowired
+  public ReviewController(ReviewService reviewService, ReviewLogService reviewLogService) {
+    this.reviewService = reviewService;
+    this.reviewLogService = reviewLogService;
+  }
+
+  @Operation(summary = "Record a review and reschedule the flashcard",
+      description = "Grades run from 0 to 5; 3 or more counts as recalled.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Review recorded, next due time set",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ReviewState.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid request body",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Flashcard not found",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @PostMapping
+  public ResponseEntity<ReviewState> review(@Valid @RequestBody ReviewRequest request) {
+    return ok(reviewService.review(request));
+  }
+
+  @Operation(summary = "Append a burst of reviews to the review log",
+      description = "For clients syncing reviews recorded offline. Returns once the reviews are "
+          + "committed; concurrent requests share a commit. Due queues are not updated.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "204", description = "Reviews committed to the log"),
+      @ApiResponse(responseCode = "400", description = "Invalid request body or too many reviews",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(responseCode = "503", description = "Review log is busy, retry later",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @PostMapping("/log")
+  public ResponseEntity<Void> log(@Valid @RequestBody ReviewLogRequest request) {
+    reviewLogService.record(request);
+    return ResponseEntity.noContent().build();
+  }
+
+  @Operation(summary = "Get the flashcards due for a learner, earliest first")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Due flashcards",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = DueFlashcard.class)))),
+      @ApiResponse(responseCode = "400", description = "Missing learner or invalid limit",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @GetMapping("/due")
+  public ResponseEntity<List<DueFlashcard>> findDue(@RequestParam String learnerId,
+      @RequestParam(defaultValue = DEFAULT_LIMIT) int limit) {
+    return ok(reviewService.findDue(learnerId, limit));
+  }
+
+}
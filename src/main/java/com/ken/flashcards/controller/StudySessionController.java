@@ -13,7 +13,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import static com.ken.flashcards.constants.Pagination.FIELDS_DESCRIPTION;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupRequest;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.dto.StudySessionRequest;
 import com.ken.flashcards.error.ErrorResponse;
 import com.ken.flashcards.error.ResponseHandler;
@@ -60,8 +65,28 @@ public class StudySessionController implements ResponseHandler {
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = ErrorResponse.class)))})
   @GetMapping
-  public ResponseEntity<Iterable<StudySession>> findAll() {
-    return ok(studySessionService.findAll());
+  public ResponseEntity<Iterable<StudySession>> findAll(
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+    return ok(fields == null ? studySessionService.findAll() : studySessionService.findAll(fields));
+  }
+
+  @Operation(summary = "Get a page of study sessions",
+      description = "Pass the returned `next` cursor as `after` to fetch the following page.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "A page of study sessions",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CursorPage.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or fields",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @GetMapping(params = "limit")
+  public ResponseEntity<CursorPage<StudySession>> findPage(
+      @RequestParam(required = false) String after,
+      @RequestParam int limit,
+      @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields) {
+    return ok(fields == null
+        ? studySessionService.findPage(after, limit)
+        : studySessionService.findPage(after, limit, fields));
   }
 
   @Operation(summary = "Find a study session by ID")
@@ -77,6 +102,21 @@ public class StudySessionController implements ResponseHandler {
     return response(studySessionService.findById(id), HttpStatus.OK);
   }
 
+  @Operation(summary = "Find many study sessions by ID",
+      description = "Returns the study sessions found, in request order, and the IDs not found. "
+          + "Takes up to 5000 IDs.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Lookup completed",
+          content = {@Content(mediaType = "application/json",
+              schema = @Schema(implementation = LookupResult.class))}),
+      @ApiResponse(responseCode = "400", description = "No IDs, too many IDs or a blank ID",
+          content = {@Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class))})})
+  @PostMapping("/lookup")
+  public ResponseEntity<LookupResult<StudySession>> lookup(@RequestBody LookupRequest request) {
+    return ok(studySessionService.lookup(request.getIds()));
+  }
+
   @Operation(summary = "Find study sessions by category ID",
       parameters = {
           @Parameter(name = "categoryId", description = "ID of the category", required = true)})
@@ -84,12 +124,19 @@ public class StudySessionController implements ResponseHandler {
       @ApiResponse(responseCode = "200", description = "List of study sessions by category",
           content = @Content(mediaType = "application/json",
               array = @ArraySchema(schema = @Schema(implementation = StudySession.class)))),
+      @ApiResponse(responseCode = "304",
+          description = "Study sessions unchanged since the ETag sent in If-None-Match"),
       @ApiResponse(responseCode = "404", description = "Study sessions not found",
           content = @Content(mediaType = "application/json",
               schema = @Schema(implementation = ErrorResponse.class)))})
   @GetMapping("/details")
-  public ResponseEntity<Iterable<StudySession>> findByCategory(@RequestParam String categoryId) {
-    return ok(studySessionService.findAllByCategoryId(categoryId));
+  public ResponseEntity<Iterable<StudySession>> findByCategory(@RequestParam String categoryId,
+      WebRequest request) {
+    String etag = studySessionService.findVersionByCategoryId(categoryId);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return ok().eTag(etag).body(studySessionService.findAllByCategoryId(categoryId));
   }
 
   @Operation(summary = "Create a new study session")
@@ -128,7 +175,7 @@ public class StudySessionController implements ResponseHandler {
               schema = @Schema(implementation = ErrorResponse.class))})})
   @PutMapping
   public ResponseEntity<StudySession> update(@Valid @RequestBody StudySession studySession) {
-    return existsById(studySession.getId()) ? ok(save(studySession)) : created(save(studySession));
+    return studySessionService.upsert(studySession) ? created(studySession) : ok(studySession);
   }
 
   @Operation(summary = "Delete a study session by ID")
@@ -143,12 +190,4 @@ public class StudySessionController implements ResponseHandler {
     studySessionService.deleteById(id);
     return ResponseEntity.noContent().build();
   }
-
-  private boolean existsById(String id) {
-    return studySessionService.existsById(id);
-  }
-
-  private StudySession save(StudySession studySession) {
-    return studySessionService.save(studySession);
-  }
 }
@@ -0,0 +1,53 @@
+package com.ken.flashcards.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import static org.springframework.http.ResponseEntity.ok;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.ken.flashcards.constants.Pagination.DEFAULT_SYNC_LIMIT;
+import com.ken.flashcards.dto.SyncPage;
+import com.ken.flashcards.error.ErrorResponse;
+import com.ken.flashcards.error.ResponseHandler;
+import com.ken.flashcards.service.SyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@Tag(name = "Sync", description = "Delta sync for offline-capable clients")
+public class SyncController implements ResponseHandler {
+
+  private final SyncService syncService;
+
+  @Autowired
+  public SyncController(SyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  @Operation(summary = "Get the categories, study sessions and flashcards changed since a token",
+      description = "Omit `since` for a full download. Pass the returned `next` back as `since`: "
+          + "at once while `hasMore`, otherwise on the next sync. When `reset` is true, replace "
+          + "the local copy instead of merging into it.")
+  @ApiResponses({
+      @ApiResponse(responseCode = "200", description = "Changes since the token",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = SyncPage.class))),
+      @ApiResponse(responseCode = "400", description = "Invalid token or limit",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = ErrorResponse.class)))})
+  @GetMapping
+  public ResponseEntity<SyncPage> sync(@RequestParam(required = false) String since,
+      @RequestParam(defaultValue = DEFAULT_SYNC_LIMIT) int limit) {
+    return ok(syncService.sync(since, limit));
+  }
+
+}
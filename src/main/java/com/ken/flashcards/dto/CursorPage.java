@@ -0,0 +1,20 @@
+package com.ken.flashcards.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * A single page of a keyset-paginated listing.
+ * <p>
+ * {@code next} is an opaque cursor to pass back as {@code after} to fetch the following page, or
+ * {@code null} when this is the last page.
+ */
+@Data
+public class CursorPage<T> {
+
+  private final List<T> items;
+
+  private final String next;
+
+}
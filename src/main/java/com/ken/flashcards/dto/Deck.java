@@ -0,0 +1,19 @@
+package com.ken.flashcards.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * A category with all of its study sessions and their flashcards, for a client opening a deck.
+ */
+@Data
+public class Deck {
+
+  private final String id;
+
+  private final String name;
+
+  private final List<DeckStudySession> studySessions;
+
+}
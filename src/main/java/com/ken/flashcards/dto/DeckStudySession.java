@@ -0,0 +1,18 @@
+package com.ken.flashcards.dto;
+
+import java.util.List;
+
+import com.ken.flashcards.model.Flashcard;
+
+import lombok.Data;
+
+@Data
+public class DeckStudySession {
+
+  private final String id;
+
+  private final String name;
+
+  private final List<Flashcard> flashcards;
+
+}
@@ -0,0 +1,23 @@
+package com.ken.flashcards.dto;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * A flashcard in a learner's due queue, with when it fell due.
+ */
+@Data
+public class DueFlashcard {
+
+  private final String id;
+
+  private final String studySessionId;
+
+  private final String question;
+
+  private final String answer;
+
+  private final Instant dueAt;
+
+}
@@ -0,0 +1,35 @@
+package com.ken.flashcards.dto;
+
+import static org.springframework.http.HttpStatus.CREATED;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import com.ken.flashcards.model.Flashcard;
+
+import lombok.Data;
+
+/**
+ * Outcome of one item of a batch create, reported at the same {@code index} as its request.
+ */
+@Data
+@JsonInclude(NON_NULL)
+public class FlashcardBatchResult {
+
+  private final int index;
+
+  private final int status;
+
+  private final Flashcard flashcard;
+
+  private final String error;
+
+  public static FlashcardBatchResult created(int index, Flashcard flashcard) {
+    return new FlashcardBatchResult(index, CREATED.value(), flashcard, null);
+  }
+
+  public static FlashcardBatchResult failed(int index, HttpStatus status, String error) {
+    return new FlashcardBatchResult(index, status.value(), null, error);
+  }
+
+}
@@ -0,0 +1,17 @@
+package com.ken.flashcards.dto;
+
+import com.ken.flashcards.model.Flashcard;
+
+import lombok.Data;
+
+/**
+ * A flashcard matching a search, with its BM25 relevance score. Higher scores rank first.
+ */
+@Data
+public class FlashcardSearchHit {
+
+  private final Flashcard flashcard;
+
+  private final double score;
+
+}
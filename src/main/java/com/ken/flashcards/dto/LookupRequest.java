@@ -0,0 +1,20 @@
+package com.ken.flashcards.dto;
+
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The ids to fetch in one multi-get.
+ */
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class LookupRequest {
+
+  private final List<String> ids;
+
+}
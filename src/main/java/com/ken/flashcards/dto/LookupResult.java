@@ -0,0 +1,40 @@
+package com.ken.flashcards.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import lombok.Data;
+
+/**
+ * Answer to a multi-get: the entities found, in the order their ids were requested, and the
+ * requested ids that matched nothing. An id requested more than once is reported once.
+ */
+@Data
+public class LookupResult<T> {
+
+  private final List<T> found;
+
+  private final List<String> missing;
+
+  public static <T> LookupResult<T> of(Collection<String> ids, Collection<T> rows,
+      Function<T, String> idOf) {
+    Map<String, T> rowsById = new HashMap<>();
+    rows.forEach(row -> rowsById.put(idOf.apply(row), row));
+    List<T> found = new ArrayList<>(rows.size());
+    List<String> missing = new ArrayList<>();
+    ids.stream().distinct().forEach(id -> {
+      T row = rowsById.get(id);
+      if (row != null) {
+        found.add(row);
+      } else {
+        missing.add(id);
+      }
+    });
+    return new LookupResult<>(found, missing);
+  }
+
+}
@@ -0,0 +1,39 @@
+package com.ken.flashcards.dto;
+
+import java.time.Instant;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import static lombok.AccessLevel.PRIVATE;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static com.ken.flashcards.constants.ValidationMessages.FLASHCARD_ID_REQUIRED;
+import static com.ken.flashcards.constants.ValidationMessages.GRADE_OUT_OF_RANGE;
+import static com.ken.flashcards.constants.ValidationMessages.ID_TOO_LONG;
+import static com.ken.flashcards.constants.ValidationMessages.REVIEWED_AT_REQUIRED;
+
+/**
+ * One review recorded by a client, possibly offline, at {@code reviewedAt}.
+ */
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class ReviewEvent {
+
+  @NotBlank(message = FLASHCARD_ID_REQUIRED)
+  @Size(max = 40, message = ID_TOO_LONG)
+  private final String flashcardId;
+
+  @Min(value = 0, message = GRADE_OUT_OF_RANGE)
+  @Max(value = 5, message = GRADE_OUT_OF_RANGE)
+  private final int grade;
+
+  @NotNull(message = REVIEWED_AT_REQUIRED)
+  private final Instant reviewedAt;
+
+}
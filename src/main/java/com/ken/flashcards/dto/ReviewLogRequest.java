@@ -0,0 +1,33 @@
+package com.ken.flashcards.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import static lombok.AccessLevel.PRIVATE;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static com.ken.flashcards.constants.ValidationMessages.ID_TOO_LONG;
+import static com.ken.flashcards.constants.ValidationMessages.LEARNER_ID_REQUIRED;
+import static com.ken.flashcards.constants.ValidationMessages.REVIEWS_REQUIRED;
+
+/**
+ * A burst of reviews synced by one learner's client.
+ */
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class ReviewLogRequest {
+
+  @NotBlank(message = LEARNER_ID_REQUIRED)
+  @Size(max = 40, message = ID_TOO_LONG)
+  private final String learnerId;
+
+  @NotEmpty(message = REVIEWS_REQUIRED)
+  private final List<@Valid ReviewEvent> reviews;
+
+}
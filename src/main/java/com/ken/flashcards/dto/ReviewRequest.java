@@ -0,0 +1,34 @@
+package com.ken.flashcards.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import static lombok.AccessLevel.PRIVATE;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import static com.ken.flashcards.constants.ValidationMessages.FLASHCARD_ID_REQUIRED;
+import static com.ken.flashcards.constants.ValidationMessages.GRADE_OUT_OF_RANGE;
+import static com.ken.flashcards.constants.ValidationMessages.LEARNER_ID_REQUIRED;
+
+/**
+ * One review of a flashcard. {@code grade} is the SM-2 recall quality: 5 is perfect recall, 3 is
+ * recalled with difficulty and below 3 is a failed recall.
+ */
+@Data
+@NoArgsConstructor(force = true, access = PRIVATE)
+@AllArgsConstructor
+public class ReviewRequest {
+
+  @NotBlank(message = LEARNER_ID_REQUIRED)
+  private final String learnerId;
+
+  @NotBlank(message = FLASHCARD_ID_REQUIRED)
+  private final String flashcardId;
+
+  @Min(value = 0, message = GRADE_OUT_OF_RANGE)
+  @Max(value = 5, message = GRADE_OUT_OF_RANGE)
+  private final int grade;
+
+}
@@ -0,0 +1,41 @@
+package com.ken.flashcards.dto;
+
+import java.util.List;
+
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+
+import lombok.Data;
+
+/**
+ * One page of a delta sync: the rows created or updated since the token, in their current state,
+ * and the ids of the rows deleted since. A row changed several times is reported once.
+ * <p>
+ * Pass {@code next} back as {@code since}: right away while {@code hasMore}, otherwise on the
+ * next sync. When {@code reset} is set, the token was missing or older than the server's
+ * history, and the client replaces its copy with this page and the ones after it instead of
+ * merging; such a page lists no deletions.
+ */
+@Data
+public class SyncPage {
+
+  private final boolean reset;
+
+  private final List<Category> categories;
+
+  private final List<StudySession> studySessions;
+
+  private final List<Flashcard> flashcards;
+
+  private final List<String> deletedCategoryIds;
+
+  private final List<String> deletedStudySessionIds;
+
+  private final List<String> deletedFlashcardIds;
+
+  private final String next;
+
+  private final boolean hasMore;
+
+}
@@ -0,0 +1,37 @@
+package com.ken.flashcards.event;
+
+import java.util.List;
+
+import com.ken.flashcards.model.Flashcard;
+
+import lombok.Data;
+
+/**
+ * Published by the flashcard service when flashcards are written or deleted, and by the study
+ * session and category services when a delete cascades to flashcards. Listeners that keep derived
+ * state, such as the search index, should handle it after the transaction commits.
+ */
+@Data
+public class FlashcardsChangedEvent {
+
+  private final List<Flashcard> saved;
+
+  private final List<String> deletedIds;
+
+  public static FlashcardsChangedEvent saved(Flashcard flashcard) {
+    return saved(List.of(flashcard));
+  }
+
+  public static FlashcardsChangedEvent saved(List<Flashcard> flashcards) {
+    return new FlashcardsChangedEvent(List.copyOf(flashcards), List.of());
+  }
+
+  public static FlashcardsChangedEvent deleted(String id) {
+    return deleted(List.of(id));
+  }
+
+  public static FlashcardsChangedEvent deleted(List<String> ids) {
+    return new FlashcardsChangedEvent(List.of(), List.copyOf(ids));
+  }
+
+}
@@ -1,9 +1,13 @@
 package com.ken.flashcards.exception;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends DomainException {
 
   public BadRequestException(String message) {
     super(message);
   }
 
+  public BadRequestException(String template, Object... args) {
+    super(template, args);
+  }
+
 }
@@ -1,7 +1,13 @@
 package com.ken.flashcards.exception;
 
-public class ConflictException extends RuntimeException {
+public class ConflictException extends DomainException {
+
   public ConflictException(String message) {
     super(message);
   }
+
+  public ConflictException(String template, Object... args) {
+    super(template, args);
+  }
+
 }
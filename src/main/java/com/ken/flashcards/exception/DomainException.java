@@ -0,0 +1,22 @@
+package com.ken.flashcards.exception;
+
+/**
+ * An error the API reports to the client, such as a missing resource. These are thrown on normal
+ * request paths, some at a high rate, and are turned into a response without being logged, so
+ * they skip capturing a stack trace, which is most of the cost of creating an exception.
+ */
+public abstract class DomainException extends RuntimeException {
+
+  protected DomainException(String message) {
+    super(message, null, false, false);
+  }
+
+  /**
+   * @param template a pattern from {@code ExceptionMessages}, filled in by its
+   *        {@link MessageTemplate}
+   */
+  protected DomainException(String template, Object... args) {
+    this(MessageTemplate.of(template).format(args));
+  }
+
+}
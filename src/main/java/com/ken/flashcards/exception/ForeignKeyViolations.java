@@ -0,0 +1,32 @@
+package com.ken.flashcards.exception;
+
+import static java.util.Locale.ROOT;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Maps foreign key violations raised by the database back to the domain's not-found errors.
+ */
+public final class ForeignKeyViolations {
+
+  private static final String FOREIGN_KEY = "foreign key";
+
+  private ForeignKeyViolations() {}
+
+  /**
+   * Returns a {@link NotFoundException} with the message {@code template} filled in with
+   * {@code args} when the violation is a foreign key failure on {@code column}, or the original
+   * exception otherwise.
+   */
+  public static RuntimeException notFoundOr(DataIntegrityViolationException exception,
+      String column, String template, Object... args) {
+    return violatesForeignKeyOn(exception, column)
+        ? new NotFoundException(template, args) : exception;
+  }
+
+  static boolean violatesForeignKeyOn(DataIntegrityViolationException exception, String column) {
+    String cause = String.valueOf(exception.getMostSpecificCause().getMessage()).toLowerCase(ROOT);
+    return cause.contains(FOREIGN_KEY) && cause.contains(column);
+  }
+
+}
@@ -6,12 +6,17 @@ import java.util.Map;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import static com.ken.flashcards.constants.ExceptionMessages.DATABASE_BUSY;
+import static com.ken.flashcards.constants.ExceptionMessages.DATA_INTEGRITY_VIOLATION;
 import com.ken.flashcards.error.ErrorResponse;
 import com.ken.flashcards.error.ResponseHandler;
 import com.ken.flashcards.error.ValidationErrorExtractor;
@@ -40,6 +45,35 @@ public class GlobalExceptionHandler implements ResponseHandler {
         return responseFrom(exception);
     }
 
+    /**
+     * Fallback for constraint violations the services did not map to a domain exception, such
+     * as a duplicate primary key.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(CONFLICT)
+    @ResponseBody
+    ErrorResponse handle(DataIntegrityViolationException exception) {
+        return ErrorResponse.withMessage(DATA_INTEGRITY_VIOLATION);
+    }
+
+    /**
+     * A transaction could not get a database connection in time, typically because every pooled
+     * connection is busy. The request can be retried.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ResponseBody
+    ErrorResponse handle(CannotCreateTransactionException exception) {
+        return ErrorResponse.withMessage(DATABASE_BUSY);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    @ResponseBody
+    ErrorResponse handle(ServiceUnavailableException exception) {
+        return responseFrom(exception);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(BAD_REQUEST)
     @ResponseBody
@@ -0,0 +1,75 @@
+package com.ken.flashcards.exception;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A message pattern from {@code ExceptionMessages}, split once into its literal text and
+ * placeholders, so filling it in is a single {@link StringBuilder} pass instead of the parsing
+ * {@link String#format} repeats on every call.
+ * <p>
+ * Supports the subset the messages use: {@code %s}, {@code %d} and {@code %%}. The output equals
+ * {@code String.format} for those.
+ */
+public final class MessageTemplate {
+
+  private static final ConcurrentMap<String, MessageTemplate> COMPILED = new ConcurrentHashMap<>();
+
+  private final String pattern;
+  private final String[] literals;
+  private final int length;
+
+  private MessageTemplate(String pattern) {
+    this.pattern = pattern;
+    List<String> literals = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      char conversion = i + 1 < pattern.length() ? pattern.charAt(++i) : ' ';
+      switch (conversion) {
+        case '%' -> literal.append('%');
+        case 's', 'd' -> {
+          literals.add(literal.toString());
+          literal.setLength(0);
+        }
+        default -> throw new IllegalArgumentException(
+            "Unsupported conversion '%" + conversion + "' in \"" + pattern + "\"");
+      }
+    }
+    literals.add(literal.toString());
+    this.literals = literals.toArray(String[]::new);
+    this.length = this.literals.length;
+  }
+
+  /**
+   * Returns the template for the pattern, compiling it on first use.
+   *
+   * @throws IllegalArgumentException if the pattern has a conversion other than %s, %d or %%
+   */
+  public static MessageTemplate of(String pattern) {
+    return COMPILED.computeIfAbsent(pattern, MessageTemplate::new);
+  }
+
+  /**
+   * @throws IllegalArgumentException if there are fewer arguments than placeholders
+   */
+  public String format(Object... args) {
+    if (args.length < length - 1) {
+      throw new IllegalArgumentException(
+          "\"" + pattern + "\" needs " + (length - 1) + " arguments, got " + args.length);
+    }
+    StringBuilder message = new StringBuilder(pattern.length() + 16 * args.length);
+    message.append(literals[0]);
+    for (int i = 1; i < length; i++) {
+      message.append(args[i - 1]).append(literals[i]);
+    }
+    return message.toString();
+  }
+
+}
@@ -1,9 +1,13 @@
 package com.ken.flashcards.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends DomainException {
 
   public NotFoundException(String message) {
     super(message);
   }
 
+  public NotFoundException(String template, Object... args) {
+    super(template, args);
+  }
+
 }
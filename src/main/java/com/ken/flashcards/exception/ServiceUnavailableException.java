@@ -0,0 +1,9 @@
+package com.ken.flashcards.exception;
+
+public class ServiceUnavailableException extends DomainException {
+
+  public ServiceUnavailableException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,136 @@
+package com.ken.flashcards.existence;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over string ids: {@link #mightContain} never misses an id that was
+ * {@linkplain #put put}, and wrongly reports an absent id at a rate set by the size.
+ * <p>
+ * Each id sets {@code hashCount} bits, derived by double hashing from one 128-bit MurmurHash3 of
+ * its UTF-8 bytes. Bits are set with atomic updates, so puts and lookups may run concurrently.
+ */
+final class BloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashCount;
+  private final long capacity;
+
+  private BloomFilter(long bitSize, int hashCount, long capacity) {
+    this.words = new AtomicLongArray((int) ((bitSize + 63) / 64));
+    this.bitSize = bitSize;
+    this.hashCount = hashCount;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Sizes a filter for {@code capacity} ids at the given false positive rate, using at most
+   * {@code maxBits} bits. When the cap applies, the false positive rate at capacity is higher.
+   */
+  static BloomFilter sized(long capacity, double falsePositiveRate, long maxBits) {
+    long ids = Math.max(1, capacity);
+    long wanted = (long) Math.ceil(-ids * Math.log(falsePositiveRate) / (LN2 * LN2));
+    long bitSize = Math.max(64, Math.min(Math.min(wanted, maxBits), 64L * Integer.MAX_VALUE));
+    int hashCount = (int) Math.max(1, Math.min(30, Math.round((double) bitSize / ids * LN2)));
+    return new BloomFilter(bitSize, hashCount, ids);
+  }
+
+  void put(String id) {
+    long[] hash = murmur3(id.getBytes(UTF_8));
+    for (int i = 0; i < hashCount; i++) {
+      long bit = bitIndex(hash, i);
+      long mask = 1L << bit;
+      int word = (int) (bit >>> 6);
+      if ((words.get(word) & mask) == 0) {
+        words.getAndAccumulate(word, mask, (current, set) -> current | set);
+      }
+    }
+  }
+
+  boolean mightContain(String id) {
+    long[] hash = murmur3(id.getBytes(UTF_8));
+    for (int i = 0; i < hashCount; i++) {
+      long bit = bitIndex(hash, i);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Ids the filter was sized for.
+   */
+  long capacity() {
+    return capacity;
+  }
+
+  long bitSize() {
+    return bitSize;
+  }
+
+  int hashCount() {
+    return hashCount;
+  }
+
+  private long bitIndex(long[] hash, int i) {
+    return ((hash[0] + i * hash[1]) & Long.MAX_VALUE) % bitSize;
+  }
+
+  /**
+   * MurmurHash3 x64 128-bit with seed 0.
+   */
+  private static long[] murmur3(byte[] data) {
+    final long c1 = 0x87c37b91114253d5L;
+    final long c2 = 0x4cf5ad432745937fL;
+    long h1 = 0;
+    long h2 = 0;
+    int blocks = data.length / 16;
+    for (int i = 0; i < blocks; i++) {
+      long k1 = littleEndian(data, i * 16, 8);
+      long k2 = littleEndian(data, i * 16 + 8, 8);
+      h1 ^= Long.rotateLeft(k1 * c1, 31) * c2;
+      h1 = (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52dce729;
+      h2 ^= Long.rotateLeft(k2 * c2, 33) * c1;
+      h2 = (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495ab5;
+    }
+    int tail = blocks * 16;
+    int remaining = data.length - tail;
+    if (remaining > 8) {
+      h2 ^= Long.rotateLeft(littleEndian(data, tail + 8, remaining - 8) * c2, 33) * c1;
+    }
+    if (remaining > 0) {
+      h1 ^= Long.rotateLeft(littleEndian(data, tail, Math.min(remaining, 8)) * c1, 31) * c2;
+    }
+    h1 ^= data.length;
+    h2 ^= data.length;
+    h1 += h2;
+    h2 += h1;
+    h1 = fmix(h1);
+    h2 = fmix(h2);
+    h1 += h2;
+    h2 += h1;
+    return new long[] {h1, h2};
+  }
+
+  private static long littleEndian(byte[] data, int offset, int length) {
+    long value = 0;
+    for (int i = length - 1; i >= 0; i--) {
+      value = (value << 8) | (data[offset + i] & 0xffL);
+    }
+    return value;
+  }
+
+  private static long fmix(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.ken.flashcards.existence;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ken.flashcards.config.ExistenceFilterProperties;
+
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * The ids of one table, held in a {@link BloomFilter} so that most lookups of an id that does not
+ * exist are answered without a query. {@link #mightContain} returning {@code false} means the row
+ * does not exist; {@code true} means it may, and the database decides.
+ * <p>
+ * Writers {@linkplain #add add} an id before writing its row, inside their transaction, so the id
+ * is in the filter before the row can be read. A rolled-back write or a delete leaves its id
+ * behind, which only costs a query when it is looked up; {@linkplain #rebuild rebuilds} drop
+ * them. Rows written by anything other than the services, such as another instance or a manual
+ * {@code INSERT}, are not seen until the next rebuild.
+ * <p>
+ * Until it is first built, and when disabled, the filter answers {@code true} for every id.
+ */
+public class ExistenceFilter {
+
+  private static final long MIN_CAPACITY = 1024;
+
+  private final String name;
+  private final ExistenceFilterProperties properties;
+  private final Counter misses;
+  private final Set<Queue<String>> pending = ConcurrentHashMap.newKeySet();
+  private final AtomicLong added = new AtomicLong();
+
+  private volatile BloomFilter current;
+  private volatile BloomFilter next;
+
+  public ExistenceFilter(String name, ExistenceFilterProperties properties, Counter misses) {
+    this.name = name;
+    this.properties = properties;
+    this.misses = misses;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  /**
+   * Returns {@code false} only if no row has the id.
+   */
+  public boolean mightContain(String id) {
+    BloomFilter filter = current;
+    if (filter == null || id == null || filter.mightContain(id)) {
+      return true;
+    }
+    misses.increment();
+    return false;
+  }
+
+  /**
+   * Records an id about to be written. Call it before the write, in the writing transaction.
+   */
+  public void add(String id) {
+    if (id == null || !properties.isEnabled()) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      pendingInTransaction().add(id);
+    }
+    // Read next before current: a rebuild publishes its filter as current before it clears next.
+    BloomFilter building = next;
+    if (building != null) {
+      building.put(id);
+    }
+    BloomFilter filter = current;
+    if (filter != null) {
+      filter.put(id);
+    }
+    added.incrementAndGet();
+  }
+
+  public void addAll(Iterable<String> ids) {
+    ids.forEach(this::add);
+  }
+
+  /**
+   * Whether the ids added since the last build exceed what the filter was sized for, so that its
+   * false positive rate is above the configured one.
+   */
+  public boolean isSaturated() {
+    BloomFilter filter = current;
+    return filter != null && added.get() > filter.capacity();
+  }
+
+  /**
+   * Replaces the filter with one built from {@code ids}, sized for twice {@code rowCount} so that
+   * the table can grow before the next rebuild. Run the read that produces {@code ids} after this
+   * method has started, in its own transaction, so it sees every row committed before then.
+   * <p>
+   * Ids added while the rebuild runs go into both filters. Ids added by transactions still open
+   * when it starts, whose rows may commit after the read, are copied into the new filter.
+   *
+   * @param ids read once the new filter is ready to take concurrent adds
+   * @return the number of ids read
+   */
+  public long rebuild(long rowCount, Supplier<Stream<String>> ids) {
+    long capacity = Math.max(MIN_CAPACITY, 2 * rowCount);
+    BloomFilter building = BloomFilter.sized(capacity, properties.getFalsePositiveRate(),
+        properties.getMaxSize().toBytes() * 8);
+    next = building;
+    try {
+      for (Queue<String> queue : new ArrayList<>(pending)) {
+        queue.forEach(building::put);
+      }
+      AtomicLong count = new AtomicLong();
+      try (Stream<String> stream = ids.get()) {
+        stream.forEach(id -> {
+          building.put(id);
+          count.incrementAndGet();
+        });
+      }
+      added.set(0);
+      current = building;
+      return count.get();
+    } finally {
+      next = null;
+    }
+  }
+
+  private Queue<String> pendingInTransaction() {
+    @SuppressWarnings("unchecked")
+    Queue<String> queue = (Queue<String>) TransactionSynchronizationManager.getResource(this);
+    if (queue == null) {
+      Queue<String> created = new ConcurrentLinkedQueue<>();
+      TransactionSynchronizationManager.bindResource(this, created);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          pending.remove(created);
+          TransactionSynchronizationManager.unbindResourceIfPossible(ExistenceFilter.this);
+        }
+      });
+      pending.add(created);
+      queue = created;
+    }
+    return queue;
+  }
+
+}
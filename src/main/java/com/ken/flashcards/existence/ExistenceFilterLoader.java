@@ -0,0 +1,118 @@
+package com.ken.flashcards.existence;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ken.flashcards.config.ExistenceFilterProperties;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.repository.StudySessionRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the {@link ExistenceFilters} from streaming reads of the id columns once the
+ * application is up, then rebuilds each filter in the background when it is due or has taken
+ * more ids than it was sized for.
+ */
+@Slf4j
+@Component
+public class ExistenceFilterLoader {
+
+  private static final long CHECK_INTERVAL_SECONDS = 30;
+
+  private final List<Source> sources;
+  private final ExistenceFilterProperties properties;
+  private final TransactionTemplate readOnly;
+  private final ScheduledExecutorService rebuilder;
+
+  @Autowired
+  public ExistenceFilterLoader(ExistenceFilters filters, ExistenceFilterProperties properties,
+      CategoryRepository categoryRepository, StudySessionRepository studySessionRepository,
+      FlashcardRepository flashcardRepository, PlatformTransactionManager transactionManager) {
+    this.sources = List.of(
+        new Source(filters.categories(), categoryRepository::count,
+            categoryRepository::streamAllIds),
+        new Source(filters.studySessions(), studySessionRepository::count,
+            studySessionRepository::streamAllIds),
+        new Source(filters.flashcards(), flashcardRepository::count,
+            flashcardRepository::streamAllIds));
+    this.properties = properties;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    this.rebuilder = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("existence-filter-rebuilder").daemon().factory());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    sources.forEach(this::rebuild);
+    rebuilder.scheduleWithFixedDelay(this::rebuildIfDue, CHECK_INTERVAL_SECONDS,
+        CHECK_INTERVAL_SECONDS, SECONDS);
+  }
+
+  @PreDestroy
+  public void close() throws InterruptedException {
+    rebuilder.shutdown();
+    rebuilder.awaitTermination(1, MINUTES);
+  }
+
+  private void rebuildIfDue() {
+    long interval = properties.getRebuildInterval().toNanos();
+    for (Source source : sources) {
+      boolean due = interval > 0 && System.nanoTime() - source.builtAt >= interval;
+      if (due || source.filter.isSaturated()) {
+        try {
+          rebuild(source);
+        } catch (RuntimeException e) {
+          log.warn("Cannot rebuild the {} existence filter", source.filter.name(), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts the rows to size the filter, then reads the ids in a second transaction that the
+   * filter starts once it takes concurrent adds; the read's snapshot is taken at its first query.
+   */
+  private void rebuild(Source source) {
+    long start = System.nanoTime();
+    long rows = readOnly.execute(status -> source.count.getAsLong());
+    long ids = readOnly.execute(status -> source.filter.rebuild(rows, source.ids));
+    source.builtAt = System.nanoTime();
+    log.info("Built the {} existence filter from {} ids in {} ms", source.filter.name(), ids,
+        (source.builtAt - start) / 1_000_000);
+  }
+
+  private static final class Source {
+
+    private final ExistenceFilter filter;
+    private final LongSupplier count;
+    private final Supplier<Stream<String>> ids;
+    private volatile long builtAt;
+
+    private Source(ExistenceFilter filter, LongSupplier count, Supplier<Stream<String>> ids) {
+      this.filter = filter;
+      this.count = count;
+      this.ids = ids;
+    }
+  }
+
+}
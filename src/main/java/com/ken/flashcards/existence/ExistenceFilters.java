@@ -0,0 +1,53 @@
+package com.ken.flashcards.existence;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.MetricNames.EXISTENCE_FILTER_MISSES;
+import com.ken.flashcards.config.ExistenceFilterProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link ExistenceFilter} per table. Lookups the filters answer are counted in
+ * {@code flashcards.existence.filter.misses}, tagged by table.
+ */
+@Component
+public class ExistenceFilters {
+
+  private final ExistenceFilter categories;
+  private final ExistenceFilter studySessions;
+  private final ExistenceFilter flashcards;
+
+  @Autowired
+  public ExistenceFilters(ExistenceFilterProperties properties, MeterRegistry meterRegistry) {
+    this.categories = filter("category", properties, meterRegistry);
+    this.studySessions = filter("study_session", properties, meterRegistry);
+    this.flashcards = filter("flashcard", properties, meterRegistry);
+  }
+
+  public ExistenceFilter categories() {
+    return categories;
+  }
+
+  public ExistenceFilter studySessions() {
+    return studySessions;
+  }
+
+  public ExistenceFilter flashcards() {
+    return flashcards;
+  }
+
+  List<ExistenceFilter> all() {
+    return List.of(categories, studySessions, flashcards);
+  }
+
+  private static ExistenceFilter filter(String table, ExistenceFilterProperties properties,
+      MeterRegistry meterRegistry) {
+    return new ExistenceFilter(table, properties,
+        meterRegistry.counter(EXISTENCE_FILTER_MISSES, "table", table));
+  }
+
+}
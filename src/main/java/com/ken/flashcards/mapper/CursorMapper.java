@@ -0,0 +1,16 @@
+package com.ken.flashcards.mapper;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.ken.flashcards.dto.CursorPage;
+
+public interface CursorMapper {
+
+  String cursorFrom(String key);
+
+  String keyFrom(String cursor);
+
+  <T> CursorPage<T> pageFrom(List<T> rows, int limit, Function<T, String> keyExtractor);
+
+}
@@ -0,0 +1,52 @@
+package com.ken.flashcards.mapper;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.ExceptionMessages.INVALID_CURSOR;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.exception.BadRequestException;
+
+@Component
+public class CursorMapperImpl implements CursorMapper {
+
+  private static final String FIRST_PAGE_KEY = "";
+
+  @Override
+  public String cursorFrom(String key) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(UTF_8));
+  }
+
+  /**
+   * Returns the sort key a cursor points past, or an empty key (which sorts before every stored
+   * key) when no cursor is given.
+   */
+  @Override
+  public String keyFrom(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return FIRST_PAGE_KEY;
+    }
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(INVALID_CURSOR, cursor);
+    }
+  }
+
+  /**
+   * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only signals
+   * that another page follows and is not returned.
+   */
+  @Override
+  public <T> CursorPage<T> pageFrom(List<T> rows, int limit, Function<T, String> keyExtractor) {
+    if (rows.size() <= limit) {
+      return new CursorPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, limit);
+    return new CursorPage<>(items, cursorFrom(keyExtractor.apply(items.get(limit - 1))));
+  }
+}
@@ -2,9 +2,12 @@ package com.ken.flashcards.mapper;
 
 import static java.util.UUID.randomUUID;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(prefix = "flashcards", name = "id-generator", havingValue = "random",
+    matchIfMissing = true)
 class IdGeneratorImpl implements IdGenerator {
 
   @Override
@@ -0,0 +1,44 @@
+package com.ken.flashcards.metrics;
+
+import static java.util.Locale.ROOT;
+
+/**
+ * The kind of SQL statement, read from its first keyword.
+ */
+public enum SqlOperation {
+  SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+  private final String tag = name().toLowerCase(ROOT);
+
+  public String tag() {
+    return tag;
+  }
+
+  public static SqlOperation of(String sql) {
+    String statement = withoutLeadingComment(sql.stripLeading());
+    int end = 0;
+    while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+      end++;
+    }
+    return switch (statement.substring(0, end).toLowerCase(ROOT)) {
+      case "select", "with" -> SELECT;
+      case "insert" -> INSERT;
+      case "update" -> UPDATE;
+      case "delete" -> DELETE;
+      default -> OTHER;
+    };
+  }
+
+  /**
+   * Skips the {@code /* ... *}{@code /} comment Hibernate prepends when {@code use_sql_comments}
+   * is on.
+   */
+  private static String withoutLeadingComment(String sql) {
+    if (!sql.startsWith("/*")) {
+      return sql;
+    }
+    int end = sql.indexOf("*/");
+    return end < 0 ? sql : sql.substring(end + 2).stripLeading();
+  }
+
+}
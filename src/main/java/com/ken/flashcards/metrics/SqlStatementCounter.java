@@ -0,0 +1,57 @@
+package com.ken.flashcards.metrics;
+
+import static com.ken.flashcards.constants.MetricNames.DB_STATEMENTS;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts every SQL statement Hibernate prepares, tagged by {@link SqlOperation}. A JDBC batch is
+ * prepared once, so it counts as one statement however many rows it carries.
+ * <p>
+ * While a request is being tracked on the current thread (see {@link SqlStatementMetricsFilter}),
+ * statements are also tallied for that request alone.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+  private final Counter[] counters;
+  private final ThreadLocal<int[]> requestTally = new ThreadLocal<>();
+
+  public SqlStatementCounter(MeterRegistry registry) {
+    SqlOperation[] operations = SqlOperation.values();
+    this.counters = new Counter[operations.length];
+    for (SqlOperation operation : operations) {
+      counters[operation.ordinal()] = Counter.builder(DB_STATEMENTS)
+          .description("SQL statements prepared").tag("operation", operation.tag())
+          .register(registry);
+    }
+  }
+
+  @Override
+  public String inspect(String sql) {
+    int operation = SqlOperation.of(sql).ordinal();
+    counters[operation].increment();
+    int[] tally = requestTally.get();
+    if (tally != null) {
+      tally[operation]++;
+    }
+    return sql;
+  }
+
+  void startRequest() {
+    requestTally.set(new int[SqlOperation.values().length]);
+  }
+
+  /**
+   * Stops tracking the current thread's request and returns its statement counts, indexed by
+   * {@link SqlOperation#ordinal()}.
+   */
+  int[] endRequest() {
+    int[] tally = requestTally.get();
+    requestTally.remove();
+    return tally;
+  }
+
+}
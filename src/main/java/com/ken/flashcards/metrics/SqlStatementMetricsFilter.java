@@ -0,0 +1,63 @@
+package com.ken.flashcards.metrics;
+
+import static com.ken.flashcards.constants.MetricNames.DB_STATEMENTS_PER_REQUEST;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many statements of each {@link SqlOperation} every request ran, tagged with the
+ * same {@code method} and {@code uri} as {@code http.server.requests}. A {@code max} above what an
+ * endpoint needs points at repeated lookups or N+1 queries.
+ * <p>
+ * Only statements run on the request thread are seen; streamed response bodies written on
+ * another thread are not.
+ */
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+  private static final String UNKNOWN_URI = "UNKNOWN";
+
+  private final SqlStatementCounter counter;
+  private final MeterRegistry registry;
+
+  public SqlStatementMetricsFilter(SqlStatementCounter counter, MeterRegistry registry) {
+    this.counter = counter;
+    this.registry = registry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    counter.startRequest();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      record(request, counter.endRequest());
+    }
+  }
+
+  private void record(HttpServletRequest request, int[] tally) {
+    String uri = uriOf(request);
+    for (SqlOperation operation : SqlOperation.values()) {
+      DistributionSummary.builder(DB_STATEMENTS_PER_REQUEST)
+          .description("SQL statements run by one request")
+          .tags("method", request.getMethod(), "uri", uri, "operation", operation.tag())
+          .register(registry).record(tally[operation.ordinal()]);
+    }
+  }
+
+  private String uriOf(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern != null ? pattern.toString() : UNKNOWN_URI;
+  }
+
+}
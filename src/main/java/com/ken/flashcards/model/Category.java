@@ -1,5 +1,8 @@
 package com.ken.flashcards.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
@@ -9,6 +12,7 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@JsonInclude(NON_NULL)
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
 public class Category {
@@ -0,0 +1,24 @@
+package com.ken.flashcards.model;
+
+import lombok.Data;
+
+/**
+ * A row of {@code change_log}: the latest change to one category, study session or flashcard,
+ * numbered by {@code seq}. Written by triggers and read over JDBC, so it is not an entity.
+ */
+@Data
+public class ChangeLogEntry {
+
+  public static final String CATEGORY = "category";
+  public static final String STUDY_SESSION = "study_session";
+  public static final String FLASHCARD = "flashcard";
+
+  private final long seq;
+
+  private final String tableName;
+
+  private final String entityId;
+
+  private final boolean deleted;
+
+}
@@ -0,0 +1,22 @@
+package com.ken.flashcards.model;
+
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * A row of the append-only {@code review_log} table. Written in groups over JDBC rather than
+ * through JPA, so it is not an entity.
+ */
+@Data
+public class ReviewLogEntry {
+
+  private final String learnerId;
+
+  private final String flashcardId;
+
+  private final int grade;
+
+  private final Instant reviewedAt;
+
+}
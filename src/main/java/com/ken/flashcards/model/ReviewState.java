@@ -0,0 +1,44 @@
+package com.ken.flashcards.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import static lombok.AccessLevel.PRIVATE;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A learner's spaced-repetition progress on one flashcard, scheduled with SM-2. Rows are indexed
+ * by {@code (learner_id, due_at)}, so a learner's due queue is read in due order by an index range
+ * scan.
+ */
+@Data
+@Entity
+@IdClass(ReviewStateId.class)
+@AllArgsConstructor
+@NoArgsConstructor(force = true, access = PRIVATE)
+public class ReviewState {
+
+  @Id
+  private final String learnerId;
+
+  @Id
+  private final String flashcardId;
+
+  /**
+   * Successful reviews in a row; reset by a failed recall.
+   */
+  private final int repetitions;
+
+  private final int intervalDays;
+
+  private final double easeFactor;
+
+  private final Instant dueAt;
+
+  private final Instant reviewedAt;
+
+}
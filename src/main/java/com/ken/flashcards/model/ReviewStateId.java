@@ -0,0 +1,19 @@
+package com.ken.flashcards.model;
+
+import java.io.Serializable;
+
+import static lombok.AccessLevel.PRIVATE;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true, access = PRIVATE)
+public class ReviewStateId implements Serializable {
+
+  private final String learnerId;
+
+  private final String flashcardId;
+
+}
@@ -0,0 +1,64 @@
+package com.ken.flashcards.model;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores UUID string ids as {@code BINARY(16)}. It is applied to every id and foreign key
+ * attribute by {@code META-INF/binary-keys-orm.xml}, so entities keep their {@code String} ids.
+ * <p>
+ * The empty string converts to an empty value, which sorts before every key, so keyset pages can
+ * start from it. Any other string that is not a UUID converts to a 17-byte value: it never equals
+ * a stored key, so lookups find nothing, and MySQL rejects it as too long on insert instead of
+ * silently truncating it.
+ */
+@Converter
+public class UuidBinaryConverter implements AttributeConverter<String, byte[]> {
+
+  private static final int UUID_BYTES = 16;
+  private static final int UUID_LENGTH = 36;
+
+  @Override
+  public byte[] convertToDatabaseColumn(String id) {
+    if (id == null) {
+      return null;
+    }
+    if (id.isEmpty()) {
+      return new byte[0];
+    }
+    UUID uuid = uuidFrom(id);
+    if (uuid == null) {
+      return new byte[UUID_BYTES + 1];
+    }
+    return ByteBuffer.allocate(UUID_BYTES).putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits()).array();
+  }
+
+  @Override
+  public String convertToEntityAttribute(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong()).toString();
+  }
+
+  /**
+   * The UUID a 36-character id spells, or {@code null} if it is not one; {@code UUID_TO_BIN}
+   * accepts the same strings.
+   */
+  public static UUID uuidFrom(String id) {
+    if (id == null || id.length() != UUID_LENGTH) {
+      return null;
+    }
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+}
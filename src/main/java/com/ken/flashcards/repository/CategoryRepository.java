@@ -1,18 +1,62 @@
 package com.ken.flashcards.repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import static com.ken.flashcards.repository.FlashcardRepository.EXPORT_FETCH_SIZE;
 import com.ken.flashcards.model.Category;
 
-public interface CategoryRepository extends JpaRepository<Category, String> {
+import jakarta.persistence.QueryHint;
 
+public interface CategoryRepository
+    extends JpaRepository<Category, String>, ProjectionRepository<Category>,
+    CategoryUpsertRepository {
+
+  /**
+   * Selects through a constructor expression, so the rows are not managed; see
+   * {@link FlashcardRepository}.
+   */
+  String SELECT_UNMANAGED_CATEGORIES =
+      "SELECT new com.ken.flashcards.model.Category(c.id, c.name) FROM Category c";
+
+  @Query(SELECT_UNMANAGED_CATEGORIES + " ORDER BY c.name")
   Collection<Category> findAllByOrderByNameAsc();
 
+  @Query(SELECT_UNMANAGED_CATEGORIES + " WHERE c.id IN :ids")
+  List<Category> findAllByIdIn(@Param("ids") Collection<String> ids);
+
+  /**
+   * Keyset page in name order; {@code name} is unique, so it alone is a stable cursor.
+   */
+  List<Category> findByNameGreaterThanOrderByNameAsc(String name, Limit limit);
+
   boolean existsByName(String name);
 
   Optional<Category> findByName(String name);
 
+  /**
+   * Reads a whole deck in one query: the category outer-joined to its study sessions and their
+   * flashcards, ordered so each session's cards are contiguous. Returns no rows when the category
+   * does not exist.
+   */
+  @Query("SELECT new com.ken.flashcards.repository.DeckRow(c.id, c.name, s.id, s.name, f.id, "
+      + "f.question, f.answer) FROM Category c "
+      + "LEFT JOIN StudySession s ON s.categoryId = c.id "
+      + "LEFT JOIN Flashcard f ON f.studySessionId = s.id "
+      + "WHERE c.id = :id ORDER BY s.name, s.id, f.id")
+  List<DeckRow> findDeckRows(@Param("id") String id);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query("SELECT c.id FROM Category c")
+  Stream<String> streamAllIds();
+
 }
@@ -0,0 +1,16 @@
+package com.ken.flashcards.repository;
+
+import com.ken.flashcards.model.Category;
+
+public interface CategoryUpsertRepository {
+
+  /**
+   * Inserts the category, or renames it when the id already exists, in one statement. Returns the
+   * affected-row count; see {@link Upserts#inserted(int)}.
+   * <p>
+   * {@code ON DUPLICATE KEY} also fires on {@code name_unique}, so callers must reject a name owned
+   * by another category before calling this.
+   */
+  int upsert(Category category);
+
+}
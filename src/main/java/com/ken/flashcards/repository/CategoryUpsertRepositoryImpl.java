@@ -0,0 +1,22 @@
+package com.ken.flashcards.repository;
+
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.model.Category;
+
+import jakarta.persistence.EntityManager;
+
+class CategoryUpsertRepositoryImpl implements CategoryUpsertRepository {
+
+  private final EntityManager entityManager;
+  private final UpsertStatement statement;
+
+  CategoryUpsertRepositoryImpl(EntityManager entityManager, KeyProperties keys) {
+    this.entityManager = entityManager;
+    this.statement = new UpsertStatement(keys, "category", "id", "name");
+  }
+
+  @Override
+  public int upsert(Category category) {
+    return statement.execute(entityManager, category.getId(), category.getName());
+  }
+}
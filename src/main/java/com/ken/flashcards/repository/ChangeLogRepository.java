@@ -0,0 +1,26 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+
+import com.ken.flashcards.model.ChangeLogEntry;
+
+/**
+ * The change log behind delta sync: one entry per category, study session or flashcard, moved to
+ * a new, higher {@code seq} each time the row is written, and kept as a tombstone once it is
+ * deleted.
+ */
+public interface ChangeLogRepository {
+
+  /**
+   * The seq the log's history starts after. Entries at or below it may have been lost, so a
+   * client whose token is older has to start over.
+   */
+  long floor();
+
+  /**
+   * Up to {@code limit} entries after {@code seq}, in seq order. Entries are numbered in the
+   * order their transactions commit, so one never becomes visible below one already read.
+   */
+  List<ChangeLogEntry> findAfter(long seq, int limit);
+
+}
@@ -0,0 +1,70 @@
+package com.ken.flashcards.repository;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.config.SyncProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Numbers new change log entries in the background, one short transaction per batch, so a sync
+ * only reads and a change becomes visible to it within about one interval of its commit. Every
+ * instance runs one; the sequence row lock keeps them from overlapping.
+ */
+@Slf4j
+@Component
+@Profile(NOT_IN_MEMORY)
+public class ChangeLogSequencer {
+
+  private final JdbcChangeLogRepository repository;
+  private final SyncProperties properties;
+  private final TransactionTemplate transaction;
+  private final ScheduledExecutorService sequencer;
+
+  @Autowired
+  public ChangeLogSequencer(JdbcChangeLogRepository repository, SyncProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.repository = repository;
+    this.properties = properties;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.sequencer = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("change-log-sequencer").daemon().factory());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    long interval = properties.getSequenceInterval().toNanos();
+    sequencer.scheduleWithFixedDelay(this::sequence, 0, interval, NANOSECONDS);
+  }
+
+  @PreDestroy
+  public void close() throws InterruptedException {
+    sequencer.shutdown();
+    sequencer.awaitTermination(1, MINUTES);
+  }
+
+  private void sequence() {
+    try {
+      int batch;
+      do {
+        batch = transaction.execute(status -> repository.sequence());
+      } while (batch == JdbcChangeLogRepository.SEQUENCE_BATCH_SIZE);
+    } catch (RuntimeException e) {
+      log.warn("Cannot number new change log entries", e);
+    }
+  }
+
+}
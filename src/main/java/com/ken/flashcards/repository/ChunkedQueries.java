@@ -0,0 +1,43 @@
+package com.ken.flashcards.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.ken.flashcards.constants.Batching.LOOKUP_CHUNK_SIZE;
+
+/**
+ * Runs an {@code IN} query over many ids as several queries of at most
+ * {@value com.ken.flashcards.constants.Batching#LOOKUP_CHUNK_SIZE} ids each. Very long
+ * {@code IN} lists make statements that are slow to parse and plan, and each distinct list length
+ * is another statement for the server and the statement cache to hold. So each chunk is padded to
+ * the next power of two, or to the chunk size, by repeating its last id: every lookup uses one of
+ * eleven list lengths, and a repeated id matches its row only once.
+ */
+public final class ChunkedQueries {
+
+  private ChunkedQueries() {}
+
+  public static <T> List<T> findAllIn(List<String> ids, Function<List<String>, List<T>> query) {
+    List<T> rows = new ArrayList<>(ids.size());
+    for (int start = 0; start < ids.size(); start += LOOKUP_CHUNK_SIZE) {
+      int end = Math.min(ids.size(), start + LOOKUP_CHUNK_SIZE);
+      rows.addAll(query.apply(padded(ids.subList(start, end))));
+    }
+    return rows;
+  }
+
+  static List<String> padded(List<String> chunk) {
+    int size = chunk.size() == 1
+        ? 1 : Math.min(LOOKUP_CHUNK_SIZE, Integer.highestOneBit(chunk.size() - 1) << 1);
+    if (size == chunk.size()) {
+      return chunk;
+    }
+    List<String> padded = new ArrayList<>(size);
+    padded.addAll(chunk);
+    padded.addAll(Collections.nCopies(size - chunk.size(), chunk.get(chunk.size() - 1)));
+    return padded;
+  }
+
+}
@@ -0,0 +1,26 @@
+package com.ken.flashcards.repository;
+
+import lombok.Data;
+
+/**
+ * The version of the rows under one parent: how many there are and when the latest of them was
+ * written. Any insert, update or delete under the parent changes at least one of the two.
+ */
+@Data
+public class CollectionVersion {
+
+  private final long count;
+
+  /**
+   * Microseconds since the epoch of the newest {@code updated_at}, or 0 when there are no rows.
+   */
+  private final long lastModified;
+
+  /**
+   * A strong entity tag for the collection, unquoted.
+   */
+  public String etag() {
+    return count + "-" + lastModified;
+  }
+
+}
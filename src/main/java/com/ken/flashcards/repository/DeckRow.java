@@ -0,0 +1,26 @@
+package com.ken.flashcards.repository;
+
+import lombok.Data;
+
+/**
+ * One row of the category, study session and flashcard join behind a deck. Study session and
+ * flashcard columns are {@code null} where the outer join found no match.
+ */
+@Data
+public class DeckRow {
+
+  private final String categoryId;
+
+  private final String categoryName;
+
+  private final String studySessionId;
+
+  private final String studySessionName;
+
+  private final String flashcardId;
+
+  private final String question;
+
+  private final String answer;
+
+}
@@ -1,11 +1,81 @@
 package com.ken.flashcards.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.ken.flashcards.model.Flashcard;
 
-public interface FlashcardRepository extends JpaRepository<Flashcard, String> {
+import jakarta.persistence.QueryHint;
+
+public interface FlashcardRepository
+    extends JpaRepository<Flashcard, String>, InsertRepository<Flashcard>,
+    ProjectionRepository<Flashcard>, FlashcardUpsertRepository, FlashcardVersionRepository {
+
+  /**
+   * Rows read per round trip by the streaming queries below. With MySQL this only streams when
+   * the connection uses {@code useCursorFetch=true}.
+   */
+  String EXPORT_FETCH_SIZE = "1000";
+
+  String SELECT_UNMANAGED_FLASHCARDS = "SELECT new com.ken.flashcards.model.Flashcard("
+      + "f.id, f.studySessionId, f.question, f.answer) FROM Flashcard f";
+
+  /*
+   * The list and streaming queries select through a constructor expression, so rows come back as
+   * plain objects that are never added to the persistence context: no entity snapshot is kept
+   * and nothing is dirty checked at flush. Callers must consume and close a stream inside a
+   * transaction.
+   */
+
+  @Override
+  @Query(SELECT_UNMANAGED_FLASHCARDS)
+  List<Flashcard> findAll();
+
+  @Query(SELECT_UNMANAGED_FLASHCARDS + " WHERE f.studySessionId = :studySessionId")
+  Iterable<Flashcard> findAllByStudySessionId(@Param("studySessionId") String studySessionId);
+
+  @Query(SELECT_UNMANAGED_FLASHCARDS + " WHERE f.id IN :ids")
+  List<Flashcard> findAllByIdIn(@Param("ids") Collection<String> ids);
+
+  /*
+   * The ids of the flashcards a study session or category delete is about to cascade to.
+   */
+
+  @Query("SELECT f.id FROM Flashcard f WHERE f.studySessionId = :studySessionId")
+  List<String> findIdsByStudySessionId(@Param("studySessionId") String studySessionId);
+
+  @Query("SELECT f.id FROM Flashcard f WHERE f.studySessionId IN "
+      + "(SELECT s.id FROM StudySession s WHERE s.categoryId = :categoryId)")
+  List<String> findIdsByCategoryId(@Param("categoryId") String categoryId);
+
+  /**
+   * Keyset page in primary-key order, resolved by an index seek on {@code id}.
+   */
+  List<Flashcard> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query(SELECT_UNMANAGED_FLASHCARDS)
+  Stream<Flashcard> streamAll();
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query(SELECT_UNMANAGED_FLASHCARDS + " WHERE f.studySessionId = :studySessionId")
+  Stream<Flashcard> streamAllByStudySessionId(@Param("studySessionId") String studySessionId);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query(SELECT_UNMANAGED_FLASHCARDS + " WHERE f.studySessionId IN "
+      + "(SELECT s.id FROM StudySession s WHERE s.categoryId = :categoryId)")
+  Stream<Flashcard> streamAllByCategoryId(@Param("categoryId") String categoryId);
 
-  Iterable<Flashcard> findAllByStudySessionId(String studySessionId);
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query("SELECT f.id FROM Flashcard f")
+  Stream<String> streamAllIds();
 
 }
@@ -0,0 +1,13 @@
+package com.ken.flashcards.repository;
+
+import com.ken.flashcards.model.Flashcard;
+
+public interface FlashcardUpsertRepository {
+
+  /**
+   * Inserts the flashcard, or overwrites it when the id already exists, in one statement. Returns
+   * the affected-row count; see {@link Upserts#inserted(int)}.
+   */
+  int upsert(Flashcard flashcard);
+
+}
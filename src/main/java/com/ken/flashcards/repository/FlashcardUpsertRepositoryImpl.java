@@ -0,0 +1,24 @@
+package com.ken.flashcards.repository;
+
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.model.Flashcard;
+
+import jakarta.persistence.EntityManager;
+
+class FlashcardUpsertRepositoryImpl implements FlashcardUpsertRepository {
+
+  private final EntityManager entityManager;
+  private final UpsertStatement statement;
+
+  FlashcardUpsertRepositoryImpl(EntityManager entityManager, KeyProperties keys) {
+    this.entityManager = entityManager;
+    this.statement = new UpsertStatement(keys, "flashcard", "id", "study_session_id", "question",
+        "answer");
+  }
+
+  @Override
+  public int upsert(Flashcard flashcard) {
+    return statement.execute(entityManager, flashcard.getId(), flashcard.getStudySessionId(),
+        flashcard.getQuestion(), flashcard.getAnswer());
+  }
+}
@@ -0,0 +1,13 @@
+package com.ken.flashcards.repository;
+
+import java.util.Optional;
+
+public interface FlashcardVersionRepository {
+
+  /**
+   * Returns the version of a study session's flashcards, or empty when the study session does
+   * not exist.
+   */
+  Optional<CollectionVersion> findVersionByStudySessionId(String studySessionId);
+
+}
@@ -0,0 +1,23 @@
+package com.ken.flashcards.repository;
+
+import java.util.Optional;
+
+import com.ken.flashcards.config.KeyProperties;
+
+import jakarta.persistence.EntityManager;
+
+class FlashcardVersionRepositoryImpl implements FlashcardVersionRepository {
+
+  private final EntityManager entityManager;
+  private final VersionQuery query;
+
+  FlashcardVersionRepositoryImpl(EntityManager entityManager, KeyProperties keys) {
+    this.entityManager = entityManager;
+    this.query = new VersionQuery(keys, "study_session", "flashcard", "study_session_id");
+  }
+
+  @Override
+  public Optional<CollectionVersion> findVersionByStudySessionId(String studySessionId) {
+    return query.find(entityManager, studySessionId);
+  }
+}
@@ -0,0 +1,21 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+
+/**
+ * Insert-only writes for entities with application-assigned ids.
+ * <p>
+ * {@code save} merges any entity whose id is already set, which costs a SELECT before every
+ * INSERT. These methods always persist, so new rows cost exactly one INSERT each, and flush before
+ * returning so constraint violations surface from the call that caused them.
+ */
+public interface InsertRepository<T> {
+
+  T persist(T entity);
+
+  /**
+   * Inserts many entities using JDBC statement batching.
+   */
+  List<T> persistAll(List<T> entities);
+
+}
@@ -0,0 +1,47 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+
+import jakarta.persistence.EntityManager;
+
+class InsertRepositoryImpl<T> implements InsertRepository<T> {
+
+  private final EntityManager entityManager;
+  private final int batchSize;
+
+  InsertRepositoryImpl(EntityManager entityManager,
+      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+    this.entityManager = entityManager;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public T persist(T entity) {
+    entityManager.persist(entity);
+    entityManager.flush();
+    return entity;
+  }
+
+  /**
+   * Flushes and clears the persistence context once per JDBC batch, so a large import neither
+   * holds every entity in memory nor dirty-checks them all at commit.
+   */
+  @Override
+  public List<T> persistAll(List<T> entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      entityManager.persist(entities.get(i));
+      if ((i + 1) % batchSize == 0) {
+        flushAndClear();
+      }
+    }
+    flushAndClear();
+    return entities;
+  }
+
+  private void flushAndClear() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+}
@@ -0,0 +1,77 @@
+package com.ken.flashcards.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.model.ChangeLogEntry;
+
+/**
+ * Reads {@code change_log}, which the triggers in {@code schema-triggers.sql} keep. The history
+ * starts with the table, so the floor is 0.
+ * <p>
+ * The triggers write entries without a seq: MySQL would number them as they are written, not as
+ * they commit, so an entry could appear below one already read. {@link #sequence} numbers them
+ * once they have committed instead, and only numbered entries are read.
+ */
+@Repository
+@Profile(NOT_IN_MEMORY)
+public class JdbcChangeLogRepository implements ChangeLogRepository {
+
+  static final int SEQUENCE_BATCH_SIZE = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String select;
+
+  @Autowired
+  public JdbcChangeLogRepository(JdbcTemplate jdbcTemplate, KeyProperties keys) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.select = "SELECT seq, table_name, "
+        + (keys.storesBinary() ? "BIN_TO_UUID(entity_id)" : "entity_id")
+        + ", deleted FROM change_log WHERE seq > ? ORDER BY seq LIMIT ?";
+  }
+
+  @Override
+  public long floor() {
+    return 0;
+  }
+
+  @Override
+  public List<ChangeLogEntry> findAfter(long seq, int limit) {
+    return jdbcTemplate.query(select, (row, rowNum) -> new ChangeLogEntry(row.getLong(1),
+        row.getString(2), row.getString(3), row.getBoolean(4)), seq, limit);
+  }
+
+  /**
+   * Numbers up to {@value #SEQUENCE_BATCH_SIZE} committed entries that have no seq yet, in the
+   * order they were written, and returns how many it found. Runs in a transaction: the lock on
+   * the sequence row admits one caller at a time, so the new seqs are above every seq committed
+   * before, and they become visible together as it commits. The entries of a transaction still
+   * open are not in its snapshot; a later call numbers them.
+   */
+  public int sequence() {
+    long last = jdbcTemplate.queryForObject(
+        "SELECT last_seq FROM change_log_sequence FOR UPDATE", Long.class);
+    List<Long> ids = jdbcTemplate.queryForList(
+        "SELECT id FROM change_log WHERE seq IS NULL ORDER BY id LIMIT ?", Long.class,
+        SEQUENCE_BATCH_SIZE);
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    List<Object[]> args = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      args.add(new Object[] {++last, id});
+    }
+    // an entry replaced since the snapshot is gone; its seq is skipped
+    jdbcTemplate.batchUpdate("UPDATE change_log SET seq = ? WHERE id = ? AND seq IS NULL", args);
+    jdbcTemplate.update("UPDATE change_log_sequence SET last_seq = ?", last);
+    return ids.size();
+  }
+
+}
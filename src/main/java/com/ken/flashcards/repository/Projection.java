@@ -0,0 +1,153 @@
+package com.ken.flashcards.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+
+/**
+ * A sparse fieldset: the attributes of one entity type that a read selects. Rows come back as
+ * entities whose other attributes are {@code null}, which the JSON writer leaves out. The id is
+ * always selected.
+ * <p>
+ * Attribute names are checked against the entity's own, so they are safe to place in JPQL.
+ */
+public final class Projection<T> {
+
+  public static final Shape<Category> CATEGORY = new Shape<>("Category",
+      List.of("id", "name"),
+      category -> new Object[] {category.getId(), category.getName()},
+      values -> new Category((String) values[0], (String) values[1]));
+
+  public static final Shape<StudySession> STUDY_SESSION = new Shape<>("StudySession",
+      List.of("id", "categoryId", "name"),
+      session -> new Object[] {session.getId(), session.getCategoryId(), session.getName()},
+      values -> new StudySession((String) values[0], (String) values[1], (String) values[2]));
+
+  public static final Shape<Flashcard> FLASHCARD = new Shape<>("Flashcard",
+      List.of("id", "studySessionId", "question", "answer"),
+      card -> new Object[] {
+          card.getId(), card.getStudySessionId(), card.getQuestion(), card.getAnswer()},
+      values -> new Flashcard(
+          (String) values[0], (String) values[1], (String) values[2], (String) values[3]));
+
+  private final Shape<T> shape;
+  private final boolean[] selected;
+  private final int[] columns;
+
+  private Projection(Shape<T> shape, boolean[] selected) {
+    this.shape = shape;
+    this.selected = selected;
+    int count = 0;
+    for (boolean s : selected) {
+      count += s ? 1 : 0;
+    }
+    this.columns = new int[count];
+    for (int i = 0, column = 0; i < selected.length; i++) {
+      if (selected[i]) {
+        columns[column++] = i;
+      }
+    }
+  }
+
+  /**
+   * Selects the id and the given attributes.
+   *
+   * @throws IllegalArgumentException if an attribute is not one of the shape's
+   */
+  public static <T> Projection<T> of(Shape<T> shape, Collection<String> attributes) {
+    boolean[] selected = new boolean[shape.attributes.size()];
+    selected[0] = true;
+    attributes.forEach(attribute -> selected[shape.indexOf(attribute)] = true);
+    return new Projection<>(shape, selected);
+  }
+
+  public Shape<T> shape() {
+    return shape;
+  }
+
+  /**
+   * {@code SELECT alias.a, alias.b FROM Entity alias}, listing the selected attributes in
+   * declaration order.
+   */
+  public String select(String alias) {
+    StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM " + shape.entity + " " + alias);
+    for (int column : columns) {
+      select.add(alias + "." + shape.attributes.get(column));
+    }
+    return select.toString();
+  }
+
+  /**
+   * Builds an entity from a row of the query {@link #select} begins: an {@code Object[]} of the
+   * selected columns, or the value itself when only one is selected.
+   */
+  public T fromRow(Object row) {
+    Object[] values = new Object[selected.length];
+    if (columns.length == 1) {
+      values[columns[0]] = row;
+    } else {
+      Object[] tuple = (Object[]) row;
+      for (int i = 0; i < columns.length; i++) {
+        values[columns[i]] = tuple[i];
+      }
+    }
+    return shape.constructor.apply(values);
+  }
+
+  /**
+   * Copies the selected attributes of a full entity.
+   */
+  public T project(T entity) {
+    Object[] values = shape.values.apply(entity);
+    for (int i = 0; i < values.length; i++) {
+      if (!selected[i]) {
+        values[i] = null;
+      }
+    }
+    return shape.constructor.apply(values);
+  }
+
+  /**
+   * The attributes of one entity type, in constructor order, id first.
+   */
+  public static final class Shape<T> {
+
+    private final String entity;
+    private final List<String> attributes;
+    private final Function<T, Object[]> values;
+    private final Function<Object[], T> constructor;
+
+    private Shape(String entity, List<String> attributes, Function<T, Object[]> values,
+        Function<Object[], T> constructor) {
+      this.entity = entity;
+      this.attributes = attributes;
+      this.values = values;
+      this.constructor = constructor;
+    }
+
+    public List<String> attributes() {
+      return attributes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the attribute is not one of this shape's
+     */
+    public String attribute(String name) {
+      return attributes.get(indexOf(name));
+    }
+
+    private int indexOf(String attribute) {
+      int index = attributes.indexOf(attribute);
+      if (index < 0) {
+        throw new IllegalArgumentException(entity + " has no attribute '" + attribute + "'");
+      }
+      return index;
+    }
+  }
+
+}
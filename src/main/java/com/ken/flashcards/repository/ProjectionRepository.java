@@ -0,0 +1,24 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * Reads that select only the attributes of a {@link Projection}, so columns a client did not ask
+ * for are neither read from the table nor sent over the connection.
+ */
+public interface ProjectionRepository<T> {
+
+  /**
+   * Every row, ordered by the {@code orderBy} attribute, or unordered if it is null.
+   */
+  List<T> findAllProjected(Projection<T> projection, String orderBy);
+
+  /**
+   * Keyset page: the rows whose {@code key} attribute sorts after {@code after}, in key order.
+   * The key must be unique and selected by the projection.
+   */
+  List<T> findPageProjected(Projection<T> projection, String key, String after, Limit limit);
+
+}
@@ -0,0 +1,54 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+class ProjectionRepositoryImpl<T> implements ProjectionRepository<T> {
+
+  private static final String ALIAS = "e";
+
+  private final EntityManager entityManager;
+
+  ProjectionRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<T> findAllProjected(Projection<T> projection, String orderBy) {
+    String jpql = projection.select(ALIAS);
+    if (orderBy != null) {
+      jpql += " ORDER BY " + column(projection, orderBy);
+    }
+    return rows(entityManager.createQuery(jpql), projection);
+  }
+
+  @Override
+  public List<T> findPageProjected(Projection<T> projection, String key, String after,
+      Limit limit) {
+    String column = column(projection, key);
+    Query query = entityManager
+        .createQuery(projection.select(ALIAS) + " WHERE " + column + " > :after ORDER BY " + column)
+        .setParameter("after", after);
+    if (limit.isLimited()) {
+      query.setMaxResults(limit.max());
+    }
+    return rows(query, projection);
+  }
+
+  private static String column(Projection<?> projection, String attribute) {
+    return ALIAS + "." + projection.shape().attribute(attribute);
+  }
+
+  /**
+   * Scalar selects return plain values, so, as with the constructor-expression queries, nothing
+   * is added to the persistence context.
+   */
+  private static <T> List<T> rows(Query query, Projection<T> projection) {
+    List<?> rows = query.getResultList();
+    return rows.stream().map(projection::fromRow).toList();
+  }
+}
@@ -0,0 +1,49 @@
+package com.ken.flashcards.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.model.ReviewLogEntry;
+
+/**
+ * Appends to {@code review_log} over plain JDBC. A group is written as one batch in one
+ * transaction; with {@code rewriteBatchedStatements=true} on the JDBC URL the driver sends it as
+ * a multi-row {@code INSERT}, so a group costs one round trip and one commit.
+ */
+@Repository
+@Profile(NOT_IN_MEMORY)
+public class ReviewLogRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String insert;
+
+  @Autowired
+  public ReviewLogRepository(JdbcTemplate jdbcTemplate, KeyProperties keys) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.insert = "INSERT INTO review_log (learner_id, flashcard_id, grade, reviewed_at) "
+        + "VALUES (?, " + (keys.storesBinary() ? "UUID_TO_BIN(?)" : "?") + ", ?, ?)";
+  }
+
+  @Transactional
+  public void appendAll(List<ReviewLogEntry> entries) {
+    jdbcTemplate.batchUpdate(insert, entries, entries.size(), (statement, entry) -> {
+      statement.setString(1, entry.getLearnerId());
+      statement.setString(2, entry.getFlashcardId());
+      statement.setInt(3, entry.getGrade());
+      statement.setTimestamp(4, Timestamp.from(entry.getReviewedAt()));
+    });
+  }
+
+  String insertSql() {
+    return insert;
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.ken.flashcards.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ken.flashcards.dto.DueFlashcard;
+import com.ken.flashcards.model.ReviewState;
+import com.ken.flashcards.model.ReviewStateId;
+
+public interface ReviewStateRepository extends JpaRepository<ReviewState, ReviewStateId> {
+
+  /**
+   * Reads the learner's due queue, earliest first. The {@code (learner_id, due_at)} index serves
+   * the filter and the order, so the cost is a seek plus {@code limit} rows however many cards
+   * the learner has.
+   */
+  @Query("SELECT new com.ken.flashcards.dto.DueFlashcard(f.id, f.studySessionId, f.question, "
+      + "f.answer, r.dueAt) FROM ReviewState r JOIN Flashcard f ON f.id = r.flashcardId "
+      + "WHERE r.learnerId = :learnerId AND r.dueAt <= :now ORDER BY r.dueAt")
+  List<DueFlashcard> findDue(@Param("learnerId") String learnerId, @Param("now") Instant now,
+      Limit limit);
+
+}
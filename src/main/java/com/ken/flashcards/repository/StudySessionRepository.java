@@ -1,15 +1,60 @@
 package com.ken.flashcards.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import static com.ken.flashcards.repository.FlashcardRepository.EXPORT_FETCH_SIZE;
 import com.ken.flashcards.model.StudySession;
 
-public interface StudySessionRepository extends JpaRepository<StudySession, String> {
+import jakarta.persistence.QueryHint;
+
+public interface StudySessionRepository
+    extends JpaRepository<StudySession, String>, InsertRepository<StudySession>,
+    ProjectionRepository<StudySession>, StudySessionUpsertRepository,
+    StudySessionVersionRepository {
+
+  /**
+   * Selects through a constructor expression, so the rows are not managed; see
+   * {@link FlashcardRepository}.
+   */
+  String SELECT_UNMANAGED_STUDY_SESSIONS = "SELECT new com.ken.flashcards.model.StudySession("
+      + "s.id, s.categoryId, s.name) FROM StudySession s";
 
   Optional<StudySession> findByName(String name);
 
-  Iterable<StudySession> findAllByCategoryId(String id);
+  @Override
+  @Query(SELECT_UNMANAGED_STUDY_SESSIONS)
+  List<StudySession> findAll();
+
+  @Query(SELECT_UNMANAGED_STUDY_SESSIONS + " WHERE s.categoryId = :id")
+  Iterable<StudySession> findAllByCategoryId(@Param("id") String id);
+
+  @Query(SELECT_UNMANAGED_STUDY_SESSIONS + " WHERE s.id IN :ids")
+  List<StudySession> findAllByIdIn(@Param("ids") Collection<String> ids);
+
+  /**
+   * Keyset page in primary-key order, resolved by an index seek on {@code id}.
+   */
+  List<StudySession> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+  /**
+   * Returns which of the given ids exist, checked with a single {@code IN} query.
+   */
+  @Query("SELECT s.id FROM StudySession s WHERE s.id IN :ids")
+  Set<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+  @Query("SELECT s.id FROM StudySession s")
+  Stream<String> streamAllIds();
 
 }
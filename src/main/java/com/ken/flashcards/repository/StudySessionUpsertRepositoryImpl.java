@@ -0,0 +1,23 @@
+package com.ken.flashcards.repository;
+
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.model.StudySession;
+
+import jakarta.persistence.EntityManager;
+
+class StudySessionUpsertRepositoryImpl implements StudySessionUpsertRepository {
+
+  private final EntityManager entityManager;
+  private final UpsertStatement statement;
+
+  StudySessionUpsertRepositoryImpl(EntityManager entityManager, KeyProperties keys) {
+    this.entityManager = entityManager;
+    this.statement = new UpsertStatement(keys, "study_session", "id", "category_id", "name");
+  }
+
+  @Override
+  public int upsert(StudySession studySession) {
+    return statement.execute(entityManager, studySession.getId(), studySession.getCategoryId(),
+        studySession.getName());
+  }
+}
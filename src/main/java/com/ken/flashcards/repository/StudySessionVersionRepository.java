@@ -0,0 +1,13 @@
+package com.ken.flashcards.repository;
+
+import java.util.Optional;
+
+public interface StudySessionVersionRepository {
+
+  /**
+   * Returns the version of a category's study sessions, or empty when the category does not
+   * exist.
+   */
+  Optional<CollectionVersion> findVersionByCategoryId(String categoryId);
+
+}
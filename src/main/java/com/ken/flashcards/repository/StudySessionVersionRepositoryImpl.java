@@ -0,0 +1,23 @@
+package com.ken.flashcards.repository;
+
+import java.util.Optional;
+
+import com.ken.flashcards.config.KeyProperties;
+
+import jakarta.persistence.EntityManager;
+
+class StudySessionVersionRepositoryImpl implements StudySessionVersionRepository {
+
+  private final EntityManager entityManager;
+  private final VersionQuery query;
+
+  StudySessionVersionRepositoryImpl(EntityManager entityManager, KeyProperties keys) {
+    this.entityManager = entityManager;
+    this.query = new VersionQuery(keys, "category", "study_session", "category_id");
+  }
+
+  @Override
+  public Optional<CollectionVersion> findVersionByCategoryId(String categoryId) {
+    return query.find(entityManager, categoryId);
+  }
+}
@@ -0,0 +1,54 @@
+package com.ken.flashcards.repository;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.ken.flashcards.config.KeyProperties;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * A MySQL {@code INSERT ... ON DUPLICATE KEY UPDATE} for one table. The first column is the
+ * primary key; every other column is overwritten when the key already exists.
+ * <p>
+ * Native SQL bypasses the entities' attribute converters, so when keys are stored as
+ * {@code BINARY(16)} the key columns, {@code id} and any {@code *_id}, are bound through
+ * {@code UUID_TO_BIN}.
+ */
+final class UpsertStatement {
+
+  private final String sql;
+
+  UpsertStatement(KeyProperties keys, String table, String... columns) {
+    List<String> names = Arrays.asList(columns);
+    this.sql = "INSERT INTO " + table + " (" + String.join(", ", names) + ") VALUES ("
+        + names.stream().map(column -> placeholderFor(keys, column)).collect(joining(", "))
+        + ") ON DUPLICATE KEY UPDATE " + names.stream().skip(1)
+            .map(column -> column + " = VALUES(" + column + ")").collect(joining(", "));
+  }
+
+  /**
+   * Binds {@code values} in column order and returns the affected-row count; see
+   * {@link Upserts#inserted(int)}.
+   */
+  int execute(EntityManager entityManager, Object... values) {
+    Query query = entityManager.createNativeQuery(sql);
+    for (int i = 0; i < values.length; i++) {
+      query.setParameter(i + 1, values[i]);
+    }
+    return query.executeUpdate();
+  }
+
+  String sql() {
+    return sql;
+  }
+
+  private static String placeholderFor(KeyProperties keys, String column) {
+    boolean key = column.equals("id") || column.endsWith("_id");
+    return key && keys.storesBinary() ? "UUID_TO_BIN(?)" : "?";
+  }
+
+}
@@ -0,0 +1,20 @@
+package com.ken.flashcards.repository;
+
+/**
+ * Reads the affected-row count of a MySQL {@code INSERT ... ON DUPLICATE KEY UPDATE}.
+ * <p>
+ * MySQL reports 1 for a new row, 2 for an updated row and 0 for an update that changed nothing.
+ * The last case is only distinguishable from an insert when the connection sets
+ * {@code useAffectedRows=true}; otherwise an unchanged row is also reported as 1.
+ */
+public final class Upserts {
+
+  private static final int INSERTED = 1;
+
+  private Upserts() {}
+
+  public static boolean inserted(int affectedRows) {
+    return affectedRows == INSERTED;
+  }
+
+}
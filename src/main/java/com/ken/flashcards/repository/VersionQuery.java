@@ -0,0 +1,43 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.ken.flashcards.config.KeyProperties;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * Reads the {@link CollectionVersion} of a parent's child rows without loading them. The parent
+ * is outer-joined so a missing parent returns no row rather than an empty version, and the
+ * child's {@code (foreign key, updated_at)} index answers the aggregate on its own.
+ * <p>
+ * As with {@link UpsertStatement}, the parent id is bound through {@code UUID_TO_BIN} when keys
+ * are stored as {@code BINARY(16)}.
+ */
+final class VersionQuery {
+
+  private final String sql;
+
+  VersionQuery(KeyProperties keys, String parentTable, String childTable, String foreignKey) {
+    this.sql = "SELECT COUNT(c.id), "
+        + "COALESCE(CAST(UNIX_TIMESTAMP(MAX(c.updated_at)) * 1000000 AS SIGNED), 0) "
+        + "FROM " + parentTable + " p LEFT JOIN " + childTable + " c ON c." + foreignKey
+        + " = p.id WHERE p.id = " + (keys.storesBinary() ? "UUID_TO_BIN(?)" : "?")
+        + " GROUP BY p.id";
+  }
+
+  Optional<CollectionVersion> find(EntityManager entityManager, String parentId) {
+    Query query = entityManager.createNativeQuery(sql).setParameter(1, parentId);
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = query.getResultList();
+    return rows.stream().findFirst().map(row -> new CollectionVersion(
+        ((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+  }
+
+  String sql() {
+    return sql;
+  }
+
+}
@@ -0,0 +1,58 @@
+package com.ken.flashcards.repository.log;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.ByteBuffer;
+
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+
+/**
+ * Encodes an entity as its fields in declaration order, each a length-prefixed UTF-8 string.
+ */
+final class EntityCodec {
+
+  private EntityCodec() {}
+
+  static byte[] encode(Object entity) {
+    return switch (entity) {
+      case Category category -> encode(category.getId(), category.getName());
+      case StudySession session ->
+          encode(session.getId(), session.getCategoryId(), session.getName());
+      case Flashcard card ->
+          encode(card.getId(), card.getStudySessionId(), card.getQuestion(), card.getAnswer());
+      default -> throw new IllegalArgumentException("Cannot encode " + entity.getClass());
+    };
+  }
+
+  static Object decode(String table, byte[] value) {
+    ByteBuffer fields = ByteBuffer.wrap(value);
+    return switch (table) {
+      case "category" -> new Category(next(fields), next(fields));
+      case "study_session" -> new StudySession(next(fields), next(fields), next(fields));
+      case "flashcard" -> new Flashcard(next(fields), next(fields), next(fields), next(fields));
+      default -> throw new IllegalArgumentException("Unknown table " + table);
+    };
+  }
+
+  private static byte[] encode(String... fields) {
+    byte[][] bytes = new byte[fields.length][];
+    int length = 0;
+    for (int i = 0; i < fields.length; i++) {
+      bytes[i] = fields[i].getBytes(UTF_8);
+      length += Integer.BYTES + bytes[i].length;
+    }
+    ByteBuffer value = ByteBuffer.allocate(length);
+    for (byte[] field : bytes) {
+      value.putInt(field.length).put(field);
+    }
+    return value.array();
+  }
+
+  private static String next(ByteBuffer fields) {
+    byte[] field = new byte[fields.getInt()];
+    fields.get(field);
+    return new String(field, UTF_8);
+  }
+
+}
@@ -0,0 +1,523 @@
+package com.ken.flashcards.repository.log;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A Bitcask-style key-value store: values are appended to numbered segment files, and an
+ * in-memory key directory maps each live key to the file and offset of its latest value, so a
+ * read is one positional read and a write is one sequential append.
+ * <p>
+ * Each {@link #write(List)} appends one frame: a CRC-32C, the payload length, then its records.
+ * A frame is applied whole or not at all. Opening the store rebuilds the key directory by
+ * replaying the segments in order; a torn frame at the end of the newest segment, left by a crash
+ * mid-write, is truncated away.
+ * <p>
+ * Once the active segment reaches {@code maxSegmentBytes} a new one is started. Older segments
+ * are immutable, and {@link #compact()} rewrites their live values into a single segment, dropping
+ * overwritten values and deletes.
+ * <p>
+ * The empty key is reserved: a merged segment opens with a record under it naming the first
+ * segment it replaced.
+ */
+@Slf4j
+public final class LogStore implements Closeable {
+
+  private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+  private static final String COMPACTING_SUFFIX = ".compacting";
+
+  /** CRC-32C of the payload, then the payload length. */
+  private static final int FRAME_HEADER_BYTES = 8;
+  /** Timestamp, key length, value length. */
+  private static final int RECORD_HEADER_BYTES = 14;
+  private static final int TOMBSTONE = -1;
+  private static final int MAX_KEY_BYTES = 0xFFFF;
+  private static final String MERGED_FROM_KEY = "";
+  /** Compaction copies values in frames of about this size. */
+  private static final int MERGED_FRAME_BYTES = 64 * 1024;
+  private static final int MERGED_HEADER_BYTES =
+      FRAME_HEADER_BYTES + RECORD_HEADER_BYTES + Integer.BYTES;
+
+  /**
+   * A key and its value, or a {@code null} value for a delete, with the writer's timestamp.
+   */
+  @Data
+  public static final class Entry {
+
+    private final String key;
+
+    private final byte[] value;
+
+    private final long timestamp;
+
+  }
+
+  @Data
+  private static final class Location {
+
+    private final int segment;
+
+    private final long valueOffset;
+
+    private final int valueLength;
+
+    private final int recordBytes;
+
+    private final long timestamp;
+
+  }
+
+  private static final class Segment {
+
+    private final int id;
+    private final FileChannel channel;
+    private long size;
+    private boolean merged;
+
+    private Segment(int id, FileChannel channel) throws IOException {
+      this.id = id;
+      this.channel = channel;
+      this.size = channel.size();
+    }
+  }
+
+  private final Path directory;
+  private final long maxSegmentBytes;
+  private final boolean sync;
+  private final boolean fresh;
+  private final ConcurrentMap<String, Location> keydir = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+  private final Object compaction = new Object();
+  private Segment active;
+
+  private LogStore(Path directory, long maxSegmentBytes, boolean sync) throws IOException {
+    this.directory = directory;
+    this.maxSegmentBytes = maxSegmentBytes;
+    this.sync = sync;
+    List<Integer> ids = segmentIds();
+    this.fresh = ids.isEmpty();
+    for (int id : ids) {
+      segments.put(id, openSegment(id));
+    }
+    deleteMergedInputs();
+    for (Segment segment : segments.values()) {
+      replay(segment, segment.id == segments.lastKey());
+    }
+    this.active = fresh ? newSegment(1) : segments.lastEntry().getValue();
+  }
+
+  /**
+   * Opens the store in {@code directory}, creating it if needed, and rebuilds the key directory.
+   *
+   * @param sync force each write to disk before returning
+   */
+  public static LogStore open(Path directory, long maxSegmentBytes, boolean sync)
+      throws IOException {
+    Files.createDirectories(directory);
+    return new LogStore(directory, maxSegmentBytes, sync);
+  }
+
+  /**
+   * Whether the store had no segments when it was opened.
+   */
+  public boolean isFresh() {
+    return fresh;
+  }
+
+  public Set<String> keys() {
+    return Collections.unmodifiableSet(keydir.keySet());
+  }
+
+  /**
+   * Returns the latest value of the key, or {@code null} when it has none.
+   */
+  public synchronized Entry get(String key) throws IOException {
+    Location location = keydir.get(key);
+    if (location == null) {
+      return null;
+    }
+    return new Entry(key, read(segments.get(location.segment), location), location.timestamp);
+  }
+
+  /**
+   * Appends the entries as one frame, then points the key directory at them.
+   */
+  public synchronized void write(List<Entry> entries) throws IOException {
+    if (entries.isEmpty()) {
+      return;
+    }
+    if (entries.stream().anyMatch(entry -> entry.key.isEmpty())) {
+      throw new IllegalArgumentException("The empty key is reserved");
+    }
+    ByteBuffer frame = frame(entries);
+    long offset = active.size;
+    writeFully(active.channel, frame, offset);
+    if (sync) {
+      active.channel.force(false);
+    }
+    active.size += frame.capacity();
+    List<Location> locations = locate(entries, active.id, offset);
+    for (int i = 0; i < entries.size(); i++) {
+      if (locations.get(i) == null) {
+        keydir.remove(entries.get(i).key);
+      } else {
+        keydir.put(entries.get(i).key, locations.get(i));
+      }
+    }
+    if (active.size >= maxSegmentBytes) {
+      active = newSegment(active.id + 1);
+    }
+  }
+
+  /**
+   * The share of bytes in the immutable segments that no longer hold a live value.
+   */
+  public synchronized double deadRatio() {
+    long total = 0;
+    for (Segment segment : segments.headMap(active.id).values()) {
+      total += segment.size - (segment.merged ? MERGED_HEADER_BYTES : 0);
+    }
+    long live = 0;
+    for (Location location : keydir.values()) {
+      if (location.segment != active.id) {
+        live += location.recordBytes;
+      }
+    }
+    return total == 0 ? 0 : 1 - (double) live / total;
+  }
+
+  /**
+   * Merges the immutable segments into one holding only their live values, and returns whether
+   * there was anything to merge. Writes continue while the values are copied; the store is only
+   * locked to swap the merged segment in.
+   * <p>
+   * The merged segment takes the newest input's number, so replay still meets values in write
+   * order, and replaces it with an atomic rename before the older inputs are deleted. If a crash
+   * leaves some of them behind, opening the store deletes them, as replaying them could bring
+   * back values whose delete was dropped by the merge.
+   */
+  public boolean compact() throws IOException {
+    synchronized (compaction) {
+      List<Segment> inputs;
+      synchronized (this) {
+        inputs = List.copyOf(segments.headMap(active.id).values());
+      }
+      if (inputs.isEmpty()) {
+        return false;
+      }
+      Map<Integer, Segment> inputsById = new HashMap<>();
+      inputs.forEach(segment -> inputsById.put(segment.id, segment));
+      int target = inputs.get(inputs.size() - 1).id;
+
+      Map<String, Location> copiedFrom = new HashMap<>();
+      Map<String, Location> copiedTo = new HashMap<>();
+      Path merged = directory.resolve(fileName(target) + COMPACTING_SUFFIX);
+      try (FileChannel out = FileChannel.open(merged, CREATE, TRUNCATE_EXISTING, WRITE)) {
+        ByteBuffer header = frame(List.of(new Entry(MERGED_FROM_KEY,
+            ByteBuffer.allocate(Integer.BYTES).putInt(inputs.get(0).id).array(), 0)));
+        long position = header.capacity();
+        writeFully(out, header, 0);
+        List<Entry> batch = new ArrayList<>();
+        int batchBytes = 0;
+        for (Map.Entry<String, Location> live : keydir.entrySet()) {
+          Location location = live.getValue();
+          Segment source = inputsById.get(location.segment);
+          if (source == null) {
+            continue;
+          }
+          batch.add(new Entry(live.getKey(), read(source, location), location.timestamp));
+          copiedFrom.put(live.getKey(), location);
+          batchBytes += location.recordBytes;
+          if (batchBytes >= MERGED_FRAME_BYTES) {
+            position = copy(out, position, target, batch, copiedTo);
+            batchBytes = 0;
+          }
+        }
+        copy(out, position, target, batch, copiedTo);
+        out.force(true);
+      }
+
+      synchronized (this) {
+        segments.remove(target).channel.close();
+        Files.move(merged, path(target), ATOMIC_MOVE, REPLACE_EXISTING);
+        Segment replacement = openSegment(target);
+        replacement.merged = true;
+        segments.put(target, replacement);
+        copiedTo.forEach((key, location) -> keydir.replace(key, copiedFrom.get(key), location));
+        for (Segment input : inputs) {
+          if (input.id != target) {
+            segments.remove(input.id);
+            input.channel.close();
+            Files.delete(path(input.id));
+          }
+        }
+      }
+      log.info("Compacted {} segments into {}, keeping {} values", inputs.size(),
+          fileName(target), copiedTo.size());
+      return true;
+    }
+  }
+
+  /**
+   * Appends the batch to the merged segment as one frame and empties it, recording where its
+   * values went. Returns the position after the frame.
+   */
+  private static long copy(FileChannel out, long position, int segment, List<Entry> batch,
+      Map<String, Location> copiedTo) throws IOException {
+    if (batch.isEmpty()) {
+      return position;
+    }
+    ByteBuffer frame = frame(batch);
+    writeFully(out, frame, position);
+    List<Location> locations = locate(batch, segment, position);
+    for (int i = 0; i < batch.size(); i++) {
+      copiedTo.put(batch.get(i).key, locations.get(i));
+    }
+    batch.clear();
+    return position + frame.capacity();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    active.channel.force(true);
+    for (Segment segment : segments.values()) {
+      segment.channel.close();
+    }
+  }
+
+  private List<Integer> segmentIds() throws IOException {
+    List<Integer> ids = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        String name = file.getFileName().toString();
+        Matcher matcher = SEGMENT_NAME.matcher(name);
+        if (matcher.matches()) {
+          ids.add(Integer.parseInt(matcher.group(1)));
+        } else if (name.endsWith(COMPACTING_SUFFIX)) {
+          Files.delete(file);
+        }
+      }
+    }
+    Collections.sort(ids);
+    return ids;
+  }
+
+  /**
+   * Deletes the segments named by a merged segment's header, left behind by a crash during
+   * {@link #compact()}.
+   */
+  private void deleteMergedInputs() throws IOException {
+    for (Segment segment : List.copyOf(segments.values())) {
+      int mergedFrom = mergedFrom(segment);
+      if (mergedFrom < 0) {
+        continue;
+      }
+      segment.merged = true;
+      for (Segment input : List.copyOf(segments.subMap(mergedFrom, segment.id).values())) {
+        log.warn("Deleting {}, already merged into {}", fileName(input.id), fileName(segment.id));
+        segments.remove(input.id);
+        input.channel.close();
+        Files.delete(path(input.id));
+      }
+    }
+  }
+
+  /**
+   * The first segment a merged segment replaced, or -1 if it is not a merged segment.
+   */
+  private static int mergedFrom(Segment segment) throws IOException {
+    if (segment.size < MERGED_HEADER_BYTES) {
+      return -1;
+    }
+    ByteBuffer header = ByteBuffer.allocate(MERGED_HEADER_BYTES);
+    readFully(segment.channel, header, 0);
+    int payloadBytes = MERGED_HEADER_BYTES - FRAME_HEADER_BYTES;
+    boolean merged = header.getInt(4) == payloadBytes
+        && header.getShort(FRAME_HEADER_BYTES + Long.BYTES) == 0
+        && header.getInt(0) == crc(header.array(), FRAME_HEADER_BYTES, payloadBytes);
+    return merged ? header.getInt(MERGED_HEADER_BYTES - Integer.BYTES) : -1;
+  }
+
+  /**
+   * Applies the segment's frames to the key directory. A bad frame in the newest segment is
+   * where a crash interrupted a write, and is truncated; anywhere else it is corruption.
+   */
+  private void replay(Segment segment, boolean newest) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+    long position = 0;
+    while (position < segment.size) {
+      ByteBuffer payload = null;
+      if (segment.size - position >= FRAME_HEADER_BYTES) {
+        readFully(segment.channel, header.clear(), position);
+        int crc = header.getInt(0);
+        int length = header.getInt(4);
+        if (length >= 0 && length <= segment.size - position - FRAME_HEADER_BYTES) {
+          payload = ByteBuffer.allocate(length);
+          readFully(segment.channel, payload, position + FRAME_HEADER_BYTES);
+          if (crc != crc(payload.array(), 0, length)) {
+            payload = null;
+          }
+        }
+      }
+      if (payload == null) {
+        if (!newest) {
+          throw new IOException(format("Corrupt frame in %s at offset %d",
+              fileName(segment.id), position));
+        }
+        log.warn("Truncating {} at offset {}: incomplete frame from an interrupted write",
+            fileName(segment.id), position);
+        segment.channel.truncate(position);
+        segment.size = position;
+        return;
+      }
+      apply(segment.id, position + FRAME_HEADER_BYTES, payload.flip());
+      position += FRAME_HEADER_BYTES + payload.capacity();
+    }
+  }
+
+  private void apply(int segment, long payloadOffset, ByteBuffer payload) {
+    while (payload.hasRemaining()) {
+      long timestamp = payload.getLong();
+      int keyBytes = Short.toUnsignedInt(payload.getShort());
+      int valueLength = payload.getInt();
+      byte[] key = new byte[keyBytes];
+      payload.get(key);
+      if (keyBytes == 0) {
+        payload.position(payload.position() + valueLength);
+      } else if (valueLength == TOMBSTONE) {
+        keydir.remove(new String(key, UTF_8));
+      } else {
+        keydir.put(new String(key, UTF_8), new Location(segment,
+            payloadOffset + payload.position(), valueLength,
+            RECORD_HEADER_BYTES + keyBytes + valueLength, timestamp));
+        payload.position(payload.position() + valueLength);
+      }
+    }
+  }
+
+  private static ByteBuffer frame(List<Entry> entries) {
+    List<byte[]> keys = new ArrayList<>(entries.size());
+    int length = 0;
+    for (Entry entry : entries) {
+      byte[] key = entry.key.getBytes(UTF_8);
+      if (key.length > MAX_KEY_BYTES) {
+        throw new IllegalArgumentException("Key longer than " + MAX_KEY_BYTES + " bytes");
+      }
+      keys.add(key);
+      length += recordBytes(key.length, entry.value);
+    }
+    ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + length);
+    frame.position(FRAME_HEADER_BYTES);
+    for (int i = 0; i < entries.size(); i++) {
+      Entry entry = entries.get(i);
+      frame.putLong(entry.timestamp).putShort((short) keys.get(i).length)
+          .putInt(entry.value == null ? TOMBSTONE : entry.value.length).put(keys.get(i));
+      if (entry.value != null) {
+        frame.put(entry.value);
+      }
+    }
+    frame.putInt(0, crc(frame.array(), FRAME_HEADER_BYTES, length)).putInt(4, length);
+    return frame.flip();
+  }
+
+  /**
+   * Where each entry's value lies once the frame holding them is written at {@code frameOffset},
+   * or {@code null} for a delete.
+   */
+  private static List<Location> locate(List<Entry> entries, int segment, long frameOffset) {
+    List<Location> locations = new ArrayList<>(entries.size());
+    long recordOffset = frameOffset + FRAME_HEADER_BYTES;
+    for (Entry entry : entries) {
+      int keyBytes = entry.key.getBytes(UTF_8).length;
+      int recordBytes = recordBytes(keyBytes, entry.value);
+      locations.add(entry.value == null ? null : new Location(segment,
+          recordOffset + RECORD_HEADER_BYTES + keyBytes, entry.value.length, recordBytes,
+          entry.timestamp));
+      recordOffset += recordBytes;
+    }
+    return locations;
+  }
+
+  private static int recordBytes(int keyBytes, byte[] value) {
+    return RECORD_HEADER_BYTES + keyBytes + (value == null ? 0 : value.length);
+  }
+
+  private static int crc(byte[] bytes, int offset, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(bytes, offset, length);
+    return (int) crc.getValue();
+  }
+
+  private static byte[] read(Segment segment, Location location) throws IOException {
+    ByteBuffer value = ByteBuffer.allocate(location.valueLength);
+    readFully(segment.channel, value, location.valueOffset);
+    return value.array();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of segment at offset " + position);
+      }
+      position += read;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private Segment newSegment(int id) throws IOException {
+    Segment segment = openSegment(id);
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private Segment openSegment(int id) throws IOException {
+    return new Segment(id, FileChannel.open(path(id), CREATE, READ, WRITE));
+  }
+
+  private Path path(int id) {
+    return directory.resolve(fileName(id));
+  }
+
+  private static String fileName(int id) {
+    return format("segment-%010d.log", id);
+  }
+
+}
@@ -0,0 +1,108 @@
+package com.ken.flashcards.repository.log;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.Profiles.LOG_STORE;
+import com.ken.flashcards.config.LogStoreProperties;
+import com.ken.flashcards.repository.log.LogStore.Entry;
+import com.ken.flashcards.repository.memory.Change;
+import com.ken.flashcards.repository.memory.Journal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Journals the in-memory tables to a {@link LogStore}, one key per row, and compacts it in the
+ * background once enough of it is dead.
+ */
+@Slf4j
+@Component
+@Profile(LOG_STORE)
+public class LogStoreJournal implements Journal {
+
+  private static final char KEY_SEPARATOR = ':';
+
+  private final LogStore store;
+  private final double compactionThreshold;
+  private final ScheduledExecutorService compactor;
+
+  @Autowired
+  public LogStoreJournal(LogStoreProperties properties) throws IOException {
+    this.store = LogStore.open(properties.getDirectory(),
+        properties.getMaxSegmentSize().toBytes(), properties.isSync());
+    this.compactionThreshold = properties.getCompactionThreshold();
+    this.compactor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("log-store-compactor").daemon().factory());
+    long interval = properties.getCompactionInterval().toMillis();
+    compactor.scheduleWithFixedDelay(this::compactIfNeeded, interval, interval, MILLISECONDS);
+    log.info("Opened log store in {}", properties.getDirectory().toAbsolutePath());
+  }
+
+  @Override
+  public boolean isFresh() {
+    return store.isFresh();
+  }
+
+  @Override
+  public void append(List<Change> changes) {
+    List<Entry> entries = new ArrayList<>(changes.size());
+    for (Change change : changes) {
+      entries.add(new Entry(change.getTable() + KEY_SEPARATOR + change.getId(),
+          change.getEntity() == null ? null : EntityCodec.encode(change.getEntity()),
+          change.getWrittenAt()));
+    }
+    try {
+      store.write(entries);
+    } catch (IOException e) {
+      throw new DataAccessResourceFailureException("Cannot append to the log store", e);
+    }
+  }
+
+  @Override
+  public void replay(Consumer<Change> changes) {
+    try {
+      for (String key : store.keys()) {
+        Entry entry = store.get(key);
+        if (entry != null) {
+          int separator = key.indexOf(KEY_SEPARATOR);
+          String table = key.substring(0, separator);
+          changes.accept(new Change(table, key.substring(separator + 1),
+              EntityCodec.decode(table, entry.getValue()), entry.getTimestamp()));
+        }
+      }
+    } catch (IOException e) {
+      throw new DataAccessResourceFailureException("Cannot read the log store", e);
+    }
+  }
+
+  @PreDestroy
+  public void close() throws IOException, InterruptedException {
+    // not shutdownNow: interrupting a read closes the segment's channel
+    compactor.shutdown();
+    compactor.awaitTermination(1, MINUTES);
+    store.close();
+  }
+
+  private void compactIfNeeded() {
+    try {
+      if (store.deadRatio() >= compactionThreshold) {
+        store.compact();
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("Log store compaction failed; it will be retried", e);
+    }
+  }
+
+}
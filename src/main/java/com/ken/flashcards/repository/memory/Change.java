@@ -0,0 +1,20 @@
+package com.ken.flashcards.repository.memory;
+
+import lombok.Data;
+
+/**
+ * The new value of one row, or a {@code null} entity where the row was deleted. {@code writtenAt}
+ * is the row's {@code updated_at}, in microseconds since the epoch.
+ */
+@Data
+public final class Change {
+
+  private final String table;
+
+  private final String id;
+
+  private final Object entity;
+
+  private final long writtenAt;
+
+}
@@ -0,0 +1,89 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.DeckRow;
+import com.ken.flashcards.repository.Projection;
+
+@Component
+@Profile(IN_MEMORY)
+public class InMemoryCategoryRepository extends InMemoryRepository<Category>
+    implements CategoryRepository {
+
+  private final InMemoryDatabase database;
+
+  @Autowired
+  public InMemoryCategoryRepository(InMemoryDatabase database) {
+    super(database.categories());
+    this.database = database;
+  }
+
+  @Override
+  public Collection<Category> findAllByOrderByNameAsc() {
+    return database.findCategoriesByName("", Integer.MAX_VALUE);
+  }
+
+  @Override
+  public List<Category> findByNameGreaterThanOrderByNameAsc(String name, Limit limit) {
+    return database.findCategoriesByName(name, maxRows(limit));
+  }
+
+  @Override
+  public List<Category> findAllProjected(Projection<Category> projection, String orderBy) {
+    if (!"name".equals(orderBy)) {
+      return super.findAllProjected(projection, orderBy);
+    }
+    return findAllByOrderByNameAsc().stream().map(projection::project).toList();
+  }
+
+  @Override
+  public List<Category> findPageProjected(Projection<Category> projection, String key,
+      String after, Limit limit) {
+    if (!key.equals("name")) {
+      return super.findPageProjected(projection, key, after, limit);
+    }
+    return findByNameGreaterThanOrderByNameAsc(after, limit).stream().map(projection::project)
+        .toList();
+  }
+
+  @Override
+  public boolean existsByName(String name) {
+    return database.findCategoryByName(name).isPresent();
+  }
+
+  @Override
+  public Optional<Category> findByName(String name) {
+    return database.findCategoryByName(name);
+  }
+
+  @Override
+  public List<DeckRow> findDeckRows(String id) {
+    return database.findDeckRows(id);
+  }
+
+  @Override
+  public int upsert(Category category) {
+    return database.saveCategory(category);
+  }
+
+  @Override
+  void write(Category category) {
+    database.saveCategory(category);
+  }
+
+  @Override
+  void remove(String id) {
+    database.deleteCategory(id);
+  }
+
+}
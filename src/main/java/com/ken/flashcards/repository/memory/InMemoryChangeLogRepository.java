@@ -0,0 +1,38 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.model.ChangeLogEntry;
+import com.ken.flashcards.repository.ChangeLogRepository;
+
+/**
+ * The {@link InMemoryDatabase}'s change log. Seqs are assigned as transactions commit, so every
+ * entry is readable as soon as it exists.
+ */
+@Component
+@Profile(IN_MEMORY)
+public class InMemoryChangeLogRepository implements ChangeLogRepository {
+
+  private final InMemoryDatabase database;
+
+  @Autowired
+  public InMemoryChangeLogRepository(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  public long floor() {
+    return database.changeLogFloor();
+  }
+
+  @Override
+  public List<ChangeLogEntry> findAfter(long seq, int limit) {
+    return database.findChangesAfter(seq, limit);
+  }
+
+}
@@ -0,0 +1,95 @@
+package com.ken.flashcards.repository.memory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.config.InMemoryProperties;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.memory.InsertScript.Insert;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds the {@link InMemoryDatabase} from the configured scripts before the application takes
+ * requests. Rows are inserted in script order with the usual constraints, so parents must come
+ * before their children, as they do for MySQL.
+ * <p>
+ * Each script is loaded in one transaction. A database recovered from a {@link Journal} already
+ * holds its data and is not seeded again.
+ */
+@Slf4j
+@Component
+@Profile(IN_MEMORY)
+public class InMemoryDataLoader {
+
+  /**
+   * Column order of {@code schema.sql}, for {@code INSERT}s without a column list.
+   */
+  private static final Map<String, List<String>> COLUMNS = Map.of(
+      "category", List.of("id", "name", "updated_at"),
+      "study_session", List.of("id", "category_id", "name", "updated_at"),
+      "flashcard", List.of("id", "study_session_id", "question", "answer", "updated_at"));
+
+  private final InMemoryDatabase database;
+  private final InMemoryProperties properties;
+  private final ResourceLoader resourceLoader;
+  private final TransactionTemplate transactionTemplate;
+
+  @Autowired
+  public InMemoryDataLoader(InMemoryDatabase database, InMemoryProperties properties,
+      ResourceLoader resourceLoader, PlatformTransactionManager transactionManager) {
+    this.database = database;
+    this.properties = properties;
+    this.resourceLoader = resourceLoader;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @PostConstruct
+  void load() {
+    if (!database.needsSeeding()) {
+      return;
+    }
+    for (String location : properties.getDataLocations()) {
+      Resource resource = resourceLoader.getResource(location);
+      try {
+        List<Insert> inserts = InsertScript.parse(resource.getContentAsString(UTF_8), COLUMNS);
+        transactionTemplate.executeWithoutResult(status -> inserts.forEach(this::insert));
+        log.info("Loaded {} rows from {}", inserts.size(), location);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot read " + location, e);
+      } catch (RuntimeException e) {
+        throw new IllegalStateException("Cannot load " + location + ": " + e.getMessage(), e);
+      }
+    }
+  }
+
+  private void insert(Insert insert) {
+    Map<String, String> row = insert.getValues();
+    switch (insert.getTable()) {
+      case "category" -> database.insertCategory(new Category(row.get("id"), row.get("name")));
+      case "study_session" -> database.insertStudySession(
+          new StudySession(row.get("id"), row.get("category_id"), row.get("name")));
+      case "flashcard" -> database.insertFlashcard(new Flashcard(row.get("id"),
+          row.get("study_session_id"), row.get("question"), row.get("answer")));
+      default -> {
+        // other tables, such as review_state, are not kept in memory
+      }
+    }
+  }
+
+}
@@ -0,0 +1,521 @@
+package com.ken.flashcards.repository.memory;
+
+import static java.lang.String.format;
+import static java.time.temporal.ChronoUnit.MICROS;
+import static java.util.Comparator.comparing;
+import static java.util.Locale.ROOT;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.ChangeLogEntry;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.CollectionVersion;
+import com.ken.flashcards.repository.DeckRow;
+import com.ken.flashcards.repository.memory.UndoLog.Key;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Categories, study sessions and flashcards held in memory, with the constraints of
+ * {@code schema.sql}: unique category names, foreign keys from each child to its parent, and
+ * deletes that cascade to children.
+ * <p>
+ * Writes hold a write lock, so constraint checks and cascades are atomic. A transaction of
+ * {@link InMemoryTransactionManager} takes the lock at its first write and keeps it until it
+ * commits or rolls back, so write transactions run one at a time, much as row locks would order
+ * them: every write records how to reverse itself, and rollback applies those steps without
+ * reversing anything another transaction committed. Reads take no lock; like
+ * {@code READ UNCOMMITTED}, they can see the writes of a transaction that has not finished.
+ * <p>
+ * Names are compared as the default {@code utf8mb4_0900_ai_ci} collation compares them: ignoring
+ * case and accents. That applies to the unique name check, lookups by name and name order.
+ * <p>
+ * With a {@link Journal}, the tables are recovered from it at startup, and each transaction's
+ * rows are journaled as it commits; a write outside a transaction is journaled at once. Reads
+ * never touch the journal.
+ * <p>
+ * The change log is kept the same way: rows get their new seq as the transaction commits, so
+ * entries appear in seq order. It is not journaled; it starts at startup with every row as
+ * changed, above a floor taken from the clock, so tokens from before a restart are older than
+ * its history.
+ */
+@Slf4j
+@Component
+@Profile(IN_MEMORY)
+public class InMemoryDatabase {
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+  private static final int UNCHANGED = 0;
+  private static final int INSERTED = 1;
+  private static final int UPDATED = 2;
+
+  private final Clock clock;
+  private final Optional<Journal> journal;
+
+  private final Table<Category> categories = new Table<>("category", Category::getId);
+  private final Index<Category> categoriesByName =
+      categories.addIndex(category -> collationKey(category.getName()), true);
+
+  private final Table<StudySession> studySessions =
+      new Table<>("study_session", StudySession::getId);
+  private final Index<StudySession> studySessionsByCategory =
+      studySessions.addIndex(StudySession::getCategoryId, false);
+  private final Index<StudySession> studySessionsByName =
+      studySessions.addIndex(studySession -> collationKey(studySession.getName()), false);
+
+  private final Table<Flashcard> flashcards = new Table<>("flashcard", Flashcard::getId);
+  private final Index<Flashcard> flashcardsByStudySession =
+      flashcards.addIndex(Flashcard::getStudySessionId, false);
+
+  private final Map<String, Table<?>> tablesByName = Map.of(categories.name(), categories,
+      studySessions.name(), studySessions, flashcards.name(), flashcards);
+
+  private final NavigableMap<Long, ChangeLogEntry> changeLog = new ConcurrentSkipListMap<>();
+  private final Map<Key, Long> changeLogSeqs = new HashMap<>();
+  private final long changeLogFloor;
+
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  private long lastWrittenAt;
+  private long lastSeq;
+
+  @Autowired
+  public InMemoryDatabase(Clock clock, Optional<Journal> journal) {
+    this.clock = clock;
+    this.journal = journal;
+    this.changeLogFloor = MICROS.between(Instant.EPOCH, clock.instant());
+    this.lastSeq = changeLogFloor;
+  }
+
+  /**
+   * Loads the rows the journal holds. They were checked when first written, so constraints are
+   * not checked again.
+   */
+  @PostConstruct
+  void recover() {
+    if (journal.isEmpty()) {
+      return;
+    }
+    write(() -> {
+      journal.get().replay(change -> {
+        restore(tablesByName.get(change.getTable()), change);
+        lastWrittenAt = Math.max(lastWrittenAt, change.getWrittenAt());
+      });
+      logChanges(keysOf(categories));
+      logChanges(keysOf(studySessions));
+      logChanges(keysOf(flashcards));
+    });
+    log.info("Recovered {} categories, {} study sessions and {} flashcards", categories.size(),
+        studySessions.size(), flashcards.size());
+  }
+
+  /**
+   * Whether there is no journal, or it started out empty, so the tables need their seed data.
+   */
+  boolean needsSeeding() {
+    return journal.map(Journal::isFresh).orElse(true);
+  }
+
+  Table<Category> categories() {
+    return categories;
+  }
+
+  Table<StudySession> studySessions() {
+    return studySessions;
+  }
+
+  Table<Flashcard> flashcards() {
+    return flashcards;
+  }
+
+  // categories
+
+  List<Category> findCategoriesByName(String after, int limit) {
+    return categories.findAll(categoriesByName.idsAfter(collationKey(after)).limit(limit).toList())
+        .toList();
+  }
+
+  Optional<Category> findCategoryByName(String name) {
+    return categories.findAll(categoriesByName.get(collationKey(name))).findFirst();
+  }
+
+  void insertCategory(Category category) {
+    write(() -> {
+      assertAbsent(categories, category.getId());
+      saveCategory(category);
+    });
+  }
+
+  /**
+   * Inserts or updates the category and returns the affected-row count MySQL would report for an
+   * upsert: 1 inserted, 2 updated, 0 unchanged.
+   * <p>
+   * Unlike {@code ON DUPLICATE KEY UPDATE}, a name owned by another category is rejected rather
+   * than overwriting that category.
+   */
+  int saveCategory(Category category) {
+    return writeCounted(() -> {
+      assertNotNull(categories, "name", category.getName());
+      String owner = categoriesByName.get(collationKey(category.getName())).stream().findFirst()
+          .orElse(category.getId());
+      if (!owner.equals(category.getId())) {
+        throw duplicateEntry(category.getName(), "category.name_unique");
+      }
+      return put(categories, category);
+    });
+  }
+
+  void deleteCategory(String id) {
+    write(() -> {
+      for (String studySessionId : List.copyOf(studySessionsByCategory.get(id))) {
+        deleteStudySession(studySessionId);
+      }
+      remove(categories, id);
+    });
+  }
+
+  // study sessions
+
+  Set<String> findStudySessionIdsByCategoryId(String categoryId) {
+    return studySessionsByCategory.get(categoryId);
+  }
+
+  /**
+   * Like a JPA single-result query, fails when the name is not unique.
+   */
+  Optional<StudySession> findStudySessionByName(String name) {
+    Set<String> ids = studySessionsByName.get(collationKey(name));
+    if (ids.size() > 1) {
+      throw new IncorrectResultSizeDataAccessException(1, ids.size());
+    }
+    return studySessions.findAll(ids).findFirst();
+  }
+
+  void insertStudySession(StudySession studySession) {
+    write(() -> {
+      assertAbsent(studySessions, studySession.getId());
+      saveStudySession(studySession);
+    });
+  }
+
+  int saveStudySession(StudySession studySession) {
+    return writeCounted(() -> {
+      assertNotNull(studySessions, "name", studySession.getName());
+      assertParentExists(studySessions, "category_id", categories, studySession.getCategoryId());
+      return put(studySessions, studySession);
+    });
+  }
+
+  void deleteStudySession(String id) {
+    write(() -> {
+      for (String flashcardId : List.copyOf(flashcardsByStudySession.get(id))) {
+        remove(flashcards, flashcardId);
+      }
+      remove(studySessions, id);
+    });
+  }
+
+  Optional<CollectionVersion> findStudySessionVersion(String categoryId) {
+    return versionOf(categories, categoryId, studySessions,
+        studySessionsByCategory.get(categoryId));
+  }
+
+  // flashcards
+
+  Set<String> findFlashcardIdsByStudySessionId(String studySessionId) {
+    return flashcardsByStudySession.get(studySessionId);
+  }
+
+  void insertFlashcard(Flashcard flashcard) {
+    write(() -> {
+      assertAbsent(flashcards, flashcard.getId());
+      saveFlashcard(flashcard);
+    });
+  }
+
+  int saveFlashcard(Flashcard flashcard) {
+    return writeCounted(() -> {
+      assertNotNull(flashcards, "question", flashcard.getQuestion());
+      assertNotNull(flashcards, "answer", flashcard.getAnswer());
+      assertParentExists(flashcards, "study_session_id", studySessions,
+          flashcard.getStudySessionId());
+      return put(flashcards, flashcard);
+    });
+  }
+
+  void deleteFlashcard(String id) {
+    write(() -> remove(flashcards, id));
+  }
+
+  Optional<CollectionVersion> findFlashcardVersion(String studySessionId) {
+    return versionOf(studySessions, studySessionId, flashcards,
+        flashcardsByStudySession.get(studySessionId));
+  }
+
+  /**
+   * The rows of the deck join in {@code CategoryRepository#findDeckRows}: sessions by name then
+   * id, cards by id, with {@code null} columns where the outer join finds nothing.
+   */
+  List<DeckRow> findDeckRows(String categoryId) {
+    Optional<Category> category = categories.find(categoryId);
+    if (category.isEmpty()) {
+      return List.of();
+    }
+    String categoryName = category.get().getName();
+    List<DeckRow> rows = new ArrayList<>();
+    List<StudySession> sessions = studySessions.findAll(studySessionsByCategory.get(categoryId))
+        .sorted(comparing((StudySession session) -> collationKey(session.getName()))
+            .thenComparing(StudySession::getId))
+        .toList();
+    for (StudySession session : sessions) {
+      List<Flashcard> cards = flashcards.findAll(flashcardsByStudySession.get(session.getId()))
+          .sorted(comparing(Flashcard::getId)).toList();
+      for (Flashcard card : cards) {
+        rows.add(new DeckRow(categoryId, categoryName, session.getId(), session.getName(),
+            card.getId(), card.getQuestion(), card.getAnswer()));
+      }
+      if (cards.isEmpty()) {
+        rows.add(new DeckRow(categoryId, categoryName, session.getId(), session.getName(), null,
+            null, null));
+      }
+    }
+    if (rows.isEmpty()) {
+      rows.add(new DeckRow(categoryId, categoryName, null, null, null, null, null));
+    }
+    return rows;
+  }
+
+  // change log
+
+  long changeLogFloor() {
+    return changeLogFloor;
+  }
+
+  List<ChangeLogEntry> findChangesAfter(long seq, int limit) {
+    return changeLog.tailMap(seq, false).values().stream().limit(limit).toList();
+  }
+
+  void commit(UndoLog undoLog) {
+    changed(undoLog.touched());
+  }
+
+  /**
+   * Reverses the transaction's writes. The rows it touched are journaled and logged again, in
+   * case a write on the same thread, outside the transaction, journaled them while it was open.
+   */
+  void rollback(UndoLog undoLog) {
+    undoLog.undo();
+    changed(undoLog.touched());
+  }
+
+  /**
+   * Releases the write lock if the transaction took it, letting the next writer in.
+   */
+  void release(UndoLog undoLog) {
+    if (undoLog.holdsWriteLock()) {
+      undoLog.setHoldsWriteLock(false);
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Whether another thread is waiting to write.
+   */
+  boolean hasQueuedWriters() {
+    return writeLock.hasQueuedThreads();
+  }
+
+  /**
+   * Folds a name to the key the database collation compares: accents dropped, lower case.
+   */
+  static String collationKey(String name) {
+    if (name == null) {
+      return null;
+    }
+    return COMBINING_MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD))
+        .replaceAll("").toLowerCase(ROOT);
+  }
+
+  private void write(Runnable write) {
+    writeCounted(() -> {
+      write.run();
+      return UNCHANGED;
+    });
+  }
+
+  /**
+   * Runs a write under the write lock. Outside a transaction the lock is released when the write
+   * returns; inside one it is taken once and held until {@link #release}.
+   */
+  private int writeCounted(IntSupplier write) {
+    UndoLog undoLog = (UndoLog) TransactionSynchronizationManager.getResource(this);
+    if (undoLog != null) {
+      if (!undoLog.holdsWriteLock()) {
+        writeLock.lock();
+        undoLog.setHoldsWriteLock(true);
+      }
+      return write.getAsInt();
+    }
+    writeLock.lock();
+    try {
+      return write.getAsInt();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private <T> int put(Table<T> table, T entity) {
+    assertNotNull(table, "id", table.idOf(entity));
+    Row<T> previous = table.row(table.idOf(entity));
+    if (previous != null && previous.getEntity().equals(entity)) {
+      return UNCHANGED;
+    }
+    String id = table.idOf(entity);
+    table.put(entity, nextWrittenAt());
+    written(table, id, () -> table.restore(id, previous));
+    return previous == null ? INSERTED : UPDATED;
+  }
+
+  private <T> void remove(Table<T> table, String id) {
+    Row<T> previous = table.remove(id);
+    if (previous != null) {
+      written(table, id, () -> table.restore(id, previous));
+    }
+  }
+
+  /**
+   * Records how to undo the write in the current transaction, or journals it when there is none.
+   */
+  private void written(Table<?> table, String id, Runnable undo) {
+    UndoLog undoLog = (UndoLog) TransactionSynchronizationManager.getResource(this);
+    if (undoLog != null) {
+      undoLog.add(table, id, undo);
+    } else {
+      changed(Set.of(new Key(table, id)));
+    }
+  }
+
+  private void changed(Set<Key> keys) {
+    journal(keys);
+    logChanges(keys);
+  }
+
+  /**
+   * Moves each row's change log entry to the next seq, in the order given; deleted rows become
+   * tombstones. Cascades touch children before their parent, so their tombstones come first.
+   */
+  private void logChanges(Collection<Key> keys) {
+    for (Key key : keys) {
+      long seq = ++lastSeq;
+      changeLog.put(seq, new ChangeLogEntry(seq, key.getTable().name(), key.getId(),
+          !key.getTable().contains(key.getId())));
+      Long previous = changeLogSeqs.put(key, seq);
+      if (previous != null) {
+        changeLog.remove(previous);
+      }
+    }
+  }
+
+  private static <T> List<Key> keysOf(Table<T> table) {
+    return table.stream().map(entity -> new Key(table, table.idOf(entity))).toList();
+  }
+
+  private void journal(Set<Key> keys) {
+    if (journal.isPresent() && !keys.isEmpty()) {
+      journal.get().append(keys.stream().map(this::change).toList());
+    }
+  }
+
+  private Change change(Key key) {
+    Row<?> row = key.getTable().row(key.getId());
+    return row == null ? new Change(key.getTable().name(), key.getId(), null, lastWrittenAt)
+        : new Change(key.getTable().name(), key.getId(), row.getEntity(), row.getWrittenAt());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void restore(Table<T> table, Change change) {
+    table.put((T) change.getEntity(), change.getWrittenAt());
+  }
+
+  /**
+   * Microseconds since the epoch, strictly increasing, so every write changes the version of
+   * the collection it belongs to.
+   */
+  private long nextWrittenAt() {
+    lastWrittenAt = Math.max(MICROS.between(Instant.EPOCH, clock.instant()), lastWrittenAt + 1);
+    return lastWrittenAt;
+  }
+
+  private static <P, C> Optional<CollectionVersion> versionOf(Table<P> parents, String parentId,
+      Table<C> children, Set<String> childIds) {
+    if (!parents.contains(parentId)) {
+      return Optional.empty();
+    }
+    long count = 0;
+    long lastModified = 0;
+    for (String childId : childIds) {
+      Row<C> row = children.row(childId);
+      if (row != null) {
+        count++;
+        lastModified = Math.max(lastModified, row.getWrittenAt());
+      }
+    }
+    return Optional.of(new CollectionVersion(count, lastModified));
+  }
+
+  private static void assertAbsent(Table<?> table, String id) {
+    if (table.contains(id)) {
+      throw duplicateEntry(id, table.name() + ".PRIMARY");
+    }
+  }
+
+  private static void assertNotNull(Table<?> table, String column, Object value) {
+    if (value == null) {
+      throw new DataIntegrityViolationException(
+          format("Column '%s' cannot be null (%s)", column, table.name()));
+    }
+  }
+
+  /**
+   * Fails with the message MySQL gives, so {@code ForeignKeyViolations} recognizes it.
+   */
+  private static void assertParentExists(Table<?> table, String column, Table<?> parents,
+      String parentId) {
+    if (!parents.contains(parentId)) {
+      throw new DataIntegrityViolationException(format("Cannot add or update a child row: a "
+          + "foreign key constraint fails (`%s`, FOREIGN KEY (`%s`) REFERENCES `%s` (`id`))",
+          table.name(), column, parents.name()));
+    }
+  }
+
+  private static DuplicateKeyException duplicateEntry(String value, String key) {
+    return new DuplicateKeyException(format("Duplicate entry '%s' for key '%s'", value, key));
+  }
+
+}
@@ -0,0 +1,106 @@
+package com.ken.flashcards.repository.memory;
+
+import static java.util.Comparator.comparing;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.CollectionVersion;
+import com.ken.flashcards.repository.FlashcardRepository;
+
+/**
+ * Streams read the live tables rather than a cursor, so they need no transaction, though callers
+ * still open one.
+ */
+@Component
+@Profile(IN_MEMORY)
+public class InMemoryFlashcardRepository extends InMemoryRepository<Flashcard>
+    implements FlashcardRepository {
+
+  private final InMemoryDatabase database;
+  private final Table<Flashcard> flashcards;
+
+  @Autowired
+  public InMemoryFlashcardRepository(InMemoryDatabase database) {
+    super(database.flashcards());
+    this.database = database;
+    this.flashcards = database.flashcards();
+  }
+
+  @Override
+  public Iterable<Flashcard> findAllByStudySessionId(String studySessionId) {
+    return streamAllByStudySessionId(studySessionId).toList();
+  }
+
+  @Override
+  public List<String> findIdsByStudySessionId(String studySessionId) {
+    return database.findFlashcardIdsByStudySessionId(studySessionId).stream().sorted().toList();
+  }
+
+  @Override
+  public List<String> findIdsByCategoryId(String categoryId) {
+    return streamAllByCategoryId(categoryId).map(Flashcard::getId).toList();
+  }
+
+  @Override
+  public List<Flashcard> findByIdGreaterThanOrderByIdAsc(String id, Limit limit) {
+    return flashcards.after(id, maxRows(limit));
+  }
+
+  @Override
+  public Stream<Flashcard> streamAll() {
+    return flashcards.stream();
+  }
+
+  @Override
+  public Stream<Flashcard> streamAllByStudySessionId(String studySessionId) {
+    return flashcards.findAll(database.findFlashcardIdsByStudySessionId(studySessionId))
+        .sorted(comparing(Flashcard::getId));
+  }
+
+  @Override
+  public Stream<Flashcard> streamAllByCategoryId(String categoryId) {
+    return database.findStudySessionIdsByCategoryId(categoryId).stream().sorted()
+        .flatMap(this::streamAllByStudySessionId);
+  }
+
+  @Override
+  public Flashcard persist(Flashcard flashcard) {
+    database.insertFlashcard(flashcard);
+    return flashcard;
+  }
+
+  @Override
+  public List<Flashcard> persistAll(List<Flashcard> entities) {
+    entities.forEach(this::persist);
+    return entities;
+  }
+
+  @Override
+  public int upsert(Flashcard flashcard) {
+    return database.saveFlashcard(flashcard);
+  }
+
+  @Override
+  public Optional<CollectionVersion> findVersionByStudySessionId(String studySessionId) {
+    return database.findFlashcardVersion(studySessionId);
+  }
+
+  @Override
+  void write(Flashcard flashcard) {
+    database.saveFlashcard(flashcard);
+  }
+
+  @Override
+  void remove(String id) {
+    database.deleteFlashcard(id);
+  }
+
+}
@@ -0,0 +1,100 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+
+/**
+ * The fluent query of {@code findBy(Example, Function)} over the rows an example matched. Results
+ * are the entities themselves or, after {@link #as}, interface projections of them; the property
+ * hint of {@link #project} has nothing to fetch lazily, so it changes nothing.
+ */
+final class InMemoryFluentQuery<S, R> implements FetchableFluentQuery<R> {
+
+  private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+  private final List<S> rows;
+  private final Sort sort;
+  private final Function<S, R> mapper;
+
+  private InMemoryFluentQuery(List<S> rows, Sort sort, Function<S, R> mapper) {
+    this.rows = rows;
+    this.sort = sort;
+    this.mapper = mapper;
+  }
+
+  static <S> InMemoryFluentQuery<S, S> of(List<S> rows) {
+    return new InMemoryFluentQuery<>(rows, Sort.unsorted(), Function.identity());
+  }
+
+  @Override
+  public FetchableFluentQuery<R> sortBy(Sort sort) {
+    return new InMemoryFluentQuery<>(rows, this.sort.and(sort), mapper);
+  }
+
+  @Override
+  public <P> FetchableFluentQuery<P> as(Class<P> resultType) {
+    return new InMemoryFluentQuery<>(rows, sort, row -> resultType.isInstance(row)
+        ? resultType.cast(row) : PROJECTIONS.createProjection(resultType, row));
+  }
+
+  @Override
+  public FetchableFluentQuery<R> project(Collection<String> properties) {
+    return this;
+  }
+
+  @Override
+  public R oneValue() {
+    if (rows.size() > 1) {
+      throw new IncorrectResultSizeDataAccessException(1, rows.size());
+    }
+    return rows.isEmpty() ? null : mapper.apply(rows.get(0));
+  }
+
+  @Override
+  public R firstValue() {
+    return InMemoryQueries.sorted(rows, sort).stream().findFirst().map(mapper).orElse(null);
+  }
+
+  @Override
+  public List<R> all() {
+    return stream().toList();
+  }
+
+  @Override
+  public Page<R> page(Pageable pageable) {
+    Pageable sorted = pageable;
+    if (pageable.getSort().isUnsorted()) {
+      sorted = pageable.isPaged()
+          ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+          : Pageable.unpaged(sort);
+    }
+    return InMemoryQueries.page(rows, sorted).map(mapper);
+  }
+
+  @Override
+  public Stream<R> stream() {
+    return InMemoryQueries.sorted(rows, sort).stream().map(mapper);
+  }
+
+  @Override
+  public long count() {
+    return rows.size();
+  }
+
+  @Override
+  public boolean exists() {
+    return !rows.isEmpty();
+  }
+
+}
@@ -0,0 +1,135 @@
+package com.ken.flashcards.repository.memory;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.ExampleMatcher.NullHandler;
+import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+import static com.ken.flashcards.repository.memory.InMemoryDatabase.collationKey;
+
+/**
+ * Sorting, paging and query by example over rows in memory, reading entity properties by name.
+ * Strings compare as the database collation compares them, ignoring case and accents; nulls sort
+ * first, as MySQL sorts them, unless the order says otherwise.
+ */
+final class InMemoryQueries {
+
+  private InMemoryQueries() {}
+
+  static <S> Comparator<S> comparator(Sort sort) {
+    Comparator<S> comparator = (left, right) -> 0;
+    for (Sort.Order order : sort) {
+      Comparator<Object> values = InMemoryQueries::compareValues;
+      if (order.isDescending()) {
+        values = values.reversed();
+      }
+      boolean nullsFirst = switch (order.getNullHandling()) {
+        case NULLS_FIRST -> true;
+        case NULLS_LAST -> false;
+        case NATIVE -> order.isAscending();
+      };
+      values = nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+      comparator = comparator.thenComparing(entity -> property(entity, order.getProperty()),
+          values);
+    }
+    return comparator;
+  }
+
+  static <S> List<S> sorted(List<S> rows, Sort sort) {
+    return sort.isSorted() ? rows.stream().sorted(comparator(sort)).toList() : rows;
+  }
+
+  /**
+   * One page of the rows, sorted by the pageable's sort, with the total count.
+   */
+  static <S> Page<S> page(List<S> rows, Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      return new PageImpl<>(sorted(rows, pageable.getSort()));
+    }
+    List<S> content = sorted(rows, pageable.getSort()).stream().skip(pageable.getOffset())
+        .limit(pageable.getPageSize()).toList();
+    return new PageImpl<>(content, pageable, rows.size());
+  }
+
+  /**
+   * The rows the example matches, as {@code QueryByExamplePredicateBuilder} builds its predicate:
+   * each property of the probe that is set, or every one under {@link NullHandler#INCLUDE},
+   * compared with the matcher's string matching.
+   *
+   * @throws IllegalArgumentException for {@link StringMatcher#REGEX}, which JPA rejects too
+   */
+  static <T, S extends T> List<S> matching(List<T> rows, Example<S> example) {
+    ExampleMatcher matcher = example.getMatcher();
+    ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(matcher);
+    BeanWrapper probe = new BeanWrapperImpl(example.getProbe());
+    List<Predicate<Object>> conditions = new ArrayList<>();
+    for (PropertyDescriptor descriptor : probe.getPropertyDescriptors()) {
+      String path = descriptor.getName();
+      if (path.equals("class") || !probe.isReadableProperty(path)
+          || accessor.isIgnoredPath(path)) {
+        continue;
+      }
+      Object expected = accessor.getValueTransformerForPath(path)
+          .apply(Optional.ofNullable(probe.getPropertyValue(path))).orElse(null);
+      if (expected != null) {
+        StringMatcher strings = accessor.getStringMatcherForPath(path);
+        conditions.add(entity -> matches(property(entity, path), expected, strings));
+      } else if (accessor.getNullHandler() == NullHandler.INCLUDE) {
+        conditions.add(entity -> property(entity, path) == null);
+      }
+    }
+    Predicate<Object> matches = matcher.isAllMatching()
+        ? entity -> conditions.stream().allMatch(condition -> condition.test(entity))
+        : entity -> conditions.isEmpty()
+            || conditions.stream().anyMatch(condition -> condition.test(entity));
+    Class<S> type = example.getProbeType();
+    return rows.stream().filter(type::isInstance).map(type::cast).filter(matches).toList();
+  }
+
+  static Object property(Object entity, String path) {
+    return new BeanWrapperImpl(entity).getPropertyValue(path);
+  }
+
+  /**
+   * Compares two non-null values of one property: strings by collation, anything else by its
+   * natural order.
+   */
+  @SuppressWarnings("unchecked")
+  static int compareValues(Object left, Object right) {
+    if (left instanceof String leftString && right instanceof String rightString) {
+      return collationKey(leftString).compareTo(collationKey(rightString));
+    }
+    return ((Comparable<Object>) left).compareTo(right);
+  }
+
+  private static boolean matches(Object value, Object expected, StringMatcher strings) {
+    if (!(value instanceof String actual && expected instanceof String wanted)) {
+      return Objects.equals(value, expected);
+    }
+    String actualKey = collationKey(actual);
+    String wantedKey = collationKey(wanted);
+    return switch (strings) {
+      case DEFAULT, EXACT -> actualKey.equals(wantedKey);
+      case STARTING -> actualKey.startsWith(wantedKey);
+      case ENDING -> actualKey.endsWith(wantedKey);
+      case CONTAINING -> actualKey.contains(wantedKey);
+      case REGEX -> throw new IllegalArgumentException("Unsupported StringMatcher " + strings);
+    };
+  }
+
+}
@@ -0,0 +1,257 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import com.ken.flashcards.repository.Projection;
+import com.ken.flashcards.repository.ProjectionRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * The {@link JpaRepository} methods over one {@link Table}. Subclasses route writes through the
+ * {@link InMemoryDatabase}, which enforces constraints.
+ * <p>
+ * There is nothing to flush, so the flushing variants behave as their plain counterparts. Sorting,
+ * paging and query by example scan the table with {@link InMemoryQueries}; the services do not
+ * use them on a hot path.
+ */
+abstract class InMemoryRepository<T>
+    implements JpaRepository<T, String>, ProjectionRepository<T> {
+
+  private final Table<T> table;
+
+  InMemoryRepository(Table<T> table) {
+    this.table = table;
+  }
+
+  /**
+   * Inserts or updates the entity, as JPA's merge does.
+   */
+  abstract void write(T entity);
+
+  /**
+   * Deletes the row, and its children, if it exists.
+   */
+  abstract void remove(String id);
+
+  static int maxRows(Limit limit) {
+    return limit.isUnlimited() ? Integer.MAX_VALUE : limit.max();
+  }
+
+  @Override
+  public <S extends T> S save(S entity) {
+    write(entity);
+    return entity;
+  }
+
+  @Override
+  public <S extends T> List<S> saveAll(Iterable<S> entities) {
+    List<S> saved = new ArrayList<>();
+    entities.forEach(entity -> saved.add(save(entity)));
+    return saved;
+  }
+
+  @Override
+  public <S extends T> S saveAndFlush(S entity) {
+    return save(entity);
+  }
+
+  @Override
+  public <S extends T> List<S> saveAllAndFlush(Iterable<S> entities) {
+    return saveAll(entities);
+  }
+
+  @Override
+  public void flush() {}
+
+  @Override
+  public Optional<T> findById(String id) {
+    return table.find(id);
+  }
+
+  @Override
+  public boolean existsById(String id) {
+    return table.contains(id);
+  }
+
+  @Override
+  public List<T> findAll() {
+    return table.stream().toList();
+  }
+
+  @Override
+  public List<T> findAllById(Iterable<String> ids) {
+    return table.findAll(StreamSupport.stream(ids.spliterator(), false).toList()).toList();
+  }
+
+  /**
+   * Implements {@code findAllByIdIn} of the entity's repository interface. Like {@code IN}, an id
+   * listed more than once matches its row once.
+   */
+  public List<T> findAllByIdIn(Collection<String> ids) {
+    return table.findAll(ids.stream().distinct().toList()).toList();
+  }
+
+  /**
+   * Copies the selected attributes of every row. Rows are kept in id order; any other ordering
+   * sorts them, and subclasses with an index for it override this.
+   */
+  @Override
+  public List<T> findAllProjected(Projection<T> projection, String orderBy) {
+    List<T> rows = orderBy == null || orderBy.equals("id") ? findAll()
+        : findAll(Sort.by(orderBy).and(Sort.by("id")));
+    return rows.stream().map(projection::project).toList();
+  }
+
+  /**
+   * Keyset page: reads the id order directly, and any other key by scanning and sorting the
+   * table. Subclasses with an index for the key override this.
+   */
+  @Override
+  public List<T> findPageProjected(Projection<T> projection, String key, String after,
+      Limit limit) {
+    List<T> rows = key.equals("id") ? table.after(after, maxRows(limit))
+        : table.stream().filter(entity -> {
+              Object value = InMemoryQueries.property(entity, key);
+              return value != null && InMemoryQueries.compareValues(value, after) > 0;
+            })
+            .sorted(InMemoryQueries.comparator(Sort.by(key))).limit(maxRows(limit)).toList();
+    return rows.stream().map(projection::project).toList();
+  }
+
+  /**
+   * Implements {@code streamAllIds} of the entity's repository interface.
+   */
+  public Stream<String> streamAllIds() {
+    return table.stream().map(table::idOf);
+  }
+
+  @Override
+  public long count() {
+    return table.size();
+  }
+
+  @Override
+  public void deleteById(String id) {
+    remove(id);
+  }
+
+  @Override
+  public void delete(T entity) {
+    remove(table.idOf(entity));
+  }
+
+  @Override
+  public void deleteAllById(Iterable<? extends String> ids) {
+    ids.forEach(this::remove);
+  }
+
+  @Override
+  public void deleteAll(Iterable<? extends T> entities) {
+    entities.forEach(this::delete);
+  }
+
+  @Override
+  public void deleteAll() {
+    table.stream().map(table::idOf).toList().forEach(this::remove);
+  }
+
+  @Override
+  public void deleteAllInBatch(Iterable<T> entities) {
+    deleteAll(entities);
+  }
+
+  @Override
+  public void deleteAllByIdInBatch(Iterable<String> ids) {
+    deleteAllById(ids);
+  }
+
+  @Override
+  public void deleteAllInBatch() {
+    deleteAll();
+  }
+
+  @Override
+  @Deprecated
+  public T getOne(String id) {
+    return getReferenceById(id);
+  }
+
+  @Override
+  @Deprecated
+  public T getById(String id) {
+    return getReferenceById(id);
+  }
+
+  @Override
+  public T getReferenceById(String id) {
+    return table.find(id).orElseThrow(
+        () -> new EntityNotFoundException("No " + table.name() + " with id " + id));
+  }
+
+  @Override
+  public List<T> findAll(Sort sort) {
+    return InMemoryQueries.sorted(findAll(), sort);
+  }
+
+  @Override
+  public Page<T> findAll(Pageable pageable) {
+    return InMemoryQueries.page(findAll(), pageable);
+  }
+
+  @Override
+  public <S extends T> Optional<S> findOne(Example<S> example) {
+    List<S> matches = findAll(example);
+    if (matches.size() > 1) {
+      throw new IncorrectResultSizeDataAccessException(1, matches.size());
+    }
+    return matches.stream().findFirst();
+  }
+
+  @Override
+  public <S extends T> List<S> findAll(Example<S> example) {
+    return InMemoryQueries.matching(findAll(), example);
+  }
+
+  @Override
+  public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+    return InMemoryQueries.sorted(findAll(example), sort);
+  }
+
+  @Override
+  public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+    return InMemoryQueries.page(findAll(example), pageable);
+  }
+
+  @Override
+  public <S extends T> long count(Example<S> example) {
+    return findAll(example).size();
+  }
+
+  @Override
+  public <S extends T> boolean exists(Example<S> example) {
+    return !findAll(example).isEmpty();
+  }
+
+  @Override
+  public <S extends T, R> R findBy(Example<S> example,
+      Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+    return queryFunction.apply(InMemoryFluentQuery.of(findAll(example)));
+  }
+
+}
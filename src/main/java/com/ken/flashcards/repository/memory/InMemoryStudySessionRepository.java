@@ -0,0 +1,88 @@
+package com.ken.flashcards.repository.memory;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.CollectionVersion;
+import com.ken.flashcards.repository.StudySessionRepository;
+
+@Component
+@Profile(IN_MEMORY)
+public class InMemoryStudySessionRepository extends InMemoryRepository<StudySession>
+    implements StudySessionRepository {
+
+  private final InMemoryDatabase database;
+  private final Table<StudySession> studySessions;
+
+  @Autowired
+  public InMemoryStudySessionRepository(InMemoryDatabase database) {
+    super(database.studySessions());
+    this.database = database;
+    this.studySessions = database.studySessions();
+  }
+
+  @Override
+  public Optional<StudySession> findByName(String name) {
+    return database.findStudySessionByName(name);
+  }
+
+  @Override
+  public Iterable<StudySession> findAllByCategoryId(String id) {
+    return studySessions.findAll(database.findStudySessionIdsByCategoryId(id))
+        .sorted(comparing(StudySession::getId)).toList();
+  }
+
+  @Override
+  public List<StudySession> findByIdGreaterThanOrderByIdAsc(String id, Limit limit) {
+    return studySessions.after(id, maxRows(limit));
+  }
+
+  @Override
+  public Set<String> findExistingIds(Collection<String> ids) {
+    return ids.stream().filter(studySessions::contains).collect(toSet());
+  }
+
+  @Override
+  public StudySession persist(StudySession studySession) {
+    database.insertStudySession(studySession);
+    return studySession;
+  }
+
+  @Override
+  public List<StudySession> persistAll(List<StudySession> entities) {
+    entities.forEach(this::persist);
+    return entities;
+  }
+
+  @Override
+  public int upsert(StudySession studySession) {
+    return database.saveStudySession(studySession);
+  }
+
+  @Override
+  public Optional<CollectionVersion> findVersionByCategoryId(String categoryId) {
+    return database.findStudySessionVersion(categoryId);
+  }
+
+  @Override
+  void write(StudySession studySession) {
+    database.saveStudySession(studySession);
+  }
+
+  @Override
+  void remove(String id) {
+    database.deleteStudySession(id);
+  }
+
+}
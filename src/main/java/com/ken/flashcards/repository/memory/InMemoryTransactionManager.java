@@ -0,0 +1,92 @@
+package com.ken.flashcards.repository.memory;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transactions over the {@link InMemoryDatabase}. Writes apply immediately; the transaction keeps
+ * an {@link UndoLog}, bound to the thread, that rollback replays. Commit journals the rows it
+ * lists, if the database has a {@link Journal}. A transaction that writes holds the database's
+ * write lock from its first write until it completes, so no other write lands in between.
+ * <p>
+ * Transaction synchronization works as with JPA, so after-commit event listeners and the
+ * transaction-aware cache behave the same on either backend.
+ */
+public class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+  private final InMemoryDatabase database;
+
+  public InMemoryTransactionManager(InMemoryDatabase database) {
+    this.database = database;
+  }
+
+  @Override
+  protected Object doGetTransaction() {
+    return new Transaction((UndoLog) TransactionSynchronizationManager.getResource(database));
+  }
+
+  @Override
+  protected boolean isExistingTransaction(Object transaction) {
+    return ((Transaction) transaction).undoLog != null;
+  }
+
+  @Override
+  protected void doBegin(Object transaction, TransactionDefinition definition) {
+    UndoLog undoLog = new UndoLog();
+    ((Transaction) transaction).undoLog = undoLog;
+    TransactionSynchronizationManager.bindResource(database, undoLog);
+  }
+
+  @Override
+  protected Object doSuspend(Object transaction) {
+    ((Transaction) transaction).undoLog = null;
+    return TransactionSynchronizationManager.unbindResource(database);
+  }
+
+  @Override
+  protected void doResume(Object transaction, Object suspendedResources) {
+    TransactionSynchronizationManager.bindResource(database, suspendedResources);
+  }
+
+  @Override
+  protected void doCommit(DefaultTransactionStatus status) {
+    database.commit(((Transaction) status.getTransaction()).undoLog);
+  }
+
+  @Override
+  protected void doRollback(DefaultTransactionStatus status) {
+    database.rollback(((Transaction) status.getTransaction()).undoLog);
+  }
+
+  @Override
+  protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+    ((Transaction) status.getTransaction()).undoLog.setRollbackOnly();
+  }
+
+  @Override
+  protected void doCleanupAfterCompletion(Object transaction) {
+    TransactionSynchronizationManager.unbindResourceIfPossible(database);
+    database.release(((Transaction) transaction).undoLog);
+  }
+
+  private static final class Transaction implements SmartTransactionObject {
+
+    private UndoLog undoLog;
+
+    private Transaction(UndoLog undoLog) {
+      this.undoLog = undoLog;
+    }
+
+    @Override
+    public boolean isRollbackOnly() {
+      return undoLog != null && undoLog.isRollbackOnly();
+    }
+
+    @Override
+    public void flush() {}
+  }
+
+}
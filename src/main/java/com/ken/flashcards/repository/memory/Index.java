@@ -0,0 +1,56 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A secondary index from a column value to the ids of the rows holding it. Updated by its
+ * {@link Table} under the database's write lock; read without locking.
+ */
+final class Index<T> {
+
+  private final Function<T, String> keyOf;
+  private final ConcurrentMap<String, Set<String>> ids;
+
+  /**
+   * @param sorted keep keys in order, for range scans with {@link #idsAfter(String)}
+   */
+  Index(Function<T, String> keyOf, boolean sorted) {
+    this.keyOf = keyOf;
+    this.ids = sorted ? new ConcurrentSkipListMap<>() : new ConcurrentHashMap<>();
+  }
+
+  Set<String> get(String key) {
+    return key == null ? Set.of() : Collections.unmodifiableSet(ids.getOrDefault(key, Set.of()));
+  }
+
+  /**
+   * Ids of the rows whose key sorts after {@code key}, in key order.
+   */
+  Stream<String> idsAfter(String key) {
+    return ((NavigableMap<String, Set<String>>) ids).tailMap(key, false).values().stream()
+        .flatMap(Set::stream);
+  }
+
+  String keyOf(T entity) {
+    return keyOf.apply(entity);
+  }
+
+  void add(T entity, String id) {
+    ids.computeIfAbsent(keyOf(entity), key -> ConcurrentHashMap.newKeySet()).add(id);
+  }
+
+  void remove(T entity, String id) {
+    ids.computeIfPresent(keyOf(entity), (key, set) -> {
+      set.remove(id);
+      return set.isEmpty() ? null : set;
+    });
+  }
+
+}
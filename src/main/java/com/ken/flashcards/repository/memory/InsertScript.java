@@ -0,0 +1,299 @@
+package com.ken.flashcards.repository.memory;
+
+import static java.lang.String.format;
+import static java.util.Locale.ROOT;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Reads the rows written by the {@code INSERT} statements of a MySQL script, such as
+ * {@code data.sql} or a {@code mysqldump} of the flashcards tables. Other statements and comments
+ * are skipped.
+ * <p>
+ * Values must be literals: quoted strings, numbers or {@code NULL}. An {@code INSERT} without a
+ * column list takes its columns from {@code columnsByTable}, and is skipped when the table is not
+ * listed there.
+ */
+final class InsertScript {
+
+  private InsertScript() {}
+
+  /**
+   * One row of an {@code INSERT}, by column name.
+   */
+  @Data
+  static final class Insert {
+
+    private final String table;
+
+    private final Map<String, String> values;
+
+  }
+
+  /**
+   * @throws IllegalArgumentException if an {@code INSERT} cannot be read
+   */
+  static List<Insert> parse(String script, Map<String, List<String>> columnsByTable) {
+    List<Insert> inserts = new ArrayList<>();
+    List<List<Token>> statements = new Lexer(script).statements();
+    for (int i = 0; i < statements.size(); i++) {
+      Tokens tokens = new Tokens(statements.get(i), i + 1);
+      if (tokens.acceptKeyword("INSERT")) {
+        readInsert(tokens, columnsByTable, inserts);
+      }
+    }
+    return inserts;
+  }
+
+  private static void readInsert(Tokens tokens, Map<String, List<String>> columnsByTable,
+      List<Insert> inserts) {
+    tokens.acceptKeyword("IGNORE");
+    tokens.acceptKeyword("INTO");
+    String table = unqualified(tokens.identifier());
+    List<String> columns = tokens.peek('(') ? tokens.identifiers() : columnsByTable.get(table);
+    if (columns == null) {
+      return;
+    }
+    if (!tokens.acceptKeyword("VALUES") && !tokens.acceptKeyword("VALUE")) {
+      throw tokens.error("VALUES");
+    }
+    do {
+      List<String> values = tokens.values();
+      if (values.size() != columns.size()) {
+        throw tokens.error(columns.size() + " values");
+      }
+      Map<String, String> row = new LinkedHashMap<>();
+      for (int i = 0; i < columns.size(); i++) {
+        row.put(columns.get(i), values.get(i));
+      }
+      inserts.add(new Insert(table, row));
+    } while (tokens.accept(','));
+    tokens.end();
+  }
+
+  private static String unqualified(String table) {
+    return table.substring(table.lastIndexOf('.') + 1);
+  }
+
+  private enum Kind {
+    WORD, IDENTIFIER, STRING, SYMBOL
+  }
+
+  private static final class Token {
+
+    private final Kind kind;
+    private final String text;
+
+    private Token(Kind kind, String text) {
+      this.kind = kind;
+      this.text = text;
+    }
+  }
+
+  /**
+   * Splits a script into statements of tokens, dropping comments.
+   */
+  private static final class Lexer {
+
+    private final String script;
+    private int position;
+
+    private Lexer(String script) {
+      this.script = script;
+    }
+
+    private List<List<Token>> statements() {
+      List<List<Token>> statements = new ArrayList<>();
+      List<Token> statement = new ArrayList<>();
+      while (position < script.length()) {
+        char c = script.charAt(position);
+        if (Character.isWhitespace(c)) {
+          position++;
+        } else if (c == '#' || script.startsWith("--", position)) {
+          skipPast("\n");
+        } else if (script.startsWith("/*", position)) {
+          skipPast("*/");
+        } else if (c == '\'' || c == '"') {
+          statement.add(new Token(Kind.STRING, quoted(c)));
+        } else if (c == '`') {
+          statement.add(new Token(Kind.IDENTIFIER, quoted(c)));
+        } else if (c == ';') {
+          position++;
+          if (!statement.isEmpty()) {
+            statements.add(statement);
+            statement = new ArrayList<>();
+          }
+        } else if (c == '(' || c == ')' || c == ',') {
+          position++;
+          statement.add(new Token(Kind.SYMBOL, String.valueOf(c)));
+        } else {
+          statement.add(new Token(Kind.WORD, word()));
+        }
+      }
+      if (!statement.isEmpty()) {
+        statements.add(statement);
+      }
+      return statements;
+    }
+
+    private void skipPast(String end) {
+      int found = script.indexOf(end, position + 1);
+      position = found < 0 ? script.length() : found + end.length();
+    }
+
+    /**
+     * Reads a quoted string or identifier. A doubled quote stands for itself, and in strings a
+     * backslash escapes the next character, as in {@code mysqldump} output.
+     */
+    private String quoted(char quote) {
+      StringBuilder text = new StringBuilder();
+      position++;
+      while (position < script.length()) {
+        char c = script.charAt(position++);
+        if (c == quote) {
+          if (position < script.length() && script.charAt(position) == quote) {
+            text.append(quote);
+            position++;
+          } else {
+            return text.toString();
+          }
+        } else if (c == '\\' && quote != '`' && position < script.length()) {
+          text.append(unescaped(script.charAt(position++)));
+        } else {
+          text.append(c);
+        }
+      }
+      throw new IllegalArgumentException("Unterminated " + quote + " quote");
+    }
+
+    private String word() {
+      int start = position;
+      while (position < script.length() && isWordPart(script.charAt(position))) {
+        position++;
+      }
+      if (position == start) {
+        position++;
+      }
+      return script.substring(start, position);
+    }
+
+    private static boolean isWordPart(char c) {
+      return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-' || c == '+'
+          || c == '$';
+    }
+
+    private static char unescaped(char c) {
+      return switch (c) {
+        case '0' -> '\0';
+        case 'b' -> '\b';
+        case 'n' -> '\n';
+        case 'r' -> '\r';
+        case 't' -> '\t';
+        case 'Z' -> '\u001A';
+        default -> c;
+      };
+    }
+  }
+
+  /**
+   * A cursor over the tokens of one statement.
+   */
+  private static final class Tokens {
+
+    private final List<Token> tokens;
+    private final int statement;
+    private int position;
+
+    private Tokens(List<Token> tokens, int statement) {
+      this.tokens = tokens;
+      this.statement = statement;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+      Token token = current();
+      if (token != null && token.kind == Kind.WORD && token.text.equalsIgnoreCase(keyword)) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private boolean peek(char symbol) {
+      Token token = current();
+      return token != null && token.kind == Kind.SYMBOL && token.text.charAt(0) == symbol;
+    }
+
+    private boolean accept(char symbol) {
+      if (peek(symbol)) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char symbol) {
+      if (!accept(symbol)) {
+        throw error("'" + symbol + "'");
+      }
+    }
+
+    private String identifier() {
+      Token token = current();
+      if (token == null || (token.kind != Kind.WORD && token.kind != Kind.IDENTIFIER)) {
+        throw error("a table or column name");
+      }
+      position++;
+      return token.text.toLowerCase(ROOT);
+    }
+
+    private List<String> identifiers() {
+      List<String> identifiers = new ArrayList<>();
+      expect('(');
+      do {
+        identifiers.add(identifier());
+      } while (accept(','));
+      expect(')');
+      return identifiers;
+    }
+
+    private List<String> values() {
+      List<String> values = new ArrayList<>();
+      expect('(');
+      do {
+        values.add(value());
+      } while (accept(','));
+      expect(')');
+      return values;
+    }
+
+    private String value() {
+      Token token = current();
+      if (token == null || (token.kind != Kind.STRING && token.kind != Kind.WORD)) {
+        throw error("a literal value");
+      }
+      position++;
+      return token.kind == Kind.WORD && token.text.equalsIgnoreCase("NULL") ? null : token.text;
+    }
+
+    private void end() {
+      if (current() != null) {
+        throw error("end of statement");
+      }
+    }
+
+    private Token current() {
+      return position < tokens.size() ? tokens.get(position) : null;
+    }
+
+    private IllegalArgumentException error(String expected) {
+      Token token = current();
+      return new IllegalArgumentException(format("Statement %d: expected %s but found %s",
+          statement, expected, token == null ? "end of statement" : "'" + token.text + "'"));
+    }
+  }
+
+}
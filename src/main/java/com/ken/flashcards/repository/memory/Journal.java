@@ -0,0 +1,27 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Durable storage behind the {@link InMemoryDatabase}. The tables stay in memory and serve every
+ * read; the journal receives each committed transaction's changes and gives them back at startup.
+ */
+public interface Journal {
+
+  /**
+   * Whether the journal held nothing when opened, so the tables should be seeded.
+   */
+  boolean isFresh();
+
+  /**
+   * Durably records the changes of one transaction, all or none.
+   */
+  void append(List<Change> changes);
+
+  /**
+   * Passes the latest change of every row still present, in no particular order.
+   */
+  void replay(Consumer<Change> changes);
+
+}
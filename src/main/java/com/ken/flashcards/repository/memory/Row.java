@@ -0,0 +1,16 @@
+package com.ken.flashcards.repository.memory;
+
+import lombok.Data;
+
+/**
+ * A stored entity and when it was last changed, in microseconds since the epoch; the in-memory
+ * counterpart of a row and its {@code updated_at} column.
+ */
+@Data
+final class Row<T> {
+
+  private final T entity;
+
+  private final long writtenAt;
+
+}
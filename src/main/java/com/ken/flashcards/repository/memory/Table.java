@@ -0,0 +1,107 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The rows of one table, kept in primary key order so keyset pages are a range scan, and the
+ * secondary indexes over them. Writes must hold the database's write lock; reads do not lock and
+ * see each row either before or after a concurrent write.
+ */
+final class Table<T> {
+
+  private final String name;
+  private final Function<T, String> idOf;
+  private final ConcurrentNavigableMap<String, Row<T>> rows = new ConcurrentSkipListMap<>();
+  private final List<Index<T>> indexes = new ArrayList<>();
+
+  Table(String name, Function<T, String> idOf) {
+    this.name = name;
+    this.idOf = idOf;
+  }
+
+  Index<T> addIndex(Function<T, String> keyOf, boolean sorted) {
+    Index<T> index = new Index<>(keyOf, sorted);
+    indexes.add(index);
+    return index;
+  }
+
+  String name() {
+    return name;
+  }
+
+  String idOf(T entity) {
+    return idOf.apply(entity);
+  }
+
+  Optional<T> find(String id) {
+    return Optional.ofNullable(row(id)).map(Row::getEntity);
+  }
+
+  Row<T> row(String id) {
+    return id == null ? null : rows.get(id);
+  }
+
+  boolean contains(String id) {
+    return id != null && rows.containsKey(id);
+  }
+
+  int size() {
+    return rows.size();
+  }
+
+  Stream<T> stream() {
+    return rows.values().stream().map(Row::getEntity);
+  }
+
+  /**
+   * The existing rows among {@code ids}, in the order given.
+   */
+  Stream<T> findAll(Collection<String> ids) {
+    return ids.stream().map(this::row).filter(Objects::nonNull).map(Row::getEntity);
+  }
+
+  List<T> after(String id, int limit) {
+    return rows.tailMap(id, false).values().stream().limit(limit).map(Row::getEntity).toList();
+  }
+
+  /**
+   * Inserts or replaces the row and returns the one it replaced, if any.
+   */
+  Row<T> put(T entity, long writtenAt) {
+    String id = idOf(entity);
+    Row<T> previous = rows.put(id, new Row<>(entity, writtenAt));
+    if (previous != null) {
+      indexes.forEach(index -> index.remove(previous.getEntity(), id));
+    }
+    indexes.forEach(index -> index.add(entity, id));
+    return previous;
+  }
+
+  Row<T> remove(String id) {
+    Row<T> previous = rows.remove(id);
+    if (previous != null) {
+      indexes.forEach(index -> index.remove(previous.getEntity(), id));
+    }
+    return previous;
+  }
+
+  /**
+   * Puts back the row a write replaced, or removes the row it inserted.
+   */
+  void restore(String id, Row<T> previous) {
+    if (previous == null) {
+      remove(id);
+    } else {
+      put(previous.getEntity(), previous.getWrittenAt());
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import lombok.Data;
+
+/**
+ * The writes made by one transaction, recorded as the steps that reverse them, and the rows they
+ * touched. Only the thread running the transaction touches it.
+ */
+final class UndoLog {
+
+  /**
+   * A row written by the transaction.
+   */
+  @Data
+  static final class Key {
+
+    private final Table<?> table;
+
+    private final String id;
+
+  }
+
+  private final Deque<Runnable> steps = new ArrayDeque<>();
+  private final Set<Key> touched = new LinkedHashSet<>();
+  private boolean rollbackOnly;
+  private boolean holdsWriteLock;
+
+  void add(Table<?> table, String id, Runnable step) {
+    steps.push(step);
+    touched.add(new Key(table, id));
+  }
+
+  /**
+   * Reverses the writes, latest first.
+   */
+  void undo() {
+    while (!steps.isEmpty()) {
+      steps.pop().run();
+    }
+  }
+
+  Set<Key> touched() {
+    return touched;
+  }
+
+  boolean isRollbackOnly() {
+    return rollbackOnly;
+  }
+
+  void setRollbackOnly() {
+    rollbackOnly = true;
+  }
+
+  /**
+   * Whether the transaction has written, and so holds the database's write lock until it ends.
+   */
+  boolean holdsWriteLock() {
+    return holdsWriteLock;
+  }
+
+  void setHoldsWriteLock(boolean holdsWriteLock) {
+    this.holdsWriteLock = holdsWriteLock;
+  }
+
+}
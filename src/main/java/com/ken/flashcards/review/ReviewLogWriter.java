@@ -0,0 +1,160 @@
+package com.ken.flashcards.review;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static com.ken.flashcards.constants.ExceptionMessages.REVIEW_LOG_BUSY;
+import static com.ken.flashcards.constants.MetricNames.REVIEW_LOG_GROUP_ROWS;
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.config.ReviewLogProperties;
+import com.ken.flashcards.exception.ServiceUnavailableException;
+import com.ken.flashcards.model.ReviewLogEntry;
+import com.ken.flashcards.repository.ReviewLogRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for the review log. Callers queue their rows and wait; a single writer thread
+ * takes everything queued, waiting up to {@code maxDelay} for more, and writes it in one
+ * transaction. Under load, concurrent requests share a commit instead of each paying for one.
+ * <p>
+ * If a group fails, its appends are retried one by one so a bad request only fails itself.
+ */
+@Component
+@Profile(NOT_IN_MEMORY)
+public class ReviewLogWriter {
+
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final ReviewLogRepository repository;
+  private final long maxDelayNanos;
+  private final int maxGroupRows;
+  private final BlockingQueue<Append> queue;
+  private final DistributionSummary groupRows;
+  private final Thread thread;
+
+  private volatile boolean running = true;
+
+  @Autowired
+  public ReviewLogWriter(ReviewLogRepository repository, ReviewLogProperties properties,
+      MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.maxDelayNanos = properties.getMaxDelay().toNanos();
+    this.maxGroupRows = properties.getMaxGroupRows();
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    this.groupRows = DistributionSummary.builder(REVIEW_LOG_GROUP_ROWS)
+        .description("Review log rows written per group commit").register(meterRegistry);
+    this.thread = Thread.ofPlatform().name("review-log-writer").daemon().unstarted(this::run);
+  }
+
+  @PostConstruct
+  void start() {
+    thread.start();
+  }
+
+  /**
+   * Stops taking appends once the queue is empty, so everything accepted is written. An append
+   * the writer never took, if it was interrupted, fails rather than leaving its caller waiting.
+   */
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    thread.join();
+    List<Append> left = new ArrayList<>();
+    queue.drainTo(left);
+    fail(left);
+  }
+
+  /**
+   * Queues the entries and returns a future completed once they are committed.
+   *
+   * @throws ServiceUnavailableException when the queue is full
+   */
+  public CompletableFuture<Void> append(List<ReviewLogEntry> entries) {
+    Append append = new Append(entries);
+    if (!running || !queue.offer(append)) {
+      throw new ServiceUnavailableException(REVIEW_LOG_BUSY);
+    }
+    // stop() may have begun after the check and the writer seen the queue empty; if the append
+    // is still queued, nothing will write it
+    if (!running && queue.remove(append)) {
+      throw new ServiceUnavailableException(REVIEW_LOG_BUSY);
+    }
+    return append.done;
+  }
+
+  private void run() {
+    List<Append> group = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        Append first = queue.poll(IDLE_POLL_MILLIS, MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        group.add(first);
+        int rows = first.entries.size();
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (rows < maxGroupRows) {
+          Append next = queue.poll(deadline - System.nanoTime(), NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          group.add(next);
+          rows += next.entries.size();
+        }
+        write(group, rows);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(group);
+        return;
+      } finally {
+        group.clear();
+      }
+    }
+  }
+
+  private void write(List<Append> group, int rows) {
+    List<ReviewLogEntry> entries = new ArrayList<>(rows);
+    group.forEach(append -> entries.addAll(append.entries));
+    try {
+      repository.appendAll(entries);
+      groupRows.record(rows);
+      group.forEach(append -> append.done.complete(null));
+    } catch (RuntimeException e) {
+      if (group.size() == 1) {
+        group.get(0).done.completeExceptionally(e);
+      } else {
+        group.forEach(append -> write(List.of(append), append.entries.size()));
+      }
+    }
+  }
+
+  private static void fail(List<Append> appends) {
+    appends.forEach(append -> append.done.completeExceptionally(
+        new ServiceUnavailableException(REVIEW_LOG_BUSY)));
+  }
+
+  private static final class Append {
+
+    private final List<ReviewLogEntry> entries;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private Append(List<ReviewLogEntry> entries) {
+      this.entries = entries;
+    }
+  }
+
+}
@@ -0,0 +1,53 @@
+package com.ken.flashcards.review;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.ken.flashcards.model.ReviewState;
+
+/**
+ * The SuperMemo 2 schedule. A recall graded 3 or better moves the card out to 1 day, then 6 days,
+ * then the previous interval times the ease factor; a failed recall starts it over at 1 day. The
+ * ease factor moves with every grade and never drops below 1.3. The interval never exceeds
+ * {@value #MAX_INTERVAL_DAYS} days, so repeated reviews cannot push the due date past what the
+ * database can store.
+ */
+public final class Sm2Scheduler {
+
+  public static final double INITIAL_EASE_FACTOR = 2.5;
+  public static final double MIN_EASE_FACTOR = 1.3;
+  public static final int PASSING_GRADE = 3;
+  public static final int MAX_INTERVAL_DAYS = 36_500;
+
+  private Sm2Scheduler() {}
+
+  /**
+   * Returns the state after a review at {@code now}.
+   *
+   * @param previous the state before this review, or {@code null} for a card never reviewed
+   */
+  public static ReviewState schedule(ReviewState previous, String learnerId, String flashcardId,
+      int grade, Instant now) {
+    int repetitions = previous == null ? 0 : previous.getRepetitions();
+    int intervalDays = previous == null ? 0 : previous.getIntervalDays();
+    double easeFactor = previous == null ? INITIAL_EASE_FACTOR : previous.getEaseFactor();
+
+    if (grade < PASSING_GRADE) {
+      repetitions = 0;
+      intervalDays = 1;
+    } else {
+      intervalDays = switch (repetitions) {
+        case 0 -> 1;
+        case 1 -> 6;
+        default -> (int) Math.min(MAX_INTERVAL_DAYS, Math.round(intervalDays * easeFactor));
+      };
+      repetitions++;
+    }
+    int miss = 5 - grade;
+    easeFactor = Math.max(MIN_EASE_FACTOR, easeFactor + 0.1 - miss * (0.08 + miss * 0.02));
+
+    return new ReviewState(learnerId, flashcardId, repetitions, intervalDays, easeFactor,
+        now.plus(Duration.ofDays(intervalDays)), now);
+  }
+
+}
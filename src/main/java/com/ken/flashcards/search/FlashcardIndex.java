@@ -0,0 +1,234 @@
+package com.ken.flashcards.search;
+
+import static com.ken.flashcards.constants.Search.MAX_PREFIX_EXPANSIONS;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.stereotype.Component;
+
+import com.ken.flashcards.model.Flashcard;
+
+/**
+ * An in-memory inverted index over flashcard questions and answers, ranked with BM25.
+ * <p>
+ * Each term maps to a postings list of flashcard id to term frequency. Terms are kept in a sorted
+ * map so a prefix query ({@code chem*}) is a range scan over the terms it expands to. Writes are
+ * serialized; searches read the concurrent maps without locking and may briefly see a flashcard
+ * half re-indexed, which only affects its score.
+ * <p>
+ * A rebuild {@linkplain #startLoad starts} empty and {@linkplain #load loads} rows from a read
+ * that may be older than the changes indexed meanwhile, so it skips every id put or removed since
+ * it started.
+ * <p>
+ * A search costs the total length of the postings lists of its terms, so rare terms are cheap and
+ * very common ones are not.
+ */
+@Component
+public class FlashcardIndex {
+
+  static final double K1 = 1.2;
+  static final double B = 0.75;
+
+  private static final String PREFIX_MARKER = "*";
+  private static final Comparator<SearchMatch> BY_SCORE =
+      Comparator.comparingDouble(SearchMatch::getScore)
+          .thenComparing(SearchMatch::getFlashcardId, Comparator.reverseOrder());
+
+  private final ConcurrentSkipListMap<String, Map<String, Integer>> postings =
+      new ConcurrentSkipListMap<>();
+  private final Map<String, IndexedFlashcard> flashcards = new ConcurrentHashMap<>();
+  private final AtomicLong totalLength = new AtomicLong();
+  private Set<String> changedDuringLoad;
+
+  /**
+   * Adds the flashcard, replacing any earlier version with the same id.
+   */
+  public synchronized void put(Flashcard flashcard) {
+    markChanged(flashcard.getId());
+    index(flashcard);
+  }
+
+  public synchronized void remove(String id) {
+    markChanged(id);
+    unindex(id);
+  }
+
+  public synchronized void clear() {
+    postings.clear();
+    flashcards.clear();
+    totalLength.set(0);
+  }
+
+  /**
+   * Empties the index for a rebuild and starts tracking the ids changed while it loads.
+   */
+  public synchronized void startLoad() {
+    clear();
+    changedDuringLoad = new HashSet<>();
+  }
+
+  /**
+   * Adds a flashcard read by the rebuild, unless its id was put or removed since
+   * {@link #startLoad}, which makes the row read here the older one.
+   */
+  public synchronized void load(Flashcard flashcard) {
+    if (changedDuringLoad == null || !changedDuringLoad.contains(flashcard.getId())) {
+      index(flashcard);
+    }
+  }
+
+  public synchronized void finishLoad() {
+    changedDuringLoad = null;
+  }
+
+  public int size() {
+    return flashcards.size();
+  }
+
+  private void markChanged(String id) {
+    if (changedDuringLoad != null) {
+      changedDuringLoad.add(id);
+    }
+  }
+
+  private void index(Flashcard flashcard) {
+    unindex(flashcard.getId());
+    Map<String, Integer> frequencies = new HashMap<>();
+    int length = 0;
+    for (String term : Tokenizer.tokenize(flashcard.getQuestion() + " " + flashcard.getAnswer())) {
+      frequencies.merge(term, 1, Integer::sum);
+      length++;
+    }
+    for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+      postings.computeIfAbsent(entry.getKey(), term -> new ConcurrentHashMap<>())
+          .put(flashcard.getId(), entry.getValue());
+    }
+    flashcards.put(flashcard.getId(),
+        new IndexedFlashcard(flashcard.getStudySessionId(), length, frequencies.keySet()));
+    totalLength.addAndGet(length);
+  }
+
+  private void unindex(String id) {
+    IndexedFlashcard removed = flashcards.remove(id);
+    if (removed == null) {
+      return;
+    }
+    for (String term : removed.terms) {
+      postings.computeIfPresent(term, (key, ids) -> {
+        ids.remove(id);
+        return ids.isEmpty() ? null : ids;
+      });
+    }
+    totalLength.addAndGet(-removed.length);
+  }
+
+  /**
+   * Returns up to {@code limit} flashcards matching any query term, best first. A term ending in
+   * {@code *} matches every indexed term it prefixes; a flashcard matching several of those
+   * scores by the best one.
+   *
+   * @param studySessionFilter accepts the study session ids whose flashcards may match
+   */
+  public List<SearchMatch> search(String query, Predicate<String> studySessionFilter, int limit) {
+    int count = flashcards.size();
+    if (count == 0) {
+      return List.of();
+    }
+    double averageLength = Math.max(1.0, (double) totalLength.get() / count);
+
+    Map<String, Double> scores = new HashMap<>();
+    for (String word : query.trim().split("\\s+")) {
+      List<String> terms = Tokenizer.tokenize(word);
+      if (terms.isEmpty()) {
+        continue;
+      }
+      boolean prefix = word.endsWith(PREFIX_MARKER);
+      for (int i = 0; i < terms.size(); i++) {
+        Map<String, Double> termScores = prefix && i == terms.size() - 1
+            ? scorePrefix(terms.get(i), studySessionFilter, count, averageLength)
+            : score(terms.get(i), postings.get(terms.get(i)), studySessionFilter, count,
+                averageLength);
+        termScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+      }
+    }
+    return top(scores, limit);
+  }
+
+  private Map<String, Double> scorePrefix(String prefix, Predicate<String> studySessionFilter,
+      int count, double averageLength) {
+    Map<String, Double> best = new HashMap<>();
+    NavigableMap<String, Map<String, Integer>> expansions =
+        postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    int expanded = 0;
+    for (Map.Entry<String, Map<String, Integer>> entry : expansions.entrySet()) {
+      if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+        break;
+      }
+      score(entry.getKey(), entry.getValue(), studySessionFilter, count, averageLength)
+          .forEach((id, score) -> best.merge(id, score, Math::max));
+    }
+    return best;
+  }
+
+  private Map<String, Double> score(String term, Map<String, Integer> ids,
+      Predicate<String> studySessionFilter, int count, double averageLength) {
+    if (ids == null) {
+      return Map.of();
+    }
+    double idf = idf(count, ids.size());
+    Map<String, Double> scores = new HashMap<>();
+    for (Map.Entry<String, Integer> posting : ids.entrySet()) {
+      IndexedFlashcard flashcard = flashcards.get(posting.getKey());
+      if (flashcard == null || !studySessionFilter.test(flashcard.studySessionId)) {
+        continue;
+      }
+      int frequency = posting.getValue();
+      double norm = K1 * (1 - B + B * flashcard.length / averageLength);
+      scores.put(posting.getKey(), idf * frequency * (K1 + 1) / (frequency + norm));
+    }
+    return scores;
+  }
+
+  static double idf(int count, int documentFrequency) {
+    return Math.log(1 + (count - documentFrequency + 0.5) / (documentFrequency + 0.5));
+  }
+
+  private static List<SearchMatch> top(Map<String, Double> scores, int limit) {
+    PriorityQueue<SearchMatch> heap = new PriorityQueue<>(limit + 1, BY_SCORE);
+    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+      heap.add(new SearchMatch(entry.getKey(), entry.getValue()));
+      if (heap.size() > limit) {
+        heap.poll();
+      }
+    }
+    List<SearchMatch> matches = new ArrayList<>(heap);
+    matches.sort(BY_SCORE.reversed());
+    return matches;
+  }
+
+  private static final class IndexedFlashcard {
+
+    private final String studySessionId;
+    private final int length;
+    private final Iterable<String> terms;
+
+    private IndexedFlashcard(String studySessionId, int length, Iterable<String> terms) {
+      this.studySessionId = studySessionId;
+      this.length = length;
+      this.terms = terms;
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.ken.flashcards.search;
+
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.FlashcardRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the {@link FlashcardIndex} in step with the database: rebuilt from a streaming read once
+ * the application is up, then updated from {@link FlashcardsChangedEvent}s after each commit.
+ * Changes indexed while the rebuild runs win over the rows it reads.
+ */
+@Slf4j
+@Component
+public class FlashcardIndexer {
+
+  private final FlashcardIndex index;
+  private final FlashcardRepository repository;
+
+  @Autowired
+  public FlashcardIndexer(FlashcardIndex index, FlashcardRepository repository) {
+    this.index = index;
+    this.repository = repository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long start = System.nanoTime();
+    index.startLoad();
+    try (Stream<Flashcard> flashcards = repository.streamAll()) {
+      flashcards.forEach(index::load);
+    } finally {
+      index.finishLoad();
+    }
+    log.info("Indexed {} flashcards for search in {} ms", index.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFlashcardsChanged(FlashcardsChangedEvent event) {
+    event.getSaved().forEach(index::put);
+    event.getDeletedIds().forEach(index::remove);
+  }
+
+}
@@ -0,0 +1,12 @@
+package com.ken.flashcards.search;
+
+import lombok.Data;
+
+@Data
+public class SearchMatch {
+
+  private final String flashcardId;
+
+  private final double score;
+
+}
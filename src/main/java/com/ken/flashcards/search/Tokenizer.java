@@ -0,0 +1,31 @@
+package com.ken.flashcards.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower-case terms on anything that is not a letter or digit, so
+ * {@code "Who sculpted \"David\"?"} becomes {@code [who, sculpted, david]}.
+ */
+final class Tokenizer {
+
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private Tokenizer() {}
+
+  static List<String> tokenize(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    for (String term : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    }
+    return terms;
+  }
+
+}
@@ -1,14 +1,29 @@
 package com.ken.flashcards.service;
 
+import java.util.List;
+
+import com.ken.flashcards.dto.CursorPage;
 import com.ken.flashcards.dto.CategoryRequest;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.model.Category;
 
 public interface CategoryService {
 
   Iterable<Category> findAll();
 
+  CursorPage<Category> findPage(String after, int limit);
+
+  /**
+   * Selects the id and the comma-separated {@code fields} of each category.
+   */
+  Iterable<Category> findAll(String fields);
+
+  CursorPage<Category> findPage(String after, int limit, String fields);
+
   Category findById(String id);
 
+  LookupResult<Category> lookup(List<String> ids);
+
   Category createCategory(CategoryRequest request);
 
   void deleteById(String id);
@@ -17,6 +32,8 @@ public interface CategoryService {
 
   Category save(Category category);
 
+  boolean upsert(Category category);
+
   void assertExistsById(String id);
 
   Category findByName(String name);
@@ -0,0 +1,9 @@
+package com.ken.flashcards.service;
+
+import com.ken.flashcards.dto.Deck;
+
+public interface DeckService {
+
+  Deck findDeck(String categoryId);
+
+}
@@ -0,0 +1,12 @@
+package com.ken.flashcards.service;
+
+import java.util.List;
+
+import com.ken.flashcards.dto.FlashcardSearchHit;
+
+public interface FlashcardSearchService {
+
+  List<FlashcardSearchHit> search(String query, String studySessionId, String categoryId,
+      int limit);
+
+}
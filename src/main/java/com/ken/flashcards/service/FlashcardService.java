@@ -1,21 +1,48 @@
 package com.ken.flashcards.service;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.FlashcardBatchResult;
 import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.model.Flashcard;
 
 public interface FlashcardService {
   Iterable<Flashcard> findAll();
 
+  CursorPage<Flashcard> findPage(String after, int limit);
+
+  /**
+   * Selects the id and the comma-separated {@code fields} of each flashcard.
+   */
+  Iterable<Flashcard> findAll(String fields);
+
+  CursorPage<Flashcard> findPage(String after, int limit, String fields);
+
   Flashcard findById(String id);
 
+  LookupResult<Flashcard> lookup(List<String> ids);
+
   Flashcard createFlashcard(FlashcardRequest request);
 
+  List<FlashcardBatchResult> createFlashcards(List<FlashcardRequest> requests);
+
   boolean existsById(String id);
 
   Flashcard save(Flashcard flashcard);
 
+  boolean upsert(Flashcard flashcard);
+
   void deleteById(String id);
 
   Iterable<Flashcard> findAllByStudySessionId(String studySessionId);
 
+  String findVersionByStudySessionId(String studySessionId);
+
+  void assertExportFiltersExist(String studySessionId, String categoryId);
+
+  void exportFlashcards(String studySessionId, String categoryId, Consumer<Flashcard> consumer);
+
 }
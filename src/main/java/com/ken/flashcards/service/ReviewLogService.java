@@ -0,0 +1,9 @@
+package com.ken.flashcards.service;
+
+import com.ken.flashcards.dto.ReviewLogRequest;
+
+public interface ReviewLogService {
+
+  void record(ReviewLogRequest request);
+
+}
@@ -0,0 +1,15 @@
+package com.ken.flashcards.service;
+
+import java.util.List;
+
+import com.ken.flashcards.dto.DueFlashcard;
+import com.ken.flashcards.dto.ReviewRequest;
+import com.ken.flashcards.model.ReviewState;
+
+public interface ReviewService {
+
+  ReviewState review(ReviewRequest request);
+
+  List<DueFlashcard> findDue(String learnerId, int limit);
+
+}
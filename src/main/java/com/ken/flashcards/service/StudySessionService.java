@@ -1,5 +1,11 @@
 package com.ken.flashcards.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.dto.StudySessionRequest;
 import com.ken.flashcards.model.StudySession;
 
@@ -7,19 +13,36 @@ public interface StudySessionService {
 
   Iterable<StudySession> findAll();
 
+  CursorPage<StudySession> findPage(String after, int limit);
+
+  /**
+   * Selects the id and the comma-separated {@code fields} of each study session.
+   */
+  Iterable<StudySession> findAll(String fields);
+
+  CursorPage<StudySession> findPage(String after, int limit, String fields);
+
   StudySession findById(String id);
 
+  LookupResult<StudySession> lookup(List<String> ids);
+
   StudySession createStudySession(StudySessionRequest request);
 
   StudySession save(StudySession studySession);
 
+  boolean upsert(StudySession studySession);
+
   boolean existsById(String id);
 
   void deleteById(String id);
 
   void assertExistsById(String id);
 
+  Set<String> findExistingIds(Collection<String> ids);
+
   String idFromStudySessionWithName(String name);
 
   Iterable<StudySession> findAllByCategoryId(String categoryId);
+
+  String findVersionByCategoryId(String categoryId);
 }
@@ -0,0 +1,13 @@
+package com.ken.flashcards.service;
+
+import com.ken.flashcards.dto.SyncPage;
+
+public interface SyncService {
+
+  /**
+   * Returns up to {@code limit} changes made after the {@code since} token, or from the start
+   * when it is null.
+   */
+  SyncPage sync(String since, int limit);
+
+}
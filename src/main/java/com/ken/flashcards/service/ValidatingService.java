@@ -1,10 +1,15 @@
 package com.ken.flashcards.service;
 
-import static java.lang.String.format;
+import java.util.Arrays;
+import java.util.List;
 
+import static com.ken.flashcards.constants.Batching.MAX_LOOKUP_SIZE;
 import static com.ken.flashcards.constants.ExceptionMessages.FIELD_MUST_NOT_BE_NULL_OR_EMPTY;
 import static com.ken.flashcards.constants.ExceptionMessages.REQUEST_BODY_NULL;
+import static com.ken.flashcards.constants.ExceptionMessages.UNKNOWN_FIELD;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
 import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.repository.Projection;
 
 public abstract class ValidatingService {
 
@@ -24,9 +29,45 @@ public abstract class ValidatingService {
    */
   public void assertNotBlank(String value, String fieldName) {
     if (value == null || value.trim().isEmpty()) {
-      throw new BadRequestException(format(FIELD_MUST_NOT_BE_NULL_OR_EMPTY, fieldName));
+      throw new BadRequestException(FIELD_MUST_NOT_BE_NULL_OR_EMPTY, fieldName);
     }
   }
 
+  /**
+   * Throws BadRequestException if the value lies outside {@code [min, max]}.
+   * 
+   * @param fieldName used in the exception message
+   */
+  public void assertInRange(int value, int min, int max, String fieldName) {
+    if (value < min || value > max) {
+      throw new BadRequestException(VALUE_OUT_OF_RANGE, fieldName, min, max);
+    }
+  }
+
+  /**
+   * Throws BadRequestException unless the ids of a multi-get are between 1 and
+   * {@value com.ken.flashcards.constants.Batching#MAX_LOOKUP_SIZE} non-blank ids.
+   */
+  public void assertLookupIds(List<String> ids) {
+    assertNotNull(ids);
+    assertInRange(ids.size(), 1, MAX_LOOKUP_SIZE, "Lookup size");
+    ids.forEach(id -> assertNotBlank(id, "ID"));
+  }
+
+  /**
+   * Parses a comma-separated {@code fields} parameter into the projection it names. Throws
+   * BadRequestException if it names no field or one the entity does not have.
+   */
+  public <T> Projection<T> projectionOf(Projection.Shape<T> shape, String fields) {
+    assertNotBlank(fields, "Fields");
+    List<String> names = Arrays.stream(fields.split(",")).map(String::trim).toList();
+    for (String name : names) {
+      if (!shape.attributes().contains(name)) {
+        throw new BadRequestException(UNKNOWN_FIELD, name, String.join(", ", shape.attributes()));
+      }
+    }
+    return Projection.of(shape, names);
+  }
+
   // Add more reusable validation helpers as needed
 }
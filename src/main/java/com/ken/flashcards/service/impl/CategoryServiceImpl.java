@@ -1,88 +1,217 @@
 package com.ken.flashcards.service.impl;
 
-import static java.lang.String.format;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.ken.flashcards.constants.CacheNames.CATEGORIES;
+import static com.ken.flashcards.constants.CacheNames.CATEGORY_BY_ID;
+import static com.ken.flashcards.constants.CacheNames.CATEGORY_BY_NAME;
+import static com.ken.flashcards.constants.CacheNames.STUDY_SESSIONS_BY_CATEGORY;
+import static com.ken.flashcards.constants.CacheNames.STUDY_SESSION_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_NAME;
 import static com.ken.flashcards.constants.ExceptionMessages.CATEGORY_NAME_ALREADY_EXISTS;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Pagination.MAX_LIMIT;
+import static com.ken.flashcards.constants.Pagination.MIN_LIMIT;
+import static com.ken.flashcards.repository.Projection.CATEGORY;
 import com.ken.flashcards.dto.CategoryRequest;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupResult;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
 import com.ken.flashcards.exception.ConflictException;
 import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.existence.ExistenceFilter;
+import com.ken.flashcards.existence.ExistenceFilters;
 import com.ken.flashcards.mapper.CategoryMapper;
+import com.ken.flashcards.mapper.CursorMapper;
 import com.ken.flashcards.model.Category;
 import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.ChunkedQueries;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.repository.Projection;
+import com.ken.flashcards.repository.Upserts;
 import com.ken.flashcards.service.CategoryService;
 import com.ken.flashcards.service.ValidatingService;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
+@Timed(SERVICE)
 public class CategoryServiceImpl extends ValidatingService implements CategoryService {
 
   private final CategoryRepository categoryRepository;
+  private final FlashcardRepository flashcardRepository;
   private final CategoryMapper categoryMapper;
+  private final CursorMapper cursorMapper;
+  private final ExistenceFilter existenceFilter;
+  private final ApplicationEventPublisher events;
 
   @Autowired
-  public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+  public CategoryServiceImpl(CategoryRepository categoryRepository,
+      FlashcardRepository flashcardRepository, CategoryMapper categoryMapper,
+      CursorMapper cursorMapper, ExistenceFilters existenceFilters,
+      ApplicationEventPublisher events) {
     this.categoryRepository = categoryRepository;
+    this.flashcardRepository = flashcardRepository;
     this.categoryMapper = categoryMapper;
+    this.cursorMapper = cursorMapper;
+    this.existenceFilter = existenceFilters.categories();
+    this.events = events;
   }
 
   @Override
+  @Transactional(readOnly = true)
+  @Cacheable(CATEGORIES)
   public Collection<Category> findAll() {
     return categoryRepository.findAllByOrderByNameAsc();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Category> findPage(String after, int limit) {
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    List<Category> rows = categoryRepository
+        .findByNameGreaterThanOrderByNameAsc(cursorMapper.keyFrom(after), Limit.of(limit + 1));
+    return cursorMapper.pageFrom(rows, limit, Category::getName);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Collection<Category> findAll(String fields) {
+    return categoryRepository.findAllProjected(projectionOf(CATEGORY, fields), "name");
+  }
+
+  /**
+   * A page is keyed by name, so both of a category's attributes are always selected; the fields
+   * are applied to the page once its cursor is taken.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Category> findPage(String after, int limit, String fields) {
+    Projection<Category> projection = projectionOf(CATEGORY, fields);
+    CursorPage<Category> page = findPage(after, limit);
+    return new CursorPage<>(page.getItems().stream().map(projection::project).toList(),
+        page.getNext());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CATEGORY_BY_ID, key = "#id", condition = "#id != null")
   public Category findById(String id) {
     assertNotBlank(id, "Category ID");
-    return categoryRepository.findById(id)
-        .orElseThrow(() -> new NotFoundException(format(CANNOT_FIND_CATEGORY_BY_ID, id)));
+    Optional<Category> category =
+        existenceFilter.mightContain(id) ? categoryRepository.findById(id) : Optional.empty();
+    return category.orElseThrow(() -> new NotFoundException(CANNOT_FIND_CATEGORY_BY_ID, id));
+  }
+
+  /**
+   * Fetches the categories with the given ids in chunked {@code IN} queries, skipping ids the
+   * existence filter rules out.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public LookupResult<Category> lookup(List<String> ids) {
+    assertLookupIds(ids);
+    List<String> candidates =
+        ids.stream().distinct().filter(existenceFilter::mightContain).toList();
+    return LookupResult.of(ids,
+        ChunkedQueries.findAllIn(candidates, categoryRepository::findAllByIdIn), Category::getId);
   }
 
   @Override
+  @CacheEvict(cacheNames = CATEGORIES, allEntries = true)
   public Category createCategory(CategoryRequest request) {
     validate(request);
     Category category = categoryMapper.categoryFrom(request);
+    existenceFilter.add(category.getId());
     return categoryRepository.save(category);
   }
 
+  /**
+   * Deleting a category cascades to its study sessions, whose ids are not known here, so the
+   * study session cache is cleared as well. The ids of the flashcards it cascades to are read
+   * first and announced as deleted.
+   */
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CATEGORY_BY_ID, key = "#id"),
+      @CacheEvict(cacheNames = CATEGORY_BY_NAME, allEntries = true),
+      @CacheEvict(cacheNames = CATEGORIES, allEntries = true),
+      @CacheEvict(cacheNames = STUDY_SESSIONS_BY_CATEGORY, key = "#id"),
+      @CacheEvict(cacheNames = STUDY_SESSION_BY_ID, allEntries = true)})
   public void deleteById(String id) {
     assertExistsById(id);
+    List<String> flashcardIds = flashcardRepository.findIdsByCategoryId(id);
     categoryRepository.deleteById(id);
+    events.publishEvent(FlashcardsChangedEvent.deleted(flashcardIds));
   }
 
   @Override
+  @Transactional(readOnly = true)
   public boolean existsById(String id) {
-    return categoryRepository.existsById(id);
+    return existenceFilter.mightContain(id) && categoryRepository.existsById(id);
   }
 
+  /**
+   * The previous name of an updated category is not known here, so the name cache is cleared.
+   */
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CATEGORY_BY_ID, key = "#category.id"),
+      @CacheEvict(cacheNames = CATEGORY_BY_NAME, allEntries = true),
+      @CacheEvict(cacheNames = CATEGORIES, allEntries = true)})
   public Category save(Category category) {
     validate(category);
+    existenceFilter.add(category.getId());
     return categoryRepository.save(category);
   }
 
+  /**
+   * Writes the category with a single upsert and returns whether it was newly created. The name
+   * check still runs first, since the upsert would otherwise match the other category's name key.
+   */
+  @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = CATEGORY_BY_ID, key = "#category.id"),
+      @CacheEvict(cacheNames = CATEGORY_BY_NAME, allEntries = true),
+      @CacheEvict(cacheNames = CATEGORIES, allEntries = true)})
+  public boolean upsert(Category category) {
+    validate(category);
+    existenceFilter.add(category.getId());
+    return Upserts.inserted(categoryRepository.upsert(category));
+  }
+
   @Override
+  @Transactional(readOnly = true)
   public void assertExistsById(String id) {
     if (!existsById(id)) {
-      throw new NotFoundException(format(CANNOT_FIND_CATEGORY_BY_ID, id));
+      throw new NotFoundException(CANNOT_FIND_CATEGORY_BY_ID, id);
     }
   }
 
   @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = CATEGORY_BY_NAME, key = "#name", condition = "#name != null")
   public Category findByName(String name) {
     assertNotBlank(name, "Category name");
     return categoryRepository.findByName(name)
-        .orElseThrow(() -> new NotFoundException(format(CANNOT_FIND_CATEGORY_BY_NAME, name)));
+        .orElseThrow(() -> new NotFoundException(CANNOT_FIND_CATEGORY_BY_NAME, name));
   }
 
   @Override
+  @Transactional(readOnly = true)
   public String idFromCategoryWithName(String categoryName) {
     return findByName(categoryName).getId();
   }
@@ -99,7 +228,7 @@ public class CategoryServiceImpl extends ValidatingService implements CategorySe
 
   private void assertDoesNotExistByName(String name) {
     if (categoryRepository.existsByName(name)) {
-      throw new ConflictException(format(CATEGORY_NAME_ALREADY_EXISTS, name));
+      throw new ConflictException(CATEGORY_NAME_ALREADY_EXISTS, name);
     }
   }
 
@@ -0,0 +1,68 @@
+package com.ken.flashcards.service.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import com.ken.flashcards.dto.Deck;
+import com.ken.flashcards.dto.DeckStudySession;
+import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.DeckRow;
+import com.ken.flashcards.service.DeckService;
+import com.ken.flashcards.service.ValidatingService;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Transactional(readOnly = true)
+@Timed(SERVICE)
+public class DeckServiceImpl extends ValidatingService implements DeckService {
+
+  private final CategoryRepository categoryRepository;
+
+  @Autowired
+  public DeckServiceImpl(CategoryRepository categoryRepository) {
+    this.categoryRepository = categoryRepository;
+  }
+
+  /**
+   * Builds the deck from a single joined query. The category's existence is implied by the query
+   * returning rows, so no separate existence check is made.
+   */
+  @Override
+  public Deck findDeck(String categoryId) {
+    assertNotBlank(categoryId, "Category ID");
+    List<DeckRow> rows = categoryRepository.findDeckRows(categoryId);
+    if (rows.isEmpty()) {
+      throw new NotFoundException(CANNOT_FIND_CATEGORY_BY_ID, categoryId);
+    }
+    DeckRow first = rows.get(0);
+    return new Deck(first.getCategoryId(), first.getCategoryName(), studySessionsFrom(rows));
+  }
+
+  private List<DeckStudySession> studySessionsFrom(List<DeckRow> rows) {
+    Map<String, DeckStudySession> studySessions = new LinkedHashMap<>();
+    for (DeckRow row : rows) {
+      if (row.getStudySessionId() == null) {
+        continue;
+      }
+      DeckStudySession studySession = studySessions.computeIfAbsent(row.getStudySessionId(),
+          id -> new DeckStudySession(id, row.getStudySessionName(), new ArrayList<>()));
+      if (row.getFlashcardId() != null) {
+        studySession.getFlashcards().add(new Flashcard(row.getFlashcardId(),
+            row.getStudySessionId(), row.getQuestion(), row.getAnswer()));
+      }
+    }
+    return new ArrayList<>(studySessions.values());
+  }
+
+}
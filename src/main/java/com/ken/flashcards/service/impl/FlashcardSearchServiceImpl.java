@@ -0,0 +1,99 @@
+package com.ken.flashcards.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.ken.flashcards.constants.ExceptionMessages.SEARCH_FILTERS_EXCLUSIVE;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Pagination.MIN_LIMIT;
+import static com.ken.flashcards.constants.Search.MAX_LIMIT;
+import com.ken.flashcards.dto.FlashcardSearchHit;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.search.FlashcardIndex;
+import com.ken.flashcards.search.SearchMatch;
+import com.ken.flashcards.service.FlashcardSearchService;
+import com.ken.flashcards.service.StudySessionService;
+import com.ken.flashcards.service.ValidatingService;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Transactional(readOnly = true)
+@Timed(SERVICE)
+public class FlashcardSearchServiceImpl extends ValidatingService
+    implements FlashcardSearchService {
+
+  private final FlashcardIndex index;
+  private final FlashcardRepository repository;
+  private final StudySessionService studySessionService;
+
+  @Autowired
+  public FlashcardSearchServiceImpl(FlashcardIndex index, FlashcardRepository repository,
+      StudySessionService studySessionService) {
+    this.index = index;
+    this.repository = repository;
+    this.studySessionService = studySessionService;
+  }
+
+  /**
+   * Ranks matches in the index, then loads only the top {@code limit} flashcards by id. Matches
+   * whose row is gone, such as flashcards deleted by something other than the services, are
+   * dropped from the results and from the index.
+   */
+  @Override
+  public List<FlashcardSearchHit> search(String query, String studySessionId, String categoryId,
+      int limit) {
+    assertNotBlank(query, "Query");
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    List<SearchMatch> matches =
+        index.search(query, studySessionFilter(studySessionId, categoryId), limit);
+    if (matches.isEmpty()) {
+      return List.of();
+    }
+
+    Map<String, Flashcard> flashcards = repository
+        .findAllById(matches.stream().map(SearchMatch::getFlashcardId).toList()).stream()
+        .collect(Collectors.toMap(Flashcard::getId, Function.identity()));
+    List<FlashcardSearchHit> hits = new ArrayList<>(matches.size());
+    for (SearchMatch match : matches) {
+      Flashcard flashcard = flashcards.get(match.getFlashcardId());
+      if (flashcard == null) {
+        index.remove(match.getFlashcardId());
+      } else {
+        hits.add(new FlashcardSearchHit(flashcard, match.getScore()));
+      }
+    }
+    return hits;
+  }
+
+  private Predicate<String> studySessionFilter(String studySessionId, String categoryId) {
+    if (studySessionId != null && categoryId != null) {
+      throw new BadRequestException(SEARCH_FILTERS_EXCLUSIVE);
+    }
+    if (studySessionId != null) {
+      studySessionService.assertExistsById(studySessionId);
+      return studySessionId::equals;
+    }
+    if (categoryId != null) {
+      Set<String> studySessionIds = StreamSupport
+          .stream(studySessionService.findAllByCategoryId(categoryId).spliterator(), false)
+          .map(StudySession::getId).collect(Collectors.toSet());
+      return studySessionIds::contains;
+    }
+    return studySessionIdOfMatch -> true;
+  }
+
+}
@@ -1,85 +1,360 @@
 package com.ken.flashcards.service.impl;
 
-import static java.lang.String.format;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.ken.flashcards.constants.Batching.MAX_BATCH_SIZE;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_ID;
+import static com.ken.flashcards.constants.ExceptionMessages.EXPORT_FILTERS_EXCLUSIVE;
+import static com.ken.flashcards.constants.ExceptionMessages.REQUEST_BODY_NULL;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Pagination.MAX_LIMIT;
+import static com.ken.flashcards.constants.Pagination.MIN_LIMIT;
+import static com.ken.flashcards.constants.ValidationMessages.ANSWER_REQUIRED;
+import static com.ken.flashcards.constants.ValidationMessages.QUESTION_REQUIRED;
+import static com.ken.flashcards.constants.ValidationMessages.STUDY_SESSION_ID_REQUIRED;
+import static com.ken.flashcards.repository.Projection.FLASHCARD;
+import com.ken.flashcards.coalescing.Coalesced;
+import com.ken.flashcards.config.WriteProperties;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.FlashcardBatchResult;
 import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.dto.LookupResult;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.exception.ForeignKeyViolations;
+import com.ken.flashcards.exception.MessageTemplate;
 import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.existence.ExistenceFilter;
+import com.ken.flashcards.existence.ExistenceFilters;
+import com.ken.flashcards.mapper.CursorMapper;
 import com.ken.flashcards.mapper.FlashcardMapper;
 import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.ChunkedQueries;
+import com.ken.flashcards.repository.CollectionVersion;
 import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.repository.Projection;
+import com.ken.flashcards.repository.Upserts;
+import com.ken.flashcards.service.CategoryService;
 import com.ken.flashcards.service.FlashcardService;
 import com.ken.flashcards.service.StudySessionService;
 import com.ken.flashcards.service.ValidatingService;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
+@Timed(SERVICE)
 public class FlashcardServiceImpl extends ValidatingService implements FlashcardService {
 
+  private static final String STUDY_SESSION_ID_COLUMN = "study_session_id";
+
   private final FlashcardRepository repository;
   private final StudySessionService studySessionService;
+  private final CategoryService categoryService;
   private final FlashcardMapper mapper;
+  private final CursorMapper cursorMapper;
+  private final WriteProperties writeProperties;
+  private final ApplicationEventPublisher events;
+  private final ExistenceFilter existenceFilter;
 
   @Autowired
   public FlashcardServiceImpl(FlashcardRepository repository,
-      StudySessionService studySessionService, FlashcardMapper mapper) {
+      StudySessionService studySessionService, CategoryService categoryService,
+      FlashcardMapper mapper, CursorMapper cursorMapper, WriteProperties writeProperties,
+      ApplicationEventPublisher events, ExistenceFilters existenceFilters) {
     this.repository = repository;
     this.studySessionService = studySessionService;
+    this.categoryService = categoryService;
     this.mapper = mapper;
+    this.cursorMapper = cursorMapper;
+    this.writeProperties = writeProperties;
+    this.events = events;
+    this.existenceFilter = existenceFilters.flashcards();
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Iterable<Flashcard> findAll() {
     return repository.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Flashcard> findPage(String after, int limit) {
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    List<Flashcard> rows =
+        repository.findByIdGreaterThanOrderByIdAsc(cursorMapper.keyFrom(after), Limit.of(limit + 1));
+    return cursorMapper.pageFrom(rows, limit, Flashcard::getId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Iterable<Flashcard> findAll(String fields) {
+    return repository.findAllProjected(projectionOf(FLASHCARD, fields), null);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Flashcard> findPage(String after, int limit, String fields) {
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    Projection<Flashcard> projection = projectionOf(FLASHCARD, fields);
+    List<Flashcard> rows = repository.findPageProjected(
+        projection, "id", cursorMapper.keyFrom(after), Limit.of(limit + 1));
+    return cursorMapper.pageFrom(rows, limit, Flashcard::getId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public Flashcard findById(String id) {
-    return repository.findById(id)
-        .orElseThrow(() -> new NotFoundException(format(CANNOT_FIND_FLASHCARD_BY_ID, id)));
+    Optional<Flashcard> flashcard =
+        existenceFilter.mightContain(id) ? repository.findById(id) : Optional.empty();
+    return flashcard.orElseThrow(() -> new NotFoundException(CANNOT_FIND_FLASHCARD_BY_ID, id));
+  }
+
+  /**
+   * Fetches the flashcards with the given ids in chunked {@code IN} queries, skipping ids the
+   * existence filter rules out.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public LookupResult<Flashcard> lookup(List<String> ids) {
+    assertLookupIds(ids);
+    List<String> candidates =
+        ids.stream().distinct().filter(existenceFilter::mightContain).toList();
+    return LookupResult.of(ids, ChunkedQueries.findAllIn(candidates, repository::findAllByIdIn),
+        Flashcard::getId);
   }
 
   @Override
   public Flashcard createFlashcard(FlashcardRequest request) {
     validate(request);
     Flashcard flashcard = flashcardFrom(request);
-    return repository.save(flashcard);
+    existenceFilter.add(flashcard.getId());
+    return published(checksParentsByQuery() ? repository.save(flashcard) : insert(flashcard));
+  }
+
+  /**
+   * Creates many flashcards in one transaction. Each distinct study session is checked once with
+   * a single query, and valid items are written with batched INSERTs. Invalid items are reported
+   * at their index without failing the rest of the batch.
+   */
+  @Override
+  public List<FlashcardBatchResult> createFlashcards(List<FlashcardRequest> requests) {
+    assertNotNull(requests);
+    assertInRange(requests.size(), 1, MAX_BATCH_SIZE, "Batch size");
+    Set<String> existingStudySessionIds =
+        studySessionService.findExistingIds(studySessionIdsOf(requests));
+
+    List<FlashcardBatchResult> results = new ArrayList<>(requests.size());
+    List<Flashcard> flashcards = new ArrayList<>(requests.size());
+    for (int index = 0; index < requests.size(); index++) {
+      FlashcardRequest request = requests.get(index);
+      String error = invalidFieldOf(request);
+      if (error != null) {
+        results.add(FlashcardBatchResult.failed(index, BAD_REQUEST, error));
+      } else if (!existingStudySessionIds.contains(request.getStudySessionId())) {
+        results.add(FlashcardBatchResult.failed(index, NOT_FOUND,
+            MessageTemplate.of(CANNOT_FIND_STUDY_SESSION_BY_ID)
+                .format(request.getStudySessionId())));
+      } else {
+        Flashcard flashcard = flashcardFrom(request);
+        flashcards.add(flashcard);
+        results.add(FlashcardBatchResult.created(index, flashcard));
+      }
+    }
+    existenceFilter.addAll(flashcards.stream().map(Flashcard::getId).toList());
+    repository.persistAll(flashcards);
+    events.publishEvent(FlashcardsChangedEvent.saved(flashcards));
+    return results;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public boolean existsById(String id) {
-    return repository.existsById(id);
+    return existenceFilter.mightContain(id) && repository.existsById(id);
   }
 
   @Override
   public Flashcard save(Flashcard flashcard) {
     validate(flashcard);
-    return repository.save(flashcard);
+    existenceFilter.add(flashcard.getId());
+    return published(
+        checksParentsByQuery() ? repository.save(flashcard) : saveAndFlush(flashcard));
+  }
+
+  /**
+   * Writes the flashcard with a single upsert and returns whether it was newly created. The study
+   * session is always checked by its foreign key here, whatever the parent check mode.
+   */
+  @Override
+  public boolean upsert(Flashcard flashcard) {
+    assertNotNull(flashcard);
+    existenceFilter.add(flashcard.getId());
+    boolean inserted;
+    try {
+      inserted = Upserts.inserted(repository.upsert(flashcard));
+    } catch (DataIntegrityViolationException e) {
+      throw studySessionNotFoundOr(e, flashcard);
+    }
+    published(flashcard);
+    return inserted;
   }
 
   @Override
   public void deleteById(String id) {
     repository.deleteById(id);
+    events.publishEvent(FlashcardsChangedEvent.deleted(id));
   }
 
   @Override
+  @Coalesced
+  @Transactional(readOnly = true)
   public Iterable<Flashcard> findAllByStudySessionId(String studySessionId) {
     studySessionService.assertExistsById(studySessionId);
     return repository.findAllByStudySessionId(studySessionId);
   }
 
+  /**
+   * Returns the entity tag of the study session's flashcards from an aggregate over their
+   * {@code updated_at} column, which also confirms the study session exists.
+   */
+  @Override
+  @Coalesced
+  @Transactional(readOnly = true)
+  public String findVersionByStudySessionId(String studySessionId) {
+    return repository.findVersionByStudySessionId(studySessionId).map(CollectionVersion::etag)
+        .orElseThrow(() -> new NotFoundException(CANNOT_FIND_STUDY_SESSION_BY_ID, studySessionId));
+  }
+
+  /**
+   * Checks export filters up front, so a bad filter is reported before the response is committed.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void assertExportFiltersExist(String studySessionId, String categoryId) {
+    if (studySessionId != null && categoryId != null) {
+      throw new BadRequestException(EXPORT_FILTERS_EXCLUSIVE);
+    }
+    if (studySessionId != null) {
+      studySessionService.assertExistsById(studySessionId);
+    }
+    if (categoryId != null) {
+      categoryService.assertExistsById(categoryId);
+    }
+  }
+
+  /**
+   * Hands each matching flashcard to the consumer as it is read from a server-side cursor, so
+   * memory use stays flat regardless of how many rows match.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void exportFlashcards(String studySessionId, String categoryId,
+      Consumer<Flashcard> consumer) {
+    try (Stream<Flashcard> flashcards = streamFlashcards(studySessionId, categoryId)) {
+      flashcards.forEach(consumer);
+    }
+  }
+
+  private Stream<Flashcard> streamFlashcards(String studySessionId, String categoryId) {
+    if (studySessionId != null) {
+      return repository.streamAllByStudySessionId(studySessionId);
+    }
+    if (categoryId != null) {
+      return repository.streamAllByCategoryId(categoryId);
+    }
+    return repository.streamAll();
+  }
+
   private void validate(FlashcardRequest request) {
     assertNotNull(request);
-    studySessionService.assertExistsById(request.getStudySessionId());
+    if (checksParentsByQuery()) {
+      studySessionService.assertExistsById(request.getStudySessionId());
+    }
   }
 
   private void validate(Flashcard flashcard) {
     assertNotNull(flashcard);
-    studySessionService.assertExistsById(flashcard.getStudySessionId());
+    if (checksParentsByQuery()) {
+      studySessionService.assertExistsById(flashcard.getStudySessionId());
+    }
+  }
+
+  /**
+   * Announces a written flashcard; listeners such as the search index act once the transaction
+   * commits.
+   */
+  private Flashcard published(Flashcard flashcard) {
+    events.publishEvent(FlashcardsChangedEvent.saved(flashcard));
+    return flashcard;
+  }
+
+  private boolean checksParentsByQuery() {
+    return writeProperties.checksParentsByQuery();
+  }
+
+  private Flashcard insert(Flashcard flashcard) {
+    try {
+      return repository.persist(flashcard);
+    } catch (DataIntegrityViolationException e) {
+      throw studySessionNotFoundOr(e, flashcard);
+    }
+  }
+
+  private Flashcard saveAndFlush(Flashcard flashcard) {
+    try {
+      return repository.saveAndFlush(flashcard);
+    } catch (DataIntegrityViolationException e) {
+      throw studySessionNotFoundOr(e, flashcard);
+    }
+  }
+
+  private RuntimeException studySessionNotFoundOr(DataIntegrityViolationException exception,
+      Flashcard flashcard) {
+    return ForeignKeyViolations.notFoundOr(exception, STUDY_SESSION_ID_COLUMN,
+        CANNOT_FIND_STUDY_SESSION_BY_ID, flashcard.getStudySessionId());
+  }
+
+  private Set<String> studySessionIdsOf(List<FlashcardRequest> requests) {
+    return requests.stream().filter(Objects::nonNull).map(FlashcardRequest::getStudySessionId)
+        .filter(Objects::nonNull).collect(Collectors.toSet());
+  }
+
+  private String invalidFieldOf(FlashcardRequest request) {
+    if (request == null) {
+      return REQUEST_BODY_NULL;
+    }
+    if (isBlank(request.getStudySessionId())) {
+      return STUDY_SESSION_ID_REQUIRED;
+    }
+    if (isBlank(request.getQuestion())) {
+      return QUESTION_REQUIRED;
+    }
+    if (isBlank(request.getAnswer())) {
+      return ANSWER_REQUIRED;
+    }
+    return null;
+  }
+
+  private boolean isBlank(String value) {
+    return value == null || value.isBlank();
   }
 
   private Flashcard flashcardFrom(FlashcardRequest request) {
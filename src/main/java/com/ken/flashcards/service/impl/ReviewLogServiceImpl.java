@@ -0,0 +1,87 @@
+package com.ken.flashcards.service.impl;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import static com.ken.flashcards.constants.Batching.MAX_BATCH_SIZE;
+import static com.ken.flashcards.constants.ExceptionMessages.NOT_A_UUID;
+import static com.ken.flashcards.constants.ExceptionMessages.REVIEW_LOG_TIMEOUT;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.config.ReviewLogProperties;
+import com.ken.flashcards.dto.ReviewEvent;
+import com.ken.flashcards.dto.ReviewLogRequest;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.exception.ServiceUnavailableException;
+import com.ken.flashcards.model.ReviewLogEntry;
+import com.ken.flashcards.model.UuidBinaryConverter;
+import com.ken.flashcards.review.ReviewLogWriter;
+import com.ken.flashcards.service.ReviewLogService;
+import com.ken.flashcards.service.ValidatingService;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Not transactional: the request thread only waits for the group commit, and must not hold a
+ * pooled connection while it does.
+ */
+@Service
+@Profile(NOT_IN_MEMORY)
+@Timed(SERVICE)
+public class ReviewLogServiceImpl extends ValidatingService implements ReviewLogService {
+
+  private final ReviewLogWriter writer;
+  private final ReviewLogProperties properties;
+  private final KeyProperties keys;
+
+  @Autowired
+  public ReviewLogServiceImpl(ReviewLogWriter writer, ReviewLogProperties properties,
+      KeyProperties keys) {
+    this.writer = writer;
+    this.properties = properties;
+    this.keys = keys;
+  }
+
+  /**
+   * Appends the reviews to the log and returns once they are committed, or fails once the commit
+   * timeout passes. Flashcard ids are not checked against flashcards; the log records what
+   * clients report, and readers join it against flashcards. With binary keys they must be UUIDs,
+   * since {@code UUID_TO_BIN} would fail the whole group commit on any other string.
+   */
+  @Override
+  public void record(ReviewLogRequest request) {
+    assertNotNull(request);
+    assertInRange(request.getReviews().size(), 1, MAX_BATCH_SIZE, "Batch size");
+    if (keys.storesBinary()) {
+      for (ReviewEvent review : request.getReviews()) {
+        if (UuidBinaryConverter.uuidFrom(review.getFlashcardId()) == null) {
+          throw new BadRequestException(NOT_A_UUID, "Flashcard ID", review.getFlashcardId());
+        }
+      }
+    }
+    List<ReviewLogEntry> entries = request.getReviews().stream()
+        .map(review -> new ReviewLogEntry(request.getLearnerId(), review.getFlashcardId(),
+            review.getGrade(), review.getReviewedAt()))
+        .toList();
+    try {
+      writer.append(entries).get(properties.getCommitTimeout().toNanos(), NANOSECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause
+          : new CompletionException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new ServiceUnavailableException(REVIEW_LOG_TIMEOUT);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServiceUnavailableException(REVIEW_LOG_TIMEOUT);
+    }
+  }
+
+}
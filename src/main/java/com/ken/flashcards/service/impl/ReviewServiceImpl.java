@@ -0,0 +1,87 @@
+package com.ken.flashcards.service.impl;
+
+import java.time.Clock;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Pagination.MAX_LIMIT;
+import static com.ken.flashcards.constants.Pagination.MIN_LIMIT;
+import static com.ken.flashcards.constants.Profiles.NOT_IN_MEMORY;
+import com.ken.flashcards.config.WriteProperties;
+import com.ken.flashcards.dto.DueFlashcard;
+import com.ken.flashcards.dto.ReviewRequest;
+import com.ken.flashcards.exception.ForeignKeyViolations;
+import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.model.ReviewState;
+import com.ken.flashcards.model.ReviewStateId;
+import com.ken.flashcards.repository.ReviewStateRepository;
+import com.ken.flashcards.review.Sm2Scheduler;
+import com.ken.flashcards.service.FlashcardService;
+import com.ken.flashcards.service.ReviewService;
+import com.ken.flashcards.service.ValidatingService;
+
+import io.micrometer.core.annotation.Timed;
+
+@Service
+@Profile(NOT_IN_MEMORY)
+@Transactional
+@Timed(SERVICE)
+public class ReviewServiceImpl extends ValidatingService implements ReviewService {
+
+  private static final String FLASHCARD_ID_COLUMN = "flashcard_id";
+
+  private final ReviewStateRepository repository;
+  private final FlashcardService flashcardService;
+  private final WriteProperties writeProperties;
+  private final Clock clock;
+
+  @Autowired
+  public ReviewServiceImpl(ReviewStateRepository repository, FlashcardService flashcardService,
+      WriteProperties writeProperties, Clock clock) {
+    this.repository = repository;
+    this.flashcardService = flashcardService;
+    this.writeProperties = writeProperties;
+    this.clock = clock;
+  }
+
+  /**
+   * Records a review and reschedules the card with SM-2. The first review of a card by a learner
+   * adds it to that learner's due queue.
+   */
+  @Override
+  public ReviewState review(ReviewRequest request) {
+    assertNotNull(request);
+    if (writeProperties.checksParentsByQuery()
+        && !flashcardService.existsById(request.getFlashcardId())) {
+      throw new NotFoundException(CANNOT_FIND_FLASHCARD_BY_ID, request.getFlashcardId());
+    }
+    ReviewState previous = repository
+        .findById(new ReviewStateId(request.getLearnerId(), request.getFlashcardId()))
+        .orElse(null);
+    ReviewState next = Sm2Scheduler.schedule(previous, request.getLearnerId(),
+        request.getFlashcardId(), request.getGrade(), clock.instant());
+    try {
+      return repository.saveAndFlush(next);
+    } catch (DataIntegrityViolationException e) {
+      throw ForeignKeyViolations.notFoundOr(e, FLASHCARD_ID_COLUMN, CANNOT_FIND_FLASHCARD_BY_ID,
+          request.getFlashcardId());
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<DueFlashcard> findDue(String learnerId, int limit) {
+    assertNotBlank(learnerId, "Learner ID");
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    return repository.findDue(learnerId, clock.instant(), Limit.of(limit));
+  }
+
+}
@@ -1,103 +1,291 @@
 package com.ken.flashcards.service.impl;
 
-import static java.lang.String.format;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import static com.ken.flashcards.constants.CacheNames.STUDY_SESSIONS_BY_CATEGORY;
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
+import static com.ken.flashcards.constants.CacheNames.STUDY_SESSION_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_NAME;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Pagination.MAX_LIMIT;
+import static com.ken.flashcards.constants.Pagination.MIN_LIMIT;
+import static com.ken.flashcards.repository.Projection.STUDY_SESSION;
+import com.ken.flashcards.config.WriteProperties;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.dto.StudySessionRequest;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+import com.ken.flashcards.exception.ForeignKeyViolations;
 import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.existence.ExistenceFilter;
+import com.ken.flashcards.existence.ExistenceFilters;
+import com.ken.flashcards.mapper.CursorMapper;
 import com.ken.flashcards.mapper.StudySessionMapper;
 import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.ChunkedQueries;
+import com.ken.flashcards.repository.CollectionVersion;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.repository.Projection;
 import com.ken.flashcards.repository.StudySessionRepository;
+import com.ken.flashcards.repository.Upserts;
 import com.ken.flashcards.service.CategoryService;
 import com.ken.flashcards.service.StudySessionService;
 import com.ken.flashcards.service.ValidatingService;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
+@Timed(SERVICE)
 public class StudySessionServiceImpl extends ValidatingService implements StudySessionService {
 
+  private static final String CATEGORY_ID_COLUMN = "category_id";
+
   private final StudySessionRepository studySessionRepository;
+  private final FlashcardRepository flashcardRepository;
   private final CategoryService categoryService;
   private final StudySessionMapper studySessionMapper;
+  private final CursorMapper cursorMapper;
+  private final WriteProperties writeProperties;
+  private final ExistenceFilter existenceFilter;
+  private final ApplicationEventPublisher events;
 
   @Autowired
   public StudySessionServiceImpl(StudySessionRepository studySessionRepository,
-      CategoryService categoryService, StudySessionMapper studySessionMapper) {
+      FlashcardRepository flashcardRepository, CategoryService categoryService,
+      StudySessionMapper studySessionMapper, CursorMapper cursorMapper,
+      WriteProperties writeProperties, ExistenceFilters existenceFilters,
+      ApplicationEventPublisher events) {
     this.studySessionRepository = studySessionRepository;
+    this.flashcardRepository = flashcardRepository;
     this.categoryService = categoryService;
     this.studySessionMapper = studySessionMapper;
+    this.cursorMapper = cursorMapper;
+    this.writeProperties = writeProperties;
+    this.existenceFilter = existenceFilters.studySessions();
+    this.events = events;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public Iterable<StudySession> findAll() {
     return studySessionRepository.findAll();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public CursorPage<StudySession> findPage(String after, int limit) {
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    List<StudySession> rows = studySessionRepository
+        .findByIdGreaterThanOrderByIdAsc(cursorMapper.keyFrom(after), Limit.of(limit + 1));
+    return cursorMapper.pageFrom(rows, limit, StudySession::getId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Iterable<StudySession> findAll(String fields) {
+    return studySessionRepository.findAllProjected(projectionOf(STUDY_SESSION, fields), null);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<StudySession> findPage(String after, int limit, String fields) {
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    Projection<StudySession> projection = projectionOf(STUDY_SESSION, fields);
+    List<StudySession> rows = studySessionRepository.findPageProjected(
+        projection, "id", cursorMapper.keyFrom(after), Limit.of(limit + 1));
+    return cursorMapper.pageFrom(rows, limit, StudySession::getId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = STUDY_SESSION_BY_ID, key = "#id", condition = "#id != null")
   public StudySession findById(String id) {
-    return studySessionRepository.findById(id).orElseThrow(
-        () -> new NotFoundException(format(CANNOT_FIND_STUDY_SESSION_BY_ID, id)));
+    Optional<StudySession> studySession =
+        existenceFilter.mightContain(id) ? studySessionRepository.findById(id) : Optional.empty();
+    return studySession.orElseThrow(
+        () -> new NotFoundException(CANNOT_FIND_STUDY_SESSION_BY_ID, id));
   }
 
+  /**
+   * Fetches the study sessions with the given ids in chunked {@code IN} queries, skipping ids the
+   * existence filter rules out.
+   */
   @Override
+  @Transactional(readOnly = true)
+  public LookupResult<StudySession> lookup(List<String> ids) {
+    assertLookupIds(ids);
+    List<String> candidates =
+        ids.stream().distinct().filter(existenceFilter::mightContain).toList();
+    return LookupResult.of(ids,
+        ChunkedQueries.findAllIn(candidates, studySessionRepository::findAllByIdIn),
+        StudySession::getId);
+  }
+
+  @Override
+  @CacheEvict(cacheNames = STUDY_SESSIONS_BY_CATEGORY, key = "#request.categoryId")
   public StudySession createStudySession(StudySessionRequest request) {
     validate(request);
     StudySession studySession = studySessionFrom(request);
-    return studySessionRepository.save(studySession);
+    existenceFilter.add(studySession.getId());
+    return checksParentsByQuery() ? studySessionRepository.save(studySession)
+        : insert(studySession);
   }
 
+  /**
+   * The category an updated session previously belonged to is not known here, so the
+   * by-category cache is cleared.
+   */
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = STUDY_SESSION_BY_ID, key = "#studySession.id"),
+      @CacheEvict(cacheNames = STUDY_SESSIONS_BY_CATEGORY, allEntries = true)})
   public StudySession save(StudySession studySession) {
     validate(studySession);
-    return studySessionRepository.save(studySession);
+    existenceFilter.add(studySession.getId());
+    return checksParentsByQuery() ? studySessionRepository.save(studySession)
+        : saveAndFlush(studySession);
+  }
+
+  /**
+   * Writes the study session with a single upsert and returns whether it was newly created. The
+   * category is always checked by its foreign key here, whatever the parent check mode.
+   */
+  @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = STUDY_SESSION_BY_ID, key = "#studySession.id"),
+      @CacheEvict(cacheNames = STUDY_SESSIONS_BY_CATEGORY, allEntries = true)})
+  public boolean upsert(StudySession studySession) {
+    assertNotNull(studySession);
+    existenceFilter.add(studySession.getId());
+    try {
+      return Upserts.inserted(studySessionRepository.upsert(studySession));
+    } catch (DataIntegrityViolationException e) {
+      throw categoryNotFoundOr(e, studySession);
+    }
   }
 
   @Override
+  @Transactional(readOnly = true)
   public boolean existsById(String id) {
-    return studySessionRepository.existsById(id);
+    return existenceFilter.mightContain(id) && studySessionRepository.existsById(id);
   }
 
+  /**
+   * Deleting a study session cascades to its flashcards, whose ids are read first and announced
+   * as deleted.
+   */
   @Override
+  @Caching(evict = {
+      @CacheEvict(cacheNames = STUDY_SESSION_BY_ID, key = "#id"),
+      @CacheEvict(cacheNames = STUDY_SESSIONS_BY_CATEGORY, allEntries = true)})
   public void deleteById(String id) {
     assertExistsById(id);
+    List<String> flashcardIds = flashcardRepository.findIdsByStudySessionId(id);
     studySessionRepository.deleteById(id);
+    events.publishEvent(FlashcardsChangedEvent.deleted(flashcardIds));
   }
 
   @Override
+  @Transactional(readOnly = true)
   public void assertExistsById(String id) {
     if (!existsById(id)) {
-      throw new NotFoundException(format(CANNOT_FIND_STUDY_SESSION_BY_ID, id));
+      throw new NotFoundException(CANNOT_FIND_STUDY_SESSION_BY_ID, id);
     }
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public Set<String> findExistingIds(Collection<String> ids) {
+    Set<String> candidates =
+        ids.stream().filter(existenceFilter::mightContain).collect(Collectors.toSet());
+    return candidates.isEmpty() ? Set.of() : studySessionRepository.findExistingIds(candidates);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
   public String idFromStudySessionWithName(String name) {
     return findByName(name).getId();
   }
 
   @Override
+  @Transactional(readOnly = true)
+  @Cacheable(cacheNames = STUDY_SESSIONS_BY_CATEGORY, key = "#categoryId",
+      condition = "#categoryId != null")
   public Iterable<StudySession> findAllByCategoryId(String categoryId) {
     categoryService.assertExistsById(categoryId);
     return studySessionRepository.findAllByCategoryId(categoryId);
   }
 
+  /**
+   * Returns the entity tag of the category's study sessions from an aggregate over their
+   * {@code updated_at} column, which also confirms the category exists.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public String findVersionByCategoryId(String categoryId) {
+    return studySessionRepository.findVersionByCategoryId(categoryId)
+        .map(CollectionVersion::etag).orElseThrow(
+            () -> new NotFoundException(CANNOT_FIND_CATEGORY_BY_ID, categoryId));
+  }
+
   private StudySession findByName(String name) {
     return studySessionRepository.findByName(name).orElseThrow(
-        () -> new NotFoundException(format(CANNOT_FIND_STUDY_SESSION_BY_NAME, name)));
+        () -> new NotFoundException(CANNOT_FIND_STUDY_SESSION_BY_NAME, name));
   }
 
   private void validate(StudySession studySession) {
     assertNotNull(studySession);
-    categoryService.assertExistsById(studySession.getCategoryId());
+    if (checksParentsByQuery()) {
+      categoryService.assertExistsById(studySession.getCategoryId());
+    }
   }
 
   private void validate(StudySessionRequest request) {
-    categoryService.assertExistsById(request.getCategoryId());
+    if (checksParentsByQuery()) {
+      categoryService.assertExistsById(request.getCategoryId());
+    }
+  }
+
+  private boolean checksParentsByQuery() {
+    return writeProperties.checksParentsByQuery();
+  }
+
+  private StudySession insert(StudySession studySession) {
+    try {
+      return studySessionRepository.persist(studySession);
+    } catch (DataIntegrityViolationException e) {
+      throw categoryNotFoundOr(e, studySession);
+    }
+  }
+
+  private StudySession saveAndFlush(StudySession studySession) {
+    try {
+      return studySessionRepository.saveAndFlush(studySession);
+    } catch (DataIntegrityViolationException e) {
+      throw categoryNotFoundOr(e, studySession);
+    }
+  }
+
+  private RuntimeException categoryNotFoundOr(DataIntegrityViolationException exception,
+      StudySession studySession) {
+    return ForeignKeyViolations.notFoundOr(exception, CATEGORY_ID_COLUMN,
+        CANNOT_FIND_CATEGORY_BY_ID, studySession.getCategoryId());
   }
 
   private StudySession studySessionFrom(StudySessionRequest request) {
@@ -0,0 +1,100 @@
+package com.ken.flashcards.service.impl;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.ken.flashcards.constants.ExceptionMessages.INVALID_CURSOR;
+import static com.ken.flashcards.constants.MetricNames.SERVICE;
+import static com.ken.flashcards.constants.Pagination.MAX_LIMIT;
+import static com.ken.flashcards.constants.Pagination.MIN_LIMIT;
+import static com.ken.flashcards.model.ChangeLogEntry.CATEGORY;
+import static com.ken.flashcards.model.ChangeLogEntry.FLASHCARD;
+import static com.ken.flashcards.model.ChangeLogEntry.STUDY_SESSION;
+import com.ken.flashcards.dto.SyncPage;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.mapper.CursorMapper;
+import com.ken.flashcards.model.ChangeLogEntry;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.ChangeLogRepository;
+import com.ken.flashcards.repository.ChunkedQueries;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.repository.StudySessionRepository;
+import com.ken.flashcards.service.SyncService;
+import com.ken.flashcards.service.ValidatingService;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Delta sync over the change log. A page reads up to {@code limit} entries after the token and
+ * then the current state of the changed rows, one {@code IN} query per table, so its cost follows
+ * the number of changes rather than the size of the tables. The read-only transaction gives all
+ * four queries one snapshot.
+ */
+@Service
+@Transactional
+@Timed(SERVICE)
+public class SyncServiceImpl extends ValidatingService implements SyncService {
+
+  private final ChangeLogRepository changeLogRepository;
+  private final CategoryRepository categoryRepository;
+  private final StudySessionRepository studySessionRepository;
+  private final FlashcardRepository flashcardRepository;
+  private final CursorMapper cursorMapper;
+
+  @Autowired
+  public SyncServiceImpl(ChangeLogRepository changeLogRepository,
+      CategoryRepository categoryRepository, StudySessionRepository studySessionRepository,
+      FlashcardRepository flashcardRepository, CursorMapper cursorMapper) {
+    this.changeLogRepository = changeLogRepository;
+    this.categoryRepository = categoryRepository;
+    this.studySessionRepository = studySessionRepository;
+    this.flashcardRepository = flashcardRepository;
+    this.cursorMapper = cursorMapper;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public SyncPage sync(String since, int limit) {
+    assertInRange(limit, MIN_LIMIT, MAX_LIMIT, "Limit");
+    long floor = changeLogRepository.floor();
+    long after = since == null ? floor : seqFrom(since);
+    boolean reset = since == null || after < floor;
+    after = Math.max(after, floor);
+    List<ChangeLogEntry> entries = changeLogRepository.findAfter(after, limit + 1);
+    boolean hasMore = entries.size() > limit;
+    if (hasMore) {
+      entries = entries.subList(0, limit);
+    }
+    long next = entries.isEmpty() ? after : entries.get(entries.size() - 1).getSeq();
+    return new SyncPage(reset,
+        ChunkedQueries.findAllIn(idsOf(entries, CATEGORY, false),
+            categoryRepository::findAllByIdIn),
+        ChunkedQueries.findAllIn(idsOf(entries, STUDY_SESSION, false),
+            studySessionRepository::findAllByIdIn),
+        ChunkedQueries.findAllIn(idsOf(entries, FLASHCARD, false),
+            flashcardRepository::findAllByIdIn),
+        reset ? List.of() : idsOf(entries, CATEGORY, true),
+        reset ? List.of() : idsOf(entries, STUDY_SESSION, true),
+        reset ? List.of() : idsOf(entries, FLASHCARD, true),
+        cursorMapper.cursorFrom(Long.toString(next)), hasMore);
+  }
+
+  private long seqFrom(String token) {
+    try {
+      return Long.parseLong(cursorMapper.keyFrom(token));
+    } catch (NumberFormatException e) {
+      throw new BadRequestException(INVALID_CURSOR, token);
+    }
+  }
+
+  private static List<String> idsOf(List<ChangeLogEntry> entries, String tableName,
+      boolean deleted) {
+    return entries.stream()
+        .filter(entry -> entry.getTableName().equals(tableName) && entry.isDeleted() == deleted)
+        .map(ChangeLogEntry::getEntityId).toList();
+  }
+
+}
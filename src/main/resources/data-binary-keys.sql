@@ -0,0 +1,52 @@
+-- Category Definitions
+INSERT INTO category(id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000001'), 'Art History');
+
+INSERT INTO category(id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000002'), 'Thermodynamics');
+
+INSERT INTO category(id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000003'), 'Computer Science');
+
+INSERT INTO category(id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000004'), 'American History');
+
+
+-- Study Sessions (ids ending 101–105)
+INSERT INTO study_session(id, category_id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000101'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000001'), 'Northern Renaissance');
+
+INSERT INTO study_session(id, category_id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000102'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000001'), 'Renaissance');
+
+INSERT INTO study_session(id, category_id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000103'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000002'), 'Second Law of Thermodynamics');
+
+INSERT INTO study_session(id, category_id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000104'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000003'), 'Object Oriented Programming (OOP)');
+
+INSERT INTO study_session(id, category_id, name)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000105'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000004'), 'Presidents');
+
+
+-- Flashcards (ids ending 201–207)
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000201'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000101'), 'Who painted "The Garden of Earthly Delights"?', 'Hieronymus Bosch');
+
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000202'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000102'), 'Who painted "The Last Supper"?', 'Leonardo da Vinci');
+
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000203'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000102'), 'Who sculpted "David"?', 'Michelangelo');
+
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000204'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000103'), 'What is a measure of disorder or randomness in a system?', 'Entropy');
+
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000205'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000104'), 'What are three Object-Oriented Design Goals?', 'Adaptability, Reusability, Robustness');
+
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000206'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000104'), 'What are three Object-Oriented Design Principles?', 'Abstraction, Encapsulation, Modularity');
+
+INSERT INTO flashcard(id, study_session_id, question, answer)
+    VALUES(UUID_TO_BIN('018f3a00-0000-7000-8000-000000000207'), UUID_TO_BIN('018f3a00-0000-7000-8000-000000000105'), 'Who issued the Emancipation Proclamation?', 'Abraham Lincoln');
\ No newline at end of file
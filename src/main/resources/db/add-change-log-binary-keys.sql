@@ -0,0 +1,93 @@
+-- Adds the change log behind GET /api/v1/sync to an existing database with BINARY(16) keys.
+--
+-- Run once with the application stopped: rows written between the backfill and the triggers
+-- would not be logged. New databases get the log from schema-binary-keys.sql and
+-- schema-triggers.sql.
+--
+-- After db/migrate-to-binary-keys.sql on a database that already had a change log, this
+-- replaces the text-keyed log; clients then sync again from the start.
+
+-- The text-keyed log's triggers moved with the renamed *_legacy tables.
+DROP TRIGGER IF EXISTS category_inserted;
+DROP TRIGGER IF EXISTS category_updated;
+DROP TRIGGER IF EXISTS study_session_inserted;
+DROP TRIGGER IF EXISTS study_session_updated;
+DROP TRIGGER IF EXISTS flashcard_inserted;
+DROP TRIGGER IF EXISTS flashcard_updated;
+DROP TRIGGER IF EXISTS category_deleting_flashcards;
+DROP TRIGGER IF EXISTS category_deleting_study_sessions;
+DROP TRIGGER IF EXISTS category_deleted;
+DROP TRIGGER IF EXISTS study_session_deleting_flashcards;
+DROP TRIGGER IF EXISTS study_session_deleted;
+DROP TRIGGER IF EXISTS flashcard_deleted;
+DROP TABLE IF EXISTS change_log_sequence;
+DROP TABLE IF EXISTS change_log;
+
+-- One row per category, study session or flashcard that was ever written, filled by the triggers
+-- below. Each write replaces the row's entry with a new one, and deleted rows keep a tombstone.
+-- Entries are written without a seq; ChangeLogSequencer numbers them once their transaction has
+-- committed, above every seq handed out before, so the entries after a sync token are exactly the
+-- rows changed since, each once, and none can commit below a token.
+CREATE TABLE change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    seq BIGINT,
+    table_name VARCHAR(20) NOT NULL,
+    entity_id BINARY(16) NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    CONSTRAINT change_log_entity UNIQUE (table_name, entity_id),
+    CONSTRAINT change_log_seq UNIQUE (seq)
+);
+
+-- The last seq handed out; its row lock admits one sequencer at a time.
+CREATE TABLE change_log_sequence (
+    last_seq BIGINT NOT NULL
+);
+INSERT INTO change_log_sequence (last_seq) VALUES (0);
+
+-- Every existing row starts out as changed, parents before children, so a client syncing
+-- from the start receives all of them.
+INSERT INTO change_log (table_name, entity_id, deleted)
+    SELECT 'category', id, FALSE FROM category ORDER BY id;
+INSERT INTO change_log (table_name, entity_id, deleted)
+    SELECT 'study_session', id, FALSE FROM study_session ORDER BY id;
+INSERT INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', id, FALSE FROM flashcard ORDER BY id;
+
+-- updated_at only moves when a column changes, so an upsert that changes nothing is not logged.
+CREATE TRIGGER category_inserted AFTER INSERT ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('category', NEW.id, FALSE);
+CREATE TRIGGER category_updated AFTER UPDATE ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'category', NEW.id, FALSE FROM DUAL WHERE NEW.updated_at <> OLD.updated_at;
+CREATE TRIGGER study_session_inserted AFTER INSERT ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    VALUES ('study_session', NEW.id, FALSE);
+CREATE TRIGGER study_session_updated AFTER UPDATE ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'study_session', NEW.id, FALSE FROM DUAL WHERE NEW.updated_at <> OLD.updated_at;
+CREATE TRIGGER flashcard_inserted AFTER INSERT ON flashcard FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('flashcard', NEW.id, FALSE);
+CREATE TRIGGER flashcard_updated AFTER UPDATE ON flashcard FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', NEW.id, FALSE FROM DUAL WHERE NEW.updated_at <> OLD.updated_at;
+
+-- Rows removed by ON DELETE CASCADE fire no triggers, so deleting a parent first records
+-- tombstones for its descendants, then its own.
+CREATE TRIGGER category_deleting_flashcards BEFORE DELETE ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', f.id, TRUE FROM flashcard f
+    JOIN study_session s ON s.id = f.study_session_id WHERE s.category_id = OLD.id;
+CREATE TRIGGER category_deleting_study_sessions BEFORE DELETE ON category FOR EACH ROW
+    FOLLOWS category_deleting_flashcards
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'study_session', id, TRUE FROM study_session WHERE category_id = OLD.id;
+CREATE TRIGGER category_deleted AFTER DELETE ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('category', OLD.id, TRUE);
+CREATE TRIGGER study_session_deleting_flashcards BEFORE DELETE ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', id, TRUE FROM flashcard WHERE study_session_id = OLD.id;
+CREATE TRIGGER study_session_deleted AFTER DELETE ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    VALUES ('study_session', OLD.id, TRUE);
+CREATE TRIGGER flashcard_deleted AFTER DELETE ON flashcard FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('flashcard', OLD.id, TRUE);
@@ -0,0 +1,20 @@
+-- Adds the updated_at columns behind the collection ETags to a database created before them.
+--
+-- Run once, before starting a version that reads them and before db/migrate-to-binary-keys.sql,
+-- which copies them. Existing rows start out with the time of the migration, so the first
+-- conditional GET of each collection after it returns 200 rather than 304.
+-- New databases get the columns from schema.sql.
+
+ALTER TABLE category
+    ADD COLUMN updated_at TIMESTAMP(6) NOT NULL
+        DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+ALTER TABLE study_session
+    ADD COLUMN updated_at TIMESTAMP(6) NOT NULL
+        DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    ADD INDEX category_updated_at (category_id, updated_at);
+
+ALTER TABLE flashcard
+    ADD COLUMN updated_at TIMESTAMP(6) NOT NULL
+        DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    ADD INDEX study_session_updated_at (study_session_id, updated_at);
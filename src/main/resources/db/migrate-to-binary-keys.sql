@@ -0,0 +1,128 @@
+-- Moves an existing VARCHAR(40)-keyed database to BINARY(16) keys in place.
+--
+-- Run once with the application stopped, then start it with the binary-keys profile and
+-- spring.sql.init.mode=never so schema-binary-keys.sql does not recreate the tables.
+-- Requires MySQL 8.0 (UUID_TO_BIN, IS_UUID).
+--
+-- Ids that are already UUIDs keep their value. Any other id (such as the '1', '2', ... seed ids)
+-- is given a new UUID, recorded in legacy_key so clients can translate ids they stored.
+-- The old tables are kept as *_legacy for rollback; drop them once the migration is verified.
+-- A change log (db/add-change-log.sql) is not carried over: run db/add-change-log-binary-keys.sql
+-- afterwards. A database from before the updated_at columns needs db/add-updated-at.sql first.
+
+CREATE TABLE legacy_key (
+    table_name VARCHAR(20) NOT NULL,
+    legacy_id VARCHAR(40) NOT NULL,
+    id BINARY(16) NOT NULL,
+    PRIMARY KEY (table_name, legacy_id)
+);
+
+INSERT INTO legacy_key (table_name, legacy_id, id)
+    SELECT 'category', id, IF(IS_UUID(id), UUID_TO_BIN(id), UUID_TO_BIN(UUID())) FROM category;
+INSERT INTO legacy_key (table_name, legacy_id, id)
+    SELECT 'study_session', id, IF(IS_UUID(id), UUID_TO_BIN(id), UUID_TO_BIN(UUID()))
+    FROM study_session;
+INSERT INTO legacy_key (table_name, legacy_id, id)
+    SELECT 'flashcard', id, IF(IS_UUID(id), UUID_TO_BIN(id), UUID_TO_BIN(UUID())) FROM flashcard;
+
+CREATE TABLE category_binary (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    name VARCHAR(30) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    CONSTRAINT name_unique UNIQUE (name)
+);
+
+CREATE TABLE study_session_binary (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    category_id BINARY(16) NOT NULL,
+    name VARCHAR(30) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    INDEX category_updated_at (category_id, updated_at),
+    FOREIGN KEY (category_id) REFERENCES category_binary(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+);
+
+CREATE TABLE flashcard_binary (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    study_session_id BINARY(16) NOT NULL,
+    question VARCHAR(200) NOT NULL,
+    answer VARCHAR(300) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    INDEX study_session_updated_at (study_session_id, updated_at),
+    FOREIGN KEY (study_session_id) REFERENCES study_session_binary(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+);
+
+CREATE TABLE review_state_binary (
+    learner_id VARCHAR(40) NOT NULL,
+    flashcard_id BINARY(16) NOT NULL,
+    repetitions INT NOT NULL,
+    interval_days INT NOT NULL,
+    ease_factor DOUBLE NOT NULL,
+    due_at DATETIME(6) NOT NULL,
+    reviewed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (learner_id, flashcard_id),
+    INDEX due_queue (learner_id, due_at),
+    FOREIGN KEY (flashcard_id) REFERENCES flashcard_binary(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+);
+
+CREATE TABLE review_log_binary (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    learner_id VARCHAR(40) NOT NULL,
+    flashcard_id BINARY(16) NOT NULL,
+    grade TINYINT NOT NULL,
+    reviewed_at DATETIME(6) NOT NULL,
+    received_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)
+);
+
+-- Rows are copied in new key order so each clustered index is built by appends.
+INSERT INTO category_binary (id, name, updated_at)
+    SELECT k.id, c.name, c.updated_at
+    FROM category c
+    JOIN legacy_key k ON k.table_name = 'category' AND k.legacy_id = c.id
+    ORDER BY k.id;
+
+INSERT INTO study_session_binary (id, category_id, name, updated_at)
+    SELECT k.id, ck.id, s.name, s.updated_at
+    FROM study_session s
+    JOIN legacy_key k ON k.table_name = 'study_session' AND k.legacy_id = s.id
+    JOIN legacy_key ck ON ck.table_name = 'category' AND ck.legacy_id = s.category_id
+    ORDER BY k.id;
+
+INSERT INTO flashcard_binary (id, study_session_id, question, answer, updated_at)
+    SELECT k.id, sk.id, f.question, f.answer, f.updated_at
+    FROM flashcard f
+    JOIN legacy_key k ON k.table_name = 'flashcard' AND k.legacy_id = f.id
+    JOIN legacy_key sk ON sk.table_name = 'study_session' AND sk.legacy_id = f.study_session_id
+    ORDER BY k.id;
+
+INSERT INTO review_state_binary (learner_id, flashcard_id, repetitions, interval_days,
+        ease_factor, due_at, reviewed_at)
+    SELECT r.learner_id, fk.id, r.repetitions, r.interval_days, r.ease_factor, r.due_at,
+        r.reviewed_at
+    FROM review_state r
+    JOIN legacy_key fk ON fk.table_name = 'flashcard' AND fk.legacy_id = r.flashcard_id;
+
+-- Log rows keep their order. Rows for flashcards that no longer exist stay in review_log_legacy.
+INSERT INTO review_log_binary (id, learner_id, flashcard_id, grade, reviewed_at, received_at)
+    SELECT r.id, r.learner_id, fk.id, r.grade, r.reviewed_at, r.received_at
+    FROM review_log r
+    JOIN legacy_key fk ON fk.table_name = 'flashcard' AND fk.legacy_id = r.flashcard_id
+    ORDER BY r.id;
+
+-- Foreign keys follow renamed tables, so the new tables keep referencing each other.
+RENAME TABLE
+    review_log TO review_log_legacy,
+    review_state TO review_state_legacy,
+    flashcard TO flashcard_legacy,
+    study_session TO study_session_legacy,
+    category TO category_legacy,
+    category_binary TO category,
+    study_session_binary TO study_session,
+    flashcard_binary TO flashcard,
+    review_state_binary TO review_state,
+    review_log_binary TO review_log;
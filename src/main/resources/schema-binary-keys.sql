@@ -0,0 +1,84 @@
+DROP TABLE IF EXISTS change_log_sequence;
+DROP TABLE IF EXISTS change_log;
+DROP TABLE IF EXISTS review_log;
+DROP TABLE IF EXISTS review_state;
+DROP TABLE IF EXISTS flashcard;
+DROP TABLE IF EXISTS study_session;
+DROP TABLE IF EXISTS category;
+
+CREATE TABLE category (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    name VARCHAR(30) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    CONSTRAINT name_unique UNIQUE (name)
+);
+
+CREATE TABLE study_session (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    category_id BINARY(16) NOT NULL,
+    name VARCHAR(30) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    INDEX category_updated_at (category_id, updated_at),
+    FOREIGN KEY (category_id) REFERENCES category(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+);
+
+CREATE TABLE flashcard (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    study_session_id BINARY(16) NOT NULL,
+    question VARCHAR(200) NOT NULL,
+    answer VARCHAR(300) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    INDEX study_session_updated_at (study_session_id, updated_at),
+    FOREIGN KEY (study_session_id) REFERENCES study_session(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+);
+
+CREATE TABLE review_state (
+    learner_id VARCHAR(40) NOT NULL,
+    flashcard_id BINARY(16) NOT NULL,
+    repetitions INT NOT NULL,
+    interval_days INT NOT NULL,
+    ease_factor DOUBLE NOT NULL,
+    due_at DATETIME(6) NOT NULL,
+    reviewed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (learner_id, flashcard_id),
+    INDEX due_queue (learner_id, due_at),
+    FOREIGN KEY (flashcard_id) REFERENCES flashcard(id)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE
+);
+
+-- Append-only: an auto-increment key and no foreign key or secondary index, so each group
+-- commit only appends to the end of the clustered index.
+CREATE TABLE review_log (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    learner_id VARCHAR(40) NOT NULL,
+    flashcard_id BINARY(16) NOT NULL,
+    grade TINYINT NOT NULL,
+    reviewed_at DATETIME(6) NOT NULL,
+    received_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6)
+);
+
+-- One row per category, study session or flashcard that was ever written, filled by the triggers in
+-- schema-triggers.sql. Each write replaces the row's entry with a new one, and deleted rows keep a
+-- tombstone. Entries are written without a seq; ChangeLogSequencer numbers them once their
+-- transaction has committed, above every seq handed out before, so the entries after a sync token
+-- are exactly the rows changed since, each once, and none can commit below a token.
+CREATE TABLE change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    seq BIGINT,
+    table_name VARCHAR(20) NOT NULL,
+    entity_id BINARY(16) NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    CONSTRAINT change_log_entity UNIQUE (table_name, entity_id),
+    CONSTRAINT change_log_seq UNIQUE (seq)
+);
+
+-- The last seq handed out; its row lock admits one sequencer at a time.
+CREATE TABLE change_log_sequence (
+    last_seq BIGINT NOT NULL
+);
+INSERT INTO change_log_sequence (last_seq) VALUES (0);
@@ -0,0 +1,41 @@
+-- Keep change_log current. MySQL only: H2 and other databases have no SQL-bodied triggers,
+-- so a schema applied without this script still boots, with delta sync seeing no changes.
+
+-- updated_at only moves when a column changes, so an upsert that changes nothing is not logged.
+CREATE TRIGGER category_inserted AFTER INSERT ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('category', NEW.id, FALSE);
+CREATE TRIGGER category_updated AFTER UPDATE ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'category', NEW.id, FALSE FROM DUAL WHERE NEW.updated_at <> OLD.updated_at;
+CREATE TRIGGER study_session_inserted AFTER INSERT ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    VALUES ('study_session', NEW.id, FALSE);
+CREATE TRIGGER study_session_updated AFTER UPDATE ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'study_session', NEW.id, FALSE FROM DUAL WHERE NEW.updated_at <> OLD.updated_at;
+CREATE TRIGGER flashcard_inserted AFTER INSERT ON flashcard FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('flashcard', NEW.id, FALSE);
+CREATE TRIGGER flashcard_updated AFTER UPDATE ON flashcard FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', NEW.id, FALSE FROM DUAL WHERE NEW.updated_at <> OLD.updated_at;
+
+-- Rows removed by ON DELETE CASCADE fire no triggers, so deleting a parent first records
+-- tombstones for its descendants, then its own.
+CREATE TRIGGER category_deleting_flashcards BEFORE DELETE ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', f.id, TRUE FROM flashcard f
+    JOIN study_session s ON s.id = f.study_session_id WHERE s.category_id = OLD.id;
+CREATE TRIGGER category_deleting_study_sessions BEFORE DELETE ON category FOR EACH ROW
+    FOLLOWS category_deleting_flashcards
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'study_session', id, TRUE FROM study_session WHERE category_id = OLD.id;
+CREATE TRIGGER category_deleted AFTER DELETE ON category FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('category', OLD.id, TRUE);
+CREATE TRIGGER study_session_deleting_flashcards BEFORE DELETE ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    SELECT 'flashcard', id, TRUE FROM flashcard WHERE study_session_id = OLD.id;
+CREATE TRIGGER study_session_deleted AFTER DELETE ON study_session FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted)
+    VALUES ('study_session', OLD.id, TRUE);
+CREATE TRIGGER flashcard_deleted AFTER DELETE ON flashcard FOR EACH ROW
+    REPLACE INTO change_log (table_name, entity_id, deleted) VALUES ('flashcard', OLD.id, TRUE);
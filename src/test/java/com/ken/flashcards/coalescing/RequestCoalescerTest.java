@@ -0,0 +1,118 @@
+package com.ken.flashcards.coalescing;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import static com.ken.flashcards.constants.MetricNames.COALESCED_CALLS;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+import com.ken.flashcards.exception.NotFoundException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RequestCoalescerTest {
+
+  private static final String METHOD = "FlashcardServiceImpl.findAllByStudySessionId";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final AtomicInteger executions = new AtomicInteger();
+
+  @Test
+  void concurrentCallsWithEqualArgumentsShareOneExecution() throws Exception {
+    List<String> result = List.of("1", "2");
+    CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(
+        () -> coalescer.execute(METHOD, new Object[] {"session"}, () -> blocking(result)));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    CompletableFuture<List<String>> follower = CompletableFuture.supplyAsync(
+        () -> coalescer.execute(METHOD, new Object[] {"session"}, () -> blocking(List.of())));
+    awaitCollapsed(1);
+    release.countDown();
+
+    assertSame(result, leader.get(5, TimeUnit.SECONDS));
+    assertSame(result, follower.get(5, TimeUnit.SECONDS));
+    assertEquals(1, executions.get());
+    assertEquals(1, count("executed"));
+    assertEquals(0, coalescer.inFlight());
+  }
+
+  @Test
+  void callsWithOtherArgumentsRunOnTheirOwn() {
+    coalescer.execute(METHOD, new Object[] {"a"}, executions::incrementAndGet);
+    coalescer.execute(METHOD, new Object[] {"b"}, executions::incrementAndGet);
+    coalescer.execute(METHOD, new Object[] {"a"}, executions::incrementAndGet);
+
+    assertEquals(3, executions.get());
+    assertEquals(0, count("collapsed"));
+  }
+
+  @Test
+  void followersReceiveTheLeadersException() throws Exception {
+    CompletableFuture<Object> leader = CompletableFuture.supplyAsync(
+        () -> coalescer.execute(METHOD, new Object[] {"missing"}, () -> {
+          blocking(null);
+          throw new NotFoundException("not found");
+        }));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Object> follower = CompletableFuture.supplyAsync(
+        () -> coalescer.execute(METHOD, new Object[] {"missing"}, () -> "unexpected"));
+    awaitCollapsed(1);
+    release.countDown();
+
+    Exception exception = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+    assertTrue(exception.getCause() instanceof NotFoundException);
+    assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void flashcardChangesDetachCallsInFlight() throws Exception {
+    CompletableFuture<List<String>> leader = CompletableFuture.supplyAsync(
+        () -> coalescer.execute(METHOD, new Object[] {"session"}, () -> blocking(List.of("1"))));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    coalescer.onFlashcardsChanged(FlashcardsChangedEvent.deleted("1"));
+    List<String> after = coalescer.execute(METHOD, new Object[] {"session"}, () -> List.of());
+    release.countDown();
+
+    assertEquals(List.of(), after);
+    assertEquals(List.of("1"), leader.get(5, TimeUnit.SECONDS));
+    assertEquals(2, count("executed"));
+  }
+
+  private <T> T blocking(T result) {
+    executions.incrementAndGet();
+    started.countDown();
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return result;
+  }
+
+  private void awaitCollapsed(long expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (count("collapsed") < expected && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(expected, count("collapsed"));
+  }
+
+  private long count(String outcome) {
+    var counter = meterRegistry.find(COALESCED_CALLS).tags("method", METHOD, "outcome", outcome)
+        .counter();
+    return counter == null ? 0 : (long) counter.count();
+  }
+
+}
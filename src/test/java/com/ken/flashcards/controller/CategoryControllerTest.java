@@ -1,6 +1,8 @@
 package com.ken.flashcards.controller;
 
 import static java.lang.String.format;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,11 +31,21 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_NAME;
 import static com.ken.flashcards.constants.ExceptionMessages.CATEGORY_NAME_ALREADY_EXISTS;
+import static com.ken.flashcards.constants.ExceptionMessages.UNKNOWN_FIELD;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
 import com.ken.flashcards.dto.CategoryRequest;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.Deck;
+import com.ken.flashcards.dto.DeckStudySession;
+import com.ken.flashcards.dto.LookupRequest;
+import com.ken.flashcards.dto.LookupResult;
+import com.ken.flashcards.exception.BadRequestException;
 import com.ken.flashcards.exception.ConflictException;
 import com.ken.flashcards.exception.NotFoundException;
 import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
 import com.ken.flashcards.service.CategoryService;
+import com.ken.flashcards.service.DeckService;
 
 @WebMvcTest(CategoryController.class)
 public class CategoryControllerTest extends ControllerTestBase {
@@ -43,6 +56,9 @@ public class CategoryControllerTest extends ControllerTestBase {
   @MockitoBean
   private CategoryService categoryService;
 
+  @MockitoBean
+  private DeckService deckService;
+
   @Autowired
   MockMvc mockMvc;
 
@@ -65,6 +81,40 @@ public class CategoryControllerTest extends ControllerTestBase {
         .andExpect(content().json(serialize(Set.of(category))));
   }
 
+  @DisplayName("GET /categories?fields=id - should return 200 with only the requested fields")
+  @Test
+  void shouldReturnSparseCategories() throws Exception {
+    when(categoryService.findAll("id")).thenReturn(List.of(new Category(expectedCategoryId, null)));
+
+    mockMvc.perform(get(categoriesPath).param("fields", "id")).andExpect(status().isOk())
+        .andExpect(content().string("[{\"id\":\"" + expectedCategoryId + "\"}]"));
+    verify(categoryService, never()).findAll();
+  }
+
+  @DisplayName("GET /categories?limit=1&fields=id - should return a sparse page with its cursor")
+  @Test
+  void shouldReturnSparsePageOfCategories() throws Exception {
+    CursorPage<Category> page =
+        new CursorPage<>(List.of(new Category(expectedCategoryId, null)), "next-cursor");
+    when(categoryService.findPage(null, 1, "id")).thenReturn(page);
+
+    mockMvc.perform(get(categoriesPath).param("limit", "1").param("fields", "id"))
+        .andExpect(status().isOk()).andExpect(content().string(
+            "{\"items\":[{\"id\":\"" + expectedCategoryId + "\"}],\"next\":\"next-cursor\"}"));
+    verify(categoryService, never()).findPage(null, 1);
+  }
+
+  @DisplayName("GET /categories?fields=color - should return 400 for an unknown field")
+  @Test
+  void shouldReturn400WhenFieldIsUnknown() throws Exception {
+    String errorMessage = format(UNKNOWN_FIELD, "color", "id, name");
+    when(categoryService.findAll("color")).thenThrow(new BadRequestException(errorMessage));
+
+    mockMvc.perform(get(categoriesPath).param("fields", "color"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
+  }
+
   @DisplayName("GET /categories/{id} - should return the correct category with HTTP 200 and expected JSON")
   @Test
   void shouldReturnCategoryByIdSuccessfully() throws Exception {
@@ -91,6 +141,64 @@ public class CategoryControllerTest extends ControllerTestBase {
         .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
   }
 
+  @DisplayName("POST /categories/lookup - should return 200 with found and missing IDs")
+  @Test
+  void shouldLookUpCategoriesById() throws Exception {
+    List<String> ids = List.of(expectedCategoryId, "missing-category-id");
+    LookupResult<Category> result =
+        new LookupResult<>(List.of(category), List.of("missing-category-id"));
+    when(categoryService.lookup(ids)).thenReturn(result);
+
+    mockMvc
+        .perform(post(categoriesPath + "/lookup").contentType(APPLICATION_JSON)
+            .content(serialize(new LookupRequest(ids))))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(result)));
+  }
+
+  @DisplayName("POST /categories/lookup - should return 400 when more than 5000 IDs are given")
+  @Test
+  void shouldReturn400WhenLookupIsTooLarge() throws Exception {
+    List<String> ids = Collections.nCopies(5_001, expectedCategoryId);
+    String errorMessage = format(VALUE_OUT_OF_RANGE, "Lookup size", 1, 5_000);
+    when(categoryService.lookup(ids)).thenThrow(new BadRequestException(errorMessage));
+
+    mockMvc
+        .perform(post(categoriesPath + "/lookup").contentType(APPLICATION_JSON)
+            .content(serialize(new LookupRequest(ids))))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
+  }
+
+  @DisplayName("GET /categories/{id}/deck - should return the category's sessions and flashcards")
+  @Test
+  void shouldReturnDeckSuccessfully() throws Exception {
+    // Arrange
+    Flashcard flashcard = new Flashcard("flashcard-id-001", "session-id-001", "Q", "A");
+    Deck deck = new Deck(expectedCategoryId, expectedCategoryName,
+        List.of(new DeckStudySession("session-id-001", "Scales", List.of(flashcard))));
+    when(deckService.findDeck(expectedCategoryId)).thenReturn(deck);
+
+    // Act & Assert
+    mockMvc
+        .perform(get(categoriesPath + "/" + expectedCategoryId + "/deck")
+            .contentType(APPLICATION_JSON))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(deck)));
+  }
+
+  @DisplayName("GET /categories/{id}/deck - should return 404 when category is not found by ID")
+  @Test
+  void shouldReturn404WhenDeckCategoryIsNotFound() throws Exception {
+    // Arrange
+    String id = "1";
+    String errorMessage = format(CANNOT_FIND_CATEGORY_BY_ID, id);
+    when(deckService.findDeck(id)).thenThrow(new NotFoundException(errorMessage));
+
+    // Act & Assert
+    mockMvc.perform(get(categoriesPath + "/" + id + "/deck").contentType(APPLICATION_JSON))
+        .andExpect(status().isNotFound())
+        .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
+  }
+
   @DisplayName("GET /categories/details?name=Music - should return category details when found by name")
   @Test
   void shouldReturnCategoryDetailsWhenFoundByName() throws Exception {
@@ -184,8 +292,7 @@ public class CategoryControllerTest extends ControllerTestBase {
     String newName = "Hip-hop Music";
     Category newCategory = new Category(newId, newName);
 
-    when(categoryService.existsById(newId)).thenReturn(false);
-    when(categoryService.save(newCategory)).thenReturn(newCategory);
+    when(categoryService.upsert(newCategory)).thenReturn(true);
 
     String requestBody = """
         {
@@ -212,8 +319,7 @@ public class CategoryControllerTest extends ControllerTestBase {
     String newName = "Hip-hop Music";
     Category newCategory = new Category(newId, newName);
 
-    when(categoryService.existsById(newId)).thenReturn(true);
-    when(categoryService.save(newCategory)).thenReturn(newCategory);
+    when(categoryService.upsert(newCategory)).thenReturn(false);
 
     String requestBody = """
         {
@@ -281,9 +387,9 @@ public class CategoryControllerTest extends ControllerTestBase {
         }
         """, format(CATEGORY_NAME_ALREADY_EXISTS, expectedCategoryName));
 
-    // Arrange: mock save to throw ConflictException due to duplicate name
+    // Arrange: mock upsert to throw ConflictException due to duplicate name
     doThrow(new ConflictException(format(CATEGORY_NAME_ALREADY_EXISTS, expectedCategoryName)))
-        .when(categoryService).save(any(Category.class));
+        .when(categoryService).upsert(any(Category.class));
 
     // Act & Assert
     mockMvc.perform(put(categoriesPath).contentType(APPLICATION_JSON).content(duplicateNameJson))
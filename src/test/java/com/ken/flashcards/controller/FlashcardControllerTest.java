@@ -1,12 +1,19 @@
 package com.ken.flashcards.controller;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,17 +23,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.ken.flashcards.constants.ExceptionMessages;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.FlashcardBatchResult;
 import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.dto.FlashcardSearchHit;
+import com.ken.flashcards.dto.LookupRequest;
+import com.ken.flashcards.dto.LookupResult;
+import com.ken.flashcards.exception.BadRequestException;
 import com.ken.flashcards.exception.NotFoundException;
 import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.service.FlashcardSearchService;
 import com.ken.flashcards.service.FlashcardService;
 
 @WebMvcTest(FlashcardController.class)
@@ -38,6 +56,9 @@ public class FlashcardControllerTest extends ControllerTestBase {
   @MockitoBean
   FlashcardService flashcardService;
 
+  @MockitoBean
+  FlashcardSearchService flashcardSearchService;
+
   @Autowired
   MockMvc mockMvc;
 
@@ -64,6 +85,60 @@ public class FlashcardControllerTest extends ControllerTestBase {
         .andExpect(content().json(serialize(Set.of(flashcard))));
   }
 
+  @DisplayName("GET /api/v1/flashcards?limit={n} - should return 200 with a page and next cursor")
+  @Test
+  void shouldReturn200WithPageOfFlashcards() throws Exception {
+    CursorPage<Flashcard> page = new CursorPage<>(List.of(flashcard), "next-cursor");
+    when(flashcardService.findPage("cursor", 1)).thenReturn(page);
+
+    mockMvc.perform(get(flashcardsPath).param("after", "cursor").param("limit", "1"))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(page)));
+  }
+
+  @DisplayName("GET /api/v1/flashcards?fields= - should return 200 with only the requested fields")
+  @Test
+  void shouldReturn200WithSparseFlashcards() throws Exception {
+    Flashcard sparse = new Flashcard("flashcard-1", null, "Q", null);
+    when(flashcardService.findAll("question")).thenReturn(List.of(sparse));
+
+    mockMvc.perform(get(flashcardsPath).param("fields", "question")).andExpect(status().isOk())
+        .andExpect(content().string("[{\"id\":\"flashcard-1\",\"question\":\"Q\"}]"));
+    verify(flashcardService, never()).findAll();
+  }
+
+  @DisplayName("GET /api/v1/flashcards/export - should stream flashcards as NDJSON")
+  @Test
+  void shouldStreamFlashcardsAsNdjson() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<Flashcard> consumer = invocation.getArgument(2);
+      consumer.accept(flashcard);
+      consumer.accept(flashcard);
+      return null;
+    }).when(flashcardService).exportFlashcards(eq(expectedStudySessionId), isNull(), any());
+
+    MvcResult result = mockMvc
+        .perform(get(flashcardsPath + "/export").param("studySessionId", expectedStudySessionId))
+        .andExpect(request().asyncStarted()).andReturn();
+
+    String line = serialize(flashcard) + "\n";
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string(line + line));
+  }
+
+  @DisplayName("GET /api/v1/flashcards/export - should return 404 when study session is not found")
+  @Test
+  void shouldReturn404WhenExportStudySessionNotFound() throws Exception {
+    String errorMessage =
+        String.format(ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_ID, expectedStudySessionId);
+    doThrow(new NotFoundException(errorMessage)).when(flashcardService)
+        .assertExportFiltersExist(expectedStudySessionId, null);
+
+    mockMvc.perform(get(flashcardsPath + "/export").param("studySessionId", expectedStudySessionId))
+        .andExpect(status().isNotFound())
+        .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
+  }
+
   @DisplayName("GET /api/v1/flashcards/{id} - should return 200 when flashcard exists")
   @Test
   void shouldReturn200WhenFlashcardExistsById() throws Exception {
@@ -91,11 +166,50 @@ public class FlashcardControllerTest extends ControllerTestBase {
   @DisplayName("GET /api/v1/flashcards/details?studySessionId={id} - should return 200 when study session exists")
   @Test
   void shouldReturn200WhenStudySessionExists() throws Exception {
+    when(flashcardService.findVersionByStudySessionId(expectedStudySessionId)).thenReturn("1-42");
     when(flashcardService.findAllByStudySessionId(expectedStudySessionId))
         .thenReturn(Set.of(flashcard));
 
     mockMvc.perform(get(flashcardsPath + "/details?studySessionId=" + expectedStudySessionId))
-        .andExpect(status().isOk()).andExpect(content().json(serialize(Set.of(flashcard))));
+        .andExpect(status().isOk()).andExpect(header().string("ETag", "\"1-42\""))
+        .andExpect(content().json(serialize(Set.of(flashcard))));
+  }
+
+  @DisplayName("GET /api/v1/flashcards/details - should return 304 without loading flashcards when the ETag matches")
+  @Test
+  void shouldReturn304WhenFlashcardsAreUnchanged() throws Exception {
+    when(flashcardService.findVersionByStudySessionId(expectedStudySessionId)).thenReturn("1-42");
+
+    mockMvc
+        .perform(get(flashcardsPath + "/details").param("studySessionId", expectedStudySessionId)
+            .header("If-None-Match", "\"1-42\""))
+        .andExpect(status().isNotModified()).andExpect(header().string("ETag", "\"1-42\""))
+        .andExpect(content().string(""));
+    verify(flashcardService, never()).findAllByStudySessionId(expectedStudySessionId);
+  }
+
+  @DisplayName("GET /api/v1/flashcards/search?q= - should return ranked hits with the default limit")
+  @Test
+  void shouldReturnSearchHits() throws Exception {
+    List<FlashcardSearchHit> hits = List.of(new FlashcardSearchHit(flashcard, 2.5));
+    when(flashcardSearchService.search("entropy", null, null, 20)).thenReturn(hits);
+
+    mockMvc.perform(get(flashcardsPath + "/search").param("q", "entropy"))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(hits)));
+  }
+
+  @DisplayName("GET /api/v1/flashcards/search - should return 400 when both filters are given")
+  @Test
+  void shouldReturn400WhenSearchHasBothFilters() throws Exception {
+    when(flashcardSearchService.search("entropy", expectedStudySessionId, "category-id", 5))
+        .thenThrow(new BadRequestException(ExceptionMessages.SEARCH_FILTERS_EXCLUSIVE));
+
+    mockMvc
+        .perform(get(flashcardsPath + "/search").param("q", "entropy")
+            .param("studySessionId", expectedStudySessionId).param("categoryId", "category-id")
+            .param("limit", "5"))
+        .andExpect(status().isBadRequest()).andExpect(content()
+            .json("{\"error\":\"" + ExceptionMessages.SEARCH_FILTERS_EXCLUSIVE + "\"}"));
   }
 
   @DisplayName("GET /api/v1/flashcards/details - should return 404 when study session is not found")
@@ -104,7 +218,7 @@ public class FlashcardControllerTest extends ControllerTestBase {
     String studySessionId = "nonexistent-session-id";
     String errorMessage = "Study session not found: " + studySessionId;
 
-    when(flashcardService.findAllByStudySessionId(studySessionId))
+    when(flashcardService.findVersionByStudySessionId(studySessionId))
         .thenThrow(new NotFoundException(errorMessage));
 
     mockMvc.perform(get("/api/v1/flashcards/details").param("studySessionId", studySessionId))
@@ -125,6 +239,36 @@ public class FlashcardControllerTest extends ControllerTestBase {
         .andExpect(status().isCreated()).andExpect(content().json(serialize(flashcard)));
   }
 
+  @DisplayName("POST /api/v1/flashcards/batch - should return 200 with a result per item")
+  @Test
+  void shouldCreateFlashcardsInBatch() throws Exception {
+    FlashcardRequest request =
+        new FlashcardRequest(expectedStudySessionId, expectedQuestion, expectedAnswer);
+    List<FlashcardBatchResult> results = List.of(FlashcardBatchResult.created(0, flashcard));
+
+    when(flashcardService.createFlashcards(List.of(request))).thenReturn(results);
+
+    mockMvc
+        .perform(post(flashcardsPath + "/batch").contentType(APPLICATION_JSON)
+            .content(serialize(List.of(request))))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(results)));
+  }
+
+  @DisplayName("POST /api/v1/flashcards/lookup - should return 200 with found and missing IDs")
+  @Test
+  void shouldLookUpFlashcardsById() throws Exception {
+    List<String> ids = List.of(expectedFlashcardId, "missing-flashcard-id");
+    LookupResult<Flashcard> result =
+        new LookupResult<>(List.of(flashcard), List.of("missing-flashcard-id"));
+
+    when(flashcardService.lookup(ids)).thenReturn(result);
+
+    mockMvc
+        .perform(post(flashcardsPath + "/lookup").contentType(APPLICATION_JSON)
+            .content(serialize(new LookupRequest(ids))))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(result)));
+  }
+
   @DisplayName("POST /api/v1/flashcards - should return 400 when request body is empty")
   @Test
   void shouldReturnBadRequestWhenRequestBodyIsEmpty() throws Exception {
@@ -152,8 +296,7 @@ public class FlashcardControllerTest extends ControllerTestBase {
   @DisplayName("PUT /api/v1/flashcards - should update flashcard when ID exists")
   @Test
   void shouldUpdateFlashcardWhenIdExists() throws Exception {
-    when(flashcardService.existsById(flashcard.getId())).thenReturn(true);
-    when(flashcardService.save(flashcard)).thenReturn(flashcard);
+    when(flashcardService.upsert(flashcard)).thenReturn(false);
 
     mockMvc.perform(put(flashcardsPath).contentType(APPLICATION_JSON).content(serialize(flashcard)))
         .andExpect(status().isOk()).andExpect(content().json(serialize(flashcard)));
@@ -162,8 +305,7 @@ public class FlashcardControllerTest extends ControllerTestBase {
   @DisplayName("PUT /api/v1/flashcards - should create flashcard when ID does not exist (upsert)")
   @Test
   void shouldCreateFlashcardWhenIdDoesNotExist() throws Exception {
-    when(flashcardService.existsById(flashcard.getId())).thenReturn(false);
-    when(flashcardService.save(flashcard)).thenReturn(flashcard);
+    when(flashcardService.upsert(flashcard)).thenReturn(true);
 
     mockMvc.perform(put(flashcardsPath).contentType(APPLICATION_JSON).content(serialize(flashcard)))
         .andExpect(status().isCreated()).andExpect(content().json(serialize(flashcard)));
@@ -193,8 +335,7 @@ public class FlashcardControllerTest extends ControllerTestBase {
     Flashcard newFlashcard = new Flashcard("1", nonexistentStudySessionId,
         "Is water (H₂O) ionic or covalent?", "Covalent");
 
-    when(flashcardService.existsById("1")).thenReturn(true);
-    when(flashcardService.save(newFlashcard)).thenThrow(new NotFoundException(errorMessage));
+    when(flashcardService.upsert(newFlashcard)).thenThrow(new NotFoundException(errorMessage));
 
     mockMvc
         .perform(put(flashcardsPath).contentType(APPLICATION_JSON).content(serialize(newFlashcard)))
@@ -0,0 +1,111 @@
+package com.ken.flashcards.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ken.flashcards.dto.DueFlashcard;
+import com.ken.flashcards.dto.ReviewEvent;
+import com.ken.flashcards.dto.ReviewLogRequest;
+import com.ken.flashcards.dto.ReviewRequest;
+import com.ken.flashcards.model.ReviewState;
+import com.ken.flashcards.service.ReviewLogService;
+import com.ken.flashcards.service.ReviewService;
+
+@WebMvcTest(ReviewController.class)
+public class ReviewControllerTest extends ControllerTestBase {
+
+  @Value("${spring.servlet.path.reviews}")
+  private String reviewsPath;
+
+  @MockitoBean
+  private ReviewService reviewService;
+
+  @MockitoBean
+  private ReviewLogService reviewLogService;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  private final Instant now = Instant.parse("2026-01-01T09:00:00Z");
+
+  @DisplayName("POST /reviews - should record the review and return the new schedule")
+  @Test
+  void shouldRecordReview() throws Exception {
+    ReviewRequest request = new ReviewRequest("learner-001", "flashcard-001", 4);
+    when(reviewService.review(request)).thenReturn(new ReviewState("learner-001",
+        "flashcard-001", 1, 1, 2.5, now.plusSeconds(86_400), now));
+
+    mockMvc.perform(post(reviewsPath).contentType(APPLICATION_JSON).content(serialize(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.intervalDays").value(1))
+        .andExpect(jsonPath("$.dueAt").value("2026-01-02T09:00:00Z"));
+  }
+
+  @DisplayName("POST /reviews - should return 400 when the grade is out of range")
+  @Test
+  void shouldReturn400WhenGradeIsOutOfRange() throws Exception {
+    mockMvc
+        .perform(post(reviewsPath).contentType(APPLICATION_JSON)
+            .content("{\"learnerId\":\"learner-001\",\"flashcardId\":\"flashcard-001\","
+                + "\"grade\":6}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().json("{\"errors\":[\"Grade must be between 0 and 5.\"]}"));
+  }
+
+  @DisplayName("GET /reviews/due?learnerId= - should return the due queue with the default limit")
+  @Test
+  void shouldReturnDueFlashcards() throws Exception {
+    when(reviewService.findDue("learner-001", 20)).thenReturn(
+        List.of(new DueFlashcard("flashcard-001", "session-001", "Q", "A", now)));
+
+    mockMvc.perform(get(reviewsPath + "/due").param("learnerId", "learner-001"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value("flashcard-001"))
+        .andExpect(jsonPath("$[0].dueAt").value("2026-01-01T09:00:00Z"));
+  }
+
+  @DisplayName("POST /reviews/log - should append the reviews and return 204")
+  @Test
+  void shouldAppendReviewLog() throws Exception {
+    ReviewLogRequest request = new ReviewLogRequest("learner-001", List.of(
+        new ReviewEvent("flashcard-001", 4, now), new ReviewEvent("flashcard-002", 2, now)));
+
+    mockMvc
+        .perform(post(reviewsPath + "/log").contentType(APPLICATION_JSON)
+            .content("{\"learnerId\":\"learner-001\",\"reviews\":["
+                + "{\"flashcardId\":\"flashcard-001\",\"grade\":4,"
+                + "\"reviewedAt\":\"2026-01-01T09:00:00Z\"},"
+                + "{\"flashcardId\":\"flashcard-002\",\"grade\":2,"
+                + "\"reviewedAt\":\"2026-01-01T09:00:00Z\"}]}"))
+        .andExpect(status().isNoContent());
+
+    verify(reviewLogService).record(request);
+  }
+
+  @DisplayName("POST /reviews/log - should return 400 when a review has no timestamp")
+  @Test
+  void shouldReturn400WhenReviewedAtIsMissing() throws Exception {
+    mockMvc
+        .perform(post(reviewsPath + "/log").contentType(APPLICATION_JSON)
+            .content("{\"learnerId\":\"learner-001\",\"reviews\":["
+                + "{\"flashcardId\":\"flashcard-001\",\"grade\":4}]}"))
+        .andExpect(status().isBadRequest());
+  }
+
+}
@@ -1,11 +1,15 @@
 package com.ken.flashcards.controller;
 
+import static java.lang.String.format;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,10 +24,17 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import static com.ken.flashcards.constants.ExceptionMessages.UNKNOWN_FIELD;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
 import com.ken.flashcards.constants.ExceptionMessages;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupRequest;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.dto.StudySessionRequest;
+import com.ken.flashcards.exception.BadRequestException;
 import com.ken.flashcards.exception.ConflictException;
 import com.ken.flashcards.exception.NotFoundException;
 import com.ken.flashcards.model.StudySession;
@@ -62,6 +73,69 @@ public class StudySessionControllerTest extends ControllerTestBase {
         .andExpect(content().json(serialize(Set.of(studySession))));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/sessions?fields=name returns only the id and name")
+  void shouldReturnSparseStudySessions() throws Exception {
+    when(studySessionService.findAll("name"))
+        .thenReturn(List.of(new StudySession(expectedStudySessionId, null, "Solar System")));
+
+    mockMvc.perform(get(studySessionsPath).param("fields", "name")).andExpect(status().isOk())
+        .andExpect(content().string("[{\"id\":\"009\",\"name\":\"Solar System\"}]"));
+    verify(studySessionService, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/sessions?limit=1&fields=name returns a sparse page with its cursor")
+  void shouldReturnSparsePageOfStudySessions() throws Exception {
+    CursorPage<StudySession> page = new CursorPage<>(
+        List.of(new StudySession(expectedStudySessionId, null, "Solar System")), "next-cursor");
+    when(studySessionService.findPage(null, 1, "name")).thenReturn(page);
+
+    mockMvc.perform(get(studySessionsPath).param("limit", "1").param("fields", "name"))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(page)));
+    verify(studySessionService, never()).findPage(null, 1);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/sessions?limit=1&fields=color returns 400 for an unknown field")
+  void shouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+    String errorMessage = format(UNKNOWN_FIELD, "color", "id, categoryId, name");
+    when(studySessionService.findPage(null, 1, "color"))
+        .thenThrow(new BadRequestException(errorMessage));
+
+    mockMvc.perform(get(studySessionsPath).param("limit", "1").param("fields", "color"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/sessions/lookup returns found study sessions and missing IDs")
+  void shouldLookUpStudySessionsById() throws Exception {
+    List<String> ids = List.of("missing-session-id", expectedStudySessionId);
+    LookupResult<StudySession> result =
+        new LookupResult<>(List.of(studySession), List.of("missing-session-id"));
+    when(studySessionService.lookup(ids)).thenReturn(result);
+
+    mockMvc
+        .perform(post(studySessionsPath + "/lookup").contentType(APPLICATION_JSON)
+            .content(serialize(new LookupRequest(ids))))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(result)));
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/sessions/lookup returns 400 when more than 5000 IDs are given")
+  void shouldReturnBadRequestWhenLookupIsTooLarge() throws Exception {
+    List<String> ids = Collections.nCopies(5_001, expectedStudySessionId);
+    String errorMessage = format(VALUE_OUT_OF_RANGE, "Lookup size", 1, 5_000);
+    when(studySessionService.lookup(ids)).thenThrow(new BadRequestException(errorMessage));
+
+    mockMvc
+        .perform(post(studySessionsPath + "/lookup").contentType(APPLICATION_JSON)
+            .content(serialize(new LookupRequest(ids))))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().json("{\"error\":\"" + errorMessage + "\"}"));
+  }
+
   @Test
   @DisplayName("GET /api/v1/sessions/{id} returns study session by ID")
   void shouldReturnStudySessionById() throws Exception {
@@ -94,13 +168,40 @@ public class StudySessionControllerTest extends ControllerTestBase {
   @Test
   @DisplayName("GET /api/v1/sessions/details?categoryId returns 200 with sessions for category")
   void shouldReturnStudySessionsByCategoryId() throws Exception {
+    when(studySessionService.findVersionByCategoryId(expectedCategoryId)).thenReturn("1-42");
     when(studySessionService.findAllByCategoryId(expectedCategoryId))
         .thenReturn(Set.of(studySession));
 
     mockMvc
         .perform(get(studySessionsPath + "/details").param("categoryId", expectedCategoryId)
             .contentType(APPLICATION_JSON))
-        .andExpect(status().isOk()).andExpect(content().json(serialize(Set.of(studySession))));
+        .andExpect(status().isOk()).andExpect(header().string("ETag", "\"1-42\""))
+        .andExpect(content().json(serialize(Set.of(studySession))));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/sessions/details?categoryId returns 304 when the ETag matches")
+  void shouldReturn304WhenStudySessionsAreUnchanged() throws Exception {
+    when(studySessionService.findVersionByCategoryId(expectedCategoryId)).thenReturn("1-42");
+
+    mockMvc
+        .perform(get(studySessionsPath + "/details").param("categoryId", expectedCategoryId)
+            .header("If-None-Match", "\"1-42\""))
+        .andExpect(status().isNotModified()).andExpect(content().string(""));
+    verify(studySessionService, never()).findAllByCategoryId(expectedCategoryId);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/sessions/details?categoryId returns 200 when the ETag is stale")
+  void shouldReturnStudySessionsWhenETagIsStale() throws Exception {
+    when(studySessionService.findVersionByCategoryId(expectedCategoryId)).thenReturn("2-57");
+    when(studySessionService.findAllByCategoryId(expectedCategoryId))
+        .thenReturn(Set.of(studySession));
+
+    mockMvc
+        .perform(get(studySessionsPath + "/details").param("categoryId", expectedCategoryId)
+            .header("If-None-Match", "\"1-42\""))
+        .andExpect(status().isOk()).andExpect(header().string("ETag", "\"2-57\""));
   }
 
   @Test
@@ -168,8 +269,7 @@ public class StudySessionControllerTest extends ControllerTestBase {
     StudySession newStudySession =
         new StudySession(newStudySessionId, expectedCategoryId, expectedStudySessionName);
 
-    when(studySessionService.existsById(newStudySessionId)).thenReturn(false);
-    when(studySessionService.save(newStudySession)).thenReturn(newStudySession);
+    when(studySessionService.upsert(newStudySession)).thenReturn(true);
 
     mockMvc
         .perform(put(studySessionsPath).contentType(APPLICATION_JSON)
@@ -183,8 +283,7 @@ public class StudySessionControllerTest extends ControllerTestBase {
     StudySession existingStudySession =
         new StudySession(expectedStudySessionId, expectedCategoryId, expectedStudySessionName);
 
-    when(studySessionService.existsById(expectedStudySessionId)).thenReturn(true);
-    when(studySessionService.save(existingStudySession)).thenReturn(existingStudySession);
+    when(studySessionService.upsert(existingStudySession)).thenReturn(false);
 
     mockMvc
         .perform(put(studySessionsPath).contentType(APPLICATION_JSON)
@@ -199,8 +298,7 @@ public class StudySessionControllerTest extends ControllerTestBase {
     String errorMessage = String.format(ExceptionMessages.STUDY_SESSION_NAME_ALREADY_EXISTS,
         expectedStudySessionName);
 
-    when(studySessionService.existsById(expectedStudySessionId)).thenReturn(false);
-    when(studySessionService.save(newStudySession)).thenThrow(new ConflictException(errorMessage));
+    when(studySessionService.upsert(newStudySession)).thenThrow(new ConflictException(errorMessage));
 
     mockMvc
         .perform(put(studySessionsPath).contentType(APPLICATION_JSON)
@@ -221,8 +319,7 @@ public class StudySessionControllerTest extends ControllerTestBase {
     String errorMessage =
         String.format(ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID, invalidCategoryId);
 
-    when(studySessionService.existsById(newStudySessionId)).thenReturn(false);
-    when(studySessionService.save(newStudySession)).thenThrow(new NotFoundException(errorMessage));
+    when(studySessionService.upsert(newStudySession)).thenThrow(new NotFoundException(errorMessage));
 
     mockMvc
         .perform(put(studySessionsPath).contentType(APPLICATION_JSON)
@@ -0,0 +1,65 @@
+package com.ken.flashcards.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import static com.ken.flashcards.constants.ExceptionMessages.INVALID_CURSOR;
+import com.ken.flashcards.dto.SyncPage;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.service.SyncService;
+
+@WebMvcTest(SyncController.class)
+public class SyncControllerTest extends ControllerTestBase {
+
+  @Value("${spring.servlet.path.sync}")
+  private String syncPath;
+
+  @MockitoBean
+  SyncService syncService;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @DisplayName("GET /api/v1/sync - should return 200 with a full first page and the default limit")
+  @Test
+  void shouldReturn200WithFullSync() throws Exception {
+    SyncPage page = new SyncPage(true, List.of(new Category("1", "Art History")), List.of(),
+        List.of(), List.of(), List.of(), List.of(), "next-token", false);
+    when(syncService.sync(null, 500)).thenReturn(page);
+
+    mockMvc.perform(get(syncPath)).andExpect(status().isOk())
+        .andExpect(content().json(serialize(page)));
+  }
+
+  @DisplayName("GET /api/v1/sync?since={token} - should return 200 with the changes since the token")
+  @Test
+  void shouldReturn200WithChangesSinceToken() throws Exception {
+    SyncPage page = new SyncPage(false, List.of(), List.of(), List.of(), List.of("1"), List.of(),
+        List.of("7"), "next-token", true);
+    when(syncService.sync("token", 100)).thenReturn(page);
+
+    mockMvc.perform(get(syncPath).param("since", "token").param("limit", "100"))
+        .andExpect(status().isOk()).andExpect(content().json(serialize(page)));
+  }
+
+  @DisplayName("GET /api/v1/sync?since={token} - should return 400 for an invalid token")
+  @Test
+  void shouldReturn400WhenTokenIsInvalid() throws Exception {
+    when(syncService.sync("bad", 500)).thenThrow(new BadRequestException(INVALID_CURSOR, "bad"));
+
+    mockMvc.perform(get(syncPath).param("since", "bad")).andExpect(status().isBadRequest());
+  }
+
+}
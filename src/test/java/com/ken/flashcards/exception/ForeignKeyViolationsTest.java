@@ -0,0 +1,47 @@
+package com.ken.flashcards.exception;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class ForeignKeyViolationsTest {
+
+  private static final String MYSQL_FOREIGN_KEY_FAILURE =
+      "Cannot add or update a child row: a foreign key constraint fails (`flashcards`.`flashcard`, "
+          + "CONSTRAINT `flashcard_ibfk_1` FOREIGN KEY (`study_session_id`) "
+          + "REFERENCES `study_session` (`id`) ON DELETE CASCADE ON UPDATE CASCADE)";
+
+  @Test
+  void foreignKeyViolationOnColumnBecomesNotFound() {
+    var exception = violation(MYSQL_FOREIGN_KEY_FAILURE);
+
+    RuntimeException translated =
+        ForeignKeyViolations.notFoundOr(exception, "study_session_id", "not found");
+
+    assertTrue(translated instanceof NotFoundException);
+    assertEquals("not found", translated.getMessage());
+  }
+
+  @Test
+  void foreignKeyViolationOnOtherColumnIsKept() {
+    var exception = violation(MYSQL_FOREIGN_KEY_FAILURE);
+
+    assertSame(exception, ForeignKeyViolations.notFoundOr(exception, "category_id", "not found"));
+  }
+
+  @Test
+  void otherIntegrityViolationIsKept() {
+    var exception = violation("Duplicate entry 'Music' for key 'category.name_unique'");
+
+    assertSame(exception, ForeignKeyViolations.notFoundOr(exception, "name", "not found"));
+  }
+
+  private DataIntegrityViolationException violation(String databaseMessage) {
+    return new DataIntegrityViolationException("could not execute statement",
+        new SQLIntegrityConstraintViolationException(databaseMessage));
+  }
+}
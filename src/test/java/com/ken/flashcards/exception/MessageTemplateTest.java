@@ -0,0 +1,55 @@
+package com.ken.flashcards.exception;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
+import com.ken.flashcards.constants.ExceptionMessages;
+
+public class MessageTemplateTest {
+
+  @Test
+  void formatsEveryExceptionMessageAsStringFormatDoes() throws IllegalAccessException {
+    Object[] args = {"Limit", 1, 100};
+    for (Field field : ExceptionMessages.class.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+        String pattern = (String) field.get(null);
+        assertEquals(String.format(pattern, args), MessageTemplate.of(pattern).format(args),
+            field.getName());
+      }
+    }
+  }
+
+  @Test
+  void compilesEachPatternOnce() {
+    assertSame(MessageTemplate.of(CANNOT_FIND_FLASHCARD_BY_ID),
+        MessageTemplate.of(CANNOT_FIND_FLASHCARD_BY_ID));
+  }
+
+  @Test
+  void keepsEscapedPercentSigns() {
+    assertEquals("100% of 'x'", MessageTemplate.of("100%% of '%s'").format("x"));
+  }
+
+  @Test
+  void rejectsUnsupportedConversionsAndMissingArguments() {
+    assertThrows(IllegalArgumentException.class, () -> MessageTemplate.of("%.2f"));
+    assertThrows(IllegalArgumentException.class,
+        () -> MessageTemplate.of(VALUE_OUT_OF_RANGE).format("Limit"));
+  }
+
+  @Test
+  void domainExceptionsFillInTheirMessageWithoutAStackTrace() {
+    NotFoundException exception = new NotFoundException(CANNOT_FIND_FLASHCARD_BY_ID, "42");
+
+    assertEquals("Flashcard with ID '42' not found", exception.getMessage());
+    assertEquals(0, exception.getStackTrace().length);
+  }
+
+}
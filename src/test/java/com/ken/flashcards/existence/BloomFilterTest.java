@@ -0,0 +1,46 @@
+package com.ken.flashcards.existence;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+  private static final int IDS = 20_000;
+
+  private final List<String> ids =
+      IntStream.range(0, IDS).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+  @Test
+  void neverMissesAnIdThatWasPut() {
+    BloomFilter filter = BloomFilter.sized(IDS, 0.01, Long.MAX_VALUE);
+    ids.forEach(filter::put);
+
+    assertTrue(ids.stream().allMatch(filter::mightContain));
+  }
+
+  @Test
+  void keepsFalsePositivesNearTheConfiguredRate() {
+    BloomFilter filter = BloomFilter.sized(IDS, 0.01, Long.MAX_VALUE);
+    ids.forEach(filter::put);
+
+    long falsePositives = IntStream.range(0, IDS)
+        .filter(i -> filter.mightContain(UUID.randomUUID().toString())).count();
+
+    assertTrue(falsePositives < IDS * 0.02, falsePositives + " false positives");
+  }
+
+  @Test
+  void staysWithinTheMemoryCap() {
+    BloomFilter filter = BloomFilter.sized(IDS, 0.01, 4096);
+    ids.forEach(filter::put);
+
+    assertEquals(4096, filter.bitSize());
+    assertTrue(ids.stream().allMatch(filter::mightContain));
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.ken.flashcards.existence;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ken.flashcards.config.ExistenceFilterProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ExistenceFilterTest {
+
+  private final ExistenceFilterProperties properties = new ExistenceFilterProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ExistenceFilter filter =
+      new ExistenceFilter("category", properties, meterRegistry.counter("misses"));
+
+  @BeforeEach
+  void enable() {
+    properties.setEnabled(true);
+  }
+
+  @AfterEach
+  void endTransaction() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      complete();
+    }
+  }
+
+  @Test
+  void isOptIn() {
+    assertFalse(new ExistenceFilterProperties().isEnabled());
+  }
+
+  @Test
+  void letsEveryIdThroughUntilBuilt() {
+    assertTrue(filter.mightContain("1"));
+    assertTrue(filter.mightContain(null));
+  }
+
+  @Test
+  void answersMissesOnceBuilt() {
+    assertEquals(2, filter.rebuild(2, () -> Stream.of("1", "2")));
+
+    assertTrue(filter.mightContain("1"));
+    assertTrue(filter.mightContain("2"));
+    assertFalse(filter.mightContain("3"));
+    assertEquals(1, meterRegistry.counter("misses").count());
+  }
+
+  @Test
+  void addsIdsWrittenAfterTheBuild() {
+    filter.rebuild(0, Stream::empty);
+    filter.add("1");
+
+    assertTrue(filter.mightContain("1"));
+  }
+
+  @Test
+  void keepsIdsAddedWhileRebuilding() {
+    filter.rebuild(0, Stream::empty);
+    filter.rebuild(1, () -> {
+      filter.add("2");
+      return Stream.of("1");
+    });
+
+    assertTrue(filter.mightContain("1"));
+    assertTrue(filter.mightContain("2"));
+  }
+
+  @Test
+  void keepsIdsOfTransactionsOpenWhenTheRebuildStarts() {
+    filter.rebuild(0, Stream::empty);
+    TransactionSynchronizationManager.initSynchronization();
+    filter.add("1");
+
+    filter.rebuild(0, Stream::empty);
+    assertTrue(filter.mightContain("1"));
+
+    complete();
+    filter.rebuild(0, Stream::empty);
+    assertFalse(filter.mightContain("1"));
+  }
+
+  @Test
+  void reportsSaturationPastItsCapacity() {
+    filter.rebuild(0, Stream::empty);
+    for (int i = 0; i <= 1024; i++) {
+      filter.add(Integer.toString(i));
+    }
+
+    assertTrue(filter.isSaturated());
+    filter.rebuild(1025, Stream::empty);
+    assertFalse(filter.isSaturated());
+  }
+
+  private static void complete() {
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    TransactionSynchronizationManager.clearSynchronization();
+  }
+
+}
@@ -82,6 +82,28 @@ public class CategoryIntegrationTest {
         .expectStatus().isNotFound().expectBody().json("{\"error\":\"" + errorMessage + "\"}");
   }
 
+  @DisplayName("GET /categories/{id}/deck returns the category's sessions and flashcards")
+  @Test
+  void returnsDeckWhenCategoryExists() {
+    client.get().uri(path + "/1/deck").accept(APPLICATION_JSON).exchange().expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.name").isEqualTo("Art History")
+        .jsonPath("$.studySessions.length()").isEqualTo(2)
+        .jsonPath("$.studySessions[0].name").isEqualTo("Northern Renaissance")
+        .jsonPath("$.studySessions[0].flashcards.length()").isEqualTo(1)
+        .jsonPath("$.studySessions[0].flashcards[0].answer").isEqualTo("Hieronymus Bosch")
+        .jsonPath("$.studySessions[1].name").isEqualTo("Renaissance")
+        .jsonPath("$.studySessions[1].flashcards.length()").isEqualTo(2);
+  }
+
+  @DisplayName("GET /categories/{id}/deck returns 404 when ID does not exist")
+  @Test
+  void returns404WhenDeckCategoryIdDoesNotExist() {
+    String errorMessage = format(CANNOT_FIND_CATEGORY_BY_ID, "999");
+    client.get().uri(path + "/999/deck").accept(APPLICATION_JSON).exchange()
+        .expectStatus().isNotFound().expectBody().json("{\"error\":\"" + errorMessage + "\"}");
+  }
+
   @DisplayName("GET /categories/details?name=... returns category when name exists")
   @Test
   void returnsCategoryByNameWhenExists() {
@@ -119,6 +119,38 @@ public class FlashcardIntegrationTest {
             """);
   }
 
+  @DisplayName("GET /flashcards/details should return 304 for a current ETag and 200 after a write")
+  @Test
+  void revalidatesFlashcardsByStudySessionIdWithETag() {
+    String etag = client.get().uri(path + "/details?studySessionId=1").accept(APPLICATION_JSON)
+        .exchange().expectStatus().isOk().returnResult(String.class).getResponseHeaders()
+        .getETag();
+
+    client.get().uri(path + "/details?studySessionId=1").accept(APPLICATION_JSON)
+        .ifNoneMatch(etag).exchange().expectStatus().isNotModified().expectBody().isEmpty();
+
+    client.post().uri(path).contentType(APPLICATION_JSON).bodyValue("""
+        {"studySessionId":"1","question":"What is the closest star?","answer":"The sun"}
+        """).exchange().expectStatus().isCreated();
+
+    client.get().uri(path + "/details?studySessionId=1").accept(APPLICATION_JSON)
+        .ifNoneMatch(etag).exchange().expectStatus().isOk().expectBody()
+        .jsonPath("$.length()").isEqualTo(2);
+  }
+
+  @DisplayName("GET /flashcards/search should find a flashcard once it is created")
+  @Test
+  void searchesCreatedFlashcardByPrefix() {
+    client.post().uri(path).contentType(APPLICATION_JSON).bodyValue("""
+        {"studySessionId":"1","question":"Which quasar is brightest?","answer":"3C 273"}
+        """).exchange().expectStatus().isCreated();
+
+    client.get().uri(path + "/search?q=quas*&studySessionId=1").accept(APPLICATION_JSON)
+        .exchange().expectStatus().isOk().expectBody()
+        .jsonPath("$.length()").isEqualTo(1)
+        .jsonPath("$[0].flashcard.answer").isEqualTo("3C 273");
+  }
+
   @DisplayName("GET /flashcards/details should return 404 when studySessionId does not exist")
   @Test
   void shouldReturnNotFoundWhenStudySessionIdDoesNotExist() {
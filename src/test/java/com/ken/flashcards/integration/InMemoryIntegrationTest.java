@@ -0,0 +1,104 @@
+package com.ken.flashcards.integration;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import static com.ken.flashcards.constants.Profiles.IN_MEMORY;
+
+/**
+ * Runs the API on the in-memory repositories, seeded from {@code data.sql}; needs no database.
+ * Requests go through {@link MockMvc}, so no server port or HTTP client is needed either.
+ */
+@ActiveProfiles(IN_MEMORY)
+@AutoConfigureMockMvc
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class InMemoryIntegrationTest {
+
+  @Value("${spring.servlet.path.categories}")
+  private String categoriesPath;
+
+  @Value("${spring.servlet.path.study-sessions}")
+  private String studySessionsPath;
+
+  @Value("${spring.servlet.path.flashcards}")
+  private String flashcardsPath;
+
+  @Value("${spring.servlet.path.sync}")
+  private String syncPath;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @DisplayName("GET /categories returns the seeded categories in name order")
+  @Test
+  void returnsSeededCategoriesInNameOrder() throws Exception {
+    mockMvc.perform(get(categoriesPath).accept(APPLICATION_JSON)).andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(4))
+        .andExpect(jsonPath("$[0].name").value("American History"))
+        .andExpect(jsonPath("$[3].name").value("Thermodynamics"));
+  }
+
+  @DisplayName("POST /categories returns 409 for a name that differs only in case")
+  @Test
+  void returns409WhenNameDiffersOnlyInCase() throws Exception {
+    mockMvc.perform(post(categoriesPath).contentType(APPLICATION_JSON)
+        .content("{\"name\":\"art history\"}")).andExpect(status().isConflict());
+  }
+
+  @DisplayName("DELETE /categories/{id} cascades to study sessions and flashcards")
+  @Test
+  void cascadesCategoryDelete() throws Exception {
+    mockMvc.perform(delete(categoriesPath + "/1")).andExpect(status().isNoContent());
+
+    mockMvc.perform(get(studySessionsPath + "/2")).andExpect(status().isNotFound());
+    mockMvc.perform(get(flashcardsPath + "/3")).andExpect(status().isNotFound());
+  }
+
+  @DisplayName("GET /sync?since= returns tombstones for a cascaded delete after a full sync")
+  @Test
+  void syncsCascadedDeleteAsTombstones() throws Exception {
+    String full = mockMvc.perform(get(syncPath).param("limit", "1000"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.reset").value(true))
+        .andExpect(jsonPath("$.hasMore").value(false))
+        .andExpect(jsonPath("$.categories.length()").value(4))
+        .andReturn().getResponse().getContentAsString();
+    String since = JsonPath.read(full, "$.next");
+
+    mockMvc.perform(delete(categoriesPath + "/1")).andExpect(status().isNoContent());
+
+    mockMvc.perform(get(syncPath).param("since", since)).andExpect(status().isOk())
+        .andExpect(jsonPath("$.reset").value(false))
+        .andExpect(jsonPath("$.categories.length()").value(0))
+        .andExpect(jsonPath("$.deletedCategoryIds").value(List.of("1")))
+        .andExpect(jsonPath("$.deletedStudySessionIds").value(hasItem("2")))
+        .andExpect(jsonPath("$.deletedFlashcardIds").value(hasItem("3")));
+  }
+
+  @DisplayName("POST /flashcards returns 404 when the study session does not exist")
+  @Test
+  void returns404WhenStudySessionDoesNotExist() throws Exception {
+    mockMvc.perform(post(flashcardsPath).contentType(APPLICATION_JSON)
+        .content("{\"studySessionId\":\"missing\",\"question\":\"Q\",\"answer\":\"A\"}"))
+        .andExpect(status().isNotFound());
+  }
+
+}
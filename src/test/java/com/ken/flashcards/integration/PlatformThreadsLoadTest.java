@@ -0,0 +1,14 @@
+package com.ken.flashcards.integration;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Default mode: requests are handled on Tomcat's platform-thread pool. See {@link RequestLoadTest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = RequestLoadTest.POOL_SIZE)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class PlatformThreadsLoadTest extends RequestLoadTest {
+
+}
@@ -0,0 +1,113 @@
+package com.ken.flashcards.integration;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Many concurrent clients, each sending a fixed number of read requests back to back, against the
+ * server started by the subclass. Every request must succeed; the test then prints throughput and
+ * latency percentiles, so the platform-thread and virtual-thread modes can be compared on the same
+ * machine and database.
+ * <p>
+ * Skipped unless enabled; needs the MySQL database used by the integration tests:
+ * {@code mvn test -Dtest='*ThreadsLoadTest' -Dloadtest=true [-Dloadtest.clients=2000]}.
+ * Both modes use the same connection pool size, so only the request threading differs.
+ */
+abstract class RequestLoadTest {
+
+  static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=20";
+
+  @LocalServerPort
+  private int port;
+
+  @Value("${loadtest.clients:2000}")
+  private int clients;
+
+  @Value("${loadtest.requests-per-client:20}")
+  private int requestsPerClient;
+
+  @Value("${spring.servlet.path.flashcards}")
+  private String flashcardsPath;
+
+  @Value("${spring.servlet.path.study-sessions}")
+  private String studySessionsPath;
+
+  @Test
+  void runLoad() throws Exception {
+    List<URI> uris = List.of(uri(flashcardsPath + "/details?studySessionId=1"),
+        uri(studySessionsPath + "/1"), uri(flashcardsPath + "/1"));
+    LongAdder failures = new LongAdder();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient http = HttpClient.newBuilder().executor(executor)
+            .connectTimeout(Duration.ofSeconds(10)).build()) {
+      long start = System.nanoTime();
+      List<Future<long[]>> results = new ArrayList<>(clients);
+      for (int client = 0; client < clients; client++) {
+        int offset = client;
+        results.add(executor.submit(() -> runClient(http, uris, offset, failures)));
+      }
+      long[] latencies = merge(results);
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      assertEquals(0, failures.sum(), "requests that did not return 200");
+      Arrays.sort(latencies);
+      System.out.printf("%s: %,d clients x %,d requests in %.1f s = %,.0f req/s, "
+          + "p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", getClass().getSimpleName(),
+          clients, requestsPerClient, seconds, latencies.length / seconds,
+          millis(latencies, 0.50), millis(latencies, 0.99), millis(latencies, 1.0));
+    }
+  }
+
+  private long[] runClient(HttpClient http, List<URI> uris, int offset, LongAdder failures)
+      throws Exception {
+    long[] latencies = new long[requestsPerClient];
+    for (int i = 0; i < requestsPerClient; i++) {
+      HttpRequest request = HttpRequest.newBuilder(uris.get((offset + i) % uris.size()))
+          .timeout(Duration.ofSeconds(30)).GET().build();
+      long start = System.nanoTime();
+      int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      latencies[i] = System.nanoTime() - start;
+      if (status != 200) {
+        failures.increment();
+      }
+    }
+    return latencies;
+  }
+
+  private long[] merge(List<Future<long[]>> results) throws Exception {
+    long[] merged = new long[clients * requestsPerClient];
+    int position = 0;
+    for (Future<long[]> result : results) {
+      long[] latencies = result.get();
+      System.arraycopy(latencies, 0, merged, position, latencies.length);
+      position += latencies.length;
+    }
+    return merged;
+  }
+
+  private double millis(long[] sortedLatencies, double quantile) {
+    int index = (int) Math.ceil(quantile * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)] / 1e6;
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.ken.flashcards.integration;
+
+import static java.lang.String.format;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
+
+@Sql({"/data.sql"})
+@AutoConfigureWebTestClient
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ReviewIntegrationTest {
+
+  @Value("${spring.servlet.path.reviews}")
+  private String path;
+
+  @Autowired
+  private WebTestClient client;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @DisplayName("POST /reviews schedules the card, and GET /reviews/due returns it once due")
+  @Test
+  void schedulesReviewAndReturnsItWhenDue() {
+    client.post().uri(path).contentType(APPLICATION_JSON)
+        .bodyValue("{\"learnerId\":\"learner-1\",\"flashcardId\":\"1\",\"grade\":5}").exchange()
+        .expectStatus().isOk().expectBody()
+        .jsonPath("$.repetitions").isEqualTo(1)
+        .jsonPath("$.intervalDays").isEqualTo(1);
+
+    client.get().uri(path + "/due?learnerId=learner-1").exchange().expectStatus().isOk()
+        .expectBody().jsonPath("$.length()").isEqualTo(0);
+
+    jdbcTemplate.update("UPDATE review_state SET due_at = due_at - INTERVAL 2 DAY");
+
+    client.get().uri(path + "/due?learnerId=learner-1").exchange().expectStatus().isOk()
+        .expectBody().jsonPath("$.length()").isEqualTo(1).jsonPath("$[0].id").isEqualTo("1");
+  }
+
+  @DisplayName("POST /reviews returns 404 when the flashcard does not exist")
+  @Test
+  void returns404WhenFlashcardDoesNotExist() {
+    String errorMessage = format(CANNOT_FIND_FLASHCARD_BY_ID, "999");
+
+    client.post().uri(path).contentType(APPLICATION_JSON)
+        .bodyValue("{\"learnerId\":\"learner-1\",\"flashcardId\":\"999\",\"grade\":5}").exchange()
+        .expectStatus().isNotFound().expectBody().json("{\"error\":\"" + errorMessage + "\"}");
+  }
+
+}
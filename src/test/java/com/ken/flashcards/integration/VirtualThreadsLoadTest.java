@@ -0,0 +1,17 @@
+package com.ken.flashcards.integration;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The {@code virtual-threads} profile: one virtual thread per request. See
+ * {@link RequestLoadTest}.
+ */
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = RequestLoadTest.POOL_SIZE)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class VirtualThreadsLoadTest extends RequestLoadTest {
+
+}
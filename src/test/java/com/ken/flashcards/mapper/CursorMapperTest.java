@@ -0,0 +1,53 @@
+package com.ken.flashcards.mapper;
+
+import static java.lang.String.format;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import static com.ken.flashcards.constants.ExceptionMessages.INVALID_CURSOR;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.exception.BadRequestException;
+
+public class CursorMapperTest {
+
+  private final CursorMapper cursorMapper = new CursorMapperImpl();
+
+  @Test
+  void cursorRoundTripsToTheSameKey() {
+    String key = "Art History";
+    assertEquals(key, cursorMapper.keyFrom(cursorMapper.cursorFrom(key)));
+  }
+
+  @Test
+  void missingCursorStartsFromTheFirstKey() {
+    assertEquals("", cursorMapper.keyFrom(null));
+    assertEquals("", cursorMapper.keyFrom(" "));
+  }
+
+  @Test
+  void malformedCursorIsRejected() {
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> cursorMapper.keyFrom("not*base64"));
+    assertEquals(format(INVALID_CURSOR, "not*base64"), ex.getMessage());
+  }
+
+  @Test
+  void pageWithExtraRowPointsPastItsLastItem() {
+    CursorPage<String> page = cursorMapper.pageFrom(List.of("a", "b", "c"), 2, key -> key);
+
+    assertEquals(List.of("a", "b"), page.getItems());
+    assertEquals("b", cursorMapper.keyFrom(page.getNext()));
+  }
+
+  @Test
+  void lastPageHasNoNextCursor() {
+    CursorPage<String> page = cursorMapper.pageFrom(List.of("a", "b"), 2, key -> key);
+
+    assertEquals(List.of("a", "b"), page.getItems());
+    assertNull(page.getNext());
+  }
+}
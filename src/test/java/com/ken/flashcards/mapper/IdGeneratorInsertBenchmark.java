@@ -0,0 +1,111 @@
+package com.ken.flashcards.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compares random (v4) and time-ordered (v7) ids as InnoDB primary keys: insert throughput, and
+ * the size of the clustered index and of a secondary index that repeats the key.
+ * <p>
+ * Runs against the configured MySQL database and is skipped unless enabled:
+ * {@code mvn test -Dtest=IdGeneratorInsertBenchmark -Dbenchmark=true [-Dbenchmark.rows=1000000]}.
+ * Differences only show once the table outgrows the buffer pool's hot pages, so use at least a
+ * few hundred thousand rows.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class IdGeneratorInsertBenchmark {
+
+  private static final String RANDOM_TABLE = "id_benchmark_random";
+  private static final String TIME_ORDERED_TABLE = "id_benchmark_time_ordered";
+  private static final int BATCH_SIZE = 1000;
+  private static final int PARENTS = 100;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Value("${benchmark.rows:200000}")
+  private int rows;
+
+  @Test
+  void compareInsertThroughputAndIndexSize() {
+    run(RANDOM_TABLE, new IdGeneratorImpl());
+    run(TIME_ORDERED_TABLE, new TimeOrderedIdGenerator());
+  }
+
+  @AfterEach
+  void dropTables() {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + RANDOM_TABLE);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + TIME_ORDERED_TABLE);
+  }
+
+  private void run(String table, IdGenerator idGenerator) {
+    createTable(table);
+    List<String> parentIds = generate(idGenerator, PARENTS);
+    String insert = "INSERT INTO " + table + " (id, parent_id, payload) VALUES (?, ?, ?)";
+
+    long start = System.nanoTime();
+    for (int offset = 0; offset < rows; offset += BATCH_SIZE) {
+      List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+      for (int i = offset; i < Math.min(offset + BATCH_SIZE, rows); i++) {
+        batch.add(new Object[] {idGenerator.generateId(), parentIds.get(i % PARENTS),
+            "What is the answer to question " + i + "?"});
+      }
+      jdbcTemplate.batchUpdate(insert, batch);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+    System.out.printf("%-20s %,d rows in %.1f s (%,.0f rows/s)%n",
+        idGenerator.getClass().getSimpleName(), rows, seconds, rows / seconds);
+    for (Map<String, Object> index : indexSizesOf(table)) {
+      System.out.printf("  %-10s %,10d pages %,8d leaf pages %,8.1f MiB%n", index.get("index_name"),
+          index.get("pages"), index.get("leaf_pages"),
+          ((Number) index.get("bytes")).doubleValue() / (1 << 20));
+    }
+  }
+
+  private void createTable(String table) {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+    jdbcTemplate.execute("CREATE TABLE " + table + " (id VARCHAR(40) NOT NULL PRIMARY KEY, "
+        + "parent_id VARCHAR(40) NOT NULL, payload VARCHAR(200) NOT NULL, "
+        + "INDEX parent_idx (parent_id))");
+  }
+
+  private List<String> generate(IdGenerator idGenerator, int count) {
+    List<String> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(idGenerator.generateId());
+    }
+    return ids;
+  }
+
+  /**
+   * Reads persistent InnoDB statistics, which {@code ANALYZE TABLE} has just refreshed.
+   * {@code information_schema.TABLES} is cached and can lag behind.
+   */
+  private List<Map<String, Object>> indexSizesOf(String table) {
+    return jdbcTemplate.queryForList("""
+        SELECT s.index_name,
+               s.stat_value AS pages,
+               l.stat_value AS leaf_pages,
+               s.stat_value * @@innodb_page_size AS bytes
+        FROM mysql.innodb_index_stats s
+        JOIN mysql.innodb_index_stats l
+          ON l.database_name = s.database_name AND l.table_name = s.table_name
+         AND l.index_name = s.index_name AND l.stat_name = 'n_leaf_pages'
+        WHERE s.database_name = DATABASE() AND s.table_name = ? AND s.stat_name = 'size'
+        ORDER BY s.index_name
+        """, table);
+  }
+
+}
@@ -0,0 +1,53 @@
+package com.ken.flashcards.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TimeOrderedIdGeneratorTest {
+
+  @Test
+  void generatedIdHasDesiredLength() {
+    IdGenerator idGenerator = new TimeOrderedIdGenerator();
+    assertEquals(36, idGenerator.generateId().length());
+  }
+
+  @Test
+  void generatedIdIsVersion7WithRfcVariant() {
+    UUID id = UUID.fromString(new TimeOrderedIdGenerator().generateId());
+    assertEquals(7, id.version());
+    assertEquals(2, id.variant());
+  }
+
+  @Test
+  void generatedIdStartsWithTimestamp() {
+    long millis = 1_700_000_000_000L;
+    UUID id = UUID.fromString(new TimeOrderedIdGenerator(() -> millis).generateId());
+    assertEquals(millis, id.getMostSignificantBits() >>> 16);
+  }
+
+  @Test
+  void laterIdsSortAfterEarlierIds() {
+    long[] millis = {1_700_000_000_000L};
+    IdGenerator idGenerator = new TimeOrderedIdGenerator(() -> millis[0]++);
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ids.add(idGenerator.generateId());
+    }
+    for (int i = 1; i < ids.size(); i++) {
+      assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+    }
+  }
+
+  @Test
+  void idsWithinTheSameMillisecondDiffer() {
+    IdGenerator idGenerator = new TimeOrderedIdGenerator(() -> 1_700_000_000_000L);
+    assertNotEquals(idGenerator.generateId(), idGenerator.generateId());
+  }
+
+}
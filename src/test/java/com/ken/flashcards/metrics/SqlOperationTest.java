@@ -0,0 +1,33 @@
+package com.ken.flashcards.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class SqlOperationTest {
+
+  @Test
+  void readsOperationFromFirstKeyword() {
+    assertEquals(SqlOperation.SELECT, SqlOperation.of("select c1_0.id from category c1_0"));
+    assertEquals(SqlOperation.INSERT, SqlOperation.of("INSERT INTO flashcard (id) VALUES (?)"));
+    assertEquals(SqlOperation.UPDATE, SqlOperation.of("update study_session set name=?"));
+    assertEquals(SqlOperation.DELETE, SqlOperation.of("delete from flashcard where id=?"));
+  }
+
+  @Test
+  void skipsLeadingWhitespaceAndHibernateComment() {
+    assertEquals(SqlOperation.SELECT,
+        SqlOperation.of("\n  /* <criteria> */ select f1_0.id from flashcard f1_0"));
+  }
+
+  @Test
+  void treatsCommonTableExpressionsAsSelects() {
+    assertEquals(SqlOperation.SELECT, SqlOperation.of("with ids as (select 1) select * from ids"));
+  }
+
+  @Test
+  void classifiesAnythingElseAsOther() {
+    assertEquals(SqlOperation.OTHER, SqlOperation.of("call refresh_stats()"));
+    assertEquals(SqlOperation.OTHER, SqlOperation.of(""));
+  }
+
+}
@@ -0,0 +1,76 @@
+package com.ken.flashcards.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static com.ken.flashcards.constants.MetricNames.DB_STATEMENTS;
+import static com.ken.flashcards.constants.MetricNames.DB_STATEMENTS_PER_REQUEST;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class SqlStatementMetricsFilterTest {
+
+  private SimpleMeterRegistry registry;
+  private SqlStatementCounter counter;
+  private SqlStatementMetricsFilter filter;
+
+  @BeforeEach
+  void init() {
+    registry = new SimpleMeterRegistry();
+    counter = new SqlStatementCounter(registry);
+    filter = new SqlStatementMetricsFilter(counter, registry);
+  }
+
+  @Test
+  void countsStatementsByOperation() {
+    counter.inspect("select 1");
+    counter.inspect("insert into category (id, name) values (?, ?)");
+
+    assertEquals(1, registry.get(DB_STATEMENTS).tag("operation", "select").counter().count());
+    assertEquals(1, registry.get(DB_STATEMENTS).tag("operation", "insert").counter().count());
+  }
+
+  @Test
+  void recordsStatementsRunByEachRequest() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/v1/flashcards");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/flashcards");
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+      @Override
+      protected void service(HttpServletRequest req, HttpServletResponse resp) {
+        counter.inspect("select count(*) from study_session where id=?");
+        counter.inspect("select count(*) from study_session where id=?");
+        counter.inspect("insert into flashcard values (?, ?, ?, ?)");
+      }
+    }));
+
+    assertEquals(2, perRequest("select").totalAmount());
+    assertEquals(1, perRequest("insert").totalAmount());
+    assertEquals(0, perRequest("delete").totalAmount());
+  }
+
+  @Test
+  void ignoresStatementsOutsideRequests() throws Exception {
+    filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/categories"),
+        new MockHttpServletResponse(), new MockFilterChain());
+    counter.inspect("select 1");
+
+    assertEquals(0, registry.get(DB_STATEMENTS_PER_REQUEST).tag("uri", "UNKNOWN")
+        .tag("operation", "select").summary().totalAmount());
+  }
+
+  private DistributionSummary perRequest(String operation) {
+    return registry.get(DB_STATEMENTS_PER_REQUEST).tag("method", "PUT")
+        .tag("uri", "/api/v1/flashcards").tag("operation", operation).summary();
+  }
+
+}
@@ -0,0 +1,55 @@
+package com.ken.flashcards.model;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class UuidBinaryConverterTest {
+
+  private final UuidBinaryConverter converter = new UuidBinaryConverter();
+
+  @Test
+  void uuidRoundTripsThroughSixteenBytes() {
+    String id = "018f3a00-0000-7000-8000-000000000101";
+    byte[] bytes = converter.convertToDatabaseColumn(id);
+    assertEquals(16, bytes.length);
+    assertEquals(id, converter.convertToEntityAttribute(bytes));
+  }
+
+  @Test
+  void bytesFollowTheUuidHexDigits() {
+    byte[] bytes = converter.convertToDatabaseColumn("00010203-0405-0607-0809-0a0b0c0d0e0f");
+    assertArrayEquals(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15}, bytes);
+  }
+
+  @Test
+  void byteOrderMatchesStringOrder() {
+    String lower = "018f3a00-0000-7000-8000-000000000101";
+    String higher = "018f3a00-0000-7000-8000-0000000001ff";
+    assertTrue(lower.compareTo(higher) < 0);
+    assertTrue(Arrays.compareUnsigned(converter.convertToDatabaseColumn(lower),
+        converter.convertToDatabaseColumn(higher)) < 0);
+  }
+
+  @Test
+  void emptyIdConvertsToEmptyValue() {
+    assertEquals(0, converter.convertToDatabaseColumn("").length);
+  }
+
+  @Test
+  void nonUuidIdConvertsToValueThatCannotBeAKey() {
+    assertEquals(17, converter.convertToDatabaseColumn("1").length);
+    assertEquals(17, converter.convertToDatabaseColumn("1-2-3-4-5").length);
+  }
+
+  @Test
+  void nullConvertsToNull() {
+    assertNull(converter.convertToDatabaseColumn(null));
+    assertNull(converter.convertToEntityAttribute(null));
+  }
+
+}
@@ -0,0 +1,45 @@
+package com.ken.flashcards.repository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class ChunkedQueriesTest {
+
+  @Test
+  void padsChunksToPowersOfTwoByRepeatingTheLastId() {
+    assertEquals(List.of("a"), ChunkedQueries.padded(List.of("a")));
+    assertEquals(List.of("a", "b"), ChunkedQueries.padded(List.of("a", "b")));
+    assertEquals(List.of("a", "b", "c", "c"), ChunkedQueries.padded(List.of("a", "b", "c")));
+    assertEquals(512, ChunkedQueries.padded(ids(501)).size());
+    assertEquals(1_000, ChunkedQueries.padded(ids(513)).size());
+    assertEquals(1_000, ChunkedQueries.padded(ids(1_000)).size());
+  }
+
+  @Test
+  void usesElevenListLengthsForEveryLookupSize() {
+    Set<Integer> lengths = new HashSet<>();
+    List<Integer> queried = new ArrayList<>();
+    for (int count = 1; count <= 2_500; count++) {
+      ChunkedQueries.findAllIn(ids(count), chunk -> {
+        lengths.add(chunk.size());
+        queried.add(chunk.size());
+        return List.of();
+      });
+    }
+
+    assertEquals(11, lengths.size());
+    assertEquals(List.of(1_000, 1_000, 512),
+        queried.subList(queried.size() - 3, queried.size()));
+  }
+
+  private static List<String> ids(int count) {
+    return IntStream.range(0, count).mapToObj(i -> "id-" + i).toList();
+  }
+
+}
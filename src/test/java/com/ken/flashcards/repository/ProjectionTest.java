@@ -0,0 +1,53 @@
+package com.ken.flashcards.repository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import static com.ken.flashcards.repository.Projection.CATEGORY;
+import static com.ken.flashcards.repository.Projection.FLASHCARD;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+
+public class ProjectionTest {
+
+  @Test
+  void selectsTheIdAndTheGivenAttributesInDeclarationOrder() {
+    Projection<Flashcard> projection = Projection.of(FLASHCARD, List.of("question", "id"));
+
+    assertEquals("SELECT f.id, f.question FROM Flashcard f", projection.select("f"));
+  }
+
+  @Test
+  void buildsEntitiesFromTuplesLeavingUnselectedAttributesNull() {
+    Projection<Flashcard> projection = Projection.of(FLASHCARD, List.of("answer", "question"));
+
+    assertEquals(new Flashcard("1", null, "Q", "A"),
+        projection.fromRow(new Object[] {"1", "Q", "A"}));
+  }
+
+  @Test
+  void buildsEntitiesFromSingleColumnRows() {
+    Projection<Category> projection = Projection.of(CATEGORY, List.of());
+
+    assertEquals("SELECT c.id FROM Category c", projection.select("c"));
+    assertEquals(new Category("1", null), projection.fromRow("1"));
+  }
+
+  @Test
+  void copiesOnlySelectedAttributesOfFullEntities() {
+    Projection<Flashcard> projection = Projection.of(FLASHCARD, List.of("question"));
+
+    assertEquals(new Flashcard("1", null, "Q", null),
+        projection.project(new Flashcard("1", "session", "Q", "A")));
+  }
+
+  @Test
+  void rejectsAttributesTheEntityDoesNotHave() {
+    assertThrows(IllegalArgumentException.class,
+        () -> Projection.of(FLASHCARD, List.of("question; DROP TABLE flashcard")));
+  }
+
+}
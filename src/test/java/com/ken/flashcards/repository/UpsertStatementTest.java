@@ -0,0 +1,34 @@
+package com.ken.flashcards.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.config.KeyProperties.Storage;
+
+public class UpsertStatementTest {
+
+  @Test
+  void bindsTextKeysDirectly() {
+    UpsertStatement statement =
+        new UpsertStatement(new KeyProperties(), "study_session", "id", "category_id", "name");
+
+    assertEquals("INSERT INTO study_session (id, category_id, name) VALUES (?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE category_id = VALUES(category_id), name = VALUES(name)",
+        statement.sql());
+  }
+
+  @Test
+  void bindsBinaryKeysThroughUuidToBin() {
+    KeyProperties keys = new KeyProperties();
+    keys.setStorage(Storage.BINARY);
+    UpsertStatement statement =
+        new UpsertStatement(keys, "study_session", "id", "category_id", "name");
+
+    assertEquals("INSERT INTO study_session (id, category_id, name) "
+        + "VALUES (UUID_TO_BIN(?), UUID_TO_BIN(?), ?) "
+        + "ON DUPLICATE KEY UPDATE category_id = VALUES(category_id), name = VALUES(name)",
+        statement.sql());
+  }
+
+}
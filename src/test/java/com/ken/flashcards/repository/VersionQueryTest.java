@@ -0,0 +1,32 @@
+package com.ken.flashcards.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.config.KeyProperties.Storage;
+
+public class VersionQueryTest {
+
+  private static final String AGGREGATE = "SELECT COUNT(c.id), "
+      + "COALESCE(CAST(UNIX_TIMESTAMP(MAX(c.updated_at)) * 1000000 AS SIGNED), 0) "
+      + "FROM study_session p LEFT JOIN flashcard c ON c.study_session_id = p.id ";
+
+  @Test
+  void bindsTextKeysDirectly() {
+    VersionQuery query =
+        new VersionQuery(new KeyProperties(), "study_session", "flashcard", "study_session_id");
+
+    assertEquals(AGGREGATE + "WHERE p.id = ? GROUP BY p.id", query.sql());
+  }
+
+  @Test
+  void bindsBinaryKeysThroughUuidToBin() {
+    KeyProperties keys = new KeyProperties();
+    keys.setStorage(Storage.BINARY);
+    VersionQuery query = new VersionQuery(keys, "study_session", "flashcard", "study_session_id");
+
+    assertEquals(AGGREGATE + "WHERE p.id = UUID_TO_BIN(?) GROUP BY p.id", query.sql());
+  }
+
+}
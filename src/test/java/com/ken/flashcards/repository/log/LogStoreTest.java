@@ -0,0 +1,149 @@
+package com.ken.flashcards.repository.log;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ken.flashcards.repository.log.LogStore.Entry;
+
+public class LogStoreTest {
+
+  private static final long SEGMENT_BYTES = 1 << 20;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void readsTheLatestValueOfEachKey() throws IOException {
+    try (LogStore store = LogStore.open(directory, SEGMENT_BYTES, true)) {
+      assertTrue(store.isFresh());
+      store.write(List.of(put("a", "1"), put("b", "2")));
+      store.write(List.of(put("a", "3"), delete("b")));
+
+      assertEquals("3", value(store, "a"));
+      assertNull(store.get("b"));
+      assertEquals(Set.of("a"), store.keys());
+    }
+  }
+
+  @Test
+  void rebuildsTheKeyDirectoryOnReopen() throws IOException {
+    try (LogStore store = LogStore.open(directory, 64, true)) {
+      for (int i = 0; i < 20; i++) {
+        store.write(List.of(put("key" + i % 4, "value" + i)));
+      }
+      store.write(List.of(delete("key0")));
+    }
+
+    try (LogStore store = LogStore.open(directory, 64, true)) {
+      assertFalse(store.isFresh());
+      assertEquals(Set.of("key1", "key2", "key3"), store.keys());
+      assertEquals("value17", value(store, "key1"));
+      assertEquals("value19", value(store, "key3"));
+    }
+  }
+
+  @Test
+  void truncatesATornWriteOnReopen() throws IOException {
+    try (LogStore store = LogStore.open(directory, SEGMENT_BYTES, true)) {
+      store.write(List.of(put("a", "1")));
+      store.write(List.of(put("a", "2"), put("b", "2")));
+    }
+    Path segment = onlySegment();
+    try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+
+    try (LogStore store = LogStore.open(directory, SEGMENT_BYTES, true)) {
+      assertEquals("1", value(store, "a"));
+      assertNull(store.get("b"));
+      store.write(List.of(put("b", "3")));
+    }
+    try (LogStore store = LogStore.open(directory, SEGMENT_BYTES, true)) {
+      assertEquals("1", value(store, "a"));
+      assertEquals("3", value(store, "b"));
+    }
+  }
+
+  @Test
+  void compactionKeepsOnlyLiveValues() throws IOException {
+    try (LogStore store = LogStore.open(directory, 64, true)) {
+      for (int i = 0; i < 40; i++) {
+        store.write(List.of(put("key" + i % 4, "value" + i)));
+      }
+      store.write(List.of(delete("key0")));
+      assertTrue(store.deadRatio() > 0.5);
+
+      assertTrue(store.compact());
+
+      assertTrue(store.deadRatio() < 0.5);
+      assertEquals(2, segments().size());
+      assertEquals("value37", value(store, "key1"));
+      store.write(List.of(put("key2", "new")));
+    }
+
+    try (LogStore store = LogStore.open(directory, 64, true)) {
+      assertEquals(Set.of("key1", "key2", "key3"), store.keys());
+      assertEquals("new", value(store, "key2"));
+      assertEquals("value39", value(store, "key3"));
+    }
+  }
+
+  @Test
+  void deletesMergedSegmentsLeftBehindByACrashedCompaction() throws IOException {
+    byte[] first;
+    try (LogStore store = LogStore.open(directory, 16, true)) {
+      store.write(List.of(put("a", "1")));
+      first = Files.readAllBytes(segments().get(0));
+      store.write(List.of(delete("a")));
+      store.write(List.of(put("b", "2")));
+
+      assertTrue(store.compact());
+    }
+    Files.write(directory.resolve("segment-0000000001.log"), first);
+
+    try (LogStore store = LogStore.open(directory, 16, true)) {
+      assertNull(store.get("a"));
+      assertEquals("2", value(store, "b"));
+      assertFalse(Files.exists(directory.resolve("segment-0000000001.log")));
+    }
+  }
+
+  private static Entry put(String key, String value) {
+    return new Entry(key, value.getBytes(UTF_8), 1);
+  }
+
+  private static Entry delete(String key) {
+    return new Entry(key, null, 1);
+  }
+
+  private static String value(LogStore store, String key) throws IOException {
+    return new String(store.get(key).getValue(), UTF_8);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private Path onlySegment() throws IOException {
+    List<Path> segments = segments();
+    assertEquals(1, segments.size());
+    return segments.get(0);
+  }
+
+}
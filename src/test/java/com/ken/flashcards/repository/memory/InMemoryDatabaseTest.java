@@ -0,0 +1,248 @@
+package com.ken.flashcards.repository.memory;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import static org.springframework.data.domain.ExampleMatcher.StringMatcher.CONTAINING;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ken.flashcards.exception.ForeignKeyViolations;
+import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.ChangeLogEntry;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.DeckRow;
+
+public class InMemoryDatabaseTest {
+
+  private final InMemoryDatabase database =
+      new InMemoryDatabase(Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC),
+          Optional.empty());
+
+  private final InMemoryCategoryRepository categories = new InMemoryCategoryRepository(database);
+  private final InMemoryStudySessionRepository studySessions =
+      new InMemoryStudySessionRepository(database);
+  private final InMemoryFlashcardRepository flashcards = new InMemoryFlashcardRepository(database);
+
+  @BeforeEach
+  void seed() {
+    categories.save(new Category("1", "Art History"));
+    categories.save(new Category("2", "Thermodynamics"));
+    studySessions.persist(new StudySession("1", "1", "Renaissance"));
+    studySessions.persist(new StudySession("2", "1", "Baroque"));
+    flashcards.persist(new Flashcard("1", "1", "Who sculpted \"David\"?", "Michelangelo"));
+    flashcards.persist(new Flashcard("2", "1", "Who painted the Sistine ceiling?", "Michelangelo"));
+  }
+
+  @Test
+  void rejectsCategoryNamesThatDifferOnlyInCaseOrAccents() {
+    assertThrows(DuplicateKeyException.class,
+        () -> categories.save(new Category("3", "ART HISTORY")));
+    assertThrows(DuplicateKeyException.class,
+        () -> categories.save(new Category("3", "Thérmodynamics")));
+    assertTrue(categories.existsByName("art history"));
+
+    categories.save(new Category("1", "art history"));
+    assertEquals("art history", categories.findById("1").orElseThrow().getName());
+  }
+
+  @Test
+  void ordersAndPagesCategoriesByName() {
+    categories.save(new Category("3", "computer science"));
+
+    assertEquals(List.of("1", "3", "2"),
+        categories.findAllByOrderByNameAsc().stream().map(Category::getId).toList());
+    assertEquals(List.of("3"), categories.findByNameGreaterThanOrderByNameAsc("Art History",
+        Limit.of(1)).stream().map(Category::getId).toList());
+  }
+
+  @Test
+  void sortsAndPagesByAnyPropertyInCollationOrder() {
+    categories.save(new Category("3", "ástronomy"));
+
+    assertEquals(List.of("2", "1"), studySessions.findAll(Sort.by("name")).stream()
+        .map(StudySession::getId).toList());
+    assertEquals(List.of("1", "3", "2"), categories.findAll(Sort.by("name")).stream()
+        .map(Category::getId).toList());
+    Page<Flashcard> page = flashcards.findAll(PageRequest.of(1, 1, Sort.by(DESC, "question")));
+    assertEquals(List.of("2"), page.getContent().stream().map(Flashcard::getId).toList());
+    assertEquals(2, page.getTotalElements());
+  }
+
+  @Test
+  void findsByExampleAsTheDatabaseCollationMatches() {
+    assertEquals("1", categories.findOne(Example.of(new Category(null, "ART HISTORY")))
+        .orElseThrow().getId());
+    assertEquals(2, studySessions.count(Example.of(new StudySession(null, "1", null))));
+    assertEquals(List.of("2"), flashcards.findAll(Example.of(new Flashcard(null, null,
+        "sistine", null), ExampleMatcher.matching().withStringMatcher(CONTAINING))).stream()
+        .map(Flashcard::getId).toList());
+    assertEquals(List.of("2", "1"), studySessions.findBy(Example.of(new StudySession(null, "1",
+        null)), query -> query.sortBy(Sort.by("name")).all()).stream()
+        .map(StudySession::getId).toList());
+  }
+
+  @Test
+  void rejectsChildrenOfMissingParentsAsForeignKeyViolations() {
+    DataIntegrityViolationException exception = assertThrows(
+        DataIntegrityViolationException.class,
+        () -> studySessions.save(new StudySession("3", "missing", "Gothic")));
+
+    assertInstanceOf(NotFoundException.class,
+        ForeignKeyViolations.notFoundOr(exception, "category_id", "not found"));
+    assertThrows(DataIntegrityViolationException.class,
+        () -> flashcards.upsert(new Flashcard("3", "missing", "Q", "A")));
+  }
+
+  @Test
+  void rejectsPersistingAnExistingId() {
+    assertThrows(DuplicateKeyException.class,
+        () -> flashcards.persist(new Flashcard("1", "2", "Q", "A")));
+  }
+
+  @Test
+  void cascadesCategoryDeletesToStudySessionsAndFlashcards() {
+    categories.deleteById("1");
+
+    assertFalse(studySessions.existsById("1"));
+    assertFalse(studySessions.existsById("2"));
+    assertEquals(0, flashcards.count());
+    assertFalse(studySessions.findAllByCategoryId("1").iterator().hasNext());
+  }
+
+  @Test
+  void reportsUpsertsAsInsertedUpdatedOrUnchanged() {
+    assertEquals(1, flashcards.upsert(new Flashcard("3", "2", "Q", "A")));
+    assertEquals(2, flashcards.upsert(new Flashcard("3", "2", "Q", "A2")));
+    assertEquals(0, flashcards.upsert(new Flashcard("3", "2", "Q", "A2")));
+  }
+
+  @Test
+  void changesTheCollectionVersionOnEveryWrite() {
+    String initial = flashcards.findVersionByStudySessionId("1").orElseThrow().etag();
+    flashcards.save(new Flashcard("1", "1", "Who sculpted \"David\"?", "Michelangelo"));
+    assertEquals(initial, flashcards.findVersionByStudySessionId("1").orElseThrow().etag());
+
+    flashcards.save(new Flashcard("1", "1", "Who sculpted \"David\"?", "Buonarroti"));
+    String updated = flashcards.findVersionByStudySessionId("1").orElseThrow().etag();
+
+    assertNotEquals(initial, updated);
+    assertTrue(updated.startsWith("2-"));
+    assertEquals("0-0", flashcards.findVersionByStudySessionId("2").orElseThrow().etag());
+    assertTrue(flashcards.findVersionByStudySessionId("missing").isEmpty());
+  }
+
+  @Test
+  void buildsDeckRowsAsTheOuterJoinDoes() {
+    categories.save(new Category("3", "Empty"));
+
+    List<DeckRow> rows = categories.findDeckRows("1");
+
+    assertEquals(3, rows.size());
+    assertEquals(new DeckRow("1", "Art History", "2", "Baroque", null, null, null), rows.get(0));
+    assertEquals("1", rows.get(1).getFlashcardId());
+    assertEquals(List.of(new DeckRow("3", "Empty", null, null, null, null, null)),
+        categories.findDeckRows("3"));
+    assertTrue(categories.findDeckRows("missing").isEmpty());
+  }
+
+  @Test
+  void rollsBackEveryWriteOfAFailedTransaction() {
+    TransactionTemplate transaction =
+        new TransactionTemplate(new InMemoryTransactionManager(database));
+
+    assertThrows(DuplicateKeyException.class, () -> transaction.executeWithoutResult(status -> {
+      flashcards.persist(new Flashcard("3", "1", "Q", "A"));
+      categories.deleteById("1");
+      categories.save(new Category("3", "Art History"));
+      categories.save(new Category("4", "Thermodynamics"));
+    }));
+
+    assertEquals("1", categories.findByName("art history").orElseThrow().getId());
+    assertFalse(categories.existsById("3"));
+    assertEquals(2, studySessions.count());
+    assertEquals(List.of("1", "2"), flashcards.findAll().stream().map(Flashcard::getId).toList());
+  }
+
+  @Test
+  void keepsAnotherTransactionsCommittedWriteWhenOneRollsBack() throws InterruptedException {
+    TransactionTemplate transaction =
+        new TransactionTemplate(new InMemoryTransactionManager(database));
+    Flashcard committed = new Flashcard("1", "1", "Who sculpted \"David\"?", "Donatello");
+    Thread writer = new Thread(
+        () -> transaction.executeWithoutResult(status -> flashcards.save(committed)));
+
+    transaction.executeWithoutResult(status -> {
+      flashcards.save(new Flashcard("1", "1", "Who sculpted \"David\"?", "Bernini"));
+      writer.start();
+      long deadline = System.nanoTime() + SECONDS.toNanos(5);
+      while (!database.hasQueuedWriters() && System.nanoTime() < deadline) {
+        Thread.onSpinWait();
+      }
+      status.setRollbackOnly();
+    });
+    writer.join(SECONDS.toMillis(5));
+
+    assertEquals(committed, flashcards.findById("1").orElseThrow());
+  }
+
+  @Test
+  void logsEachChangedRowOnceWithCascadedDeletesAsTombstonesChildrenFirst() {
+    InMemoryChangeLogRepository changeLog = new InMemoryChangeLogRepository(database);
+    long floor = changeLog.floor();
+
+    categories.save(new Category("2", "Heat"));
+    categories.deleteById("1");
+
+    List<ChangeLogEntry> entries = changeLog.findAfter(floor, 100);
+    List<String> changes = entries.stream().map(entry -> entry.getTableName() + ":"
+        + entry.getEntityId() + (entry.isDeleted() ? " deleted" : "")).toList();
+    assertEquals(6, changes.size());
+    assertEquals("category:2", changes.get(0));
+    assertEquals(Set.of("flashcard:1 deleted", "flashcard:2 deleted", "study_session:1 deleted",
+        "study_session:2 deleted"), Set.copyOf(changes.subList(1, 5)));
+    assertEquals("category:1 deleted", changes.get(5));
+    assertTrue(entries.get(0).getSeq() > floor + 6);
+    assertEquals(List.of(entries.get(5)), changeLog.findAfter(entries.get(4).getSeq(), 100));
+  }
+
+  @Test
+  void logsTransactionWritesWhenTheyCommit() {
+    InMemoryChangeLogRepository changeLog = new InMemoryChangeLogRepository(database);
+    long last = changeLog.findAfter(changeLog.floor(), 100).getLast().getSeq();
+    TransactionTemplate transaction =
+        new TransactionTemplate(new InMemoryTransactionManager(database));
+
+    transaction.executeWithoutResult(status -> {
+      flashcards.persist(new Flashcard("3", "2", "Q", "A"));
+      assertTrue(changeLog.findAfter(last, 100).isEmpty());
+    });
+
+    assertEquals(List.of(new ChangeLogEntry(last + 1, "flashcard", "3", false)),
+        changeLog.findAfter(last, 100));
+  }
+
+}
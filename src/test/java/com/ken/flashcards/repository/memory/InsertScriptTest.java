@@ -0,0 +1,61 @@
+package com.ken.flashcards.repository.memory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.ken.flashcards.repository.memory.InsertScript.Insert;
+
+public class InsertScriptTest {
+
+  private static final Map<String, List<String>> COLUMNS =
+      Map.of("category", List.of("id", "name", "updated_at"));
+
+  @Test
+  void readsInsertsWithColumnListsAndSkipsComments() {
+    List<Insert> inserts = InsertScript.parse("""
+        -- Category Definitions
+        INSERT INTO category(id, name)
+            VALUES('1', 'Art History');
+        /* a block comment; with a semicolon */
+        INSERT INTO flashcard(id, study_session_id, question, answer)
+            VALUES('1', '1', 'Who painted "The Last Supper"?', 'Leonardo; da Vinci');
+        """, COLUMNS);
+
+    assertEquals(List.of(new Insert("category", Map.of("id", "1", "name", "Art History")),
+        new Insert("flashcard", Map.of("id", "1", "study_session_id", "1",
+            "question", "Who painted \"The Last Supper\"?", "answer", "Leonardo; da Vinci"))),
+        inserts);
+  }
+
+  @Test
+  void readsMysqldumpOutput() {
+    List<Insert> inserts = InsertScript.parse("""
+        /*!40101 SET NAMES utf8mb4 */;
+        LOCK TABLES `category` WRITE;
+        INSERT INTO `category` VALUES ('1','Art\\'s History','2026-01-01 00:00:00.000000'),\
+        ('2','It''s',NULL);
+        INSERT INTO `review_state` VALUES ('learner','1',1,1,2.5,NULL,NULL);
+        UNLOCK TABLES;
+        """, COLUMNS);
+
+    assertEquals(2, inserts.size());
+    assertEquals("Art's History", inserts.get(0).getValues().get("name"));
+    assertEquals("It's", inserts.get(1).getValues().get("name"));
+    assertNull(inserts.get(1).getValues().get("updated_at"));
+  }
+
+  @Test
+  void rejectsValuesThatAreNotLiterals() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> InsertScript.parse("INSERT INTO category (id, name) "
+            + "VALUES (UUID_TO_BIN('0190a1b2-0000-7000-8000-000000000000'), 'Art');", COLUMNS));
+
+    assertEquals("Statement 1: expected ')' but found '('", exception.getMessage());
+  }
+
+}
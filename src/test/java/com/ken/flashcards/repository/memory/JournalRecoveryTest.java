@@ -0,0 +1,78 @@
+package com.ken.flashcards.repository.memory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ken.flashcards.config.LogStoreProperties;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.CollectionVersion;
+import com.ken.flashcards.repository.log.LogStoreJournal;
+
+public class JournalRecoveryTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void recoversCommittedWritesButNotRolledBackOnes() throws Exception {
+    LogStoreJournal journal = openJournal();
+    InMemoryDatabase database = openDatabase(journal);
+    assertTrue(database.needsSeeding());
+    TransactionTemplate transaction =
+        new TransactionTemplate(new InMemoryTransactionManager(database));
+
+    transaction.executeWithoutResult(status -> {
+      database.insertCategory(new Category("1", "Art History"));
+      database.insertStudySession(new StudySession("1", "1", "Renaissance"));
+      database.insertFlashcard(new Flashcard("1", "1", "Who sculpted \"David\"?", "Michelangelo"));
+    });
+    assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+      database.insertStudySession(new StudySession("2", "1", "Baroque"));
+      throw new IllegalStateException("rolled back");
+    }));
+    database.saveCategory(new Category("1", "Art"));
+    Optional<CollectionVersion> version = database.findFlashcardVersion("1");
+    journal.close();
+
+    journal = openJournal();
+    InMemoryDatabase recovered = openDatabase(journal);
+    assertFalse(recovered.needsSeeding());
+    assertEquals(List.of(new Category("1", "Art")), recovered.categories().stream().toList());
+    assertEquals(List.of("1"), recovered.studySessions().stream().map(StudySession::getId)
+        .toList());
+    assertEquals(version, recovered.findFlashcardVersion("1"));
+
+    recovered.deleteCategory("1");
+    journal.close();
+
+    journal = openJournal();
+    assertEquals(0, openDatabase(journal).flashcards().size());
+    journal.close();
+  }
+
+  private LogStoreJournal openJournal() throws IOException {
+    LogStoreProperties properties = new LogStoreProperties();
+    properties.setDirectory(directory);
+    return new LogStoreJournal(properties);
+  }
+
+  private static InMemoryDatabase openDatabase(LogStoreJournal journal) {
+    InMemoryDatabase database = new InMemoryDatabase(Clock.systemUTC(), Optional.of(journal));
+    database.recover();
+    return database;
+  }
+
+}
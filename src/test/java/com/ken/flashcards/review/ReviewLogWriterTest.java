@@ -0,0 +1,136 @@
+package com.ken.flashcards.review;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.ken.flashcards.config.ReviewLogProperties;
+import com.ken.flashcards.exception.ServiceUnavailableException;
+import com.ken.flashcards.model.ReviewLogEntry;
+import com.ken.flashcards.repository.ReviewLogRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReviewLogWriterTest {
+
+  private final List<List<ReviewLogEntry>> groups = new ArrayList<>();
+  private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+  private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+
+  private ReviewLogWriter writer;
+
+  @AfterEach
+  void stopWriter() throws InterruptedException {
+    releaseFirstWrite.countDown();
+    writer.stop();
+  }
+
+  @Test
+  void coalescesAppendsQueuedDuringAWriteIntoOneGroup() throws Exception {
+    writer = start(entries -> {
+      firstWriteStarted.countDown();
+      awaitRelease();
+    });
+
+    CompletableFuture<Void> first = writer.append(List.of(entry("a")));
+    assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+    List<CompletableFuture<Void>> queued = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      queued.add(writer.append(List.of(entry("b" + i), entry("c" + i))));
+    }
+    releaseFirstWrite.countDown();
+
+    first.get(5, TimeUnit.SECONDS);
+    for (CompletableFuture<Void> append : queued) {
+      append.get(5, TimeUnit.SECONDS);
+    }
+    synchronized (groups) {
+      assertEquals(2, groups.size());
+      assertEquals(20, groups.get(1).size());
+    }
+  }
+
+  @Test
+  void retriesAFailedGroupAppendByAppendSoOnlyTheBadOneFails() throws Exception {
+    writer = start(entries -> {
+      firstWriteStarted.countDown();
+      awaitRelease();
+      if (entries.stream().anyMatch(entry -> entry.getFlashcardId().equals("bad"))) {
+        throw new DataIntegrityViolationException("bad row");
+      }
+    });
+
+    CompletableFuture<Void> first = writer.append(List.of(entry("a")));
+    assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+    CompletableFuture<Void> good = writer.append(List.of(entry("good")));
+    CompletableFuture<Void> bad = writer.append(List.of(entry("bad")));
+    releaseFirstWrite.countDown();
+
+    first.get(5, TimeUnit.SECONDS);
+    good.get(5, TimeUnit.SECONDS);
+    ExecutionException exception =
+        assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+    assertTrue(exception.getCause() instanceof DataIntegrityViolationException);
+  }
+
+  @Test
+  void refusesAppendsOnceStopped() throws Exception {
+    writer = start(entries -> {});
+    CompletableFuture<Void> accepted = writer.append(List.of(entry("a")));
+
+    writer.stop();
+
+    accepted.get(5, TimeUnit.SECONDS);
+    assertThrows(ServiceUnavailableException.class, () -> writer.append(List.of(entry("b"))));
+    synchronized (groups) {
+      assertEquals(1, groups.size());
+    }
+  }
+
+  private ReviewLogWriter start(Consumer<List<ReviewLogEntry>> write) {
+    ReviewLogRepository repository = mock(ReviewLogRepository.class);
+    doAnswer(invocation -> {
+      List<ReviewLogEntry> entries = invocation.getArgument(0);
+      write.accept(entries);
+      synchronized (groups) {
+        groups.add(List.copyOf(entries));
+      }
+      return null;
+    }).when(repository).appendAll(anyList());
+    ReviewLogProperties properties = new ReviewLogProperties();
+    properties.setMaxDelay(Duration.ofMillis(20));
+    ReviewLogWriter started =
+        new ReviewLogWriter(repository, properties, new SimpleMeterRegistry());
+    started.start();
+    return started;
+  }
+
+  private void awaitRelease() {
+    try {
+      releaseFirstWrite.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static ReviewLogEntry entry(String flashcardId) {
+    return new ReviewLogEntry("learner", flashcardId, 4, Instant.EPOCH);
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.ken.flashcards.review;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.ken.flashcards.model.ReviewState;
+
+public class Sm2SchedulerTest {
+
+  private final Instant now = Instant.parse("2026-01-01T09:00:00Z");
+
+  @Test
+  void schedulesFirstSecondAndLaterRecallsAtOneSixThenEaseFactorDays() {
+    ReviewState first = review(null, 5);
+    ReviewState second = review(first, 5);
+    ReviewState third = review(second, 5);
+
+    assertEquals(1, first.getIntervalDays());
+    assertEquals(6, second.getIntervalDays());
+    assertEquals(Math.round(6 * second.getEaseFactor()), third.getIntervalDays());
+    assertEquals(3, third.getRepetitions());
+    assertEquals(now.plus(Duration.ofDays(third.getIntervalDays())), third.getDueAt());
+    assertEquals(now, third.getReviewedAt());
+  }
+
+  @Test
+  void adjustsEaseFactorByGrade() {
+    assertEquals(2.6, review(null, 5).getEaseFactor(), 1e-9);
+    assertEquals(2.5, review(null, 4).getEaseFactor(), 1e-9);
+    assertEquals(2.36, review(null, 3).getEaseFactor(), 1e-9);
+  }
+
+  @Test
+  void restartsAfterFailedRecallWithoutDroppingBelowMinimumEase() {
+    ReviewState learned = new ReviewState("learner", "card", 4, 30, 1.4, now, now);
+
+    ReviewState failed = review(learned, 0);
+
+    assertEquals(0, failed.getRepetitions());
+    assertEquals(1, failed.getIntervalDays());
+    assertEquals(Sm2Scheduler.MIN_EASE_FACTOR, failed.getEaseFactor(), 1e-9);
+  }
+
+  @Test
+  void capsIntervalUnderRepeatedPerfectRecalls() {
+    ReviewState state = null;
+    for (int i = 0; i < 50; i++) {
+      state = review(state, 5);
+      assertTrue(state.getIntervalDays() > 0);
+      assertTrue(state.getIntervalDays() <= Sm2Scheduler.MAX_INTERVAL_DAYS);
+    }
+
+    assertEquals(Sm2Scheduler.MAX_INTERVAL_DAYS, state.getIntervalDays());
+    assertEquals(now.plus(Duration.ofDays(Sm2Scheduler.MAX_INTERVAL_DAYS)), state.getDueAt());
+  }
+
+  private ReviewState review(ReviewState previous, int grade) {
+    return Sm2Scheduler.schedule(previous, "learner", "card", grade, now);
+  }
+
+}
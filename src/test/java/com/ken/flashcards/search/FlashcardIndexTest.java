@@ -0,0 +1,103 @@
+package com.ken.flashcards.search;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ken.flashcards.model.Flashcard;
+
+public class FlashcardIndexTest {
+
+  private FlashcardIndex index;
+
+  @BeforeEach
+  void init() {
+    index = new FlashcardIndex();
+    index.put(new Flashcard("1", "art", "Who painted \"The Last Supper\"?", "Leonardo da Vinci"));
+    index.put(new Flashcard("2", "art", "Who sculpted \"David\"?", "Michelangelo"));
+    index.put(new Flashcard("3", "physics", "What is entropy?",
+        "A measure of disorder; entropy never decreases in an isolated system"));
+    index.put(new Flashcard("4", "physics", "What is enthalpy?", "Heat content of a system"));
+  }
+
+  @Test
+  void splitsOnNonAlphanumericsAndLowerCases() {
+    assertEquals(List.of("who", "sculpted", "david"),
+        Tokenizer.tokenize("Who sculpted \"David\"?"));
+  }
+
+  @Test
+  void findsFlashcardsByQuestionOrAnswerTerm() {
+    assertEquals(List.of("2"), idsOf(index.search("DAVID", id -> true, 10)));
+    assertEquals(List.of("1"), idsOf(index.search("leonardo", id -> true, 10)));
+  }
+
+  @Test
+  void ranksHigherTermFrequencyAndRarerTermsFirst() {
+    assertEquals(List.of("3", "4"), idsOf(index.search("entropy system", id -> true, 10)));
+  }
+
+  @Test
+  void expandsTrailingStarToMatchingTerms() {
+    assertEquals(List.of("3", "4"), idsOf(index.search("ent*", id -> true, 10)));
+    assertTrue(index.search("ent", id -> true, 10).isEmpty());
+  }
+
+  @Test
+  void appliesStudySessionFilterAndLimit() {
+    // Both match "who" once; the shorter flashcard ranks first
+    assertEquals(List.of("2", "1"), idsOf(index.search("who", "art"::equals, 10)));
+    assertTrue(index.search("who", "physics"::equals, 10).isEmpty());
+    assertEquals(1, index.search("what", id -> true, 1).size());
+  }
+
+  @Test
+  void replacesAndRemovesFlashcards() {
+    index.put(new Flashcard("2", "art", "Who sculpted the Pieta?", "Michelangelo"));
+    assertTrue(index.search("david", id -> true, 10).isEmpty());
+    assertEquals(List.of("2"), idsOf(index.search("pieta", id -> true, 10)));
+
+    index.remove("2");
+    assertTrue(index.search("michelangelo", id -> true, 10).isEmpty());
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  void loadKeepsChangesIndexedWhileItRuns() {
+    index.startLoad();
+    index.put(new Flashcard("1", "art", "Who painted the Mona Lisa?", "Leonardo da Vinci"));
+    index.remove("2");
+
+    // Rows read by the rebuild before those changes committed
+    index.load(new Flashcard("1", "art", "Who painted \"The Last Supper\"?", "Leonardo da Vinci"));
+    index.load(new Flashcard("2", "art", "Who sculpted \"David\"?", "Michelangelo"));
+    index.load(new Flashcard("3", "physics", "What is entropy?", "Disorder"));
+    index.finishLoad();
+
+    assertEquals(List.of("1"), idsOf(index.search("mona", id -> true, 10)));
+    assertTrue(index.search("supper", id -> true, 10).isEmpty());
+    assertTrue(index.search("david", id -> true, 10).isEmpty());
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void scoresWithBm25() {
+    // One term, in one of four flashcards, once, in a flashcard of average length
+    FlashcardIndex single = new FlashcardIndex();
+    single.put(new Flashcard("a", "s", "alpha", "beta"));
+    single.put(new Flashcard("b", "s", "gamma", "delta"));
+    single.put(new Flashcard("c", "s", "gamma", "delta"));
+    single.put(new Flashcard("d", "s", "gamma", "delta"));
+
+    double expected = FlashcardIndex.idf(4, 1) * (FlashcardIndex.K1 + 1) / (1 + FlashcardIndex.K1);
+    assertEquals(expected, single.search("alpha", id -> true, 1).get(0).getScore(), 1e-9);
+  }
+
+  private static List<String> idsOf(List<SearchMatch> matches) {
+    return matches.stream().map(SearchMatch::getFlashcardId).toList();
+  }
+
+}
@@ -0,0 +1,105 @@
+package com.ken.flashcards.service;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static com.ken.flashcards.constants.CacheNames.CATEGORY_BY_ID;
+import com.ken.flashcards.config.CacheConfig;
+import com.ken.flashcards.config.ExistenceFilterProperties;
+import com.ken.flashcards.constants.CacheNames;
+import com.ken.flashcards.existence.ExistenceFilters;
+import com.ken.flashcards.mapper.CategoryMapper;
+import com.ken.flashcards.mapper.CursorMapper;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.service.impl.CategoryServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringJUnitConfig({CacheConfig.class, CategoryServiceImpl.class, ExistenceFilters.class,
+    ExistenceFilterProperties.class, SimpleMeterRegistry.class})
+public class CategoryServiceCachingTest {
+
+  @MockitoBean
+  private CategoryRepository categoryRepository;
+
+  @MockitoBean
+  private FlashcardRepository flashcardRepository;
+
+  @MockitoBean
+  private CategoryMapper categoryMapper;
+
+  @MockitoBean
+  private CursorMapper cursorMapper;
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  private final Category category = new Category("1", "Art History");
+
+  @BeforeEach
+  void clearCaches() {
+    CacheNames.ALL.forEach(name -> cacheManager.getCache(name).clear());
+  }
+
+  // findById()
+  // Serves repeated lookups from the cache and records the hit
+  @Test
+  void shouldServeRepeatedFindByIdFromCache() {
+    when(categoryRepository.findById("1")).thenReturn(Optional.of(category));
+
+    assertEquals(category, categoryService.findById("1"));
+    assertEquals(category, categoryService.findById("1"));
+
+    verify(categoryRepository, times(1)).findById("1");
+    assertEquals(1, caffeineCache(CATEGORY_BY_ID).getNativeCache().stats().hitCount());
+  }
+
+  // save()
+  // Evicts the saved category so the next lookup reads the new state
+  @Test
+  void shouldEvictCategoryOnSave() {
+    when(categoryRepository.findById("1")).thenReturn(Optional.of(category));
+
+    categoryService.findById("1");
+    categoryService.save(category);
+    categoryService.findById("1");
+
+    verify(categoryRepository, times(2)).findById("1");
+  }
+
+  // deleteById()
+  // Evicts the deleted category
+  @Test
+  void shouldEvictCategoryOnDelete() {
+    when(categoryRepository.findById("1")).thenReturn(Optional.of(category));
+    when(categoryRepository.existsById("1")).thenReturn(true);
+
+    categoryService.findById("1");
+    categoryService.deleteById("1");
+    categoryService.findById("1");
+
+    verify(categoryRepository, times(2)).findById("1");
+  }
+
+  private CaffeineCache caffeineCache(String name) {
+    var decorator = (TransactionAwareCacheDecorator) cacheManager.getCache(name);
+    return (CaffeineCache) decorator.getTargetCache();
+  }
+}
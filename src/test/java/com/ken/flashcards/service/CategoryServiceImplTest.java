@@ -1,10 +1,14 @@
 package com.ken.flashcards.service;
 
 import static java.lang.String.format;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,33 +16,68 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_NAME;
 import static com.ken.flashcards.constants.ExceptionMessages.CATEGORY_NAME_ALREADY_EXISTS;
 import static com.ken.flashcards.constants.ExceptionMessages.FIELD_MUST_NOT_BE_NULL_OR_EMPTY;
+import static com.ken.flashcards.constants.ExceptionMessages.UNKNOWN_FIELD;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
+import com.ken.flashcards.config.ExistenceFilterProperties;
 import com.ken.flashcards.dto.CategoryRequest;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupResult;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
 import com.ken.flashcards.exception.BadRequestException;
 import com.ken.flashcards.exception.ConflictException;
 import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.existence.ExistenceFilters;
 import com.ken.flashcards.mapper.CategoryMapper;
+import com.ken.flashcards.mapper.CursorMapper;
+import com.ken.flashcards.mapper.CursorMapperImpl;
 import com.ken.flashcards.model.Category;
 import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.FlashcardRepository;
 import com.ken.flashcards.service.impl.CategoryServiceImpl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 public class CategoryServiceImplTest {
 
   @Mock
   private CategoryRepository categoryRepository;
 
+  @Mock
+  private FlashcardRepository flashcardRepository;
+
   @Mock
   private CategoryMapper categoryMapper;
 
+  @Spy
+  private CursorMapper cursorMapper = new CursorMapperImpl();
+
+  @Mock
+  private ApplicationEventPublisher events;
+
+  private final ExistenceFilterProperties existenceFilterProperties =
+      new ExistenceFilterProperties();
+
+  @Spy
+  private ExistenceFilters existenceFilters =
+      new ExistenceFilters(existenceFilterProperties, new SimpleMeterRegistry());
+
   @InjectMocks
   private CategoryServiceImpl categoryService;
 
@@ -53,6 +92,7 @@ public class CategoryServiceImplTest {
 
   @BeforeEach
   void init() {
+    existenceFilterProperties.setEnabled(true);
     this.request = new CategoryRequest("Art History");
     this.category = new Category("1", "Art History");
     this.categories = List.of(category);
@@ -76,6 +116,67 @@ public class CategoryServiceImplTest {
     verify(categoryRepository, times(1)).findAllByOrderByNameAsc();
   }
 
+  // findAll() with fields
+  // Selects only the id and the requested columns, ordered by name
+  @Test
+  void findAllReadsThroughProjectionOfRequestedFields() {
+    Category sparse = new Category("1", null);
+    when(categoryRepository.findAllProjected(
+        argThat(projection -> projection.select("c").equals("SELECT c.id FROM Category c")),
+        eq("name"))).thenReturn(List.of(sparse));
+
+    assertEquals(List.of(sparse), categoryService.findAll("id"));
+  }
+
+  // findAll() with fields
+  // Rejects a field the category does not have without querying
+  @Test
+  void findAllThrowsExceptionWhenFieldIsUnknown() {
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> categoryService.findAll("name, color"));
+
+    assertEquals(format(UNKNOWN_FIELD, "color", "id, name"), ex.getMessage());
+    verify(categoryRepository, never()).findAllProjected(any(), any());
+  }
+
+  // findPage() with fields
+  // Keys the next cursor by name but returns only the requested fields
+  @Test
+  void findPageProjectsRowsAfterTakingCursor() {
+    Category next = new Category("2", "Biology");
+    when(categoryRepository.findByNameGreaterThanOrderByNameAsc("", Limit.of(2)))
+        .thenReturn(List.of(category, next));
+
+    CursorPage<Category> page = categoryService.findPage(null, 1, "id");
+
+    assertEquals(List.of(new Category("1", null)), page.getItems());
+    assertEquals("Art History", cursorMapper.keyFrom(page.getNext()));
+  }
+
+  // findPage() with fields
+  // Rejects a field the category does not have without querying
+  @Test
+  void findPageThrowsExceptionWhenFieldIsUnknown() {
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> categoryService.findPage(null, 10, "color"));
+
+    assertEquals(format(UNKNOWN_FIELD, "color", "id, name"), ex.getMessage());
+    verify(categoryRepository, never()).findByNameGreaterThanOrderByNameAsc(any(), any());
+  }
+
+  // findPage() with fields
+  // Returns every requested field and no cursor on the last page
+  @Test
+  void findPageKeepsNameWhenRequested() {
+    when(categoryRepository.findByNameGreaterThanOrderByNameAsc("", Limit.of(11)))
+        .thenReturn(categories);
+
+    CursorPage<Category> page = categoryService.findPage(null, 10, "name");
+
+    assertEquals(categories, page.getItems());
+    assertNull(page.getNext());
+  }
+
   // findById()
   // Verifies that a category is retrieved by its ID
   @Test
@@ -215,13 +316,15 @@ public class CategoryServiceImplTest {
   }
 
   // deleteById()
-  // Verifies that a category is deleted when ID exists
+  // Verifies that a category is deleted and the flashcards it cascades to are announced
   @Test
   void deletesCategoryWhenIdExists() {
     when(categoryRepository.existsById("1")).thenReturn(true);
+    when(flashcardRepository.findIdsByCategoryId("1")).thenReturn(List.of("10", "11"));
 
     categoryService.deleteById("1");
     verify(categoryRepository, times(1)).deleteById("1");
+    verify(events, times(1)).publishEvent(FlashcardsChangedEvent.deleted(List.of("10", "11")));
   }
 
   // deleteById()
@@ -246,6 +349,30 @@ public class CategoryServiceImplTest {
     verify(categoryRepository, times(1)).save(category);
   }
 
+  // upsert()
+  // Verifies that a new category is reported when the upsert inserts a row
+  @Test
+  void upsertReportsCreatedCategory() {
+    when(categoryRepository.existsByName(category.getName())).thenReturn(false);
+    when(categoryRepository.upsert(category)).thenReturn(1);
+
+    assertTrue(categoryService.upsert(category));
+    verify(categoryRepository, times(1)).upsert(category);
+  }
+
+  // upsert()
+  // Verifies that ConflictException is thrown before the upsert when the name is taken
+  @Test
+  void upsertWithDuplicateNameThrowsConflictException() {
+    when(categoryRepository.existsByName(category.getName())).thenReturn(true);
+
+    ConflictException ex =
+        assertThrows(ConflictException.class, () -> categoryService.upsert(category));
+
+    assertEquals(format(CATEGORY_NAME_ALREADY_EXISTS, category.getName()), ex.getMessage());
+    verify(categoryRepository, never()).upsert(category);
+  }
+
   // existsById()
   // Verifies that true is returned when category exists by ID
   @Test
@@ -256,6 +383,38 @@ public class CategoryServiceImplTest {
     verify(categoryRepository, times(1)).existsById("1");
   }
 
+  // existsById()
+  // Answers an id missing from the built existence filter without querying
+  @Test
+  void returnsFalseWithoutQueryWhenExistenceFilterRulesIdOut() {
+    existenceFilters.categories().rebuild(1, () -> Stream.of("1"));
+
+    assertFalse(categoryService.existsById("unknown"));
+    verify(categoryRepository, never()).existsById("unknown");
+  }
+
+  // findById()
+  // Throws NotFoundException for an id missing from the built existence filter without querying
+  @Test
+  void findByIdSkipsQueryWhenExistenceFilterRulesIdOut() {
+    existenceFilters.categories().rebuild(1, () -> Stream.of("1"));
+
+    assertThrows(NotFoundException.class, () -> categoryService.findById("unknown"));
+    verify(categoryRepository, never()).findById("unknown");
+  }
+
+  // createCategory()
+  // Adds the new category's id to the existence filter
+  @Test
+  void createCategoryAddsIdToExistenceFilter() {
+    existenceFilters.categories().rebuild(0, Stream::empty);
+    when(categoryMapper.categoryFrom(request)).thenReturn(category);
+
+    categoryService.createCategory(request);
+
+    assertTrue(existenceFilters.categories().mightContain(category.getId()));
+  }
+
   // assertExistsById()
   // Verifies that NotFoundException is thrown when category ID does not exist
   @Test
@@ -294,4 +453,69 @@ public class CategoryServiceImplTest {
     verify(categoryRepository, times(1)).findByName("History");
   }
 
+
+  // lookup()
+  // Sends exactly one chunk of ids in one query and reports the rest as missing in request order
+  @Test
+  void lookupQueriesFullChunkOnce() {
+    List<String> ids = ids(1_000);
+    when(categoryRepository.findAllByIdIn(ids)).thenReturn(List.of(category));
+
+    LookupResult<Category> result = categoryService.lookup(ids);
+
+    assertEquals(List.of(category), result.getFound());
+    assertEquals(ids.subList(1, 1_000), result.getMissing());
+    verify(categoryRepository, times(1)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Starts a second query at the id after the chunk boundary and keeps found rows in request order
+  @Test
+  void lookupSplitsIdsAtChunkBoundary() {
+    List<String> ids = ids(1_001);
+    Category last = new Category("1001", "Zoology");
+    when(categoryRepository.findAllByIdIn(ids.subList(0, 1_000))).thenReturn(List.of(category));
+    when(categoryRepository.findAllByIdIn(ids.subList(1_000, 1_001))).thenReturn(List.of(last));
+
+    LookupResult<Category> result = categoryService.lookup(ids);
+
+    assertEquals(List.of(category, last), result.getFound());
+    assertEquals(ids.subList(1, 1_000), result.getMissing());
+    verify(categoryRepository, times(2)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Accepts the largest lookup and reports every id once, however often it was requested
+  @Test
+  void lookupAcceptsMaxSizeAndReportsDuplicatesOnce() {
+    List<String> ids = new ArrayList<>(ids(4_999));
+    ids.add("1");
+    when(categoryRepository.findAllByIdIn(any())).thenReturn(List.of());
+
+    LookupResult<Category> result = categoryService.lookup(ids);
+
+    assertEquals(List.of(), result.getFound());
+    assertEquals(ids.subList(0, 4_999), result.getMissing());
+    verify(categoryRepository, times(5)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Rejects more ids than a lookup takes before touching the database
+  @Test
+  void lookupThrowsExceptionWhenTooManyIds() {
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> categoryService.lookup(ids(5_001)));
+
+    assertEquals(format(VALUE_OUT_OF_RANGE, "Lookup size", 1, 5_000), ex.getMessage());
+    verify(categoryRepository, never()).findAllByIdIn(any());
+  }
+
+  private static List<String> ids(int count) {
+    List<String> ids = new ArrayList<>(count);
+    for (int i = 1; i <= count; i++) {
+      ids.add(String.valueOf(i));
+    }
+    return ids;
+  }
+
 }
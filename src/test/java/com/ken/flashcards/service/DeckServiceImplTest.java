@@ -0,0 +1,92 @@
+package com.ken.flashcards.service;
+
+import static java.lang.String.format;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
+import com.ken.flashcards.dto.Deck;
+import com.ken.flashcards.dto.DeckStudySession;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.DeckRow;
+import com.ken.flashcards.service.impl.DeckServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class DeckServiceImplTest {
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @InjectMocks
+  private DeckServiceImpl deckService;
+
+  private final String categoryId = "category-music";
+  private final String categoryName = "Music";
+
+  // findDeck()
+  // Groups joined rows into sessions and flashcards, keeping the query's order
+  @Test
+  void shouldBuildDeckFromJoinedRows() {
+    when(categoryRepository.findDeckRows(categoryId)).thenReturn(List.of(
+        new DeckRow(categoryId, categoryName, "session-1", "Chords", "card-1", "Q1", "A1"),
+        new DeckRow(categoryId, categoryName, "session-1", "Chords", "card-2", "Q2", "A2"),
+        new DeckRow(categoryId, categoryName, "session-2", "Scales", "card-3", "Q3", "A3")));
+
+    Deck deck = deckService.findDeck(categoryId);
+
+    assertEquals(categoryId, deck.getId());
+    assertEquals(categoryName, deck.getName());
+    assertEquals(List.of(
+        new DeckStudySession("session-1", "Chords",
+            List.of(new Flashcard("card-1", "session-1", "Q1", "A1"),
+                new Flashcard("card-2", "session-1", "Q2", "A2"))),
+        new DeckStudySession("session-2", "Scales",
+            List.of(new Flashcard("card-3", "session-2", "Q3", "A3")))),
+        deck.getStudySessions());
+  }
+
+  // findDeck()
+  // Keeps sessions without flashcards and categories without sessions
+  @Test
+  void shouldKeepEmptySessionsAndCategories() {
+    when(categoryRepository.findDeckRows(categoryId)).thenReturn(List.of(
+        new DeckRow(categoryId, categoryName, "session-1", "Chords", null, null, null)));
+    when(categoryRepository.findDeckRows("category-empty")).thenReturn(List.of(
+        new DeckRow("category-empty", "Empty", null, null, null, null, null)));
+
+    assertEquals(List.of(new DeckStudySession("session-1", "Chords", List.of())),
+        deckService.findDeck(categoryId).getStudySessions());
+    assertTrue(deckService.findDeck("category-empty").getStudySessions().isEmpty());
+  }
+
+  // findDeck()
+  // Throws NotFoundException when the join returns no rows
+  @Test
+  void shouldThrowNotFoundWhenCategoryDoesNotExist() {
+    when(categoryRepository.findDeckRows("missing")).thenReturn(List.of());
+
+    NotFoundException exception =
+        assertThrows(NotFoundException.class, () -> deckService.findDeck("missing"));
+    assertEquals(format(CANNOT_FIND_CATEGORY_BY_ID, "missing"), exception.getMessage());
+  }
+
+  // findDeck()
+  // Rejects a blank id without querying
+  @Test
+  void shouldRejectBlankCategoryId() {
+    assertThrows(BadRequestException.class, () -> deckService.findDeck(" "));
+  }
+
+}
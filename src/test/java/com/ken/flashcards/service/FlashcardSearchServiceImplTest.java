@@ -0,0 +1,111 @@
+package com.ken.flashcards.service;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ken.flashcards.constants.ExceptionMessages.SEARCH_FILTERS_EXCLUSIVE;
+import com.ken.flashcards.dto.FlashcardSearchHit;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.search.FlashcardIndex;
+import com.ken.flashcards.service.impl.FlashcardSearchServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class FlashcardSearchServiceImplTest {
+
+  @Spy
+  private FlashcardIndex index = new FlashcardIndex();
+
+  @Mock
+  private FlashcardRepository repository;
+
+  @Mock
+  private StudySessionService studySessionService;
+
+  @InjectMocks
+  private FlashcardSearchServiceImpl searchService;
+
+  private final Flashcard chords = new Flashcard("1", "session-1", "What is a chord?", "Notes");
+  private final Flashcard scales = new Flashcard("2", "session-2", "What is a scale?", "Notes");
+
+  @BeforeEach
+  void init() {
+    index.put(chords);
+    index.put(scales);
+  }
+
+  // search()
+  // Loads the ranked flashcards by id and returns them in rank order
+  @Test
+  void shouldReturnHitsInRankOrder() {
+    when(repository.findAllById(List.of("1"))).thenReturn(List.of(chords));
+
+    List<FlashcardSearchHit> hits = searchService.search("chord", null, null, 10);
+
+    assertEquals(1, hits.size());
+    assertEquals(chords, hits.get(0).getFlashcard());
+    assertTrue(hits.get(0).getScore() > 0);
+  }
+
+  // search()
+  // Restricts matches to the study sessions of the given category
+  @Test
+  void shouldFilterByCategory() {
+    when(studySessionService.findAllByCategoryId("category-1"))
+        .thenReturn(Set.of(new StudySession("session-2", "category-1", "Scales")));
+    when(repository.findAllById(List.of("2"))).thenReturn(List.of(scales));
+
+    List<FlashcardSearchHit> hits = searchService.search("notes", null, "category-1", 10);
+
+    assertEquals(List.of(scales), hits.stream().map(FlashcardSearchHit::getFlashcard).toList());
+  }
+
+  // search()
+  // Drops matches whose row no longer exists from the results and the index
+  @Test
+  void shouldDropMatchesWhoseRowIsGone() {
+    when(repository.findAllById(List.of("1"))).thenReturn(List.of());
+
+    assertTrue(searchService.search("chord", null, null, 10).isEmpty());
+    assertTrue(index.search("chord", id -> true, 10).isEmpty());
+    assertEquals(1, index.size());
+  }
+
+  // search()
+  // Rejects a blank query, an out-of-range limit and both filters at once
+  @Test
+  void shouldRejectInvalidRequests() {
+    assertThrows(BadRequestException.class, () -> searchService.search(" ", null, null, 10));
+    assertThrows(BadRequestException.class, () -> searchService.search("chord", null, null, 0));
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> searchService.search("chord", "session-1", "category-1", 10));
+    assertEquals(SEARCH_FILTERS_EXCLUSIVE, ex.getMessage());
+  }
+
+  // search()
+  // Propagates NotFoundException for an unknown study session filter
+  @Test
+  void shouldThrowNotFoundForUnknownStudySession() {
+    doThrow(new NotFoundException("missing")).when(studySessionService)
+        .assertExistsById("missing");
+
+    assertThrows(NotFoundException.class, () -> searchService.search("chord", "missing", null, 10));
+  }
+
+}
@@ -1,11 +1,17 @@
 package com.ken.flashcards.service;
 
 import static java.lang.String.format;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,22 +19,48 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_ID;
+import static com.ken.flashcards.constants.ExceptionMessages.EXPORT_FILTERS_EXCLUSIVE;
+import static com.ken.flashcards.constants.ExceptionMessages.UNKNOWN_FIELD;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
+import static com.ken.flashcards.constants.ValidationMessages.QUESTION_REQUIRED;
+import com.ken.flashcards.config.ExistenceFilterProperties;
+import com.ken.flashcards.config.WriteProperties;
+import static com.ken.flashcards.config.WriteProperties.ParentCheck.CONSTRAINT;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.FlashcardBatchResult;
 import com.ken.flashcards.dto.FlashcardRequest;
+import com.ken.flashcards.dto.LookupResult;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+import com.ken.flashcards.exception.BadRequestException;
 import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.existence.ExistenceFilters;
+import com.ken.flashcards.mapper.CursorMapper;
+import com.ken.flashcards.mapper.CursorMapperImpl;
 import com.ken.flashcards.mapper.FlashcardMapper;
 import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.CollectionVersion;
 import com.ken.flashcards.repository.FlashcardRepository;
 import com.ken.flashcards.service.impl.FlashcardServiceImpl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 public class FlashcardServiceImplTest {
 
@@ -38,9 +70,28 @@ public class FlashcardServiceImplTest {
   @Mock
   private StudySessionService studySessionService;
 
+  @Mock
+  private CategoryService categoryService;
+
   @Mock
   private FlashcardMapper mapper;
 
+  @Spy
+  private CursorMapper cursorMapper = new CursorMapperImpl();
+
+  @Spy
+  private WriteProperties writeProperties = new WriteProperties();
+
+  @Mock
+  private ApplicationEventPublisher events;
+
+  private final ExistenceFilterProperties existenceFilterProperties =
+      new ExistenceFilterProperties();
+
+  @Spy
+  private ExistenceFilters existenceFilters =
+      new ExistenceFilters(existenceFilterProperties, new SimpleMeterRegistry());
+
   @InjectMocks
   private FlashcardServiceImpl flashcardService;
 
@@ -55,6 +106,7 @@ public class FlashcardServiceImplTest {
 
   @BeforeEach
   void init() {
+    existenceFilterProperties.setEnabled(true);
     this.flashcard = new Flashcard(expectedFlashcardId, expectedStudySessionId, expectedQuestion,
         expectedAnswer);
     this.flashcards = List.of(flashcard);
@@ -70,6 +122,72 @@ public class FlashcardServiceImplTest {
     verify(flashcardRepository, times(1)).findAll();
   }
 
+  // findPage()
+  // Fetches one extra row to decide whether a next cursor is returned
+  @Test
+  void shouldReturnPageWithNextCursorWhenMoreRowsExist() {
+    Flashcard next = new Flashcard("flashcard-002", expectedStudySessionId, "Q", "A");
+    when(flashcardRepository.findByIdGreaterThanOrderByIdAsc("", Limit.of(2)))
+        .thenReturn(List.of(flashcard, next));
+
+    CursorPage<Flashcard> page = flashcardService.findPage(null, 1);
+
+    assertEquals(flashcards, page.getItems());
+    assertEquals(expectedFlashcardId, cursorMapper.keyFrom(page.getNext()));
+  }
+
+  // findPage()
+  // Resumes after the key encoded in the cursor and ends when no extra row is found
+  @Test
+  void shouldReturnLastPageWithoutNextCursor() {
+    String after = cursorMapper.cursorFrom("flashcard-000");
+    when(flashcardRepository.findByIdGreaterThanOrderByIdAsc("flashcard-000", Limit.of(11)))
+        .thenReturn(flashcards);
+
+    CursorPage<Flashcard> page = flashcardService.findPage(after, 10);
+
+    assertEquals(flashcards, page.getItems());
+    assertNull(page.getNext());
+  }
+
+  // findPage()
+  // Rejects limits outside the supported page size range
+  @Test
+  void shouldThrowExceptionWhenPageLimitIsOutOfRange() {
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> flashcardService.findPage(null, 0));
+
+    assertEquals(format(VALUE_OUT_OF_RANGE, "Limit", 1, 1000), ex.getMessage());
+  }
+
+  // findPage() with fields
+  // Selects only the id and the requested columns
+  @Test
+  void shouldReadPageThroughProjectionOfRequestedFields() {
+    Flashcard sparse = new Flashcard(expectedFlashcardId, null, "Q", null);
+    when(flashcardRepository.findPageProjected(
+        argThat(projection -> projection.select("f").equals(
+            "SELECT f.id, f.question FROM Flashcard f")),
+        eq("id"), eq(""), eq(Limit.of(11)))).thenReturn(List.of(sparse));
+
+    CursorPage<Flashcard> page = flashcardService.findPage(null, 10, "question");
+
+    assertEquals(List.of(sparse), page.getItems());
+    assertNull(page.getNext());
+  }
+
+  // findAll() with fields
+  // Rejects a field the flashcard does not have without querying
+  @Test
+  void shouldThrowExceptionWhenFieldIsUnknown() {
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> flashcardService.findAll("id, color"));
+
+    assertEquals(format(UNKNOWN_FIELD, "color", "id, studySessionId, question, answer"),
+        ex.getMessage());
+    verify(flashcardRepository, never()).findAllProjected(any(), any());
+  }
+
   // findById()
   // Ensures a valid flashcard ID returns the correct flashcard
   @Test
@@ -105,6 +223,66 @@ public class FlashcardServiceImplTest {
     verify(flashcardRepository, times(1)).findAllByStudySessionId(expectedStudySessionId);
   }
 
+  // findVersionByStudySessionId()
+  // Builds the ETag from the count and newest update time of the session's flashcards
+  @Test
+  void shouldReturnVersionOfStudySessionFlashcards() {
+    when(flashcardRepository.findVersionByStudySessionId(expectedStudySessionId))
+        .thenReturn(Optional.of(new CollectionVersion(3, 1760000000000000L)));
+
+    assertEquals("3-1760000000000000",
+        flashcardService.findVersionByStudySessionId(expectedStudySessionId));
+  }
+
+  // findVersionByStudySessionId()
+  // Throws NotFoundException when the study session does not exist
+  @Test
+  void shouldThrowNotFoundForVersionOfMissingStudySession() {
+    when(flashcardRepository.findVersionByStudySessionId("missing")).thenReturn(Optional.empty());
+
+    NotFoundException exception = assertThrows(NotFoundException.class,
+        () -> flashcardService.findVersionByStudySessionId("missing"));
+    assertEquals(format(CANNOT_FIND_STUDY_SESSION_BY_ID, "missing"), exception.getMessage());
+  }
+
+  // exportFlashcards()
+  // Streams the flashcards of a study session to the consumer in order
+  @Test
+  void shouldExportFlashcardsOfStudySession() {
+    when(flashcardRepository.streamAllByStudySessionId(expectedStudySessionId))
+        .thenReturn(Stream.of(flashcard));
+    List<Flashcard> exported = new ArrayList<>();
+
+    flashcardService.exportFlashcards(expectedStudySessionId, null, exported::add);
+
+    assertEquals(flashcards, exported);
+    verify(flashcardRepository, times(1)).streamAllByStudySessionId(expectedStudySessionId);
+  }
+
+  // exportFlashcards()
+  // Streams every flashcard when no filter is given
+  @Test
+  void shouldExportAllFlashcardsWithoutFilters() {
+    when(flashcardRepository.streamAll()).thenReturn(Stream.of(flashcard));
+    List<Flashcard> exported = new ArrayList<>();
+
+    flashcardService.exportFlashcards(null, null, exported::add);
+
+    assertEquals(flashcards, exported);
+  }
+
+  // assertExportFiltersExist()
+  // Checks the category filter and rejects combining both filters
+  @Test
+  void shouldValidateExportFilters() {
+    flashcardService.assertExportFiltersExist(null, "category-001");
+    verify(categoryService, times(1)).assertExistsById("category-001");
+
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> flashcardService.assertExportFiltersExist(expectedStudySessionId, "category-001"));
+    assertEquals(EXPORT_FILTERS_EXCLUSIVE, ex.getMessage());
+  }
+
   // createFlashcard()
   // Verifies that a flashcard is created when the study session exists
   @Test
@@ -122,6 +300,7 @@ public class FlashcardServiceImplTest {
     verify(mapper, times(1)).flashcardFrom(request);
     verify(studySessionService, times(1)).assertExistsById(expectedStudySessionId);
     verify(flashcardRepository, times(1)).save(newFlashcard);
+    verify(events, times(1)).publishEvent(FlashcardsChangedEvent.saved(newFlashcard));
   }
 
   // createFlashcard()
@@ -142,6 +321,158 @@ public class FlashcardServiceImplTest {
     verify(studySessionService, times(1)).assertExistsById(invalidStudySessionId);
   }
 
+  // createFlashcards()
+  // Checks study sessions once, persists valid items and reports failures by index
+  @Test
+  void shouldCreateValidFlashcardsAndReportFailuresInBatch() {
+    String missingStudySessionId = "session-999";
+    FlashcardRequest valid =
+        new FlashcardRequest(expectedStudySessionId, expectedQuestion, expectedAnswer);
+    FlashcardRequest blankQuestion =
+        new FlashcardRequest(expectedStudySessionId, " ", expectedAnswer);
+    FlashcardRequest missingSession =
+        new FlashcardRequest(missingStudySessionId, expectedQuestion, expectedAnswer);
+
+    when(studySessionService.findExistingIds(Set.of(expectedStudySessionId, missingStudySessionId)))
+        .thenReturn(Set.of(expectedStudySessionId));
+    when(mapper.flashcardFrom(valid)).thenReturn(flashcard);
+
+    List<FlashcardBatchResult> results =
+        flashcardService.createFlashcards(List.of(valid, blankQuestion, missingSession));
+
+    assertEquals(List.of(FlashcardBatchResult.created(0, flashcard),
+        new FlashcardBatchResult(1, 400, null, QUESTION_REQUIRED),
+        new FlashcardBatchResult(2, 404, null,
+            format(CANNOT_FIND_STUDY_SESSION_BY_ID, missingStudySessionId))),
+        results);
+    verify(flashcardRepository, times(1)).persistAll(flashcards);
+  }
+
+  // createFlashcards()
+  // Rejects an empty batch before touching the database
+  @Test
+  void shouldThrowExceptionWhenBatchIsEmpty() {
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> flashcardService.createFlashcards(List.of()));
+
+    assertEquals(format(VALUE_OUT_OF_RANGE, "Batch size", 1, 10_000), ex.getMessage());
+  }
+
+  // lookup()
+  // Queries the distinct ids in chunks and reports the ones not found in request order
+  @Test
+  void shouldLookUpFlashcardsInChunksAndReportMissingIds() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 2500; i++) {
+      ids.add("flashcard-" + i);
+    }
+    ids.add(0, expectedFlashcardId);
+    ids.add(expectedFlashcardId);
+    List<String> distinct = ids.subList(0, ids.size() - 1);
+    when(flashcardRepository.findAllByIdIn(distinct.subList(0, 1000)))
+        .thenReturn(List.of(flashcard));
+    when(flashcardRepository.findAllByIdIn(distinct.subList(1000, 2000))).thenReturn(List.of());
+    // the last chunk of 501 ids is padded to 512 with copies of its last id
+    List<String> last = new ArrayList<>(distinct.subList(2000, 2501));
+    last.addAll(Collections.nCopies(11, distinct.get(2500)));
+    when(flashcardRepository.findAllByIdIn(last)).thenReturn(List.of());
+
+    LookupResult<Flashcard> result = flashcardService.lookup(ids);
+
+    assertEquals(List.of(flashcard), result.getFound());
+    assertEquals(distinct.subList(1, 2501), result.getMissing());
+    verify(flashcardRepository, times(3)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Rejects a lookup without ids before touching the database
+  @Test
+  void shouldThrowExceptionWhenLookupIsEmpty() {
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> flashcardService.lookup(List.of()));
+
+    assertEquals(format(VALUE_OUT_OF_RANGE, "Lookup size", 1, 5_000), ex.getMessage());
+    verify(flashcardRepository, never()).findAllByIdIn(any());
+  }
+
+  // createFlashcard()
+  // In constraint mode, inserts without a study session lookup
+  @Test
+  void shouldInsertFlashcardWithoutLookupWhenParentCheckIsConstraint() {
+    writeProperties.setParentCheck(CONSTRAINT);
+    FlashcardRequest request =
+        new FlashcardRequest(expectedStudySessionId, expectedQuestion, expectedAnswer);
+
+    when(mapper.flashcardFrom(request)).thenReturn(flashcard);
+    when(flashcardRepository.persist(flashcard)).thenReturn(flashcard);
+
+    assertEquals(flashcard, flashcardService.createFlashcard(request));
+    verify(studySessionService, never()).assertExistsById(any());
+    verify(flashcardRepository, never()).save(any());
+  }
+
+  // createFlashcard()
+  // In constraint mode, maps a foreign key violation to the study session not-found error
+  @Test
+  void shouldThrowNotFoundOnForeignKeyViolationWhenParentCheckIsConstraint() {
+    writeProperties.setParentCheck(CONSTRAINT);
+    FlashcardRequest request =
+        new FlashcardRequest(expectedStudySessionId, expectedQuestion, expectedAnswer);
+
+    when(mapper.flashcardFrom(request)).thenReturn(flashcard);
+    when(flashcardRepository.persist(flashcard)).thenThrow(new DataIntegrityViolationException(
+        "could not execute statement", new SQLIntegrityConstraintViolationException(
+            "a foreign key constraint fails (FOREIGN KEY (`study_session_id`))")));
+
+    NotFoundException ex =
+        assertThrows(NotFoundException.class, () -> flashcardService.createFlashcard(request));
+    assertEquals(format(CANNOT_FIND_STUDY_SESSION_BY_ID, expectedStudySessionId), ex.getMessage());
+  }
+
+  // upsert()
+  // Reports a new row when the upsert inserts the flashcard
+  @Test
+  void shouldReportCreatedWhenUpsertInsertsFlashcard() {
+    when(flashcardRepository.upsert(flashcard)).thenReturn(1);
+
+    assertTrue(flashcardService.upsert(flashcard));
+    verify(flashcardRepository, never()).existsById(expectedFlashcardId);
+  }
+
+  // upsert()
+  // Reports an update when the upsert leaves an existing row unchanged
+  @Test
+  void shouldReportUpdateWhenUpsertChangesNothing() {
+    when(flashcardRepository.upsert(flashcard)).thenReturn(0);
+
+    assertFalse(flashcardService.upsert(flashcard));
+  }
+
+  // upsert()
+  // Maps a foreign key violation to the study session not-found error
+  @Test
+  void shouldThrowNotFoundWhenUpsertViolatesStudySessionForeignKey() {
+    when(flashcardRepository.upsert(flashcard)).thenThrow(new DataIntegrityViolationException(
+        "could not execute statement", new SQLIntegrityConstraintViolationException(
+            "a foreign key constraint fails (FOREIGN KEY (`study_session_id`))")));
+
+    NotFoundException ex =
+        assertThrows(NotFoundException.class, () -> flashcardService.upsert(flashcard));
+    assertEquals(format(CANNOT_FIND_STUDY_SESSION_BY_ID, expectedStudySessionId), ex.getMessage());
+  }
+
+  // findById()
+  // Throws NotFoundException without a query when the existence filter rules the ID out
+  @Test
+  void shouldNotQueryIdsTheExistenceFilterRulesOut() {
+    existenceFilters.flashcards().rebuild(0, Stream::empty);
+
+    assertThrows(NotFoundException.class, () -> flashcardService.findById(expectedFlashcardId));
+    assertFalse(flashcardService.existsById(expectedFlashcardId));
+    verify(flashcardRepository, never()).findById(expectedFlashcardId);
+    verify(flashcardRepository, never()).existsById(expectedFlashcardId);
+  }
+
   // existsById()
   // Returns true when flashcard with given ID exists
   @Test
@@ -160,6 +491,17 @@ public class FlashcardServiceImplTest {
 
     assertEquals(flashcard, flashcardService.save(flashcard));
     verify(flashcardRepository, times(1)).save(flashcard);
+    verify(events, times(1)).publishEvent(FlashcardsChangedEvent.saved(flashcard));
+  }
+
+  // deleteById()
+  // Deletes the flashcard and announces it so the search index drops it
+  @Test
+  void shouldPublishDeletionWhenDeletingFlashcard() {
+    flashcardService.deleteById(expectedFlashcardId);
+
+    verify(flashcardRepository, times(1)).deleteById(expectedFlashcardId);
+    verify(events, times(1)).publishEvent(FlashcardsChangedEvent.deleted(expectedFlashcardId));
   }
 
 }
@@ -0,0 +1,80 @@
+package com.ken.flashcards.service;
+
+import static java.lang.String.format;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ken.flashcards.constants.ExceptionMessages.NOT_A_UUID;
+import com.ken.flashcards.config.KeyProperties;
+import com.ken.flashcards.config.ReviewLogProperties;
+import com.ken.flashcards.dto.ReviewEvent;
+import com.ken.flashcards.dto.ReviewLogRequest;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.review.ReviewLogWriter;
+import com.ken.flashcards.service.impl.ReviewLogServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class ReviewLogServiceImplTest {
+
+  private static final String UUID = "018f3a00-0000-7000-8000-000000000101";
+
+  @Mock
+  private ReviewLogWriter writer;
+
+  @Spy
+  private ReviewLogProperties properties = new ReviewLogProperties();
+
+  @Spy
+  private KeyProperties keys = new KeyProperties();
+
+  @InjectMocks
+  private ReviewLogServiceImpl reviewLogService;
+
+  @BeforeEach
+  void storeBinaryKeys() {
+    keys.setStorage(KeyProperties.Storage.BINARY);
+  }
+
+  // record()
+  // With binary keys, appends reviews whose flashcard ids are UUIDs
+  @Test
+  void shouldAppendUuidFlashcardIdsWithBinaryKeys() {
+    when(writer.append(anyList())).thenReturn(CompletableFuture.completedFuture(null));
+
+    reviewLogService.record(request(UUID));
+
+    verify(writer).append(anyList());
+  }
+
+  // record()
+  // With binary keys, rejects a flashcard id UUID_TO_BIN cannot convert before it is queued
+  @Test
+  void shouldRejectNonUuidFlashcardIdWithBinaryKeys() {
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> reviewLogService.record(request(UUID, "flashcard-001")));
+
+    assertEquals(format(NOT_A_UUID, "Flashcard ID", "flashcard-001"), ex.getMessage());
+    verify(writer, never()).append(anyList());
+  }
+
+  private static ReviewLogRequest request(String... flashcardIds) {
+    return new ReviewLogRequest("learner-001", List.of(flashcardIds).stream()
+        .map(id -> new ReviewEvent(id, 4, Instant.EPOCH)).toList());
+  }
+
+}
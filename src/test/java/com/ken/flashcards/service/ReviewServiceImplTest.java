@@ -0,0 +1,119 @@
+package com.ken.flashcards.service;
+
+import static java.lang.String.format;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_FLASHCARD_BY_ID;
+import com.ken.flashcards.config.WriteProperties;
+import com.ken.flashcards.dto.DueFlashcard;
+import com.ken.flashcards.dto.ReviewRequest;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.model.ReviewState;
+import com.ken.flashcards.model.ReviewStateId;
+import com.ken.flashcards.repository.ReviewStateRepository;
+import com.ken.flashcards.service.impl.ReviewServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class ReviewServiceImplTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T09:00:00Z");
+
+  @Mock
+  private ReviewStateRepository repository;
+
+  @Mock
+  private FlashcardService flashcardService;
+
+  @Spy
+  private WriteProperties writeProperties = new WriteProperties();
+
+  @Spy
+  private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  @InjectMocks
+  private ReviewServiceImpl reviewService;
+
+  private final String learnerId = "learner-001";
+  private final String flashcardId = "flashcard-001";
+
+  // review()
+  // Schedules a first review from the initial SM-2 state and saves it
+  @Test
+  void shouldScheduleFirstReview() {
+    when(flashcardService.existsById(flashcardId)).thenReturn(true);
+    when(repository.findById(new ReviewStateId(learnerId, flashcardId)))
+        .thenReturn(Optional.empty());
+    when(repository.saveAndFlush(any(ReviewState.class))).thenAnswer(call -> call.getArgument(0));
+
+    ReviewState state = reviewService.review(new ReviewRequest(learnerId, flashcardId, 4));
+
+    assertEquals(1, state.getRepetitions());
+    assertEquals(NOW.plusSeconds(86_400), state.getDueAt());
+  }
+
+  // review()
+  // Continues from the stored state on later reviews
+  @Test
+  void shouldScheduleFromPreviousState() {
+    ReviewState previous = new ReviewState(learnerId, flashcardId, 1, 1, 2.5, NOW, NOW);
+    when(flashcardService.existsById(flashcardId)).thenReturn(true);
+    when(repository.findById(new ReviewStateId(learnerId, flashcardId)))
+        .thenReturn(Optional.of(previous));
+    when(repository.saveAndFlush(any(ReviewState.class))).thenAnswer(call -> call.getArgument(0));
+
+    ReviewState state = reviewService.review(new ReviewRequest(learnerId, flashcardId, 4));
+
+    assertEquals(2, state.getRepetitions());
+    assertEquals(6, state.getIntervalDays());
+  }
+
+  // review()
+  // Throws NotFoundException when the flashcard does not exist
+  @Test
+  void shouldThrowNotFoundWhenFlashcardDoesNotExist() {
+    when(flashcardService.existsById(flashcardId)).thenReturn(false);
+
+    NotFoundException exception = assertThrows(NotFoundException.class,
+        () -> reviewService.review(new ReviewRequest(learnerId, flashcardId, 4)));
+    assertEquals(format(CANNOT_FIND_FLASHCARD_BY_ID, flashcardId), exception.getMessage());
+    verify(repository, never()).saveAndFlush(any(ReviewState.class));
+  }
+
+  // findDue()
+  // Reads the due queue as of the current time with the requested limit
+  @Test
+  void shouldFindDueFlashcardsAsOfNow() {
+    List<DueFlashcard> due = List.of(new DueFlashcard(flashcardId, "session", "Q", "A", NOW));
+    when(repository.findDue(learnerId, NOW, Limit.of(10))).thenReturn(due);
+
+    assertEquals(due, reviewService.findDue(learnerId, 10));
+  }
+
+  // findDue()
+  // Rejects a blank learner id and an out-of-range limit
+  @Test
+  void shouldRejectInvalidDueQueueRequests() {
+    assertThrows(BadRequestException.class, () -> reviewService.findDue(" ", 10));
+    assertThrows(BadRequestException.class, () -> reviewService.findDue(learnerId, 0));
+  }
+
+}
@@ -1,13 +1,17 @@
 package com.ken.flashcards.service;
 
 import static java.lang.String.format;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,33 +19,76 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_CATEGORY_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_CATEGORY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_ID;
 import static com.ken.flashcards.constants.ExceptionMessages.CANNOT_FIND_STUDY_SESSION_BY_NAME;
+import static com.ken.flashcards.constants.ExceptionMessages.UNKNOWN_FIELD;
+import static com.ken.flashcards.constants.ExceptionMessages.VALUE_OUT_OF_RANGE;
+import com.ken.flashcards.config.ExistenceFilterProperties;
+import com.ken.flashcards.config.WriteProperties;
+import com.ken.flashcards.dto.CursorPage;
+import com.ken.flashcards.dto.LookupResult;
 import com.ken.flashcards.dto.StudySessionRequest;
+import com.ken.flashcards.event.FlashcardsChangedEvent;
+import com.ken.flashcards.exception.BadRequestException;
 import com.ken.flashcards.exception.NotFoundException;
+import com.ken.flashcards.existence.ExistenceFilters;
+import com.ken.flashcards.mapper.CursorMapper;
+import com.ken.flashcards.mapper.CursorMapperImpl;
 import com.ken.flashcards.mapper.StudySessionMapper;
 import com.ken.flashcards.model.StudySession;
+import com.ken.flashcards.repository.FlashcardRepository;
 import com.ken.flashcards.repository.StudySessionRepository;
 import com.ken.flashcards.service.impl.StudySessionServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 public class StudySessionServiceImplTest {
 
   @Mock
   private StudySessionRepository studySessionRepository;
 
+  @Mock
+  private FlashcardRepository flashcardRepository;
+
   @Mock
   private CategoryService categoryService;
 
   @Mock
   private StudySessionMapper studySessionMapper;
 
+  @Spy
+  private CursorMapper cursorMapper = new CursorMapperImpl();
+
+  @Mock
+  private ApplicationEventPublisher events;
+
+  @Spy
+  private WriteProperties writeProperties = new WriteProperties();
+
+  private final ExistenceFilterProperties existenceFilterProperties =
+      new ExistenceFilterProperties();
+
+  @Spy
+  private ExistenceFilters existenceFilters =
+      new ExistenceFilters(existenceFilterProperties, new SimpleMeterRegistry());
+
   @InjectMocks
   private StudySessionServiceImpl studySessionService;
 
@@ -59,6 +106,7 @@ public class StudySessionServiceImplTest {
 
   @BeforeEach
   void init() {
+    existenceFilterProperties.setEnabled(true);
     String studySessionId = expectedSessionId;
     String associatedCategoryId = expectedCategoryId;
     String sessionName = expectedSessionName;
@@ -67,6 +115,30 @@ public class StudySessionServiceImplTest {
     this.studySessions = List.of(studySession);
   }
 
+  // findExistingIds()
+  // Resolves which study session ids exist with a single repository call
+  @Test
+  void shouldReturnExistingStudySessionIds() {
+    Set<String> ids = Set.of(expectedSessionId, nonexistentSessionId);
+    when(studySessionRepository.findExistingIds(ids)).thenReturn(Set.of(expectedSessionId));
+
+    assertEquals(Set.of(expectedSessionId), studySessionService.findExistingIds(ids));
+    verify(studySessionRepository, times(1)).findExistingIds(ids);
+  }
+
+  // findExistingIds()
+  // Leaves ids missing from the built existence filter out of the query
+  @Test
+  void shouldNotQueryIdsTheExistenceFilterRulesOut() {
+    existenceFilters.studySessions().rebuild(1, () -> Stream.of(expectedSessionId));
+    when(studySessionRepository.findExistingIds(Set.of(expectedSessionId)))
+        .thenReturn(Set.of(expectedSessionId));
+
+    assertEquals(Set.of(expectedSessionId),
+        studySessionService.findExistingIds(Set.of(expectedSessionId, nonexistentSessionId)));
+    verify(studySessionRepository, times(1)).findExistingIds(Set.of(expectedSessionId));
+  }
+
   // findAll()
   // Verifies that all stored study sessions are returned from the repository
   @Test
@@ -77,6 +149,57 @@ public class StudySessionServiceImplTest {
     verify(studySessionRepository, times(1)).findAll();
   }
 
+  // findAll() with fields
+  // Selects only the id and the requested columns
+  @Test
+  void shouldReadAllThroughProjectionOfRequestedFields() {
+    StudySession sparse = new StudySession(expectedSessionId, null, expectedSessionName);
+    when(studySessionRepository.findAllProjected(
+        argThat(projection -> projection.select("s").equals(
+            "SELECT s.id, s.name FROM StudySession s")),
+        eq(null))).thenReturn(List.of(sparse));
+
+    assertEquals(List.of(sparse), studySessionService.findAll("name"));
+  }
+
+  // findPage() with fields
+  // Keys the page by id through the projection and returns a cursor when more rows exist
+  @Test
+  void shouldReadPageThroughProjectionOfRequestedFields() {
+    StudySession first = new StudySession(expectedSessionId, expectedCategoryId, null);
+    StudySession next = new StudySession(nonexistentSessionId, expectedCategoryId, null);
+    when(studySessionRepository.findPageProjected(
+        argThat(projection -> projection.select("s").equals(
+            "SELECT s.id, s.categoryId FROM StudySession s")),
+        eq("id"), eq(""), eq(Limit.of(2)))).thenReturn(List.of(first, next));
+
+    CursorPage<StudySession> page = studySessionService.findPage(null, 1, "categoryId");
+
+    assertEquals(List.of(first), page.getItems());
+    assertEquals(expectedSessionId, cursorMapper.keyFrom(page.getNext()));
+  }
+
+  // findPage() with fields
+  // Returns no cursor when the last page is reached
+  @Test
+  void shouldReturnLastProjectedPageWithoutNextCursor() {
+    when(studySessionRepository.findPageProjected(any(), eq("id"), eq(""), eq(Limit.of(11))))
+        .thenReturn(studySessions);
+
+    assertNull(studySessionService.findPage(null, 10, "name").getNext());
+  }
+
+  // findPage() with fields
+  // Rejects a field the study session does not have without querying
+  @Test
+  void shouldThrowExceptionWhenFieldIsUnknown() {
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> studySessionService.findPage(null, 10, "name,color"));
+
+    assertEquals(format(UNKNOWN_FIELD, "color", "id, categoryId, name"), ex.getMessage());
+    verify(studySessionRepository, never()).findPageProjected(any(), any(), any(), any());
+  }
+
   // findById()
   // Ensures a valid study session ID returns the correct session
   @Test
@@ -111,6 +234,18 @@ public class StudySessionServiceImplTest {
     verify(studySessionRepository, times(1)).findAllByCategoryId(expectedCategoryId);
   }
 
+  // findVersionByCategoryId()
+  // Throws NotFoundException when the category does not exist
+  @Test
+  void shouldThrowNotFoundForVersionOfMissingCategory() {
+    when(studySessionRepository.findVersionByCategoryId(expectedCategoryId))
+        .thenReturn(Optional.empty());
+
+    NotFoundException ex = assertThrows(NotFoundException.class,
+        () -> studySessionService.findVersionByCategoryId(expectedCategoryId));
+    assertEquals(format(CANNOT_FIND_CATEGORY_BY_ID, expectedCategoryId), ex.getMessage());
+  }
+
   // createStudySession()
   // Verifies successful creation of a StudySession from a valid request
   @Test
@@ -152,6 +287,30 @@ public class StudySessionServiceImplTest {
     verify(studySessionRepository, times(1)).save(studySession);
   }
 
+  // upsert()
+  // Reports an update when the upsert affects an existing row
+  @Test
+  void shouldReportUpdateWhenUpsertMatchesExistingRow() {
+    when(studySessionRepository.upsert(studySession)).thenReturn(2);
+
+    assertFalse(studySessionService.upsert(studySession));
+    verify(studySessionRepository, times(1)).upsert(studySession);
+  }
+
+  // upsert()
+  // Maps a foreign key violation to the category not-found error
+  @Test
+  void shouldThrowNotFoundWhenUpsertViolatesCategoryForeignKey() {
+    when(studySessionRepository.upsert(studySession)).thenThrow(
+        new DataIntegrityViolationException("could not execute statement",
+            new SQLIntegrityConstraintViolationException(
+                "a foreign key constraint fails (FOREIGN KEY (`category_id`))")));
+
+    NotFoundException ex =
+        assertThrows(NotFoundException.class, () -> studySessionService.upsert(studySession));
+    assertEquals(format(CANNOT_FIND_CATEGORY_BY_ID, expectedCategoryId), ex.getMessage());
+  }
+
   // existsById()
   // Confirms existence check behavior for valid StudySession IDs
   @Test
@@ -177,9 +336,12 @@ public class StudySessionServiceImplTest {
   @Test
   void shouldDeleteStudySessionByIdIfExists() {
     when(studySessionRepository.existsById(expectedSessionId)).thenReturn(true);
+    when(flashcardRepository.findIdsByStudySessionId(expectedSessionId))
+        .thenReturn(List.of("flashcard-1"));
 
     studySessionService.deleteById(expectedSessionId);
     verify(studySessionRepository, times(1)).deleteById(expectedSessionId);
+    verify(events, times(1)).publishEvent(FlashcardsChangedEvent.deleted(List.of("flashcard-1")));
   }
 
   // deleteById()
@@ -238,4 +400,68 @@ public class StudySessionServiceImplTest {
     
     assertEquals(format(CANNOT_FIND_STUDY_SESSION_BY_NAME, nonexistentSessionName), ex.getMessage());
   }
+
+  // lookup()
+  // Sends exactly one chunk of ids in one query and reports the rest as missing in request order
+  @Test
+  void shouldLookUpFullChunkOfStudySessionsInOneQuery() {
+    List<String> ids = sessionIds(1_000);
+    ids.set(0, expectedSessionId);
+    when(studySessionRepository.findAllByIdIn(ids)).thenReturn(studySessions);
+
+    LookupResult<StudySession> result = studySessionService.lookup(ids);
+
+    assertEquals(studySessions, result.getFound());
+    assertEquals(ids.subList(1, 1_000), result.getMissing());
+    verify(studySessionRepository, times(1)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Starts a second query at the id after the chunk boundary
+  @Test
+  void shouldSplitStudySessionLookupAtChunkBoundary() {
+    List<String> ids = sessionIds(1_001);
+    ids.set(1_000, expectedSessionId);
+    when(studySessionRepository.findAllByIdIn(ids.subList(0, 1_000))).thenReturn(List.of());
+    when(studySessionRepository.findAllByIdIn(ids.subList(1_000, 1_001)))
+        .thenReturn(studySessions);
+
+    LookupResult<StudySession> result = studySessionService.lookup(ids);
+
+    assertEquals(studySessions, result.getFound());
+    assertEquals(ids.subList(0, 1_000), result.getMissing());
+    verify(studySessionRepository, times(2)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Accepts the largest lookup in five chunked queries
+  @Test
+  void shouldAcceptStudySessionLookupOfMaxSize() {
+    List<String> ids = sessionIds(5_000);
+    when(studySessionRepository.findAllByIdIn(any())).thenReturn(List.of());
+
+    LookupResult<StudySession> result = studySessionService.lookup(ids);
+
+    assertEquals(ids, result.getMissing());
+    verify(studySessionRepository, times(5)).findAllByIdIn(any());
+  }
+
+  // lookup()
+  // Rejects more ids than a lookup takes before touching the database
+  @Test
+  void shouldThrowExceptionWhenStudySessionLookupIsTooLarge() {
+    BadRequestException ex = assertThrows(BadRequestException.class,
+        () -> studySessionService.lookup(sessionIds(5_001)));
+
+    assertEquals(format(VALUE_OUT_OF_RANGE, "Lookup size", 1, 5_000), ex.getMessage());
+    verify(studySessionRepository, never()).findAllByIdIn(any());
+  }
+
+  private static List<String> sessionIds(int count) {
+    List<String> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add("session-" + i);
+    }
+    return ids;
+  }
 }
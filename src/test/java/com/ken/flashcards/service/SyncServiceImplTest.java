@@ -0,0 +1,144 @@
+package com.ken.flashcards.service;
+
+import static java.lang.String.format;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ken.flashcards.constants.ExceptionMessages.INVALID_CURSOR;
+import static com.ken.flashcards.model.ChangeLogEntry.CATEGORY;
+import static com.ken.flashcards.model.ChangeLogEntry.FLASHCARD;
+import static com.ken.flashcards.model.ChangeLogEntry.STUDY_SESSION;
+import com.ken.flashcards.dto.SyncPage;
+import com.ken.flashcards.exception.BadRequestException;
+import com.ken.flashcards.mapper.CursorMapper;
+import com.ken.flashcards.mapper.CursorMapperImpl;
+import com.ken.flashcards.model.Category;
+import com.ken.flashcards.model.ChangeLogEntry;
+import com.ken.flashcards.model.Flashcard;
+import com.ken.flashcards.repository.CategoryRepository;
+import com.ken.flashcards.repository.ChangeLogRepository;
+import com.ken.flashcards.repository.FlashcardRepository;
+import com.ken.flashcards.repository.StudySessionRepository;
+import com.ken.flashcards.service.impl.SyncServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncServiceImplTest {
+
+  @Mock
+  private ChangeLogRepository changeLogRepository;
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @Mock
+  private StudySessionRepository studySessionRepository;
+
+  @Mock
+  private FlashcardRepository flashcardRepository;
+
+  @Spy
+  private CursorMapper cursorMapper = new CursorMapperImpl();
+
+  @InjectMocks
+  private SyncServiceImpl syncService;
+
+  private final Category category = new Category("category-1", "Thermodynamics");
+  private final Flashcard flashcard = new Flashcard("flashcard-1", "session-1", "Q", "A");
+
+  // sync()
+  // Without a token, starts after the floor, asks the client to reset and lists no deletions
+  @Test
+  void shouldResetAndSkipTombstonesWithoutToken() {
+    when(changeLogRepository.floor()).thenReturn(100L);
+    when(changeLogRepository.findAfter(100L, 3)).thenReturn(List.of(
+        new ChangeLogEntry(101, CATEGORY, "category-1", false),
+        new ChangeLogEntry(102, FLASHCARD, "flashcard-0", true)));
+    when(categoryRepository.findAllByIdIn(List.of("category-1"))).thenReturn(List.of(category));
+
+    SyncPage page = syncService.sync(null, 2);
+
+    assertTrue(page.isReset());
+    assertFalse(page.isHasMore());
+    assertEquals(List.of(category), page.getCategories());
+    assertEquals(List.of(), page.getDeletedFlashcardIds());
+    assertEquals("102", cursorMapper.keyFrom(page.getNext()));
+  }
+
+  // sync()
+  // Splits the entries after the token into current rows and tombstones, one page at a time
+  @Test
+  void shouldReturnChangedRowsAndTombstonesSinceToken() {
+    when(changeLogRepository.floor()).thenReturn(0L);
+    when(changeLogRepository.findAfter(7L, 3)).thenReturn(List.of(
+        new ChangeLogEntry(8, STUDY_SESSION, "session-0", true),
+        new ChangeLogEntry(9, FLASHCARD, "flashcard-1", false),
+        new ChangeLogEntry(12, CATEGORY, "category-0", true)));
+    when(flashcardRepository.findAllByIdIn(List.of("flashcard-1")))
+        .thenReturn(List.of(flashcard));
+
+    SyncPage page = syncService.sync(cursorMapper.cursorFrom("7"), 2);
+
+    assertFalse(page.isReset());
+    assertTrue(page.isHasMore());
+    assertEquals(List.of(flashcard), page.getFlashcards());
+    assertEquals(List.of("session-0"), page.getDeletedStudySessionIds());
+    assertEquals(List.of(), page.getDeletedCategoryIds());
+    assertEquals("9", cursorMapper.keyFrom(page.getNext()));
+  }
+
+  // sync()
+  // A token older than the log's history restarts from the floor
+  @Test
+  void shouldResetWhenTokenPredatesFloor() {
+    when(changeLogRepository.floor()).thenReturn(100L);
+    when(changeLogRepository.findAfter(100L, 11)).thenReturn(List.of());
+
+    SyncPage page = syncService.sync(cursorMapper.cursorFrom("42"), 10);
+
+    assertTrue(page.isReset());
+    assertEquals("100", cursorMapper.keyFrom(page.getNext()));
+  }
+
+  // sync()
+  // Keeps the token when nothing changed since it
+  @Test
+  void shouldReturnSameTokenWhenNothingChanged() {
+    String since = cursorMapper.cursorFrom("7");
+    when(changeLogRepository.floor()).thenReturn(0L);
+    when(changeLogRepository.findAfter(7L, 11)).thenReturn(List.of());
+
+    SyncPage page = syncService.sync(since, 10);
+
+    assertEquals(since, page.getNext());
+    assertEquals(List.of(), page.getCategories());
+  }
+
+  // sync()
+  // Rejects a token that does not encode a sequence number
+  @Test
+  void shouldThrowExceptionWhenTokenIsInvalid() {
+    String since = cursorMapper.cursorFrom("Thermodynamics");
+
+    BadRequestException ex =
+        assertThrows(BadRequestException.class, () -> syncService.sync(since, 10));
+
+    assertEquals(format(INVALID_CURSOR, since), ex.getMessage());
+    verify(changeLogRepository, never()).findAfter(anyLong(), anyInt());
+  }
+
+}